@@ -0,0 +1,44 @@
+package academy.devdojo.reactive.allocation;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Orcamento de alocacao de um pipeline: no maximo {@code bytesPerElement} bytes alocados na thread
+ * que assina, por elemento, montando e consumindo o pipeline com {@code elements} elementos. Roda
+ * {@code warmupRounds} vezes para o JIT estabilizar e fica com a menor de {@code rounds} medidas.
+ */
+@Value
+@Builder
+public class AllocationBudget {
+
+	double bytesPerElement;
+
+	@Builder.Default
+	int elements = 10_000;
+
+	@Builder.Default
+	int warmupRounds = 20;
+
+	@Builder.Default
+	int rounds = 5;
+
+	public static AllocationBudget perElement(double bytes) {
+		return builder().bytesPerElement(bytes).build();
+	}
+
+	void validate() {
+		if (!(bytesPerElement >= 0)) {
+			throw new IllegalArgumentException("bytesPerElement must not be negative, got " + bytesPerElement);
+		}
+		if (elements < 1) {
+			throw new IllegalArgumentException("elements must be positive, got " + elements);
+		}
+		if (warmupRounds < 0) {
+			throw new IllegalArgumentException("warmupRounds must not be negative, got " + warmupRounds);
+		}
+		if (rounds < 1) {
+			throw new IllegalArgumentException("rounds must be positive, got " + rounds);
+		}
+	}
+}
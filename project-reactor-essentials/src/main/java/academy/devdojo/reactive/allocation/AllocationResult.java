@@ -0,0 +1,24 @@
+package academy.devdojo.reactive.allocation;
+
+import lombok.Value;
+
+/**
+ * Medida de um pipeline: bytes alocados na menor rodada e quantos onNext chegaram ao fim dela.
+ */
+@Value
+public class AllocationResult {
+
+	int elements;
+	long received;
+	long allocatedBytes;
+
+	public double bytesPerElement() {
+		return allocatedBytes / (double) elements;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%.1f B/element (%d bytes for %d elements, %d received)", bytesPerElement(),
+				allocatedBytes, elements, received);
+	}
+}
@@ -0,0 +1,120 @@
+package academy.devdojo.reactive.allocation;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.IntFunction;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+
+import com.sun.management.ThreadMXBean;
+
+import reactor.core.CoreSubscriber;
+
+/**
+ * Mede bytes alocados por elemento de um pipeline com o {@link ThreadMXBean} da thread atual, para
+ * testes de regressao de alocacao:
+ * <pre>
+ * Allocations.assertWithin(AllocationBudget.perElement(64), n -&gt; Flux.range(0, n).map(i -&gt; i + 1));
+ * </pre>
+ * A fabrica recebe o numero de elementos e o pipeline tem que terminar dentro do subscribe, na thread
+ * atual: alocacao em outras threads (publishOn, delayElements) nao aparece na medida, entao um
+ * pipeline assincrono eh recusado com IllegalStateException. A montagem entra na medida, o
+ * assinante que consome nao aloca.
+ */
+public final class Allocations {
+
+	private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private Allocations() {
+	}
+
+	public static AllocationResult measure(AllocationBudget budget, IntFunction<? extends Publisher<?>> pipeline) {
+		budget.validate();
+		if (!THREADS.isThreadAllocatedMemorySupported()) {
+			throw new UnsupportedOperationException("thread allocated memory is not supported by this JVM");
+		}
+		THREADS.setThreadAllocatedMemoryEnabled(true);
+		for (int i = 0; i < budget.getWarmupRounds(); i++) {
+			run(budget.getElements(), pipeline);
+		}
+		long overhead = overhead();
+		long best = Long.MAX_VALUE;
+		long received = 0;
+		for (int i = 0; i < budget.getRounds(); i++) {
+			Counter counter = new Counter();
+			long before = THREADS.getCurrentThreadAllocatedBytes();
+			pipeline.apply(budget.getElements()).subscribe(counter);
+			long allocated = THREADS.getCurrentThreadAllocatedBytes() - before - overhead;
+			counter.checkTerminated();
+			if (allocated < best) {
+				best = allocated;
+				received = counter.received;
+			}
+		}
+		return new AllocationResult(budget.getElements(), received, Math.max(0, best));
+	}
+
+	/**
+	 * Mede e falha com AssertionError se o pipeline passar do orcamento.
+	 */
+	public static AllocationResult assertWithin(AllocationBudget budget, IntFunction<? extends Publisher<?>> pipeline) {
+		AllocationResult result = measure(budget, pipeline);
+		if (result.bytesPerElement() > budget.getBytesPerElement()) {
+			throw new AssertionError(String.format("allocation budget exceeded: %s, budget %.1f B/element", result,
+					budget.getBytesPerElement()));
+		}
+		return result;
+	}
+
+	private static void run(int elements, IntFunction<? extends Publisher<?>> pipeline) {
+		Counter counter = new Counter();
+		pipeline.apply(elements).subscribe(counter);
+		counter.checkTerminated();
+	}
+
+	/**
+	 * O que a propria leitura do contador aloca, descontado de cada medida.
+	 */
+	private static long overhead() {
+		long first = THREADS.getCurrentThreadAllocatedBytes();
+		long second = THREADS.getCurrentThreadAllocatedBytes();
+		return second - first;
+	}
+
+	private static final class Counter implements CoreSubscriber<Object> {
+
+		long received;
+		boolean terminated;
+		Throwable error;
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			s.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(Object o) {
+			received++;
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			error = t;
+			terminated = true;
+		}
+
+		@Override
+		public void onComplete() {
+			terminated = true;
+		}
+
+		void checkTerminated() {
+			if (error != null) {
+				throw new IllegalStateException("pipeline failed", error);
+			}
+			if (!terminated) {
+				throw new IllegalStateException("pipeline did not terminate on the calling thread");
+			}
+		}
+	}
+}
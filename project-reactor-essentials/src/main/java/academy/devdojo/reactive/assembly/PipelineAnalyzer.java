@@ -0,0 +1,241 @@
+package academy.devdojo.reactive.assembly;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import org.reactivestreams.Publisher;
+
+import reactor.core.Fuseable;
+import reactor.core.Scannable;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Percorre um Flux/Mono ja montado pelo {@link Scannable} (PARENT, PREFETCH, RUN_ON) e devolve o
+ * grafo de operadores com a fusao que cada um oferece, o prefetch das filas e as trocas de thread,
+ * apontando:
+ * <ul>
+ * <li>operadores nao Fuseable que obrigam um operador com fila a alocar a propria fila
+ * ({@code hide()}, subscribeOn, operadores proprios) em vez de fundir com a fonte;</li>
+ * <li>subscribeOn redundantes, como no OperatorsTest.multipleSubscribeOnSimple, e publishOn
+ * seguidos ou para o scheduler em que os sinais ja chegam;</li>
+ * <li>estagios {@code log()}.</li>
+ * </ul>
+ * A analise eh da montagem: a fusao que de fato acontece so eh negociada na assinatura, e o que os
+ * operadores montam por dentro (os inners do flatMap) nao aparece. Os operadores de varias fontes
+ * nao informam PARENT; as fontes deles sao lidas do campo {@code Publisher[]} do operador, e o
+ * scheduler dos operadores que nao informam RUN_ON vem do campo Scheduler.
+ * <p>
+ * {@code PipelineAnalyzer.analyze(flux).format()} para imprimir,
+ * {@code PipelineAnalyzer.analyze(flux).assertNo()} num teste.
+ */
+public final class PipelineAnalyzer {
+
+	private int nextId;
+
+	private PipelineAnalyzer() {
+	}
+
+	public static PipelineReport analyze(Publisher<?> publisher) {
+		Objects.requireNonNull(publisher, "publisher");
+		PipelineStage sink = new PipelineAnalyzer().stage(publisher);
+		List<PipelineFinding> findings = new ArrayList<>();
+		inspect(sink, findings);
+		return new PipelineReport(sink, Collections.unmodifiableList(findings));
+	}
+
+	private PipelineStage stage(Object publisher) {
+		Scannable scannable = Scannable.from(publisher);
+		if (!scannable.isScanAvailable()) {
+			String name = publisher.getClass().getSimpleName();
+			return new PipelineStage(nextId++, name, name, fusion(publisher), -1, null, PipelineStage.Hop.NONE,
+					Collections.emptyList());
+		}
+		List<PipelineStage> sources = new ArrayList<>();
+		Scannable parent = scannable.scan(Scannable.Attr.PARENT);
+		if (parent != null) {
+			sources.add(stage(parent));
+		} else {
+			for (Publisher<?> source : multipleSources(publisher)) {
+				sources.add(stage(source));
+			}
+		}
+		String name = scannable.stepName();
+		String operator = publisher.getClass().getSimpleName();
+		String scheduler = scheduler(scannable, publisher);
+		PipelineStage.Hop hop = scheduler == null ? PipelineStage.Hop.NONE : hop(name, operator);
+		int prefetch = scannable.scanOrDefault(Scannable.Attr.PREFETCH, -1);
+		return new PipelineStage(nextId++, name, operator, fusion(publisher), prefetch, scheduler, hop,
+				Collections.unmodifiableList(sources));
+	}
+
+	private static PipelineStage.Fusion fusion(Object publisher) {
+		if (publisher instanceof Fuseable.ScalarCallable) {
+			return PipelineStage.Fusion.SCALAR;
+		}
+		return publisher instanceof Fuseable ? PipelineStage.Fusion.FUSEABLE : PipelineStage.Fusion.NONE;
+	}
+
+	/**
+	 * RUN_ON ou, nos operadores que nao informam (o FluxSubscribeOn do 3.3), o campo Scheduler.
+	 */
+	@Nullable
+	private static String scheduler(Scannable scannable, Object publisher) {
+		Scannable runOn = scannable.scan(Scannable.Attr.RUN_ON);
+		if (runOn != null) {
+			return runOn.name();
+		}
+		Object scheduler = field(publisher, Scheduler.class);
+		return scheduler == null ? null : Scannable.from(scheduler).name();
+	}
+
+	private static PipelineStage.Hop hop(String name, String operator) {
+		if (name.startsWith("subscribeOn") || operator.contains("SubscribeOn")) {
+			return PipelineStage.Hop.SUBSCRIBE_ON;
+		}
+		if (name.startsWith("publishOn") || operator.contains("PublishOn")) {
+			return PipelineStage.Hop.PUBLISH_ON;
+		}
+		return PipelineStage.Hop.TIMER;
+	}
+
+	/**
+	 * merge, zip, concat e afins guardam as fontes num {@code Publisher[]} e nao respondem PARENT.
+	 */
+	private static List<Publisher<?>> multipleSources(Object publisher) {
+		Publisher<?>[] sources = (Publisher<?>[]) field(publisher, Publisher[].class);
+		if (sources == null) {
+			return Collections.emptyList();
+		}
+		List<Publisher<?>> list = new ArrayList<>(sources.length);
+		for (Publisher<?> source : sources) {
+			if (source != null) {
+				list.add(source);
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * Primeiro campo nao nulo do tipo dado no operador ou nas superclasses.
+	 */
+	@Nullable
+	private static Object field(Object publisher, Class<?> fieldType) {
+		for (Class<?> type = publisher.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+			for (Field field : type.getDeclaredFields()) {
+				if (!fieldType.isAssignableFrom(field.getType()) || Modifier.isStatic(field.getModifiers())) {
+					continue;
+				}
+				try {
+					field.setAccessible(true);
+					Object value = field.get(publisher);
+					if (value != null) {
+						return value;
+					}
+				} catch (RuntimeException | IllegalAccessException e) {
+					// campo inacessivel: fica sem a informacao
+					return null;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static void inspect(PipelineStage stage, List<PipelineFinding> findings) {
+		for (PipelineStage source : stage.getSources()) {
+			inspect(source, findings);
+		}
+		if (stage.getName().startsWith("log")) {
+			add(findings, PipelineFinding.Kind.LOG_STAGE, stage,
+					"logs every signal on the thread that emits it");
+		}
+		if (stage.getHop() == PipelineStage.Hop.SUBSCRIBE_ON && !stage.getSources().isEmpty()
+				&& stage.getSources().stream().allMatch(PipelineAnalyzer::subscribedOnAbove)) {
+			add(findings, PipelineFinding.Kind.REDUNDANT_SUBSCRIBE_ON, stage,
+					"a subscribeOn closer to the source already decides where it runs; this one only moves the subscribe call to "
+							+ stage.getScheduler());
+		}
+		if (stage.getHop() == PipelineStage.Hop.PUBLISH_ON && stage.getSources().size() == 1) {
+			PipelineStage source = stage.getSources().get(0);
+			if (source.getHop() == PipelineStage.Hop.PUBLISH_ON) {
+				add(findings, PipelineFinding.Kind.REDUNDANT_PUBLISH_ON, source,
+						"nothing runs on " + source.getScheduler() + " before " + stage + " moves to " + stage.getScheduler());
+			} else {
+				String arriving = arrivingScheduler(source);
+				if (arriving != null && arriving.equals(stage.getScheduler())) {
+					add(findings, PipelineFinding.Kind.REDUNDANT_PUBLISH_ON, stage,
+							"signals already arrive on " + arriving + "; this only adds a queue hand-off");
+				}
+			}
+		}
+		if (stage.isQueued()) {
+			for (PipelineStage source : stage.getSources()) {
+				checkFusion(stage, source, findings);
+			}
+		}
+	}
+
+	/**
+	 * Todo caminho ate as fontes passa por um subscribeOn.
+	 */
+	private static boolean subscribedOnAbove(PipelineStage stage) {
+		if (stage.getHop() == PipelineStage.Hop.SUBSCRIBE_ON) {
+			return true;
+		}
+		return !stage.getSources().isEmpty() && stage.getSources().stream().allMatch(PipelineAnalyzer::subscribedOnAbove);
+	}
+
+	/**
+	 * Scheduler em que os sinais saem de {@code stage}: o primeiro publishOn/timer acima dele ou,
+	 * se so houver subscribeOn, o mais perto da fonte. Null se nao da para saber pela montagem.
+	 */
+	@Nullable
+	private static String arrivingScheduler(PipelineStage stage) {
+		String subscribedOn = null;
+		PipelineStage current = stage;
+		for (;;) {
+			if (current.getHop() == PipelineStage.Hop.SUBSCRIBE_ON) {
+				subscribedOn = current.getScheduler();
+			} else if (current.getHop() != PipelineStage.Hop.NONE) {
+				return current.getScheduler();
+			}
+			if (current.getSources().isEmpty()) {
+				return subscribedOn;
+			}
+			if (current.getSources().size() > 1) {
+				return null;
+			}
+			current = current.getSources().get(0);
+		}
+	}
+
+	private static void checkFusion(PipelineStage queued, PipelineStage source, List<PipelineFinding> findings) {
+		PipelineStage breaker = null;
+		PipelineStage current = source;
+		while (current.getFusion() == PipelineStage.Fusion.NONE) {
+			if (current.getSources().size() != 1 || current.isQueued()) {
+				return;
+			}
+			breaker = current;
+			current = current.getSources().get(0);
+		}
+		if (breaker != null) {
+			add(findings, PipelineFinding.Kind.FUSION_BREAK, breaker,
+					"not Fuseable, so " + queued + " cannot fuse with " + current + " and keeps its own queue of "
+							+ queued.getPrefetch());
+		}
+	}
+
+	private static void add(List<PipelineFinding> findings, PipelineFinding.Kind kind, PipelineStage stage, String message) {
+		for (PipelineFinding finding : findings) {
+			if (finding.getKind() == kind && finding.getStage() == stage) {
+				return;
+			}
+		}
+		findings.add(new PipelineFinding(kind, stage, message));
+	}
+}
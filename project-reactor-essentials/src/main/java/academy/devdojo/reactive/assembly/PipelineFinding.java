@@ -0,0 +1,30 @@
+package academy.devdojo.reactive.assembly;
+
+import lombok.Value;
+
+/**
+ * Um problema encontrado pelo {@link PipelineAnalyzer} num operador do pipeline.
+ */
+@Value
+public class PipelineFinding {
+
+	public enum Kind {
+		/** operador nao Fuseable entre uma fonte Fuseable e um operador com fila */
+		FUSION_BREAK,
+		/** subscribeOn abaixo de outro subscribeOn: so o mais perto da fonte decide a thread */
+		REDUNDANT_SUBSCRIBE_ON,
+		/** publishOn sem trabalho ate o proximo publishOn, ou para o scheduler em que os sinais ja chegam */
+		REDUNDANT_PUBLISH_ON,
+		/** log() no caminho dos dados */
+		LOG_STAGE
+	}
+
+	Kind kind;
+	PipelineStage stage;
+	String message;
+
+	@Override
+	public String toString() {
+		return kind + " at " + stage + ": " + message;
+	}
+}
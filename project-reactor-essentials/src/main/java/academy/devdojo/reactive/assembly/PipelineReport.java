@@ -0,0 +1,73 @@
+package academy.devdojo.reactive.assembly;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import lombok.Value;
+
+/**
+ * Resultado do {@link PipelineAnalyzer}: o grafo de operadores a partir do ultimo ({@code sink})
+ * e os problemas encontrados.
+ */
+@Value
+public class PipelineReport {
+
+	PipelineStage sink;
+	List<PipelineFinding> findings;
+
+	public List<PipelineFinding> findings(PipelineFinding.Kind kind) {
+		return findings.stream().filter(finding -> finding.getKind() == kind).collect(Collectors.toList());
+	}
+
+	/**
+	 * Para testes: falha com o grafo e os problemas se houver algum dos tipos dados (ou de qualquer
+	 * tipo, sem argumentos).
+	 */
+	public PipelineReport assertNo(PipelineFinding.Kind... kinds) {
+		Set<PipelineFinding.Kind> checked = kinds.length == 0
+				? EnumSet.allOf(PipelineFinding.Kind.class)
+				: EnumSet.copyOf(Arrays.asList(kinds));
+		if (findings.stream().anyMatch(finding -> checked.contains(finding.getKind()))) {
+			throw new AssertionError("pipeline has " + checked + " findings\n" + format());
+		}
+		return this;
+	}
+
+	/**
+	 * Um operador por linha na ordem dos dados; as fontes de um operador de varias fontes aparecem
+	 * acima dele com um nivel a mais de recuo.
+	 */
+	public String format() {
+		StringBuilder text = new StringBuilder();
+		append(text, sink, 0);
+		for (PipelineFinding finding : findings) {
+			text.append("! ").append(finding).append('\n');
+		}
+		return text.toString();
+	}
+
+	private static void append(StringBuilder text, PipelineStage stage, int depth) {
+		int sourceDepth = stage.getSources().size() > 1 ? depth + 1 : depth;
+		for (PipelineStage source : stage.getSources()) {
+			append(text, source, sourceDepth);
+		}
+		for (int i = 0; i < depth; i++) {
+			text.append("    ");
+		}
+		text.append('#').append(stage.getId()).append(' ').append(stage.getName())
+				.append(" [").append(stage.getOperator()).append("] fusion=").append(stage.getFusion());
+		if (stage.getPrefetch() >= 0 && stage.getPrefetch() != Integer.MAX_VALUE) {
+			text.append(" prefetch=").append(stage.getPrefetch());
+		}
+		if (stage.getHop() != PipelineStage.Hop.NONE) {
+			text.append(" hop=").append(stage.getHop()).append("->").append(stage.getScheduler());
+		}
+		if (stage.getSources().size() > 1) {
+			text.append(" sources=").append(stage.getSources().size());
+		}
+		text.append('\n');
+	}
+}
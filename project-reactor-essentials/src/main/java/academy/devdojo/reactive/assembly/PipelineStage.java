@@ -0,0 +1,50 @@
+package academy.devdojo.reactive.assembly;
+
+import java.util.List;
+
+import lombok.Value;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Um operador do pipeline montado. {@code id} segue a ordem dos dados (fontes primeiro);
+ * {@code sources} sao os publishers de cima, mais de um nos operadores de varias fontes
+ * (merge, zip, concat). {@code prefetch} eh -1 quando o operador nao informa.
+ */
+@Value
+public class PipelineStage {
+
+	public enum Hop {
+		NONE, SUBSCRIBE_ON, PUBLISH_ON, TIMER
+	}
+
+	int id;
+	String name;
+	String operator;
+	Fusion fusion;
+	int prefetch;
+	@Nullable
+	String scheduler;
+	Hop hop;
+	List<PipelineStage> sources;
+
+	/**
+	 * O que o operador oferece para o operador de baixo: {@code SCALAR} eh fusao macro (o valor eh
+	 * lido na montagem), {@code FUSEABLE} negocia fusao micro (SYNC/ASYNC) na assinatura.
+	 */
+	public enum Fusion {
+		SCALAR, FUSEABLE, NONE
+	}
+
+	/**
+	 * Operador com fila propria entre ele e a fonte (publishOn, flatMap, concatMap, merge, zip...).
+	 * Os Mono informam prefetch Integer.MAX_VALUE e nao entram aqui.
+	 */
+	public boolean isQueued() {
+		return prefetch > 0 && prefetch != Integer.MAX_VALUE;
+	}
+
+	@Override
+	public String toString() {
+		return "#" + id + " " + name;
+	}
+}
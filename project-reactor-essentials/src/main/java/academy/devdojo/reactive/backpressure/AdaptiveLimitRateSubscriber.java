@@ -0,0 +1,144 @@
+package academy.devdojo.reactive.backpressure;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import org.reactivestreams.Subscription;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Scannable;
+import reactor.core.publisher.Operators;
+import reactor.util.annotation.Nullable;
+import reactor.util.context.Context;
+
+/**
+ * Operador sem fila: repassa os elementos direto ao downstream e pede ao upstream no maximo
+ * min(janela, demanda do downstream). O tempo medido eh o do onNext do downstream.
+ * <p>
+ * A diferenca demand - outstanding nao muda quando um elemento eh entregue, por isso o
+ * onNext decrementa demand antes de outstanding e o replenish le na ordem inversa: uma
+ * leitura concorrente so pode subestimar o quanto pedir, nunca pedir a mais.
+ */
+final class AdaptiveLimitRateSubscriber<T> implements CoreSubscriber<T>, Subscription, Scannable {
+
+	private static final AtomicLongFieldUpdater<AdaptiveLimitRateSubscriber> DEMAND =
+			AtomicLongFieldUpdater.newUpdater(AdaptiveLimitRateSubscriber.class, "demand");
+
+	private static final AtomicLongFieldUpdater<AdaptiveLimitRateSubscriber> OUTSTANDING =
+			AtomicLongFieldUpdater.newUpdater(AdaptiveLimitRateSubscriber.class, "outstanding");
+
+	private final CoreSubscriber<? super T> actual;
+	private final AdaptiveWindow window;
+
+	private Subscription upstream;
+	private boolean done;
+
+	private volatile long demand;
+	private volatile long outstanding;
+
+	AdaptiveLimitRateSubscriber(CoreSubscriber<? super T> actual, AdaptiveRequestPolicy policy) {
+		this.actual = actual;
+		this.window = new AdaptiveWindow(policy);
+	}
+
+	@Override
+	public Context currentContext() {
+		return actual.currentContext();
+	}
+
+	@Override
+	public void onSubscribe(Subscription s) {
+		if (Operators.validate(upstream, s)) {
+			upstream = s;
+			actual.onSubscribe(this);
+		}
+	}
+
+	@Override
+	public void onNext(T t) {
+		if (done) {
+			Operators.onNextDropped(t, currentContext());
+			return;
+		}
+		if (window.sample()) {
+			long start = System.nanoTime();
+			actual.onNext(t);
+			window.record(System.nanoTime() - start);
+		} else {
+			actual.onNext(t);
+		}
+
+		if (demand != Long.MAX_VALUE) {
+			DEMAND.decrementAndGet(this);
+		}
+		if (OUTSTANDING.decrementAndGet(this) <= window.lowWatermark()) {
+			replenish();
+		}
+	}
+
+	@Override
+	public void onError(Throwable t) {
+		if (done) {
+			Operators.onErrorDropped(t, currentContext());
+			return;
+		}
+		done = true;
+		actual.onError(t);
+	}
+
+	@Override
+	public void onComplete() {
+		if (done) {
+			return;
+		}
+		done = true;
+		actual.onComplete();
+	}
+
+	@Override
+	public void request(long n) {
+		if (Operators.validate(n)) {
+			Operators.addCap(DEMAND, this, n);
+			replenish();
+		}
+	}
+
+	private synchronized void replenish() {
+		long inFlight = outstanding;
+		long wanted = demand;
+		long n = Math.min(window.next(), wanted) - inFlight;
+		if (n > 0) {
+			OUTSTANDING.addAndGet(this, n);
+			upstream.request(n);
+		}
+	}
+
+	@Override
+	public void cancel() {
+		upstream.cancel();
+	}
+
+	int currentWindow() {
+		return window.window();
+	}
+
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.PARENT) {
+			return upstream;
+		}
+		if (key == Attr.ACTUAL) {
+			return actual;
+		}
+		if (key == Attr.TERMINATED) {
+			return done;
+		}
+		if (key == Attr.PREFETCH) {
+			return window.window();
+		}
+		if (key == Attr.REQUESTED_FROM_DOWNSTREAM) {
+			return demand;
+		}
+		return null;
+	}
+}
@@ -0,0 +1,52 @@
+package academy.devdojo.reactive.backpressure;
+
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Limites da janela de request adaptativa.
+ * <p>
+ * A janela tenta fazer cada lote de request levar {@code targetBatchTime} de processamento,
+ * ficando sempre entre {@code minWindow} e {@code maxWindow}. Um novo request eh feito quando
+ * {@code replenishRatio} da janela ja foi entregue (0.75 equivale ao limitRate do Reactor).
+ */
+@Value
+@Builder
+public class AdaptiveRequestPolicy {
+
+	@Builder.Default
+	int minWindow = 2;
+
+	@Builder.Default
+	int maxWindow = 1024;
+
+	@Builder.Default
+	int initialWindow = 32;
+
+	@Builder.Default
+	double replenishRatio = 0.75;
+
+	@Builder.Default
+	Duration targetBatchTime = Duration.ofMillis(1);
+
+	public static AdaptiveRequestPolicy defaults() {
+		return builder().build();
+	}
+
+	void validate() {
+		if (minWindow < 1 || maxWindow < minWindow) {
+			throw new IllegalArgumentException("expected 1 <= minWindow <= maxWindow, got " + minWindow + " and " + maxWindow);
+		}
+		if (initialWindow < minWindow || initialWindow > maxWindow) {
+			throw new IllegalArgumentException("initialWindow must be between minWindow and maxWindow, got " + initialWindow);
+		}
+		if (replenishRatio <= 0 || replenishRatio > 1) {
+			throw new IllegalArgumentException("replenishRatio must be in (0, 1], got " + replenishRatio);
+		}
+		if (targetBatchTime.isNegative() || targetBatchTime.isZero()) {
+			throw new IllegalArgumentException("targetBatchTime must be positive, got " + targetBatchTime);
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package academy.devdojo.reactive.backpressure;
+
+import java.util.function.Consumer;
+
+import org.reactivestreams.Subscription;
+
+import reactor.core.publisher.BaseSubscriber;
+
+/**
+ * BaseSubscriber que substitui o request(2) fixo por uma janela adaptativa:
+ * consumidores rapidos recebem lotes grandes (menos sinais de request) e consumidores
+ * lentos lotes pequenos (menos elementos parados esperando).
+ */
+public class AdaptiveRequestSubscriber<T> extends BaseSubscriber<T> {
+
+	private final AdaptiveWindow window;
+	private final Consumer<? super T> consumer;
+
+	private long outstanding;
+	private volatile long requests;
+
+	public AdaptiveRequestSubscriber(AdaptiveRequestPolicy policy, Consumer<? super T> consumer) {
+		this.window = new AdaptiveWindow(policy);
+		this.consumer = consumer;
+	}
+
+	/**
+	 * Construtor para subclasses que sobrescrevem {@link #process(Object)}.
+	 */
+	protected AdaptiveRequestSubscriber(AdaptiveRequestPolicy policy) {
+		this(policy, value -> {
+		});
+	}
+
+	/**
+	 * Processa um elemento; o tempo gasto aqui alimenta o calculo da janela.
+	 */
+	protected void process(T value) {
+		consumer.accept(value);
+	}
+
+	@Override
+	protected void hookOnSubscribe(Subscription subscription) {
+		replenish();
+	}
+
+	@Override
+	protected final void hookOnNext(T value) {
+		if (window.sample()) {
+			long start = System.nanoTime();
+			process(value);
+			window.record(System.nanoTime() - start);
+		} else {
+			process(value);
+		}
+
+		outstanding--;
+		if (outstanding <= window.lowWatermark()) {
+			replenish();
+		}
+	}
+
+	private void replenish() {
+		long n = window.next() - outstanding;
+		if (n > 0) {
+			outstanding += n;
+			requests++;
+			request(n);
+		}
+	}
+
+	public int currentWindow() {
+		return window.window();
+	}
+
+	public double averageProcessingNanos() {
+		return window.averageNanos();
+	}
+
+	/**
+	 * Quantidade de sinais de request enviados ao upstream.
+	 */
+	public long requestCount() {
+		return requests;
+	}
+}
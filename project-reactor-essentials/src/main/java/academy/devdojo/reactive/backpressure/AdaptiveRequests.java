@@ -0,0 +1,24 @@
+package academy.devdojo.reactive.backpressure;
+
+import java.util.function.Function;
+
+import academy.devdojo.reactive.lift.Lifts;
+import reactor.core.publisher.Flux;
+
+/**
+ * Equivalente adaptativo do limitRate: {@code flux.transform(AdaptiveRequests.limitRate(policy))}.
+ */
+public final class AdaptiveRequests {
+
+	private AdaptiveRequests() {
+	}
+
+	public static <T> Function<Flux<T>, Flux<T>> limitRate(AdaptiveRequestPolicy policy) {
+		policy.validate();
+		return Lifts.<T, T>flux((scannable, actual) -> new AdaptiveLimitRateSubscriber<>(actual, policy));
+	}
+
+	public static <T> Function<Flux<T>, Flux<T>> limitRate() {
+		return limitRate(AdaptiveRequestPolicy.defaults());
+	}
+}
@@ -0,0 +1,70 @@
+package academy.devdojo.reactive.backpressure;
+
+/**
+ * Calcula o tamanho da proxima janela a partir do tempo medio de processamento por elemento
+ * (media movel exponencial, amostrada a cada 32 elementos para que o System.nanoTime nao
+ * custe mais que o proprio processamento em consumidores rapidos). Quem chama pede apenas a diferenca entre a janela e o que ainda
+ * esta pendente, entao a ocupacao atual tambem limita o proximo request.
+ * <p>
+ * {@link #sample()} e {@link #record(long)} devem ser chamados de forma serial (onNext).
+ */
+final class AdaptiveWindow {
+
+	private static final double SMOOTHING = 0.2;
+	private static final int SAMPLE_MASK = 31;
+
+	private final int minWindow;
+	private final int maxWindow;
+	private final long targetBatchNanos;
+	private final double replenishRatio;
+
+	private volatile double averageNanos = -1;
+	private volatile int window;
+	private int sampleCounter;
+
+	AdaptiveWindow(AdaptiveRequestPolicy policy) {
+		policy.validate();
+		this.minWindow = policy.getMinWindow();
+		this.maxWindow = policy.getMaxWindow();
+		this.targetBatchNanos = policy.getTargetBatchTime().toNanos();
+		this.replenishRatio = policy.getReplenishRatio();
+		this.window = policy.getInitialWindow();
+	}
+
+	boolean sample() {
+		return (sampleCounter++ & SAMPLE_MASK) == 0;
+	}
+
+	void record(long processingNanos) {
+		double average = averageNanos;
+		averageNanos = average < 0 ? processingNanos : average + SMOOTHING * (processingNanos - average);
+	}
+
+	int next() {
+		double average = averageNanos;
+		int current = window;
+		if (average < 0) {
+			return current;
+		}
+		long next = average == 0 ? maxWindow : (long) (targetBatchNanos / average);
+		int bounded = (int) Math.max(minWindow, Math.min(maxWindow, next));
+		window = bounded;
+		return bounded;
+	}
+
+	/**
+	 * Quantos elementos podem continuar pendentes antes de pedir mais.
+	 */
+	long lowWatermark() {
+		int current = window;
+		return current - Math.max(1, (long) Math.ceil(current * replenishRatio));
+	}
+
+	int window() {
+		return window;
+	}
+
+	double averageNanos() {
+		return Math.max(0, averageNanos);
+	}
+}
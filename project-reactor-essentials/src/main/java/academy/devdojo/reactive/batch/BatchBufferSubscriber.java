@@ -0,0 +1,272 @@
+package academy.devdojo.reactive.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import org.reactivestreams.Subscription;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Disposable;
+import reactor.core.Scannable;
+import reactor.core.publisher.Operators;
+import reactor.util.annotation.Nullable;
+import reactor.util.context.Context;
+
+/**
+ * bufferTimeout que respeita backpressure: o do Reactor 3.3 da erro ("Could not emit buffer due
+ * to lack of requests") quando o timer dispara sem demanda, o que acontece sempre que os lotes
+ * em andamento ocupam todo o flatMap. Aqui o lote vencido espera o proximo request, e o upstream
+ * so recebe request para completar o lote atual enquanto o downstream tiver demanda.
+ * <p>
+ * O estado fica sob o monitor do subscriber e a emissao acontece fora dele, no loop de drain.
+ */
+final class BatchBufferSubscriber<K> implements CoreSubscriber<K>, Subscription, Scannable {
+
+	private static final AtomicIntegerFieldUpdater<BatchBufferSubscriber> WIP =
+			AtomicIntegerFieldUpdater.newUpdater(BatchBufferSubscriber.class, "wip");
+
+	private final CoreSubscriber<? super List<K>> actual;
+	private final BatchPolicy policy;
+	private final int maxBatchSize;
+
+	private Subscription upstream;
+
+	private List<K> buffer;
+	private long requested;
+	private long pendingFromUpstream;
+	private boolean flush;
+	private long generation;
+	private Disposable timer;
+	private boolean done;
+	private Throwable error;
+
+	private volatile boolean stopped;
+	private volatile int wip;
+
+	BatchBufferSubscriber(CoreSubscriber<? super List<K>> actual, BatchPolicy policy) {
+		this.actual = actual;
+		this.policy = policy;
+		this.maxBatchSize = policy.getMaxBatchSize();
+		this.buffer = new ArrayList<>(maxBatchSize);
+	}
+
+	@Override
+	public Context currentContext() {
+		return actual.currentContext();
+	}
+
+	@Override
+	public void onSubscribe(Subscription s) {
+		if (Operators.validate(upstream, s)) {
+			upstream = s;
+			actual.onSubscribe(this);
+		}
+	}
+
+	@Override
+	public void onNext(K key) {
+		long timerGeneration = -1;
+		synchronized (this) {
+			if (done) {
+				Operators.onNextDropped(key, currentContext());
+				return;
+			}
+			buffer.add(key);
+			pendingFromUpstream--;
+			if (buffer.size() == 1) {
+				timerGeneration = generation;
+			}
+		}
+		if (timerGeneration >= 0) {
+			startTimer(timerGeneration);
+		}
+		drain();
+	}
+
+	private void startTimer(long timerGeneration) {
+		Disposable task;
+		try {
+			task = policy.getTimer().schedule(() -> timeout(timerGeneration),
+					policy.getMaxDelay().toNanos(), TimeUnit.NANOSECONDS);
+		} catch (RejectedExecutionException e) {
+			onError(Operators.onRejectedExecution(e, this, null, null, currentContext()));
+			return;
+		}
+		synchronized (this) {
+			if (generation == timerGeneration && !done) {
+				timer = task;
+				return;
+			}
+		}
+		task.dispose();
+	}
+
+	private void timeout(long timerGeneration) {
+		synchronized (this) {
+			if (generation != timerGeneration) {
+				return;
+			}
+			flush = true;
+		}
+		drain();
+	}
+
+	@Override
+	public void onError(Throwable t) {
+		synchronized (this) {
+			if (done) {
+				Operators.onErrorDropped(t, currentContext());
+				return;
+			}
+			error = t;
+			done = true;
+		}
+		drain();
+	}
+
+	@Override
+	public void onComplete() {
+		synchronized (this) {
+			if (done) {
+				return;
+			}
+			done = true;
+		}
+		drain();
+	}
+
+	@Override
+	public void request(long n) {
+		if (Operators.validate(n)) {
+			synchronized (this) {
+				requested = Operators.addCap(requested, n);
+			}
+			drain();
+		}
+	}
+
+	@Override
+	public void cancel() {
+		stopped = true;
+		upstream.cancel();
+		Disposable t;
+		synchronized (this) {
+			t = timer;
+			timer = null;
+			buffer.clear();
+		}
+		if (t != null) {
+			t.dispose();
+		}
+	}
+
+	private void drain() {
+		if (WIP.getAndIncrement(this) != 0) {
+			return;
+		}
+		int missed = 1;
+		for (;;) {
+			if (stopped) {
+				return;
+			}
+			List<K> batch = null;
+			Disposable expired = null;
+			boolean terminate = false;
+			Throwable failure;
+			long toRequest = 0;
+
+			synchronized (this) {
+				failure = error;
+				if (failure != null) {
+					buffer.clear();
+					terminate = true;
+				} else if (requested > 0 && !buffer.isEmpty() && (buffer.size() >= maxBatchSize || flush || done)) {
+					batch = buffer;
+					buffer = new ArrayList<>(maxBatchSize);
+					flush = false;
+					generation++;
+					expired = timer;
+					timer = null;
+					if (requested != Long.MAX_VALUE) {
+						requested--;
+					}
+				}
+				if (done && buffer.isEmpty() && failure == null && batch == null) {
+					terminate = true;
+				}
+				if (!done && requested > 0 && pendingFromUpstream == 0 && buffer.size() < maxBatchSize) {
+					toRequest = maxBatchSize - buffer.size();
+					pendingFromUpstream = toRequest;
+				}
+			}
+
+			if (expired != null) {
+				expired.dispose();
+			}
+			if (batch != null) {
+				actual.onNext(batch);
+			}
+			if (terminate) {
+				Disposable t;
+				synchronized (this) {
+					t = timer;
+					timer = null;
+				}
+				if (t != null) {
+					t.dispose();
+				}
+				stopped = true;
+				if (failure != null) {
+					actual.onError(failure);
+				} else {
+					actual.onComplete();
+				}
+				return;
+			}
+			if (toRequest > 0) {
+				upstream.request(toRequest);
+			}
+			if (batch != null) {
+				// pode haver outro lote pronto ou o termino pendente
+				continue;
+			}
+
+			missed = WIP.addAndGet(this, -missed);
+			if (missed == 0) {
+				return;
+			}
+		}
+	}
+
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.PARENT) {
+			return upstream;
+		}
+		if (key == Attr.ACTUAL) {
+			return actual;
+		}
+		if (key == Attr.CAPACITY) {
+			return maxBatchSize;
+		}
+		if (key == Attr.RUN_ON) {
+			return policy.getTimer();
+		}
+		synchronized (this) {
+			if (key == Attr.TERMINATED) {
+				return done;
+			}
+			if (key == Attr.BUFFERED) {
+				return buffer.size();
+			}
+			if (key == Attr.REQUESTED_FROM_DOWNSTREAM) {
+				return requested;
+			}
+		}
+		return null;
+	}
+}
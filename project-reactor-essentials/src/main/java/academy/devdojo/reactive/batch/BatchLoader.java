@@ -0,0 +1,90 @@
+package academy.devdojo.reactive.batch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import academy.devdojo.reactive.lift.Lifts;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Troca o N+1 de {@code flatMap(this::findByName)} por uma chamada em lote, no estilo DataLoader.
+ * <p>
+ * As chaves sao agrupadas pela {@link BatchPolicy}, cada lote vira uma chamada a funcao de lote
+ * (chaves repetidas no lote sao pedidas uma vez so) e o resultado volta para cada chave, na ordem
+ * em que elas chegaram dentro do lote. {@link #load()} se comporta como flatMap (lotes podem
+ * terminar fora de ordem) e {@link #loadSequential()} como flatMapSequential.
+ * <p>
+ * {@code keys.transform(loader.loadSequential())} no lugar de {@code keys.flatMapSequential(this::findByName)}.
+ */
+public final class BatchLoader<K, V> {
+
+	private final Function<? super Flux<K>, ? extends Mono<Map<K, List<V>>>> batchFunction;
+	private final BatchPolicy policy;
+
+	private final LongAdder batches = new LongAdder();
+	private final LongAdder keys = new LongAdder();
+
+	private BatchLoader(Function<? super Flux<K>, ? extends Mono<Map<K, List<V>>>> batchFunction, BatchPolicy policy) {
+		policy.validate();
+		this.batchFunction = batchFunction;
+		this.policy = policy;
+	}
+
+	public static <K, V> BatchLoader<K, V> of(Function<? super Flux<K>, ? extends Mono<Map<K, List<V>>>> batchFunction) {
+		return new BatchLoader<>(batchFunction, BatchPolicy.defaults());
+	}
+
+	public static <K, V> BatchLoader<K, V> of(Function<? super Flux<K>, ? extends Mono<Map<K, List<V>>>> batchFunction,
+			BatchPolicy policy) {
+		return new BatchLoader<>(batchFunction, policy);
+	}
+
+	/**
+	 * Agrupa os elementos em lotes de ate {@code maxBatchSize} ou {@code maxDelay}, respeitando a
+	 * demanda do downstream (diferente do bufferTimeout).
+	 */
+	public static <T> Function<Flux<T>, Flux<List<T>>> batches(BatchPolicy policy) {
+		policy.validate();
+		return Lifts.<T, List<T>>flux((scannable, actual) -> new BatchBufferSubscriber<>(actual, policy));
+	}
+
+	public Function<Flux<K>, Flux<V>> load() {
+		return flux -> flux.transform(batches(policy))
+				.flatMap(this::loadBatch, policy.getConcurrency());
+	}
+
+	public Function<Flux<K>, Flux<V>> loadSequential() {
+		return flux -> flux.transform(batches(policy))
+				.flatMapSequential(this::loadBatch, policy.getConcurrency());
+	}
+
+	private Flux<V> loadBatch(List<K> batch) {
+		batches.increment();
+		keys.add(batch.size());
+		return batchFunction.apply(Flux.fromIterable(new LinkedHashSet<>(batch)))
+				.flatMapIterable(results -> fanOut(batch, results));
+	}
+
+	private static <K, V> List<V> fanOut(List<K> batch, Map<K, List<V>> results) {
+		List<V> values = new ArrayList<>(batch.size());
+		for (K key : batch) {
+			values.addAll(results.getOrDefault(key, Collections.emptyList()));
+		}
+		return values;
+	}
+
+	public long batchCount() {
+		return batches.sum();
+	}
+
+	public double averageBatchSize() {
+		long count = batches.sum();
+		return count == 0 ? 0 : (double) keys.sum() / count;
+	}
+}
@@ -0,0 +1,46 @@
+package academy.devdojo.reactive.batch;
+
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Value;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Quando fechar um lote do {@link BatchLoader}: ao juntar {@code maxBatchSize} chaves ou
+ * {@code maxDelay} depois da primeira chave do lote, o que vier antes. {@code concurrency} eh o
+ * numero de lotes em andamento ao mesmo tempo.
+ */
+@Value
+@Builder
+public class BatchPolicy {
+
+	@Builder.Default
+	int maxBatchSize = 64;
+
+	@Builder.Default
+	Duration maxDelay = Duration.ofMillis(10);
+
+	@Builder.Default
+	int concurrency = 4;
+
+	@Builder.Default
+	Scheduler timer = Schedulers.parallel();
+
+	public static BatchPolicy defaults() {
+		return builder().build();
+	}
+
+	void validate() {
+		if (maxBatchSize < 1) {
+			throw new IllegalArgumentException("maxBatchSize must be positive, got " + maxBatchSize);
+		}
+		if (maxDelay.isNegative() || maxDelay.isZero()) {
+			throw new IllegalArgumentException("maxDelay must be positive, got " + maxDelay);
+		}
+		if (concurrency < 1) {
+			throw new IllegalArgumentException("concurrency must be positive, got " + concurrency);
+		}
+	}
+}
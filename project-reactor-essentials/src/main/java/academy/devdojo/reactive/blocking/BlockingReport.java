@@ -0,0 +1,47 @@
+package academy.devdojo.reactive.blocking;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * Deteccoes de uma janela do {@link BlockingSampler}, com os pontos ordenados pelo tempo bloqueado
+ * estimado. As estimativas sao os valores amostrados divididos pelo {@code sampleRate}.
+ */
+@Value
+public class BlockingReport {
+
+	Instant start;
+	Instant end;
+	long detections;
+	long sampled;
+	List<Site> sites;
+
+	@Value
+	public static class Site {
+		BlockingSite site;
+		long samples;
+		long estimatedCount;
+		Duration estimatedBlockedTime;
+	}
+
+	public String format() {
+		StringBuilder text = new StringBuilder()
+				.append("blocking calls ").append(start).append(" - ").append(end).append(": ")
+				.append(detections).append(" detections, ").append(sampled).append(" sampled");
+		int rank = 1;
+		for (Site entry : sites) {
+			BlockingSite site = entry.getSite();
+			text.append("\n  #").append(rank++).append(' ').append(site.getPool()).append(' ').append(site.getMethod())
+					.append(" count~").append(entry.getEstimatedCount())
+					.append(" blocked~").append(entry.getEstimatedBlockedTime().toMillis()).append("ms")
+					.append(" (").append(entry.getSamples()).append(" samples)");
+			for (StackTraceElement frame : site.getStack()) {
+				text.append("\n      at ").append(frame);
+			}
+		}
+		return text.toString();
+	}
+}
@@ -0,0 +1,213 @@
+package academy.devdojo.reactive.blocking;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import academy.devdojo.reactive.scheduler.SchedulerThreads;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingMethod;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Modo de relatorio do BlockHound para rodar sob carga real: em vez de lancar
+ * BlockingOperationError na primeira chamada bloqueante numa thread NonBlocking (parallel(),
+ * single()), conta a deteccao, deixa a chamada seguir e amostra uma fracao delas. As amostras
+ * sao agregadas por pool e ponto de chamada e a cada {@code reportInterval} um relatorio ordenado
+ * pelo tempo bloqueado vai para o {@code reporter}.
+ * <p>
+ * O tempo bloqueado eh estimado como o tempo fora da CPU desde a chamada bloqueante ate o fim da
+ * task do scheduler (ou a proxima chamada bloqueante na mesma task), medido por um
+ * {@link Schedulers#onScheduleHook} e pelo tempo de CPU da thread.
+ * <p>
+ * O BlockHound so pode ser instalado uma vez por JVM; o {@link BlockingSamplerIntegration} entra
+ * em todo {@code BlockHound.install()} pelo ServiceLoader e volta a lancar o erro depois do
+ * {@link #uninstall()}. Um BlockHound instalado pelo builder sem carregar as integracoes nao
+ * passa por aqui.
+ */
+public final class BlockingSampler {
+
+	public static final String HOOK_KEY = "academy.devdojo.reactive.blocking-sampler";
+
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+	private static final ThreadLocal<OpenBlock> OPEN = new ThreadLocal<>();
+
+	private static volatile BlockingSampler installed;
+
+	private final BlockingSamplerConfig config;
+	private final boolean cpuTime;
+	private final AtomicReference<Window> window;
+	private final ScheduledExecutorService reports;
+
+	private BlockingSampler(BlockingSamplerConfig config) {
+		this.config = config;
+		this.cpuTime = THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+		this.window = new AtomicReference<>(new Window(Instant.now()));
+		this.reports = Executors.newSingleThreadScheduledExecutor(task -> {
+			Thread thread = new Thread(task, "blocking-sampler");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public static synchronized BlockingSampler install(BlockingSamplerConfig config) {
+		config.validate();
+		if (installed != null) {
+			throw new IllegalStateException("a BlockingSampler is already installed");
+		}
+		BlockHound.install();
+		BlockingSampler sampler = new BlockingSampler(config);
+		Schedulers.onScheduleHook(HOOK_KEY, task -> () -> {
+			try {
+				task.run();
+			} finally {
+				closeOpenBlock();
+			}
+		});
+		long interval = config.getReportInterval().toNanos();
+		sampler.reports.scheduleAtFixedRate(sampler::emit, interval, interval, TimeUnit.NANOSECONDS);
+		installed = sampler;
+		return sampler;
+	}
+
+	/**
+	 * Emite o relatorio da janela atual e volta ao comportamento padrao do BlockHound.
+	 */
+	public static synchronized void uninstall() {
+		BlockingSampler sampler = installed;
+		if (sampler != null) {
+			installed = null;
+			Schedulers.resetOnScheduleHook(HOOK_KEY);
+			sampler.reports.shutdownNow();
+			sampler.emit();
+		}
+	}
+
+	/**
+	 * Fecha a janela atual e devolve o relatorio dela; a proxima janela comeca agora.
+	 */
+	public BlockingReport report() {
+		Instant now = Instant.now();
+		Window closed = window.getAndSet(new Window(now));
+		double rate = config.getSampleRate();
+		List<BlockingReport.Site> sites = closed.sites.entrySet().stream()
+				.map(entry -> {
+					long samples = entry.getValue().samples.sum();
+					long blocked = entry.getValue().blockedNanos.sum();
+					return new BlockingReport.Site(entry.getKey(), samples, Math.round(samples / rate),
+							Duration.ofNanos(Math.round(blocked / rate)));
+				})
+				.sorted(Comparator.comparing(BlockingReport.Site::getEstimatedBlockedTime)
+						.thenComparingLong(BlockingReport.Site::getSamples)
+						.reversed())
+				.limit(config.getTopSites())
+				.collect(Collectors.toList());
+		return new BlockingReport(closed.start, now, closed.detections.sum(), closed.sampled.sum(), sites);
+	}
+
+	private void emit() {
+		try {
+			config.getReporter().accept(report());
+		} catch (Throwable error) {
+			Thread current = Thread.currentThread();
+			current.getUncaughtExceptionHandler().uncaughtException(current, error);
+		}
+	}
+
+	/**
+	 * Callback do BlockHound, chamado na thread que vai bloquear, antes da chamada.
+	 */
+	static void onBlocking(BlockingMethod method) {
+		BlockingSampler sampler = installed;
+		if (sampler == null) {
+			throw new BlockingOperationError(method);
+		}
+		sampler.record(method);
+	}
+
+	private void record(BlockingMethod method) {
+		Window current = window.get();
+		current.detections.increment();
+		if (ThreadLocalRandom.current().nextDouble() >= config.getSampleRate()) {
+			return;
+		}
+		current.sampled.increment();
+		Thread thread = Thread.currentThread();
+		BlockingSite site = new BlockingSite(SchedulerThreads.pool(thread.getName()), method.toString(), stack(method));
+		SiteStats stats = current.sites.computeIfAbsent(site, key -> new SiteStats());
+		stats.samples.increment();
+		closeOpenBlock();
+		OPEN.set(new OpenBlock(stats, System.nanoTime(), cpuTime ? THREADS.getCurrentThreadCpuTime() : 0));
+	}
+
+	private List<StackTraceElement> stack(BlockingMethod method) {
+		String blockingClass = method.getClassName();
+		return StackWalker.getInstance().walk(frames -> frames
+				.dropWhile(frame -> {
+					String name = frame.getClassName();
+					return name.startsWith("reactor.blockhound.") || name.startsWith(BlockingSampler.class.getPackage().getName())
+							|| name.equals(blockingClass);
+				})
+				.limit(config.getStackDepth())
+				.map(StackWalker.StackFrame::toStackTraceElement)
+				.collect(Collectors.toList()));
+	}
+
+	private static void closeOpenBlock() {
+		OpenBlock open = OPEN.get();
+		if (open == null) {
+			return;
+		}
+		OPEN.remove();
+		long wall = System.nanoTime() - open.wallStart;
+		long cpu = open.cpuStart == 0 ? 0 : THREADS.getCurrentThreadCpuTime() - open.cpuStart;
+		long blocked = wall - cpu;
+		if (blocked > 0) {
+			open.stats.blockedNanos.add(blocked);
+		}
+	}
+
+	private static final class Window {
+
+		final Instant start;
+		final LongAdder detections = new LongAdder();
+		final LongAdder sampled = new LongAdder();
+		final Map<BlockingSite, SiteStats> sites = new ConcurrentHashMap<>();
+
+		Window(Instant start) {
+			this.start = start;
+		}
+	}
+
+	private static final class SiteStats {
+		final LongAdder samples = new LongAdder();
+		final LongAdder blockedNanos = new LongAdder();
+	}
+
+	private static final class OpenBlock {
+
+		final SiteStats stats;
+		final long wallStart;
+		final long cpuStart;
+
+		OpenBlock(SiteStats stats, long wallStart, long cpuStart) {
+			this.stats = stats;
+			this.wallStart = wallStart;
+			this.cpuStart = cpuStart;
+		}
+	}
+}
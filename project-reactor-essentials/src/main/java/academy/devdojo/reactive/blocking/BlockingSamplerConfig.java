@@ -0,0 +1,65 @@
+package academy.devdojo.reactive.blocking;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Configuracao do {@link BlockingSampler}. {@code sampleRate} eh a fracao das deteccoes que tem a
+ * pilha capturada e o tempo bloqueado medido (as demais so entram no total); {@code stackDepth}
+ * limita os frames que identificam o ponto de chamada. A cada {@code reportInterval} o relatorio
+ * com os {@code topSites} piores pontos vai para o {@code reporter}.
+ */
+@Value
+@Builder
+public class BlockingSamplerConfig {
+
+	@Builder.Default
+	double sampleRate = 0.05;
+
+	@Builder.Default
+	int stackDepth = 12;
+
+	@Builder.Default
+	Duration reportInterval = Duration.ofMinutes(1);
+
+	@Builder.Default
+	int topSites = 20;
+
+	@Builder.Default
+	Consumer<BlockingReport> reporter = LogReporter.INSTANCE;
+
+	public static BlockingSamplerConfig defaults() {
+		return builder().build();
+	}
+
+	void validate() {
+		if (!(sampleRate > 0 && sampleRate <= 1)) {
+			throw new IllegalArgumentException("sampleRate must be in (0, 1], got " + sampleRate);
+		}
+		if (stackDepth < 1) {
+			throw new IllegalArgumentException("stackDepth must be positive, got " + stackDepth);
+		}
+		if (reportInterval == null || reportInterval.isNegative() || reportInterval.isZero()) {
+			throw new IllegalArgumentException("reportInterval must be positive, got " + reportInterval);
+		}
+		if (topSites < 1) {
+			throw new IllegalArgumentException("topSites must be positive, got " + topSites);
+		}
+	}
+
+	@Slf4j
+	enum LogReporter implements Consumer<BlockingReport> {
+		INSTANCE;
+
+		@Override
+		public void accept(BlockingReport report) {
+			if (report.getDetections() > 0) {
+				log.warn("{}", report.format());
+			}
+		}
+	}
+}
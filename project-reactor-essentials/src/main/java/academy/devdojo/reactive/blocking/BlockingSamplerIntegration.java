@@ -0,0 +1,17 @@
+package academy.devdojo.reactive.blocking;
+
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.integration.BlockHoundIntegration;
+
+/**
+ * Carregada pelo ServiceLoader em todo {@code BlockHound.install()}: troca o callback de deteccao
+ * pelo {@link BlockingSampler#onBlocking}, que continua lancando BlockingOperationError enquanto
+ * nenhum sampler estiver instalado.
+ */
+public class BlockingSamplerIntegration implements BlockHoundIntegration {
+
+	@Override
+	public void applyTo(BlockHound.Builder builder) {
+		builder.blockingMethodCallback(BlockingSampler::onBlocking);
+	}
+}
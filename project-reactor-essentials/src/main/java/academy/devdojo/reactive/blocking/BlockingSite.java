@@ -0,0 +1,17 @@
+package academy.devdojo.reactive.blocking;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * Um ponto de chamada bloqueante: o pool da thread (nome sem o indice, como "parallel"), o metodo
+ * bloqueante detectado e os primeiros frames de quem chamou.
+ */
+@Value
+public class BlockingSite {
+
+	String pool;
+	String method;
+	List<StackTraceElement> stack;
+}
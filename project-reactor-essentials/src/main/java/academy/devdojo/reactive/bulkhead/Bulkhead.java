@@ -0,0 +1,219 @@
+package academy.devdojo.reactive.bulkhead;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.reactivestreams.Publisher;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Bulkhead nomeado para chamadas bloqueantes, no lugar do
+ * {@code Mono.fromCallable(...).subscribeOn(Schedulers.boundedElastic())}: cada dependencia tem as
+ * proprias threads e a propria fila, entao uma dependencia lenta esgota so o seu bulkhead e nao o
+ * boundedElastic de todo mundo.
+ * <pre>
+ * Bulkhead files = Bulkhead.of("files", BulkheadConfig.builder().maxConcurrent(4).build());
+ * Mono&lt;List&lt;String&gt;&gt; lines = files.call(() -&gt; Files.readAllLines(path));
+ * </pre>
+ * A assinatura da fonte roda numa thread do bulkhead, que fica ocupada ate o subscribe voltar: eh
+ * o que acontece com fromCallable, que chama o Callable dentro do subscribe. Sem vaga a chamada
+ * espera na fila; com a fila cheia falha na hora com RejectedExecutionException e depois de
+ * {@code maxQueueWait} na fila falha com TimeoutException, sem chegar a rodar.
+ */
+public final class Bulkhead implements Disposable {
+
+	private static final int SIGNIFICANT_DIGITS = 2;
+
+	final String name;
+	final BulkheadConfig config;
+	final Scheduler timer;
+
+	private final ThreadPoolExecutor executor;
+	private final AtomicInteger active = new AtomicInteger();
+	private final AtomicInteger queued = new AtomicInteger();
+	private final Queue<BulkheadCall<?>> waiting = new ConcurrentLinkedQueue<>();
+
+	private final LongAdder completed = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder timedOut = new LongAdder();
+	private final Recorder waitRecorder = new Recorder(SIGNIFICANT_DIGITS);
+	private Histogram waitTotal = new Histogram(SIGNIFICANT_DIGITS);
+
+	private Bulkhead(String name, BulkheadConfig config) {
+		this.name = name;
+		this.config = config;
+		this.timer = Schedulers.parallel();
+		AtomicLong threads = new AtomicLong();
+		this.executor = new ThreadPoolExecutor(config.getMaxConcurrent(), config.getMaxConcurrent(),
+				config.getKeepAlive().toNanos(), TimeUnit.NANOSECONDS, new LinkedBlockingQueue<>(), task -> {
+			Thread thread = new Thread(task, name + "-" + threads.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	public static Bulkhead of(String name) {
+		return of(name, BulkheadConfig.defaults());
+	}
+
+	public static Bulkhead of(String name, BulkheadConfig config) {
+		config.validate();
+		return new Bulkhead(name, config);
+	}
+
+	public <T> Mono<T> call(Callable<? extends T> callable) {
+		return subscribeOn(Mono.fromCallable(callable));
+	}
+
+	/**
+	 * {@code mono.transform(bulkhead::subscribeOn)}.
+	 */
+	public <T> Mono<T> subscribeOn(Mono<T> source) {
+		return BulkheadMono.create(source, this);
+	}
+
+	/**
+	 * {@code flux.transform(bulkhead::subscribeOn)}.
+	 */
+	public <T> Flux<T> subscribeOn(Flux<T> source) {
+		return BulkheadFlux.create(source, this);
+	}
+
+	public String name() {
+		return name;
+	}
+
+	public synchronized BulkheadSnapshot snapshot() {
+		waitTotal.add(waitRecorder.getIntervalHistogram());
+		return new BulkheadSnapshot(name, active.get(), queued.get(), completed.sum(), rejected.sum(), timedOut.sum(),
+				waitTotal.getValueAtPercentile(50), waitTotal.getValueAtPercentile(99), waitTotal.getMaxValue());
+	}
+
+	/**
+	 * Encerra as threads (interrompendo as chamadas em curso) e rejeita as que estao na fila.
+	 */
+	@Override
+	public void dispose() {
+		executor.shutdownNow();
+		BulkheadCall<?> call;
+		while ((call = waiting.poll()) != null) {
+			if (call.reject(Exceptions.failWithRejected("bulkhead '" + name + "' disposed"))) {
+				queued.decrementAndGet();
+			}
+		}
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return executor.isShutdown();
+	}
+
+	<T> void subscribe(Publisher<? extends T> source, CoreSubscriber<? super T> actual) {
+		BulkheadCall<T> call = new BulkheadCall<>(source, actual, this);
+		actual.onSubscribe(call);
+		if (isDisposed()) {
+			call.reject(Exceptions.failWithRejected("bulkhead '" + name + "' disposed"));
+			return;
+		}
+		if (tryAcquire()) {
+			if (call.start()) {
+				execute(call);
+			} else {
+				release();
+			}
+			return;
+		}
+		if (queued.incrementAndGet() > config.getMaxQueued()) {
+			queued.decrementAndGet();
+			rejected.increment();
+			call.reject(Exceptions.failWithRejected(String.format("bulkhead '%s' is full (%d active, %d queued)",
+					name, config.getMaxConcurrent(), config.getMaxQueued())));
+			return;
+		}
+		if (!call.enqueue()) {
+			queued.decrementAndGet();
+			return;
+		}
+		waiting.offer(call);
+		call.scheduleTimeout();
+		// uma vaga pode ter sido liberada entre o tryAcquire e o offer
+		drain();
+	}
+
+	/**
+	 * Chamado pela propria chamada ao sair da fila por timeout ou cancelamento.
+	 */
+	void dequeued(BulkheadCall<?> call, boolean timeout) {
+		waiting.remove(call);
+		queued.decrementAndGet();
+		if (timeout) {
+			timedOut.increment();
+		}
+	}
+
+	void onStart(long waitNanos) {
+		waitRecorder.recordValue(Math.max(0, waitNanos));
+	}
+
+	void onFinish() {
+		completed.increment();
+		release();
+		drain();
+	}
+
+	private void execute(BulkheadCall<?> call) {
+		try {
+			executor.execute(call);
+		} catch (RejectedExecutionException e) {
+			release();
+			call.reject(Exceptions.failWithRejected("bulkhead '" + name + "' disposed"));
+		}
+	}
+
+	private void drain() {
+		while (!waiting.isEmpty() && tryAcquire()) {
+			BulkheadCall<?> call = waiting.poll();
+			if (call == null || !call.start()) {
+				// fila esvaziou, ou a chamada venceu/foi cancelada e ja saiu da contagem
+				release();
+				continue;
+			}
+			queued.decrementAndGet();
+			execute(call);
+		}
+	}
+
+	private boolean tryAcquire() {
+		for (;;) {
+			int current = active.get();
+			if (current >= config.getMaxConcurrent()) {
+				return false;
+			}
+			if (active.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	private void release() {
+		active.decrementAndGet();
+	}
+}
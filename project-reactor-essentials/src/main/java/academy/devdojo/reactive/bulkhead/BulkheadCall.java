@@ -0,0 +1,154 @@
+package academy.devdojo.reactive.bulkhead;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Operators;
+import reactor.util.annotation.Nullable;
+import reactor.util.context.Context;
+
+/**
+ * Uma assinatura passando pelo {@link Bulkhead}. Eh a Subscription entregue ao downstream desde o
+ * subscribe (os requests ficam guardados ate a fonte ser assinada) e o Runnable que assina a fonte
+ * na thread do bulkhead. O estado decide quem fica com a chamada entre comecar a rodar, vencer na
+ * fila, ser cancelada ou rejeitada.
+ */
+final class BulkheadCall<T> extends Operators.DeferredSubscription implements CoreSubscriber<T>, Runnable {
+
+	private static final int NEW = 0;
+	private static final int QUEUED = 1;
+	private static final int RUNNING = 2;
+	private static final int DONE = 3;
+
+	private static final AtomicIntegerFieldUpdater<BulkheadCall> STATE =
+			AtomicIntegerFieldUpdater.newUpdater(BulkheadCall.class, "state");
+
+	private final Publisher<? extends T> source;
+	private final CoreSubscriber<? super T> actual;
+	private final Bulkhead bulkhead;
+	private final long created = System.nanoTime();
+
+	private volatile int state;
+	private volatile Disposable timeout;
+
+	BulkheadCall(Publisher<? extends T> source, CoreSubscriber<? super T> actual, Bulkhead bulkhead) {
+		this.source = source;
+		this.actual = actual;
+		this.bulkhead = bulkhead;
+	}
+
+	/**
+	 * Falso se a chamada foi cancelada antes de entrar na fila.
+	 */
+	boolean enqueue() {
+		return STATE.compareAndSet(this, NEW, QUEUED);
+	}
+
+	boolean start() {
+		return STATE.compareAndSet(this, NEW, RUNNING) || STATE.compareAndSet(this, QUEUED, RUNNING);
+	}
+
+	void scheduleTimeout() {
+		try {
+			timeout = bulkhead.timer.schedule(this::onTimeout, bulkhead.config.getMaxQueueWait().toNanos(),
+					TimeUnit.NANOSECONDS);
+		} catch (RejectedExecutionException e) {
+			// sem timer a chamada so espera a vez
+		}
+		if (state != QUEUED) {
+			disposeTimeout();
+		}
+	}
+
+	boolean reject(Throwable error) {
+		if (STATE.getAndSet(this, DONE) == DONE) {
+			return false;
+		}
+		disposeTimeout();
+		actual.onError(error);
+		return true;
+	}
+
+	@Override
+	public void run() {
+		disposeTimeout();
+		bulkhead.onStart(System.nanoTime() - created);
+		try {
+			if (!isCancelled()) {
+				source.subscribe(this);
+			}
+		} catch (Throwable e) {
+			onError(Operators.onOperatorError(e, actual.currentContext()));
+		} finally {
+			bulkhead.onFinish();
+		}
+	}
+
+	@Override
+	public void cancel() {
+		super.cancel();
+		if (STATE.compareAndSet(this, QUEUED, DONE)) {
+			disposeTimeout();
+			bulkhead.dequeued(this, false);
+		} else {
+			STATE.compareAndSet(this, NEW, DONE);
+		}
+	}
+
+	@Override
+	public void onSubscribe(Subscription s) {
+		set(s);
+	}
+
+	@Override
+	public void onNext(T t) {
+		actual.onNext(t);
+	}
+
+	@Override
+	public void onError(Throwable t) {
+		actual.onError(t);
+	}
+
+	@Override
+	public void onComplete() {
+		actual.onComplete();
+	}
+
+	@Override
+	public Context currentContext() {
+		return actual.currentContext();
+	}
+
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.ACTUAL) {
+			return actual;
+		}
+		return super.scanUnsafe(key);
+	}
+
+	private void onTimeout() {
+		if (STATE.compareAndSet(this, QUEUED, DONE)) {
+			bulkhead.dequeued(this, true);
+			actual.onError(new TimeoutException(String.format("bulkhead '%s' queue wait exceeded %dms",
+					bulkhead.name, bulkhead.config.getMaxQueueWait().toMillis())));
+		}
+	}
+
+	private void disposeTimeout() {
+		Disposable current = timeout;
+		if (current != null) {
+			current.dispose();
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package academy.devdojo.reactive.bulkhead;
+
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Configuracao de um {@link Bulkhead}: ate {@code maxConcurrent} chamadas rodando, cada uma numa
+ * thread do proprio bulkhead, e ate {@code maxQueued} esperando vaga por no maximo
+ * {@code maxQueueWait}. Threads ociosas por {@code keepAlive} sao encerradas.
+ */
+@Value
+@Builder
+public class BulkheadConfig {
+
+	@Builder.Default
+	int maxConcurrent = 10;
+
+	@Builder.Default
+	int maxQueued = 50;
+
+	@Builder.Default
+	Duration maxQueueWait = Duration.ofSeconds(1);
+
+	@Builder.Default
+	Duration keepAlive = Duration.ofSeconds(60);
+
+	public static BulkheadConfig defaults() {
+		return builder().build();
+	}
+
+	void validate() {
+		if (maxConcurrent < 1) {
+			throw new IllegalArgumentException("maxConcurrent must be positive, got " + maxConcurrent);
+		}
+		if (maxQueued < 0) {
+			throw new IllegalArgumentException("maxQueued must not be negative, got " + maxQueued);
+		}
+		if (maxQueueWait == null || maxQueueWait.isNegative() || maxQueueWait.isZero()) {
+			throw new IllegalArgumentException("maxQueueWait must be positive, got " + maxQueueWait);
+		}
+		if (keepAlive == null || keepAlive.isNegative() || keepAlive.isZero()) {
+			throw new IllegalArgumentException("keepAlive must be positive, got " + keepAlive);
+		}
+	}
+}
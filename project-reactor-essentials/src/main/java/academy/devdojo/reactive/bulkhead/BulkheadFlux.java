@@ -0,0 +1,24 @@
+package academy.devdojo.reactive.bulkhead;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+
+final class BulkheadFlux<T> extends Flux<T> {
+
+	private final Flux<T> source;
+	private final Bulkhead bulkhead;
+
+	private BulkheadFlux(Flux<T> source, Bulkhead bulkhead) {
+		this.source = source;
+		this.bulkhead = bulkhead;
+	}
+
+	static <T> Flux<T> create(Flux<T> source, Bulkhead bulkhead) {
+		return onAssembly(new BulkheadFlux<>(source, bulkhead));
+	}
+
+	@Override
+	public void subscribe(CoreSubscriber<? super T> actual) {
+		bulkhead.subscribe(source, actual);
+	}
+}
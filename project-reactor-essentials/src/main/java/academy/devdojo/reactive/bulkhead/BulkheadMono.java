@@ -0,0 +1,24 @@
+package academy.devdojo.reactive.bulkhead;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Mono;
+
+final class BulkheadMono<T> extends Mono<T> {
+
+	private final Mono<T> source;
+	private final Bulkhead bulkhead;
+
+	private BulkheadMono(Mono<T> source, Bulkhead bulkhead) {
+		this.source = source;
+		this.bulkhead = bulkhead;
+	}
+
+	static <T> Mono<T> create(Mono<T> source, Bulkhead bulkhead) {
+		return onAssembly(new BulkheadMono<>(source, bulkhead));
+	}
+
+	@Override
+	public void subscribe(CoreSubscriber<? super T> actual) {
+		bulkhead.subscribe(source, actual);
+	}
+}
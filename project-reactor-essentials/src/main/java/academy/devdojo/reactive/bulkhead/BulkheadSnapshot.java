@@ -0,0 +1,33 @@
+package academy.devdojo.reactive.bulkhead;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.Value;
+
+/**
+ * Estado de um {@link Bulkhead}. Os contadores sao acumulados desde a criacao; wait eh da
+ * assinatura ate a chamada comecar a rodar, em nanossegundos, so das que rodaram.
+ */
+@Value
+public class BulkheadSnapshot {
+	String name;
+	int active;
+	int queued;
+	long completed;
+	long rejected;
+	long timedOut;
+	long waitP50Nanos;
+	long waitP99Nanos;
+	long waitMaxNanos;
+
+	@Override
+	public String toString() {
+		return String.format("%s active=%d queued=%d completed=%d rejected=%d timedOut=%d wait p50=%dus p99=%dus max=%dus",
+				name, active, queued, completed, rejected, timedOut,
+				micros(waitP50Nanos), micros(waitP99Nanos), micros(waitMaxNanos));
+	}
+
+	private static long micros(long nanos) {
+		return TimeUnit.NANOSECONDS.toMicros(nanos);
+	}
+}
@@ -0,0 +1,40 @@
+package academy.devdojo.reactive.cache;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Configuracao do {@link ReactiveCache}. A eviction por tamanho usa o W-TinyLFU do Caffeine.
+ */
+@Value
+@Builder
+public class CacheConfig {
+
+	@Builder.Default
+	long maximumSize = 10_000;
+
+	@Builder.Default
+	Duration expireAfterWrite = Duration.ofMinutes(5);
+
+	/**
+	 * Onde roda a manutencao do cache (eviction, expiracao). Fica fora das threads dos schedulers
+	 * porque a manutencao pode esperar um lock. Com poucos cores o commonPool vira gargalo;
+	 * {@code Runnable::run} roda a manutencao na thread que acessa o cache e eh mais rapido, mas o
+	 * BlockHound pode acusar se a thread for do parallel e o lock estiver ocupado.
+	 */
+	@Builder.Default
+	Executor executor = ForkJoinPool.commonPool();
+
+	@Builder.Default
+	Ticker ticker = Ticker.systemTicker();
+
+	public static CacheConfig defaults() {
+		return builder().build();
+	}
+}
@@ -0,0 +1,85 @@
+package academy.devdojo.reactive.cache;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Cache na frente de lookups {@code K -> Flux<V>} como o OperatorsTest.findByName.
+ * <p>
+ * Requests concorrentes para a mesma chave compartilham uma unica assinatura do loader: o primeiro
+ * cria o CompletableFuture e os demais esperam por ele. O resultado do Flux eh materializado em uma
+ * lista, entao use para lookups com poucos elementos por chave. Erros nao ficam no cache.
+ * <p>
+ * {@code flux.flatMap(cache::get)} no lugar de {@code flux.flatMap(this::findByName)}.
+ */
+public final class ReactiveCache<K, V> {
+
+	private final AsyncCache<K, List<V>> cache;
+	private final Function<? super K, ? extends Flux<V>> loader;
+
+	private ReactiveCache(Function<? super K, ? extends Flux<V>> loader, CacheConfig config) {
+		this.loader = loader;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(config.getMaximumSize())
+				.expireAfterWrite(config.getExpireAfterWrite())
+				.executor(config.getExecutor())
+				.ticker(config.getTicker())
+				.recordStats()
+				.buildAsync();
+	}
+
+	public static <K, V> ReactiveCache<K, V> of(Function<? super K, ? extends Flux<V>> loader) {
+		return new ReactiveCache<>(loader, CacheConfig.defaults());
+	}
+
+	public static <K, V> ReactiveCache<K, V> of(Function<? super K, ? extends Flux<V>> loader, CacheConfig config) {
+		return new ReactiveCache<>(loader, config);
+	}
+
+	public Flux<V> get(K key) {
+		return Mono.fromFuture(() -> detached(cache.get(key, (k, executor) -> loader.apply(k).collectList().toFuture())))
+				.flatMapIterable(Function.identity());
+	}
+
+	/**
+	 * Cancelar um assinante nao pode cancelar o load que os outros estao esperando, entao cada
+	 * assinante recebe um future derivado.
+	 */
+	private static <T> CompletableFuture<T> detached(CompletableFuture<T> shared) {
+		return shared.thenApply(Function.identity());
+	}
+
+	public void invalidate(K key) {
+		cache.synchronous().invalidate(key);
+	}
+
+	public void invalidateAll() {
+		cache.synchronous().invalidateAll();
+	}
+
+	/**
+	 * Hits, misses, loads e tempo de load (averageLoadPenalty em nanos).
+	 */
+	public CacheStats stats() {
+		return cache.synchronous().stats();
+	}
+
+	public long estimatedSize() {
+		return cache.synchronous().estimatedSize();
+	}
+
+	/**
+	 * Executa a manutencao pendente (eviction e expiracao) agora.
+	 */
+	public void cleanUp() {
+		cache.synchronous().cleanUp();
+	}
+}
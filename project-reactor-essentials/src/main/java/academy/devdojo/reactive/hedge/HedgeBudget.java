@@ -0,0 +1,46 @@
+package academy.devdojo.reactive.hedge;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de fichas do hedge em milesimos: cada request deposita {@code maxHedgeRatio} ficha, ate
+ * {@code hedgeBurst}, e cada segunda tentativa gasta uma.
+ */
+final class HedgeBudget {
+
+	private static final long ONE = 1000;
+
+	private final long deposit;
+	private final long capacity;
+	private final AtomicLong tokens;
+
+	HedgeBudget(double ratio, int burst) {
+		this.deposit = Math.round(ratio * ONE);
+		this.capacity = Math.max(ONE, burst * ONE);
+		this.tokens = new AtomicLong(burst * ONE);
+	}
+
+	void deposit() {
+		if (deposit == 0) {
+			return;
+		}
+		for (;;) {
+			long current = tokens.get();
+			if (current >= capacity || tokens.compareAndSet(current, Math.min(capacity, current + deposit))) {
+				return;
+			}
+		}
+	}
+
+	boolean tryWithdraw() {
+		for (;;) {
+			long current = tokens.get();
+			if (current < ONE) {
+				return false;
+			}
+			if (tokens.compareAndSet(current, current - ONE)) {
+				return true;
+			}
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package academy.devdojo.reactive.hedge;
+
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Quando disparar a segunda tentativa. Com {@code percentile} zero o atraso eh sempre
+ * {@code delay}; com um percentil (95, 99) o atraso passa a ser esse percentil da latencia da
+ * primeira tentativa na ultima janela de {@code window} requests, e {@code delay} vale ate a
+ * primeira janela fechar.
+ * <p>
+ * {@code maxHedgeRatio} limita as segundas tentativas a essa fracao dos requests, com folga de
+ * {@code hedgeBurst}: se a dependencia inteira ficar lenta o hedge nao dobra a carga nela.
+ */
+@Value
+@Builder
+public class HedgePolicy {
+
+	@Builder.Default
+	Duration delay = Duration.ofMillis(50);
+
+	@Builder.Default
+	double percentile = 0;
+
+	@Builder.Default
+	int window = 1000;
+
+	@Builder.Default
+	double maxHedgeRatio = 0.1;
+
+	@Builder.Default
+	int hedgeBurst = 10;
+
+	public static HedgePolicy fixed(Duration delay) {
+		return builder().delay(delay).build();
+	}
+
+	public static HedgePolicy percentile(double percentile) {
+		return builder().percentile(percentile).build();
+	}
+
+	void validate() {
+		if (delay == null || delay.isNegative()) {
+			throw new IllegalArgumentException("delay must not be negative, got " + delay);
+		}
+		if (!(percentile >= 0 && percentile < 100)) {
+			throw new IllegalArgumentException("percentile must be in [0, 100), got " + percentile);
+		}
+		if (window < 1) {
+			throw new IllegalArgumentException("window must be positive, got " + window);
+		}
+		if (!(maxHedgeRatio >= 0 && maxHedgeRatio <= 1)) {
+			throw new IllegalArgumentException("maxHedgeRatio must be in [0, 1], got " + maxHedgeRatio);
+		}
+		if (hedgeBurst < 0) {
+			throw new IllegalArgumentException("hedgeBurst must not be negative, got " + hedgeBurst);
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package academy.devdojo.reactive.hedge;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.Value;
+
+/**
+ * Contadores de um {@link Hedging}: requests, segundas tentativas disparadas, quantas delas
+ * chegaram primeiro, quantas o limite de taxa barrou e o atraso em uso.
+ */
+@Value
+public class HedgeSnapshot {
+	long requests;
+	long hedged;
+	long hedgeWins;
+	long denied;
+	long delayNanos;
+
+	@Override
+	public String toString() {
+		return String.format("requests=%d hedged=%d wins=%d denied=%d delay=%dus", requests, hedged, hedgeWins, denied,
+				TimeUnit.NANOSECONDS.toMicros(delayNanos));
+	}
+}
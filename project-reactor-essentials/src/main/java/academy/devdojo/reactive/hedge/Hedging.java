@@ -0,0 +1,160 @@
+package academy.devdojo.reactive.hedge;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Requests com hedge: se a primeira tentativa nao sinalizou nada depois do atraso da
+ * {@link HedgePolicy}, uma segunda tentativa identica comeca e fica valendo a que sinalizar
+ * primeiro (Mono.first/Flux.first); a outra eh cancelada. Num Flux o primeiro elemento decide, os
+ * dois nao se misturam. Um erro tambem eh sinal: se a primeira falhar antes do atraso, o erro
+ * passa.
+ * <p>
+ * Um Hedging eh compartilhado pelas chamadas de uma dependencia, porque o percentil e o limite de
+ * taxa sao dela: {@code flux.flatMap(hedging.hedged(this::findByName))}. So vale para chamadas
+ * idempotentes, a mesma chamada pode rodar duas vezes.
+ */
+public final class Hedging {
+
+	private static final int SIGNIFICANT_DIGITS = 2;
+
+	private final HedgePolicy policy;
+	private final HedgeBudget budget;
+	private final Recorder latency = new Recorder(SIGNIFICANT_DIGITS);
+	private final AtomicInteger windowCount = new AtomicInteger();
+
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder hedged = new LongAdder();
+	private final LongAdder hedgeWins = new LongAdder();
+	private final LongAdder denied = new LongAdder();
+
+	private volatile long delayNanos;
+
+	private Hedging(HedgePolicy policy) {
+		this.policy = policy;
+		this.budget = new HedgeBudget(policy.getMaxHedgeRatio(), policy.getHedgeBurst());
+		this.delayNanos = policy.getDelay().toNanos();
+	}
+
+	public static Hedging of(HedgePolicy policy) {
+		policy.validate();
+		return new Hedging(policy);
+	}
+
+	public <T> Mono<T> mono(Supplier<? extends Mono<? extends T>> attempt) {
+		return Mono.defer(() -> {
+			Race race = start();
+			Mono<T> primary = Mono.<T>defer(attempt)
+					.doOnEach(signal -> race.onPrimarySignal())
+					.doOnCancel(race::onPrimaryCancel);
+			Mono<T> hedge = Mono.delay(Duration.ofNanos(delayNanos))
+					.flatMap(tick -> race.tryHedge()
+							? Mono.<T>defer(attempt).doOnEach(signal -> race.onHedgeSignal())
+							: Mono.never());
+			return Mono.first(primary, hedge);
+		});
+	}
+
+	public <T> Flux<T> flux(Supplier<? extends Publisher<? extends T>> attempt) {
+		return Flux.defer(() -> {
+			Race race = start();
+			Flux<T> primary = Flux.<T>defer(() -> Flux.<T>from(attempt.get()))
+					.doOnEach(signal -> race.onPrimarySignal())
+					.doOnCancel(race::onPrimaryCancel);
+			Flux<T> hedge = Mono.delay(Duration.ofNanos(delayNanos))
+					.flatMapMany(tick -> race.tryHedge()
+							? Flux.<T>defer(() -> Flux.<T>from(attempt.get())).doOnEach(signal -> race.onHedgeSignal())
+							: Flux.never());
+			return Flux.first(primary, hedge);
+		});
+	}
+
+	/**
+	 * {@code flatMap(hedging.hedged(this::findByName))}.
+	 */
+	public <T, R> Function<T, Flux<R>> hedged(Function<? super T, ? extends Publisher<? extends R>> producer) {
+		return value -> flux(() -> producer.apply(value));
+	}
+
+	public HedgeSnapshot snapshot() {
+		return new HedgeSnapshot(requests.sum(), hedged.sum(), hedgeWins.sum(), denied.sum(), delayNanos);
+	}
+
+	private Race start() {
+		requests.increment();
+		budget.deposit();
+		return new Race();
+	}
+
+	/**
+	 * Latencia da primeira tentativa ate o primeiro sinal. Quando ela perde so se sabe que passou
+	 * do tempo ate o cancelamento, que entra como limite inferior.
+	 */
+	private void record(long nanos) {
+		if (policy.getPercentile() == 0) {
+			return;
+		}
+		latency.recordValue(Math.max(0, nanos));
+		if (windowCount.incrementAndGet() == policy.getWindow()) {
+			Histogram window = latency.getIntervalHistogram();
+			delayNanos = window.getValueAtPercentile(policy.getPercentile());
+			windowCount.set(0);
+		}
+	}
+
+	private final class Race {
+
+		private static final int PENDING = 0;
+		private static final int PRIMARY = 1;
+		private static final int HEDGE = 2;
+
+		private final long start = System.nanoTime();
+		private final AtomicInteger winner = new AtomicInteger(PENDING);
+
+		private final AtomicBoolean recorded = new AtomicBoolean();
+
+		void onPrimarySignal() {
+			recordOnce();
+			winner.compareAndSet(PENDING, PRIMARY);
+		}
+
+		void onPrimaryCancel() {
+			recordOnce();
+		}
+
+		private void recordOnce() {
+			if (!recorded.get() && recorded.compareAndSet(false, true)) {
+				record(System.nanoTime() - start);
+			}
+		}
+
+		boolean tryHedge() {
+			if (winner.get() != PENDING) {
+				return false;
+			}
+			if (!budget.tryWithdraw()) {
+				denied.increment();
+				return false;
+			}
+			hedged.increment();
+			return true;
+		}
+
+		void onHedgeSignal() {
+			if (winner.compareAndSet(PENDING, HEDGE)) {
+				hedgeWins.increment();
+			}
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package academy.devdojo.reactive.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+
+/**
+ * Fontes de arquivo que respeitam backpressure: cada request(n) le so o necessario
+ * para emitir n elementos, ao contrario de Files.readAllLines que carrega o arquivo inteiro.
+ * <p>
+ * A leitura eh bloqueante, entao use com subscribeOn(Schedulers.boundedElastic()).
+ */
+public final class FileFlux {
+
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	private FileFlux() {
+	}
+
+	public static Flux<String> lines(Path path) {
+		return lines(path, StandardCharsets.UTF_8, DEFAULT_BUFFER_SIZE);
+	}
+
+	public static Flux<String> lines(Path path, Charset charset, int bufferSize) {
+		return lines(path, charset, bufferSize, false);
+	}
+
+	/**
+	 * Igual a {@link #lines(Path, Charset, int)}, mas mapeia o arquivo em regioes de
+	 * {@code regionSize} bytes em vez de copiar para um buffer no heap.
+	 */
+	public static Flux<String> mappedLines(Path path, Charset charset, int regionSize) {
+		return lines(path, charset, regionSize, true);
+	}
+
+	/**
+	 * Le somente as linhas contidas em {@code range}, que deve comecar no inicio de uma linha.
+	 */
+	public static Flux<String> lines(Path path, FileRange range, Charset charset, int bufferSize) {
+		return lines(path, range.getStart(), range.getEnd(), charset, bufferSize, false);
+	}
+
+	private static Flux<String> lines(Path path, Charset charset, int bufferSize, boolean mapped) {
+		return lines(path, 0, Long.MAX_VALUE, charset, bufferSize, mapped);
+	}
+
+	private static Flux<String> lines(Path path, long start, long end, Charset charset, int bufferSize, boolean mapped) {
+		checkBufferSize(bufferSize);
+		return Flux.generate(
+				() -> new LineReader(path, start, end, charset, bufferSize, mapped),
+				(reader, sink) -> {
+					try {
+						String line = reader.next();
+						if (line == null) {
+							sink.complete();
+						} else {
+							sink.next(line);
+						}
+					} catch (IOException e) {
+						sink.error(e);
+					}
+					return reader;
+				},
+				FileFlux::close);
+	}
+
+	/**
+	 * Emite o arquivo em blocos de ate {@code chunkSize} bytes, um buffer novo por bloco.
+	 */
+	public static Flux<ByteBuffer> chunks(Path path, int chunkSize) {
+		checkBufferSize(chunkSize);
+		return Flux.generate(
+				() -> FileChannel.open(path, StandardOpenOption.READ),
+				(channel, sink) -> {
+					try {
+						ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
+						if (channel.read(buffer) < 0) {
+							sink.complete();
+						} else {
+							buffer.flip();
+							sink.next(buffer);
+						}
+					} catch (IOException e) {
+						sink.error(e);
+					}
+					return channel;
+				},
+				FileFlux::close);
+	}
+
+	/**
+	 * Emite regioes read-only do arquivo mapeado em memoria, sem copia para o heap.
+	 */
+	public static Flux<ByteBuffer> mappedChunks(Path path, int chunkSize) {
+		checkBufferSize(chunkSize);
+		return Flux.generate(
+				() -> FileChannel.open(path, StandardOpenOption.READ),
+				(channel, sink) -> {
+					try {
+						long position = channel.position();
+						long length = Math.min(chunkSize, channel.size() - position);
+						if (length <= 0) {
+							sink.complete();
+						} else {
+							sink.next(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+							channel.position(position + length);
+						}
+					} catch (IOException e) {
+						sink.error(e);
+					}
+					return channel;
+				},
+				FileFlux::close);
+	}
+
+	private static void checkBufferSize(int bufferSize) {
+		if (bufferSize < 16) {
+			throw new IllegalArgumentException("bufferSize must be >= 16, got " + bufferSize);
+		}
+	}
+
+	private static void close(AutoCloseable closeable) {
+		try {
+			closeable.close();
+		} catch (Exception e) {
+			throw Exceptions.propagate(e);
+		}
+	}
+}
@@ -0,0 +1,16 @@
+package academy.devdojo.reactive.io;
+
+import lombok.Value;
+
+/**
+ * Intervalo de bytes [start, end) de um arquivo.
+ */
+@Value
+public class FileRange {
+	long start;
+	long end;
+
+	public long length() {
+		return end - start;
+	}
+}
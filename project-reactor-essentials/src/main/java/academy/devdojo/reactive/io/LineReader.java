@@ -0,0 +1,158 @@
+package academy.devdojo.reactive.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Le um arquivo linha a linha, decodificando no maximo um buffer por vez.
+ * Segue as mesmas regras de quebra de linha do BufferedReader (\n, \r e \r\n).
+ */
+final class LineReader implements Closeable {
+
+	private final FileChannel channel;
+	private final CharsetDecoder decoder;
+	private final int bufferSize;
+	private final boolean mapped;
+	private final long end;
+	private final CharBuffer chars;
+	private final StringBuilder line = new StringBuilder();
+
+	private ByteBuffer bytes;
+	private long position;
+	private boolean eof;
+	private boolean finished;
+	private boolean skipLf;
+	private CoderResult pendingError;
+
+	/**
+	 * Le apenas os bytes em [start, end). Use end = Long.MAX_VALUE para ler ate o fim do arquivo.
+	 */
+	LineReader(Path path, long start, long end, Charset charset, int bufferSize, boolean mapped) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			this.channel = channel;
+			this.decoder = charset.newDecoder()
+					.onMalformedInput(CodingErrorAction.REPORT)
+					.onUnmappableCharacter(CodingErrorAction.REPORT);
+			this.bufferSize = bufferSize;
+			this.mapped = mapped;
+			this.position = start;
+			this.end = mapped ? Math.min(end, channel.size()) : end;
+			this.chars = CharBuffer.allocate((int) Math.ceil(bufferSize * (double) decoder.maxCharsPerByte()) + 1);
+			this.chars.flip();
+			this.bytes = mapped ? ByteBuffer.allocate(0) : ByteBuffer.allocate(bufferSize);
+			if (!mapped) {
+				this.bytes.flip();
+			}
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return a proxima linha, sem o terminador, ou null no fim do arquivo
+	 */
+	String next() throws IOException {
+		for (;;) {
+			if (skipLf && chars.hasRemaining()) {
+				skipLf = false;
+				if (chars.get(chars.position()) == '\n') {
+					chars.position(chars.position() + 1);
+				}
+			}
+			char[] array = chars.array();
+			int start = chars.position();
+			int end = chars.limit();
+			for (int i = start; i < end; i++) {
+				char c = array[i];
+				if (c == '\n' || c == '\r') {
+					chars.position(i + 1);
+					skipLf = c == '\r';
+					if (line.length() == 0) {
+						return new String(array, start, i - start);
+					}
+					line.append(array, start, i - start);
+					return takeLine();
+				}
+			}
+			line.append(array, start, end - start);
+			chars.position(end);
+			if (finished) {
+				return line.length() > 0 ? takeLine() : null;
+			}
+			fill();
+		}
+	}
+
+	private String takeLine() {
+		String result = line.toString();
+		line.setLength(0);
+		return result;
+	}
+
+	private void fill() throws IOException {
+		if (pendingError != null) {
+			pendingError.throwException();
+		}
+		if (!eof) {
+			if (mapped) {
+				mapNextRegion();
+			} else {
+				readNextBuffer();
+			}
+		}
+
+		chars.clear();
+		CoderResult result = decoder.decode(bytes, chars, eof);
+		if (eof && result.isUnderflow()) {
+			result = decoder.flush(chars);
+			finished = result.isUnderflow();
+		}
+		chars.flip();
+		if (result.isError()) {
+			// entrega primeiro as linhas decodificadas antes do byte invalido
+			if (!chars.hasRemaining()) {
+				result.throwException();
+			}
+			pendingError = result;
+		}
+	}
+
+	private void readNextBuffer() throws IOException {
+		bytes.compact();
+		long remaining = end - position;
+		if (remaining < bytes.remaining()) {
+			bytes.limit(bytes.position() + (int) remaining);
+		}
+		int read = remaining > 0 ? channel.read(bytes, position) : -1;
+		if (read < 0) {
+			eof = true;
+		} else {
+			position += read;
+		}
+		bytes.flip();
+	}
+
+	private void mapNextRegion() throws IOException {
+		// bytes nao consumidos (caractere multibyte cortado) entram na proxima regiao
+		position += bytes.position();
+		long length = Math.min(bufferSize, end - position);
+		bytes = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+		eof = position + length == end;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
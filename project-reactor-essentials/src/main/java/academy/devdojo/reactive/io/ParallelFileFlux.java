@@ -0,0 +1,127 @@
+package academy.devdojo.reactive.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Divide um arquivo em intervalos alinhados no fim de linha e processa cada intervalo
+ * em um rail separado do scheduler.
+ * <p>
+ * {@link #process} junta os resultados conforme chegam (semantica de merge) e
+ * {@link #processSequential} mantem a ordem original dos intervalos (semantica de mergeSequential).
+ * As leituras do FileChannel bloqueiam, entao rodam no boundedElastic; so o processamento
+ * de cada linha passa para os rails do parallel.
+ * O alinhamento procura o byte '\n', entao o charset precisa ser compativel com ASCII (UTF-8, ISO-8859-1...).
+ */
+public final class ParallelFileFlux {
+
+	private static final int SCAN_BUFFER_SIZE = 8 * 1024;
+	private static final byte[] NEWLINE = {'\n'};
+
+	private ParallelFileFlux() {
+	}
+
+	/**
+	 * Divide o arquivo em ate {@code parts} intervalos, cada um terminando logo apos um '\n'
+	 * (ou no fim do arquivo). Intervalos vazios sao descartados.
+	 */
+	public static List<FileRange> split(Path path, int parts) throws IOException {
+		if (parts < 1) {
+			throw new IllegalArgumentException("parts must be >= 1, got " + parts);
+		}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			List<FileRange> ranges = new ArrayList<>(parts);
+			ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+			long start = 0;
+			for (int i = 1; i <= parts && start < size; i++) {
+				long end = i == parts ? size : nextLineStart(channel, Math.max(start + 1, size * i / parts), size, buffer);
+				if (end > start) {
+					ranges.add(new FileRange(start, end));
+					start = end;
+				}
+			}
+			return ranges;
+		}
+	}
+
+	private static long nextLineStart(FileChannel channel, long from, long size, ByteBuffer buffer) throws IOException {
+		// comeca um byte antes para nao pular uma quebra de linha exatamente no alvo
+		long position = Math.max(0, from - 1);
+		while (position < size) {
+			buffer.clear();
+			int read = channel.read(buffer, position);
+			if (read < 0) {
+				break;
+			}
+			for (int i = 0; i < read; i++) {
+				if (buffer.get(i) == '\n') {
+					return position + i + 1;
+				}
+			}
+			position += read;
+		}
+		return size;
+	}
+
+	public static <R> Flux<R> process(Path path, int rails, Function<Flux<String>, ? extends Publisher<R>> processor) {
+		return process(path, StandardCharsets.UTF_8, rails, processor);
+	}
+
+	public static <R> Flux<R> process(Path path, Charset charset, int rails,
+			Function<Flux<String>, ? extends Publisher<R>> processor) {
+		return process(path, charset, rails, Schedulers.boundedElastic(), Schedulers.parallel(), processor, false);
+	}
+
+	public static <R> Flux<R> processSequential(Path path, int rails, Function<Flux<String>, ? extends Publisher<R>> processor) {
+		return processSequential(path, StandardCharsets.UTF_8, rails, processor);
+	}
+
+	public static <R> Flux<R> processSequential(Path path, Charset charset, int rails,
+			Function<Flux<String>, ? extends Publisher<R>> processor) {
+		return process(path, charset, rails, Schedulers.boundedElastic(), Schedulers.parallel(), processor, true);
+	}
+
+	/**
+	 * @param charset      charset das linhas; precisa codificar '\n' como o byte 0x0A
+	 * @param rails        numero de intervalos e de intervalos processados ao mesmo tempo
+	 * @param ioScheduler  onde rodam o split e as leituras bloqueantes do FileChannel
+	 * @param cpuScheduler onde roda o {@code processor} de cada intervalo
+	 * @param processor    recebe as linhas de um intervalo e devolve o resultado daquele intervalo
+	 * @param ordered      true para manter a ordem dos intervalos no resultado
+	 */
+	public static <R> Flux<R> process(Path path, Charset charset, int rails, Scheduler ioScheduler,
+			Scheduler cpuScheduler, Function<Flux<String>, ? extends Publisher<R>> processor, boolean ordered) {
+		if (!Arrays.equals("\n".getBytes(charset), NEWLINE)) {
+			throw new IllegalArgumentException("charset must encode '\\n' as a single 0x0A byte, got " + charset);
+		}
+		return Mono.fromCallable(() -> split(path, rails))
+				.subscribeOn(ioScheduler)
+				.flatMapMany(ranges -> {
+					Flux<FileRange> rangeFlux = Flux.fromIterable(ranges);
+					Function<FileRange, Publisher<R>> rail = range -> processor.apply(
+							FileFlux.lines(path, range, charset, FileFlux.DEFAULT_BUFFER_SIZE)
+									.subscribeOn(ioScheduler)
+									.publishOn(cpuScheduler));
+					return ordered
+							? rangeFlux.flatMapSequential(rail, rails)
+							: rangeFlux.flatMap(rail, rails);
+				});
+	}
+}
@@ -0,0 +1,213 @@
+package academy.devdojo.reactive.journal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import academy.devdojo.reactive.spill.SpillSerializer;
+import reactor.core.Exceptions;
+
+/**
+ * Log append-only de elementos em segmentos mapeados em memoria. Cada elemento recebe um offset
+ * sequencial; leitores comecam de qualquer offset ainda retido e leem direto do mapeamento, sem
+ * guardar historico no heap. Reabrir o journal no mesmo diretorio recupera os segmentos e continua
+ * do ultimo offset gravado.
+ * <p>
+ * O append eh de um escritor por vez (sincronizado); leitores nao usam lock. Erros de I/O saem
+ * como excecao nao checada pelo {@link Exceptions#propagate}.
+ */
+public final class Journal<T> implements AutoCloseable {
+
+	private static final AtomicLongFieldUpdater<Journal> END_OFFSET =
+			AtomicLongFieldUpdater.newUpdater(Journal.class, "endOffset");
+
+	private final SpillSerializer<T> serializer;
+	private final JournalConfig config;
+	private final ConcurrentSkipListMap<Long, JournalSegment> segments = new ConcurrentSkipListMap<>();
+
+	private JournalSegment tail;
+	private boolean closed;
+
+	private volatile long endOffset;
+
+	private Journal(SpillSerializer<T> serializer, JournalConfig config) {
+		this.serializer = serializer;
+		this.config = config;
+	}
+
+	public static <T> Journal<T> open(SpillSerializer<T> serializer, JournalConfig config) {
+		config.validate();
+		Journal<T> journal = new Journal<>(Objects.requireNonNull(serializer, "serializer"), config);
+		try {
+			journal.recover();
+		} catch (IOException e) {
+			journal.close();
+			throw Exceptions.propagate(e);
+		}
+		return journal;
+	}
+
+	private synchronized void recover() throws IOException {
+		Path directory = config.getDirectory();
+		Files.createDirectories(directory);
+		List<Path> files;
+		try (Stream<Path> listing = Files.list(directory)) {
+			files = listing.filter(path -> path.getFileName().toString().endsWith(JournalSegment.SUFFIX))
+					.sorted()
+					.collect(Collectors.toList());
+		}
+		for (Path path : files) {
+			JournalSegment segment = JournalSegment.recover(path);
+			if (tail != null) {
+				tail.seal(false);
+			}
+			segments.put(segment.baseOffset, segment);
+			tail = segment;
+		}
+		if (tail == null) {
+			tail = JournalSegment.create(directory, 0L, config.getSegmentSize());
+			segments.put(0L, tail);
+		}
+		endOffset = tail.endOffset();
+		enforceRetention();
+	}
+
+	/**
+	 * Grava o elemento e devolve o offset dele.
+	 */
+	public synchronized long append(T value) {
+		Objects.requireNonNull(value, "value");
+		if (closed) {
+			throw new IllegalStateException("journal is closed");
+		}
+		long timestamp = config.getClock().millis();
+		if (!tail.append(value, timestamp, serializer)) {
+			roll();
+			if (!tail.append(value, timestamp, serializer)) {
+				throw new IllegalArgumentException("element does not fit in a segment of " + tail.capacity + " bytes");
+			}
+		}
+		long offset = endOffset;
+		END_OFFSET.lazySet(this, offset + 1);
+		return offset;
+	}
+
+	private void roll() {
+		if (tail.isEmpty()) {
+			// segmento novo que nao coube nem um elemento: nao adianta abrir outro
+			return;
+		}
+		tail.seal(config.isForceOnRoll());
+		try {
+			tail = JournalSegment.create(config.getDirectory(), endOffset, config.getSegmentSize());
+		} catch (IOException e) {
+			throw Exceptions.propagate(e);
+		}
+		segments.put(tail.baseOffset, tail);
+		enforceRetention();
+	}
+
+	/**
+	 * Apaga os segmentos fechados que passaram do limite de tamanho ou de tempo. Roda a cada troca
+	 * de segmento; chame de fora para aplicar a retencao por tempo num journal parado.
+	 */
+	public synchronized void enforceRetention() {
+		long total = 0;
+		for (JournalSegment segment : segments.values()) {
+			total += segment.sizeBytes();
+		}
+		long retentionMillis = config.getRetentionTime().toMillis();
+		long now = config.getClock().millis();
+		for (Map.Entry<Long, JournalSegment> entry : segments.entrySet()) {
+			JournalSegment segment = entry.getValue();
+			if (segment == tail) {
+				break;
+			}
+			boolean tooBig = total > config.getRetentionBytes();
+			boolean tooOld = retentionMillis > 0 && now - segment.lastTimestamp() > retentionMillis;
+			if (!tooBig && !tooOld) {
+				break;
+			}
+			segments.remove(entry.getKey());
+			total -= segment.sizeBytes();
+			try {
+				segment.delete();
+			} catch (IOException e) {
+				throw Exceptions.propagate(e);
+			}
+		}
+	}
+
+	/**
+	 * Menor offset ainda retido.
+	 */
+	public long firstOffset() {
+		Map.Entry<Long, JournalSegment> first = segments.firstEntry();
+		return first == null ? endOffset : first.getKey();
+	}
+
+	/**
+	 * Offset que o proximo append vai receber.
+	 */
+	public long endOffset() {
+		return endOffset;
+	}
+
+	public int segmentCount() {
+		return segments.size();
+	}
+
+	public long sizeBytes() {
+		long total = 0;
+		for (JournalSegment segment : segments.values()) {
+			total += segment.sizeBytes();
+		}
+		return total;
+	}
+
+	/**
+	 * Leva o segmento atual para o disco.
+	 */
+	public synchronized void flush() {
+		tail.force();
+	}
+
+	/**
+	 * Fecha os arquivos sem apagar nada; o journal pode ser reaberto no mesmo diretorio.
+	 */
+	@Override
+	public synchronized void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		for (JournalSegment segment : segments.values()) {
+			try {
+				segment.close();
+			} catch (IOException e) {
+				throw Exceptions.propagate(e);
+			}
+		}
+	}
+
+	JournalCursor<T> cursor(long offset) {
+		return new JournalCursor<>(this, serializer, offset);
+	}
+
+	JournalSegment segmentFor(long offset) {
+		Map.Entry<Long, JournalSegment> entry = segments.floorEntry(offset);
+		return entry == null ? null : entry.getValue();
+	}
+
+	JournalSegment segmentAfter(JournalSegment segment) {
+		Map.Entry<Long, JournalSegment> entry = segments.higherEntry(segment.baseOffset);
+		return entry == null ? null : entry.getValue();
+	}
+}
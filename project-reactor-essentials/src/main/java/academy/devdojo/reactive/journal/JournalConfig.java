@@ -0,0 +1,54 @@
+package academy.devdojo.reactive.journal;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Configuracao do {@link Journal}. A retencao eh por segmento: um segmento fechado sai quando o
+ * journal passa de {@code retentionBytes} ou quando o ultimo elemento dele eh mais velho que
+ * {@code retentionTime}; o segmento em escrita nunca sai. {@code Duration.ZERO} desliga a
+ * retencao por tempo.
+ * <p>
+ * Sem {@code forceOnRoll} os dados sobrevivem a queda do processo (ficam no page cache), mas nao a
+ * do sistema; com ele cada segmento fechado vai para o disco.
+ */
+@Value
+@Builder
+public class JournalConfig {
+
+	Path directory;
+
+	@Builder.Default
+	int segmentSize = 64 * 1024 * 1024;
+
+	@Builder.Default
+	long retentionBytes = 1024L * 1024 * 1024;
+
+	@Builder.Default
+	Duration retentionTime = Duration.ofHours(24);
+
+	@Builder.Default
+	boolean forceOnRoll = false;
+
+	@Builder.Default
+	Clock clock = Clock.systemUTC();
+
+	void validate() {
+		if (directory == null) {
+			throw new IllegalArgumentException("directory is required");
+		}
+		if (segmentSize < 64) {
+			throw new IllegalArgumentException("segmentSize must be at least 64 bytes, got " + segmentSize);
+		}
+		if (retentionBytes < segmentSize) {
+			throw new IllegalArgumentException("retentionBytes must be at least one segment, got " + retentionBytes);
+		}
+		if (retentionTime.isNegative()) {
+			throw new IllegalArgumentException("retentionTime must not be negative, got " + retentionTime);
+		}
+	}
+}
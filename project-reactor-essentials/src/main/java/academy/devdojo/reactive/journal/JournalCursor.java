@@ -0,0 +1,101 @@
+package academy.devdojo.reactive.journal;
+
+import java.nio.ByteBuffer;
+
+import academy.devdojo.reactive.spill.SpillSerializer;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Posicao de um leitor no journal. Le direto do segmento mapeado com uma visao propria; um leitor
+ * que ficou atras da retencao pula para o primeiro offset retido e os pulados vao para
+ * {@link #skipped()}.
+ */
+final class JournalCursor<T> {
+
+	private final Journal<T> journal;
+	private final SpillSerializer<T> serializer;
+
+	private JournalSegment segment;
+	private ByteBuffer view;
+	private int position;
+	private long offset;
+	private long timestamp;
+	private long skipped;
+
+	JournalCursor(Journal<T> journal, SpillSerializer<T> serializer, long offset) {
+		this.journal = journal;
+		this.serializer = serializer;
+		this.offset = offset;
+	}
+
+	/**
+	 * @return o proximo elemento, ou null se o leitor alcancou o fim do journal
+	 */
+	@Nullable
+	T next() {
+		if (offset >= journal.endOffset()) {
+			return null;
+		}
+		if (segment == null || offset >= segment.endOffset()) {
+			if (!locate()) {
+				return null;
+			}
+		}
+		int length = segment.lengthAt(position);
+		int dataStart = position + JournalSegment.HEADER;
+		timestamp = segment.timestampAt(position);
+		view.limit(dataStart + length).position(dataStart);
+		T value = serializer.read(view);
+		position = dataStart + length;
+		offset++;
+		return value;
+	}
+
+	/**
+	 * @return false se, depois de pular o que a retencao apagou, nao ha nada para ler
+	 */
+	private boolean locate() {
+		for (;;) {
+			long first = journal.firstOffset();
+			if (offset < first) {
+				skipped += first - offset;
+				offset = first;
+			}
+			if (offset >= journal.endOffset()) {
+				segment = null;
+				return false;
+			}
+			JournalSegment found = journal.segmentFor(offset);
+			if (found == null) {
+				// a retencao apagou o segmento entre a leitura do primeiro offset e a busca
+				continue;
+			}
+			segment = found;
+			view = found.readView();
+			position = found.positionOf(offset);
+			return true;
+		}
+	}
+
+	/**
+	 * Offset do proximo elemento a ler.
+	 */
+	long offset() {
+		return offset;
+	}
+
+	/**
+	 * Timestamp do ultimo elemento lido.
+	 */
+	long timestamp() {
+		return timestamp;
+	}
+
+	long skipped() {
+		return skipped;
+	}
+
+	boolean caughtUp() {
+		return offset >= journal.endOffset();
+	}
+}
@@ -0,0 +1,17 @@
+package academy.devdojo.reactive.journal;
+
+import lombok.Value;
+
+/**
+ * Elemento lido do journal com a posicao dele: {@code offset + 1} eh de onde um subscriber
+ * reiniciado continua.
+ */
+@Value
+public class JournalEntry<T> {
+
+	long offset;
+
+	long timestamp;
+
+	T value;
+}
@@ -0,0 +1,217 @@
+package academy.devdojo.reactive.journal;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Disposable;
+import reactor.core.Scannable;
+import reactor.core.publisher.ConnectableFlux;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+import reactor.util.annotation.Nullable;
+
+/**
+ * replay() com o historico num {@link Journal} mapeado em memoria em vez do heap. O connect assina
+ * a fonte e grava cada elemento no journal; cada subscriber le do journal com o proprio cursor e
+ * depois acompanha os appends. Subscribers atrasados comecam do primeiro offset retido, e
+ * {@link #from(long)} comeca de qualquer offset, o que serve para continuar depois de reiniciar
+ * usando o offset de {@link #entriesFrom(long)}.
+ * <p>
+ * O termino da fonte fica so em memoria: depois de reabrir o journal os subscribers leem o
+ * historico e esperam novos elementos ate um novo connect terminar.
+ * <p>
+ * {@code JournalReplay.create(flux, journal).autoConnect()} no lugar de {@code flux.replay().autoConnect()}.
+ */
+public final class JournalReplay<T> extends ConnectableFlux<T> implements Scannable {
+
+	@SuppressWarnings("rawtypes")
+	private static final JournalSubscription[] EMPTY = new JournalSubscription[0];
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<JournalReplay.Writer, Subscription> S =
+			AtomicReferenceFieldUpdater.newUpdater(JournalReplay.Writer.class, Subscription.class, "s");
+
+	private final Publisher<? extends T> source;
+	private final Journal<T> journal;
+	private final Writer writer = new Writer();
+	private final AtomicBoolean connected = new AtomicBoolean();
+
+	@SuppressWarnings("unchecked")
+	private volatile JournalSubscription<T, ?>[] subscribers = EMPTY;
+
+	volatile boolean done;
+	Throwable error;
+
+	private JournalReplay(Publisher<? extends T> source, Journal<T> journal) {
+		this.source = source;
+		this.journal = journal;
+	}
+
+	public static <T> JournalReplay<T> create(Publisher<? extends T> source, Journal<T> journal) {
+		return new JournalReplay<>(Objects.requireNonNull(source, "source"), Objects.requireNonNull(journal, "journal"));
+	}
+
+	@Override
+	public void connect(Consumer<? super Disposable> cancelSupport) {
+		cancelSupport.accept(writer);
+		if (connected.compareAndSet(false, true)) {
+			source.subscribe(writer);
+		}
+	}
+
+	/**
+	 * Subscribers comuns comecam do primeiro offset retido, como no replay().
+	 */
+	@Override
+	public void subscribe(CoreSubscriber<? super T> actual) {
+		subscribe(actual, journal.firstOffset(), (offset, timestamp, value) -> value);
+	}
+
+	public Flux<T> from(long offset) {
+		return Flux.from(actual -> subscribe(Operators.toCoreSubscriber(actual), offset,
+				(o, timestamp, value) -> value));
+	}
+
+	public Flux<JournalEntry<T>> entriesFrom(long offset) {
+		return Flux.from(actual -> subscribe(Operators.toCoreSubscriber(actual), offset, JournalEntry::new));
+	}
+
+	/**
+	 * So o que for gravado depois da assinatura, como no publish().
+	 */
+	public Flux<T> live() {
+		return Flux.defer(() -> from(journal.endOffset()));
+	}
+
+	public Journal<T> journal() {
+		return journal;
+	}
+
+	private <R> void subscribe(CoreSubscriber<? super R> actual, long offset,
+			JournalSubscription.EntryMapper<T, ? extends R> mapper) {
+		JournalSubscription<T, R> subscription =
+				new JournalSubscription<>(actual, this, journal.cursor(offset), mapper);
+		actual.onSubscribe(subscription);
+		add(subscription);
+		subscription.start();
+	}
+
+	@SuppressWarnings("unchecked")
+	private synchronized void add(JournalSubscription<T, ?> subscription) {
+		JournalSubscription<T, ?>[] current = subscribers;
+		JournalSubscription<T, ?>[] next = new JournalSubscription[current.length + 1];
+		System.arraycopy(current, 0, next, 0, current.length);
+		next[current.length] = subscription;
+		subscribers = next;
+	}
+
+	@SuppressWarnings("unchecked")
+	synchronized void remove(JournalSubscription<T, ?> subscription) {
+		JournalSubscription<T, ?>[] current = subscribers;
+		int index = -1;
+		for (int i = 0; i < current.length; i++) {
+			if (current[i] == subscription) {
+				index = i;
+				break;
+			}
+		}
+		if (index < 0) {
+			return;
+		}
+		JournalSubscription<T, ?>[] next = current.length == 1 ? EMPTY : new JournalSubscription[current.length - 1];
+		System.arraycopy(current, 0, next, 0, index);
+		System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+		subscribers = next;
+	}
+
+	private void signalAll() {
+		for (JournalSubscription<T, ?> subscription : subscribers) {
+			subscription.signal();
+		}
+	}
+
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.PARENT) {
+			return source;
+		}
+		if (key == Attr.TERMINATED) {
+			return done;
+		}
+		if (key == Attr.ERROR) {
+			return error;
+		}
+		if (key == Attr.BUFFERED) {
+			return (int) Math.min(Integer.MAX_VALUE, journal.endOffset() - journal.firstOffset());
+		}
+		return null;
+	}
+
+	/**
+	 * Assina a fonte sem limite de demanda: o journal absorve tudo, quem dita o ritmo de leitura eh
+	 * cada subscriber.
+	 */
+	final class Writer implements CoreSubscriber<T>, Disposable {
+
+		volatile Subscription s;
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (Operators.setOnce(S, this, s)) {
+				s.request(Long.MAX_VALUE);
+			}
+		}
+
+		@Override
+		public void onNext(T t) {
+			if (done) {
+				Operators.onNextDropped(t, currentContext());
+				return;
+			}
+			try {
+				journal.append(t);
+			} catch (Throwable e) {
+				onError(Operators.onOperatorError(s, e, t, currentContext()));
+				return;
+			}
+			signalAll();
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Operators.onErrorDropped(t, currentContext());
+				return;
+			}
+			error = t;
+			done = true;
+			signalAll();
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+			signalAll();
+		}
+
+		@Override
+		public void dispose() {
+			Operators.terminate(S, this);
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return s == Operators.cancelledSubscription();
+		}
+	}
+}
@@ -0,0 +1,213 @@
+package academy.devdojo.reactive.journal;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import academy.devdojo.reactive.spill.SpillSerializer;
+
+/**
+ * Um arquivo do journal, nomeado pelo offset do primeiro elemento. Cada registro eh
+ * {@code [int tamanho + 1][long timestamp][bytes]}; o tamanho eh escrito por ultimo, entao um
+ * registro pela metade (queda no meio da escrita) fica com 0 e marca o fim na recuperacao.
+ * <p>
+ * Um unico escritor, sob o monitor do {@link Journal}; os leitores usam {@link #count}, publicado
+ * com lazySet depois do registro, e o indice esparso, que guarda a posicao de um registro a cada
+ * {@link #INDEX_INTERVAL}.
+ */
+final class JournalSegment {
+
+	private static final AtomicIntegerFieldUpdater<JournalSegment> COUNT =
+			AtomicIntegerFieldUpdater.newUpdater(JournalSegment.class, "count");
+
+	static final String SUFFIX = ".journal";
+	static final int HEADER = Integer.BYTES + Long.BYTES;
+	static final int INDEX_INTERVAL = 64;
+
+	final long baseOffset;
+	final Path path;
+	final int capacity;
+
+	private final FileChannel channel;
+	private final MappedByteBuffer buffer;
+	private final ByteBuffer writeView;
+
+	private volatile int[] index = new int[16];
+	private volatile int count;
+	private int writePosition;
+	private long lastTimestamp;
+	private volatile boolean sealed;
+
+	private JournalSegment(long baseOffset, Path path, FileChannel channel, MappedByteBuffer buffer, int capacity) {
+		this.baseOffset = baseOffset;
+		this.path = path;
+		this.channel = channel;
+		this.buffer = buffer;
+		this.writeView = buffer.duplicate();
+		this.capacity = capacity;
+	}
+
+	static JournalSegment create(Path directory, long baseOffset, int capacity) throws IOException {
+		Path path = directory.resolve(String.format("%020d%s", baseOffset, SUFFIX));
+		return map(path, baseOffset, capacity);
+	}
+
+	/**
+	 * Reabre um segmento existente e reconstroi contagem, indice e posicao de escrita.
+	 */
+	static JournalSegment recover(Path path) throws IOException {
+		String name = path.getFileName().toString();
+		long baseOffset = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+		JournalSegment segment = map(path, baseOffset, (int) Files.size(path));
+		segment.scan();
+		return segment;
+	}
+
+	private static JournalSegment map(Path path, long baseOffset, int capacity) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		try {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+			return new JournalSegment(baseOffset, path, channel, buffer, capacity);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private void scan() {
+		int position = 0;
+		int records = 0;
+		while (position + HEADER <= capacity) {
+			int length = buffer.getInt(position) - 1;
+			if (length < 0 || position + HEADER + length > capacity) {
+				break;
+			}
+			indexRecord(records, position);
+			lastTimestamp = buffer.getLong(position + Integer.BYTES);
+			position += HEADER + length;
+			records++;
+		}
+		writePosition = position;
+		count = records;
+	}
+
+	/**
+	 * @return false se o registro nao coube no que resta do segmento
+	 */
+	<T> boolean append(T value, long timestamp, SpillSerializer<T> serializer) {
+		int start = writePosition;
+		int dataStart = start + HEADER;
+		if (dataStart >= capacity) {
+			return false;
+		}
+		ByteBuffer target = writeView;
+		target.limit(capacity).position(dataStart);
+		try {
+			serializer.write(value, target);
+		} catch (BufferOverflowException e) {
+			return false;
+		}
+		int end = target.position();
+		int records = count;
+		buffer.putLong(start + Integer.BYTES, timestamp);
+		buffer.putInt(start, end - dataStart + 1);
+		indexRecord(records, start);
+		writePosition = end;
+		lastTimestamp = timestamp;
+		COUNT.lazySet(this, records + 1);
+		return true;
+	}
+
+	private void indexRecord(int record, int position) {
+		if (record % INDEX_INTERVAL != 0) {
+			return;
+		}
+		int slot = record / INDEX_INTERVAL;
+		int[] current = index;
+		if (slot == current.length) {
+			current = Arrays.copyOf(current, slot * 2);
+		}
+		current[slot] = position;
+		index = current;
+	}
+
+	int count() {
+		return count;
+	}
+
+	long endOffset() {
+		return baseOffset + count;
+	}
+
+	long lastTimestamp() {
+		return lastTimestamp;
+	}
+
+	int sizeBytes() {
+		return writePosition;
+	}
+
+	boolean isEmpty() {
+		return count == 0;
+	}
+
+	boolean isSealed() {
+		return sealed;
+	}
+
+	/**
+	 * Posicao do registro {@code offset}, a partir da entrada mais proxima do indice.
+	 */
+	int positionOf(long offset) {
+		int record = (int) (offset - baseOffset);
+		int position = index[record / INDEX_INTERVAL];
+		for (int skip = record % INDEX_INTERVAL; skip > 0; skip--) {
+			position += HEADER + lengthAt(position);
+		}
+		return position;
+	}
+
+	int lengthAt(int position) {
+		return buffer.getInt(position) - 1;
+	}
+
+	long timestampAt(int position) {
+		return buffer.getLong(position + Integer.BYTES);
+	}
+
+	/**
+	 * Visao so para um leitor; cada leitor tem a sua porque position e limit mudam na leitura.
+	 */
+	ByteBuffer readView() {
+		return buffer.duplicate();
+	}
+
+	void seal(boolean force) {
+		sealed = true;
+		if (force) {
+			buffer.force();
+		}
+	}
+
+	void force() {
+		buffer.force();
+	}
+
+	void close() throws IOException {
+		channel.close();
+	}
+
+	void delete() throws IOException {
+		// o mapeamento so eh liberado pelo GC; leitores que ainda estao no segmento continuam lendo
+		channel.close();
+		Files.deleteIfExists(path);
+	}
+}
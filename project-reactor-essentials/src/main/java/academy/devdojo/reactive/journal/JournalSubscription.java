@@ -0,0 +1,175 @@
+package academy.devdojo.reactive.journal;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import org.reactivestreams.Subscription;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Scannable;
+import reactor.core.publisher.Operators;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Um subscriber do {@link JournalReplay}: le o journal com o proprio cursor no ritmo da propria
+ * demanda e, quando alcanca o fim, espera o proximo append.
+ */
+final class JournalSubscription<T, R> implements Subscription, Scannable {
+
+	/**
+	 * Monta o que eh entregue a partir do elemento lido: o proprio valor ou um JournalEntry.
+	 */
+	interface EntryMapper<T, R> {
+		R map(long offset, long timestamp, T value);
+	}
+
+	private static final AtomicIntegerFieldUpdater<JournalSubscription> WIP =
+			AtomicIntegerFieldUpdater.newUpdater(JournalSubscription.class, "wip");
+
+	private static final AtomicLongFieldUpdater<JournalSubscription> REQUESTED =
+			AtomicLongFieldUpdater.newUpdater(JournalSubscription.class, "requested");
+
+	private final CoreSubscriber<? super R> actual;
+	private final JournalReplay<T> parent;
+	private final JournalCursor<T> cursor;
+	private final EntryMapper<T, ? extends R> mapper;
+
+	private volatile boolean cancelled;
+	// comeca em 1: o drain so roda depois do start, quando o subscriber ja esta na lista
+	private volatile int wip = 1;
+	private volatile long requested;
+
+	JournalSubscription(CoreSubscriber<? super R> actual, JournalReplay<T> parent, JournalCursor<T> cursor,
+			EntryMapper<T, ? extends R> mapper) {
+		this.actual = actual;
+		this.parent = parent;
+		this.cursor = cursor;
+		this.mapper = mapper;
+	}
+
+	@Override
+	public void request(long n) {
+		if (Operators.validate(n)) {
+			Operators.addCap(REQUESTED, this, n);
+			drain();
+		}
+	}
+
+	@Override
+	public void cancel() {
+		if (!cancelled) {
+			cancelled = true;
+			parent.remove(this);
+		}
+	}
+
+	/**
+	 * Chamado pelo escritor a cada append: sem demanda o drain fica para o proximo request.
+	 */
+	void signal() {
+		if (requested != 0L || parent.done) {
+			drain();
+		}
+	}
+
+	void start() {
+		if (cancelled) {
+			parent.remove(this);
+		}
+		drainLoop();
+	}
+
+	private void drain() {
+		if (WIP.getAndIncrement(this) != 0) {
+			return;
+		}
+		drainLoop();
+	}
+
+	private void drainLoop() {
+		CoreSubscriber<? super R> a = actual;
+		JournalCursor<T> c = cursor;
+		int missed = 1;
+
+		for (;;) {
+			long r = requested;
+			long e = 0L;
+
+			while (e != r) {
+				if (cancelled) {
+					return;
+				}
+				boolean d = parent.done;
+				T value;
+				R mapped;
+				try {
+					value = c.next();
+					// o offset eh lido depois do next: o cursor pode ter pulado o que a retencao apagou
+					mapped = value == null ? null : mapper.map(c.offset() - 1, c.timestamp(), value);
+				} catch (Throwable ex) {
+					cancelled = true;
+					parent.remove(this);
+					a.onError(Operators.onOperatorError(ex, a.currentContext()));
+					return;
+				}
+				if (mapped == null) {
+					if (d) {
+						terminate(a);
+						return;
+					}
+					break;
+				}
+				a.onNext(mapped);
+				e++;
+			}
+
+			if (e == r) {
+				if (cancelled) {
+					return;
+				}
+				if (parent.done && c.caughtUp()) {
+					terminate(a);
+					return;
+				}
+			}
+
+			if (e != 0L && r != Long.MAX_VALUE) {
+				REQUESTED.addAndGet(this, -e);
+			}
+
+			missed = WIP.addAndGet(this, -missed);
+			if (missed == 0) {
+				return;
+			}
+		}
+	}
+
+	private void terminate(CoreSubscriber<? super R> a) {
+		cancelled = true;
+		parent.remove(this);
+		Throwable t = parent.error;
+		if (t != null) {
+			a.onError(t);
+		} else {
+			a.onComplete();
+		}
+	}
+
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.PARENT) {
+			return parent;
+		}
+		if (key == Attr.ACTUAL) {
+			return actual;
+		}
+		if (key == Attr.CANCELLED) {
+			return cancelled;
+		}
+		if (key == Attr.REQUESTED_FROM_DOWNSTREAM) {
+			return requested;
+		}
+		return null;
+	}
+}
@@ -0,0 +1,124 @@
+package academy.devdojo.reactive.lift;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.reactivestreams.Publisher;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Fuseable;
+import reactor.core.Scannable;
+import reactor.core.publisher.ConnectableFlux;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.GroupedFlux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
+import reactor.util.annotation.Nullable;
+
+/**
+ * {@link Operators#lift} para os subscribers deste projeto, que nao fazem fusao.
+ * <p>
+ * O lift de uma fonte Fuseable (range, just, fromIterable) sai Fuseable, e um operador Fuseable
+ * logo abaixo, como o log(), faz cast do subscriber levantado para QueueSubscription e falha com
+ * ClassCastException. Aqui a fonte eh escondida antes do lift, como no hide(): o lift sai comum
+ * e o operador de baixo assina sem negociar fusao. A fonte escondida nao passa pelo
+ * onAssembly, entao o hook de {@link #hook} nao volta a ser chamado para ela.
+ */
+public final class Lifts {
+
+	private Lifts() {
+	}
+
+	public static <I, O> Function<Flux<I>, Flux<O>> flux(
+			BiFunction<Scannable, ? super CoreSubscriber<? super O>, ? extends CoreSubscriber<? super I>> lifter) {
+		Function<? super Publisher<I>, ? extends Publisher<O>> lift = Operators.lift(lifter);
+		return flux -> Flux.from(lift.apply(hide(flux)));
+	}
+
+	public static <I, O> Function<Mono<I>, Mono<O>> mono(
+			BiFunction<Scannable, ? super CoreSubscriber<? super O>, ? extends CoreSubscriber<? super I>> lifter) {
+		Function<? super Publisher<I>, ? extends Publisher<O>> lift = Operators.lift(lifter);
+		return mono -> Mono.from(lift.apply(hide(mono)));
+	}
+
+	/**
+	 * Para o {@link reactor.core.publisher.Hooks#onEachOperator}: levanta so os operadores aceitos
+	 * pelo {@code filter} e devolve o mesmo tipo que recebeu. ParallelFlux, ConnectableFlux e
+	 * GroupedFlux Fuseable nao tem como ser escondidos sem mudar de tipo e ficam sem o lift.
+	 */
+	public static <T> Function<? super Publisher<T>, ? extends Publisher<T>> hook(Predicate<Scannable> filter,
+			BiFunction<Scannable, ? super CoreSubscriber<? super T>, ? extends CoreSubscriber<? super T>> lifter) {
+		Function<? super Publisher<T>, ? extends Publisher<T>> lift = Operators.lift(lifter);
+		return publisher -> {
+			if (!filter.test(Scannable.from(publisher))) {
+				return publisher;
+			}
+			Publisher<T> hidden = hideKeepingType(publisher);
+			return hidden == null ? publisher : lift.apply(hidden);
+		};
+	}
+
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private static <T> Publisher<T> hideKeepingType(Publisher<T> source) {
+		if (!(source instanceof Fuseable)) {
+			return source;
+		}
+		if (source instanceof Mono) {
+			return hide((Mono<T>) source);
+		}
+		if (source instanceof Flux && !(source instanceof ConnectableFlux) && !(source instanceof GroupedFlux)) {
+			return hide((Flux<T>) source);
+		}
+		return null;
+	}
+
+	private static <T> Flux<T> hide(Flux<T> source) {
+		return source instanceof Fuseable ? new HiddenFlux<>(source) : source;
+	}
+
+	private static <T> Mono<T> hide(Mono<T> source) {
+		return source instanceof Fuseable ? new HiddenMono<>(source) : source;
+	}
+
+	static final class HiddenFlux<T> extends Flux<T> implements Scannable {
+
+		private final Flux<T> source;
+
+		HiddenFlux(Flux<T> source) {
+			this.source = source;
+		}
+
+		@Override
+		public void subscribe(CoreSubscriber<? super T> actual) {
+			source.subscribe(actual);
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			return key == Attr.PARENT ? source : null;
+		}
+	}
+
+	static final class HiddenMono<T> extends Mono<T> implements Scannable {
+
+		private final Mono<T> source;
+
+		HiddenMono(Mono<T> source) {
+			this.source = source;
+		}
+
+		@Override
+		public void subscribe(CoreSubscriber<? super T> actual) {
+			source.subscribe(actual);
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			return key == Attr.PARENT ? source : null;
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package academy.devdojo.reactive.load;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import org.HdrHistogram.Histogram;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+/**
+ * Pausas de GC durante a carga, pelas notificacoes dos GarbageCollectorMXBean. Coletores
+ * concorrentes ("G1 Concurrent GC", "ZGC Cycles", "Shenandoah Cycles") ficam de fora: a duracao
+ * deles eh de ciclo, nao de pausa.
+ */
+final class GcMonitor implements NotificationListener {
+
+	private static final int SIGNIFICANT_DIGITS = 2;
+
+	private final Histogram pauses = new Histogram(SIGNIFICANT_DIGITS);
+	private final List<NotificationEmitter> emitters = new ArrayList<>();
+
+	private volatile boolean recording;
+
+	void start() {
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			if (collector instanceof NotificationEmitter) {
+				NotificationEmitter emitter = (NotificationEmitter) collector;
+				emitter.addNotificationListener(this, null, null);
+				emitters.add(emitter);
+			}
+		}
+	}
+
+	/**
+	 * Passa a contar as pausas; as do warmup sao ignoradas.
+	 */
+	void record() {
+		recording = true;
+	}
+
+	synchronized Histogram stop() {
+		recording = false;
+		for (NotificationEmitter emitter : emitters) {
+			try {
+				emitter.removeNotificationListener(this);
+			} catch (ListenerNotFoundException ignored) {
+				// ja removido
+			}
+		}
+		emitters.clear();
+		return pauses.copy();
+	}
+
+	@Override
+	public synchronized void handleNotification(Notification notification, Object handback) {
+		if (!recording || !GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+			return;
+		}
+		GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from(
+				(CompositeData) notification.getUserData());
+		String name = info.getGcName();
+		if (!name.contains("Concurrent") && !name.contains("Cycles")) {
+			pauses.recordValue(Math.max(0, info.getGcInfo().getDuration()));
+		}
+	}
+}
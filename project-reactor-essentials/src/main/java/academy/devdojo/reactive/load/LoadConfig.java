@@ -0,0 +1,54 @@
+package academy.devdojo.reactive.load;
+
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Configuracao do {@link LoadGenerator}. {@code rate} requests por segundo em malha aberta durante
+ * {@code warmup} (fora das metricas) e depois {@code duration}. Com {@code maxInFlight} requests
+ * pendentes as chegadas seguintes sao descartadas e contadas; ao fim espera ate
+ * {@code drainTimeout} pelas pendentes.
+ */
+@Value
+@Builder
+public class LoadConfig {
+
+	@Builder.Default
+	int rate = 1000;
+
+	@Builder.Default
+	Duration warmup = Duration.ofSeconds(1);
+
+	@Builder.Default
+	Duration duration = Duration.ofSeconds(10);
+
+	@Builder.Default
+	int maxInFlight = 10_000;
+
+	@Builder.Default
+	Duration drainTimeout = Duration.ofSeconds(5);
+
+	public static LoadConfig defaults() {
+		return builder().build();
+	}
+
+	void validate() {
+		if (rate < 1) {
+			throw new IllegalArgumentException("rate must be positive, got " + rate);
+		}
+		if (warmup == null || warmup.isNegative()) {
+			throw new IllegalArgumentException("warmup must not be negative, got " + warmup);
+		}
+		if (duration == null || duration.isNegative() || duration.isZero()) {
+			throw new IllegalArgumentException("duration must be positive, got " + duration);
+		}
+		if (maxInFlight < 1) {
+			throw new IllegalArgumentException("maxInFlight must be positive, got " + maxInFlight);
+		}
+		if (drainTimeout == null || drainTimeout.isNegative()) {
+			throw new IllegalArgumentException("drainTimeout must not be negative, got " + drainTimeout);
+		}
+	}
+}
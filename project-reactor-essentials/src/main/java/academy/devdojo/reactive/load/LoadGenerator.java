@@ -0,0 +1,244 @@
+package academy.devdojo.reactive.load;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+/**
+ * Gerador de carga em malha aberta: a chegada {@code i} esta prevista para
+ * {@code inicio + i / rate} e eh assinada nesse instante, sem esperar as anteriores terminarem.
+ * Se a thread do gerador atrasa (GC, um request que bloqueia na assinatura) as chegadas atrasadas
+ * saem em rajada e a latencia continua contada do instante previsto, o que corrige a omissao
+ * coordenada de um gerador que so manda o proximo quando o anterior volta.
+ * <p>
+ * Cada request eh o Publisher devolvido para o indice da chegada, assinado com demanda ilimitada;
+ * termina no onComplete ou onError. Uma chegada descartada por {@code maxInFlight} tambem entra no
+ * histograma de latencia: cada vaga que abre atende a descartada mais antiga, que conta do
+ * instante previsto ate ali (as que nunca ganham vaga contam ate o fim da rodada). Sem o tempo de
+ * servico, eh um limite inferior; deixar as descartadas de fora seria de novo omissao coordenada. Roda numa thread propria, daemon, e cancelar o Mono de
+ * {@link #run()} encerra as chegadas (o relatorio nao eh emitido).
+ */
+public final class LoadGenerator {
+
+	private static final int SIGNIFICANT_DIGITS = 3;
+
+	private final LongFunction<? extends Publisher<?>> request;
+	private final LoadConfig config;
+
+	private LoadGenerator(LongFunction<? extends Publisher<?>> request, LoadConfig config) {
+		this.request = request;
+		this.config = config;
+	}
+
+	public static LoadGenerator of(LongFunction<? extends Publisher<?>> request) {
+		return of(request, LoadConfig.defaults());
+	}
+
+	public static LoadGenerator of(LongFunction<? extends Publisher<?>> request, LoadConfig config) {
+		config.validate();
+		return new LoadGenerator(request, config);
+	}
+
+	public Mono<LoadReport> run() {
+		return Mono.create(sink -> {
+			Run run = new Run();
+			sink.onDispose(() -> run.stopped = true);
+			Thread driver = new Thread(() -> {
+				try {
+					LoadReport report = run.drive();
+					if (!run.stopped) {
+						sink.success(report);
+					}
+				} catch (Throwable e) {
+					sink.error(e);
+				}
+			}, "load-generator");
+			driver.setDaemon(true);
+			driver.start();
+		});
+	}
+
+	private final class Run {
+
+		final AtomicInteger inFlight = new AtomicInteger();
+		final LongAdder completed = new LongAdder();
+		final LongAdder errors = new LongAdder();
+		final Recorder latency = new Recorder(SIGNIFICANT_DIGITS);
+		final Recorder serviceTime = new Recorder(SIGNIFICANT_DIGITS);
+		final DroppedArrivals droppedArrivals = new DroppedArrivals();
+		final GcMonitor gc = new GcMonitor();
+
+		volatile boolean stopped;
+
+		LoadReport drive() {
+			double nanosPerRequest = TimeUnit.SECONDS.toNanos(1) / (double) config.getRate();
+			long start = System.nanoTime();
+			long measureFrom = start + config.getWarmup().toNanos();
+			long end = measureFrom + config.getDuration().toNanos();
+			long scheduled = 0;
+			long dropped = 0;
+			boolean measuring = false;
+			Histogram pauses;
+			gc.start();
+			try {
+				for (long i = 0; !stopped; i++) {
+					long intended = start + (long) (i * nanosPerRequest);
+					if (intended >= end) {
+						break;
+					}
+					waitUntil(intended);
+					boolean measured = intended >= measureFrom;
+					if (measured && !measuring) {
+						measuring = true;
+						gc.record();
+					}
+					if (measured) {
+						scheduled++;
+					}
+					if (inFlight.get() >= config.getMaxInFlight()) {
+						if (measured) {
+							dropped++;
+							droppedArrivals.offer(intended);
+						}
+						continue;
+					}
+					inFlight.incrementAndGet();
+					Probe probe = new Probe(this, intended, measured);
+					try {
+						request.apply(i).subscribe(probe);
+					} catch (Throwable e) {
+						Exceptions.throwIfJvmFatal(e);
+						probe.onError(e);
+					}
+				}
+				long deadline = System.nanoTime() + config.getDrainTimeout().toNanos();
+				while (inFlight.get() > 0 && System.nanoTime() < deadline && !stopped) {
+					LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+				}
+				droppedArrivals.recordAll(latency, System.nanoTime());
+			} finally {
+				pauses = gc.stop();
+			}
+			long done = completed.sum() + errors.sum();
+			long incomplete = Math.max(0, scheduled - dropped - done);
+			return new LoadReport(config.getRate(), config.getDuration(), scheduled, completed.sum(), errors.sum(),
+					dropped, incomplete, latency.getIntervalHistogram(), serviceTime.getIntervalHistogram(), pauses);
+		}
+
+		private void waitUntil(long intended) {
+			long now;
+			while ((now = System.nanoTime()) < intended && !stopped) {
+				LockSupport.parkNanos(intended - now);
+			}
+		}
+
+		void onTerminate(Probe probe, boolean error) {
+			if (probe.measured) {
+				long now = System.nanoTime();
+				latency.recordValue(Math.max(0, now - probe.intended));
+				serviceTime.recordValue(Math.max(0, now - probe.subscribed));
+				if (error) {
+					errors.increment();
+				} else {
+					completed.increment();
+				}
+			}
+			inFlight.decrementAndGet();
+			droppedArrivals.recordOldest(latency, System.nanoTime());
+		}
+	}
+
+	/**
+	 * Instantes previstos das chegadas descartadas, em ordem. O gerador acrescenta e quem libera
+	 * uma vaga retira; so ha disputa quando o sistema ja esta saturado.
+	 */
+	private static final class DroppedArrivals {
+
+		private long[] intended = new long[16];
+		private int head;
+		private int size;
+
+		synchronized void offer(long time) {
+			if (size == intended.length) {
+				long[] bigger = new long[intended.length << 1];
+				for (int i = 0; i < size; i++) {
+					bigger[i] = intended[(head + i) & (intended.length - 1)];
+				}
+				intended = bigger;
+				head = 0;
+			}
+			intended[(head + size) & (intended.length - 1)] = time;
+			size++;
+		}
+
+		synchronized void recordOldest(Recorder latency, long now) {
+			if (size > 0) {
+				latency.recordValue(Math.max(0, now - intended[head]));
+				head = (head + 1) & (intended.length - 1);
+				size--;
+			}
+		}
+
+		synchronized void recordAll(Recorder latency, long now) {
+			while (size > 0) {
+				recordOldest(latency, now);
+			}
+		}
+	}
+
+	/**
+	 * Assinante de um request; so conta o primeiro sinal terminal.
+	 */
+	private static final class Probe implements CoreSubscriber<Object> {
+
+		final Run run;
+		final long intended;
+		final boolean measured;
+		final long subscribed = System.nanoTime();
+
+		boolean done;
+
+		Probe(Run run, long intended, boolean measured) {
+			this.run = run;
+			this.intended = intended;
+			this.measured = measured;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			s.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(Object o) {
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			terminate(true);
+		}
+
+		@Override
+		public void onComplete() {
+			terminate(false);
+		}
+
+		private void terminate(boolean error) {
+			if (!done) {
+				done = true;
+				run.onTerminate(this, error);
+			}
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package academy.devdojo.reactive.load;
+
+import java.time.Duration;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import lombok.Value;
+
+/**
+ * Resultado de uma rodada do {@link LoadGenerator}, so com as chegadas previstas depois do warmup.
+ * {@code latency} vai do instante previsto da chegada ate o fim do request (corrige a omissao
+ * coordenada) e inclui as chegadas descartadas, contadas ate abrir uma vaga; {@code serviceTime} vai da assinatura ate o fim, como um gerador em malha fechada
+ * mediria. Latencias em nanossegundos, pausas de GC em milissegundos; os histogramas podem ir para
+ * o HdrHistogram plotter com {@code outputPercentileDistribution}.
+ */
+@Value
+public class LoadReport {
+
+	private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+	private static final String[] LABELS = {"p50", "p90", "p99", "p99.9", "p99.99"};
+
+	int rate;
+	Duration duration;
+	long scheduled;
+	long completed;
+	long errors;
+	long dropped;
+	long incomplete;
+	Histogram latency;
+	Histogram serviceTime;
+	Histogram gcPauses;
+
+	/**
+	 * Requests terminados (com sucesso ou erro) por segundo da janela medida.
+	 */
+	public double throughput() {
+		return (completed + errors) / (duration.toNanos() / 1e9);
+	}
+
+	public String format() {
+		StringBuilder text = new StringBuilder();
+		text.append(String.format("rate %d/s for %ds: scheduled=%d completed=%d errors=%d dropped=%d incomplete=%d%n",
+				rate, duration.getSeconds(), scheduled, completed, errors, dropped, incomplete));
+		text.append(String.format("throughput %.1f/s%n", throughput()));
+		text.append(String.format("%-10s", "ms"));
+		for (String label : LABELS) {
+			text.append(String.format(" %10s", label));
+		}
+		text.append(String.format(" %10s%n", "max"));
+		row(text, "latency", latency);
+		row(text, "service", serviceTime);
+		if (dropped > 0) {
+			text.append(String.format("latency includes %d dropped arrivals, counted until a slot freed up%n", dropped));
+		}
+		text.append(String.format("gc pauses %d, total %d ms, max %d ms%n", gcPauses.getTotalCount(), totalPauseMillis(),
+				gcPauses.getMaxValue()));
+		return text.toString();
+	}
+
+	private long totalPauseMillis() {
+		long total = 0;
+		for (HistogramIterationValue value : gcPauses.recordedValues()) {
+			total += value.getValueIteratedTo() * value.getCountAddedInThisIterationStep();
+		}
+		return total;
+	}
+
+	private static void row(StringBuilder text, String name, Histogram histogram) {
+		text.append(String.format("%-10s", name));
+		for (double percentile : PERCENTILES) {
+			text.append(String.format(" %10.3f", histogram.getValueAtPercentile(percentile) / 1e6));
+		}
+		text.append(String.format(" %10.3f%n", histogram.getMaxValue() / 1e6));
+	}
+}
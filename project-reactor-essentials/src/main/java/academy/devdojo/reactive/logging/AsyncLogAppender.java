@@ -0,0 +1,202 @@
+package academy.devdojo.reactive.logging;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.FormattingTuple;
+import org.slf4j.helpers.MessageFormatter;
+
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Fila MPSC limitada com slots preallocados e uma unica thread escritora.
+ * <p>
+ * Quem loga so reserva um slot (CAS), copia as referencias e publica; formatar a mensagem e
+ * escrever no stream fica para a thread escritora, que junta ate {@code batchSize} mensagens
+ * por escrita e faz um unico flush por lote. Assim as threads dos schedulers nao disputam o
+ * lock do PrintStream nem fazem I/O.
+ */
+public final class AsyncLogAppender implements AutoCloseable {
+
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final AsyncLogConfig config;
+	private final int mask;
+	private final AtomicLong producerIndex = new AtomicLong();
+	private final AtomicLong consumerIndex = new AtomicLong();
+	private final AtomicLongArray published;
+	private final Level[] levels;
+	private final String[] loggers;
+	private final String[] threads;
+	private final String[] formats;
+	private final Object[][] arguments;
+	private final Throwable[] throwables;
+
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong written = new AtomicLong();
+	private final Thread writer;
+	private final StringBuilder batch = new StringBuilder(8 * 1024);
+
+	private volatile boolean running = true;
+	private long reportedDrops;
+
+	private AsyncLogAppender(AsyncLogConfig config) {
+		int capacity = config.getCapacity();
+		if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("capacity must be a power of 2, got " + capacity);
+		}
+		if (config.getBatchSize() < 1) {
+			throw new IllegalArgumentException("batchSize must be >= 1, got " + config.getBatchSize());
+		}
+		this.config = config;
+		this.mask = capacity - 1;
+		this.published = new AtomicLongArray(capacity);
+		this.levels = new Level[capacity];
+		this.loggers = new String[capacity];
+		this.threads = new String[capacity];
+		this.formats = new String[capacity];
+		this.arguments = new Object[capacity][];
+		this.throwables = new Throwable[capacity];
+		this.writer = new Thread(this::writeLoop, config.getThreadName());
+		this.writer.setDaemon(true);
+	}
+
+	public static AsyncLogAppender start(AsyncLogConfig config) {
+		AsyncLogAppender appender = new AsyncLogAppender(config);
+		appender.writer.start();
+		return appender;
+	}
+
+	public Logger getLogger(Class<?> type) {
+		return new AsyncLogger(type.getName(), this);
+	}
+
+	public boolean isEnabled(Level level) {
+		Level threshold = config.getLevel();
+		return threshold != null && level.toInt() >= threshold.toInt();
+	}
+
+	/**
+	 * @return false se a mensagem foi descartada
+	 */
+	public boolean append(Level level, String logger, String format, Object[] args, Throwable throwable) {
+		long sequence = claim();
+		if (sequence < 0) {
+			dropped.incrementAndGet();
+			return false;
+		}
+		int index = (int) sequence & mask;
+		levels[index] = level;
+		loggers[index] = logger;
+		threads[index] = Thread.currentThread().getName();
+		formats[index] = format;
+		arguments[index] = args;
+		throwables[index] = throwable;
+		published.lazySet(index, sequence + 1);
+		return true;
+	}
+
+	private long claim() {
+		boolean spin = config.getOverflowPolicy() == OverflowPolicy.BLOCK && Schedulers.isInNonBlockingThread();
+		for (;;) {
+			long sequence = producerIndex.get();
+			if (sequence - consumerIndex.get() > mask) {
+				if (config.getOverflowPolicy() == OverflowPolicy.DROP || !running) {
+					return -1;
+				}
+				if (!spin) {
+					LockSupport.parkNanos(IDLE_PARK_NANOS / 10);
+				}
+				continue;
+			}
+			if (producerIndex.compareAndSet(sequence, sequence + 1)) {
+				return sequence;
+			}
+		}
+	}
+
+	private void writeLoop() {
+		while (running) {
+			if (drain() == 0) {
+				LockSupport.parkNanos(IDLE_PARK_NANOS);
+			}
+		}
+		while (drain() > 0) {
+			// esvazia o que sobrou depois do close
+		}
+	}
+
+	/**
+	 * Escreve um lote; so deve ser chamado pela thread escritora.
+	 */
+	private int drain() {
+		long sequence = consumerIndex.get();
+		int count = 0;
+		while (count < config.getBatchSize()) {
+			int index = (int) sequence & mask;
+			if (published.get(index) != sequence + 1) {
+				break;
+			}
+			format(batch, levels[index], loggers[index], threads[index], formats[index], arguments[index], throwables[index]);
+			arguments[index] = null;
+			throwables[index] = null;
+			sequence++;
+			count++;
+			consumerIndex.lazySet(sequence);
+		}
+		long drops = dropped.get();
+		if (drops != reportedDrops) {
+			batch.append("[").append(config.getThreadName()).append("] WARN ").append(AsyncLogAppender.class.getName())
+					.append(" - ").append(drops - reportedDrops).append(" log messages dropped").append(System.lineSeparator());
+			reportedDrops = drops;
+		}
+		if (batch.length() > 0) {
+			config.getOutput().print(batch);
+			config.getOutput().flush();
+			batch.setLength(0);
+			written.addAndGet(count);
+		}
+		return count;
+	}
+
+	private static void format(StringBuilder out, Level level, String logger, String thread, String format,
+			Object[] args, Throwable throwable) {
+		FormattingTuple tuple = MessageFormatter.arrayFormat(format, args);
+		out.append('[').append(thread).append("] ").append(level).append(' ').append(logger).append(" - ")
+				.append(tuple.getMessage()).append(System.lineSeparator());
+		Throwable error = throwable != null ? throwable : tuple.getThrowable();
+		if (error != null) {
+			StringWriter trace = new StringWriter();
+			error.printStackTrace(new PrintWriter(trace));
+			out.append(trace);
+		}
+	}
+
+	public long dropped() {
+		return dropped.get();
+	}
+
+	public long written() {
+		return written.get();
+	}
+
+	/**
+	 * Para a thread escritora depois de escrever o que ja estava na fila. Se a thread que fecha for
+	 * interrompida, para de esperar e mantem a flag de interrupcao.
+	 */
+	@Override
+	public void close() {
+		running = false;
+		try {
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package academy.devdojo.reactive.logging;
+
+import java.io.PrintStream;
+import java.util.Locale;
+
+import org.slf4j.event.Level;
+
+import lombok.Builder;
+import lombok.Value;
+import reactor.util.annotation.Nullable;
+
+@Value
+@Builder
+public class AsyncLogConfig {
+
+	/**
+	 * Tamanho da fila, potencia de 2.
+	 */
+	@Builder.Default
+	int capacity = 8192;
+
+	/**
+	 * Maximo de mensagens escritas por flush.
+	 */
+	@Builder.Default
+	int batchSize = 256;
+
+	@Builder.Default
+	OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+	/**
+	 * Nivel minimo escrito; null desliga o log, como o "off" do slf4j-simple.
+	 */
+	@Builder.Default
+	@Nullable
+	Level level = Level.INFO;
+
+	@Builder.Default
+	PrintStream output = System.err;
+
+	@Builder.Default
+	String threadName = "async-log-writer";
+
+	public static AsyncLogConfig defaults() {
+		return builder().build();
+	}
+
+	/**
+	 * Le o nivel como o slf4j-simple le o {@code defaultLogLevel}: sem diferenciar maiusculas,
+	 * "off" desliga o log (null) e qualquer outro valor desconhecido vira INFO.
+	 */
+	@Nullable
+	public static Level parseLevel(String value) {
+		switch (value.trim().toLowerCase(Locale.ROOT)) {
+			case "trace":
+				return Level.TRACE;
+			case "debug":
+				return Level.DEBUG;
+			case "warn":
+				return Level.WARN;
+			case "error":
+				return Level.ERROR;
+			case "off":
+				return null;
+			default:
+				return Level.INFO;
+		}
+	}
+}
@@ -0,0 +1,196 @@
+package academy.devdojo.reactive.logging;
+
+import org.slf4j.event.Level;
+import org.slf4j.helpers.MarkerIgnoringBase;
+
+/**
+ * Logger do slf4j que so enfileira a mensagem no {@link AsyncLogAppender}; a formatacao
+ * dos argumentos acontece na thread escritora.
+ */
+public class AsyncLogger extends MarkerIgnoringBase {
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient AsyncLogAppender appender;
+
+	AsyncLogger(String name, AsyncLogAppender appender) {
+		this.name = name;
+		this.appender = appender;
+	}
+
+	private void log(Level level, String format, Object[] arguments, Throwable throwable) {
+		if (appender.isEnabled(level)) {
+			appender.append(level, name, format, arguments, throwable);
+		}
+	}
+
+	@Override
+	public boolean isTraceEnabled() {
+		return appender.isEnabled(Level.TRACE);
+	}
+
+	@Override
+	public void trace(String msg) {
+		log(Level.TRACE, msg, null, null);
+	}
+
+	@Override
+	public void trace(String format, Object arg) {
+		if (isTraceEnabled()) {
+			log(Level.TRACE, format, new Object[]{arg}, null);
+		}
+	}
+
+	@Override
+	public void trace(String format, Object arg1, Object arg2) {
+		if (isTraceEnabled()) {
+			log(Level.TRACE, format, new Object[]{arg1, arg2}, null);
+		}
+	}
+
+	@Override
+	public void trace(String format, Object... arguments) {
+		log(Level.TRACE, format, arguments, null);
+	}
+
+	@Override
+	public void trace(String msg, Throwable t) {
+		log(Level.TRACE, msg, null, t);
+	}
+
+	@Override
+	public boolean isDebugEnabled() {
+		return appender.isEnabled(Level.DEBUG);
+	}
+
+	@Override
+	public void debug(String msg) {
+		log(Level.DEBUG, msg, null, null);
+	}
+
+	@Override
+	public void debug(String format, Object arg) {
+		if (isDebugEnabled()) {
+			log(Level.DEBUG, format, new Object[]{arg}, null);
+		}
+	}
+
+	@Override
+	public void debug(String format, Object arg1, Object arg2) {
+		if (isDebugEnabled()) {
+			log(Level.DEBUG, format, new Object[]{arg1, arg2}, null);
+		}
+	}
+
+	@Override
+	public void debug(String format, Object... arguments) {
+		log(Level.DEBUG, format, arguments, null);
+	}
+
+	@Override
+	public void debug(String msg, Throwable t) {
+		log(Level.DEBUG, msg, null, t);
+	}
+
+	@Override
+	public boolean isInfoEnabled() {
+		return appender.isEnabled(Level.INFO);
+	}
+
+	@Override
+	public void info(String msg) {
+		log(Level.INFO, msg, null, null);
+	}
+
+	@Override
+	public void info(String format, Object arg) {
+		if (isInfoEnabled()) {
+			log(Level.INFO, format, new Object[]{arg}, null);
+		}
+	}
+
+	@Override
+	public void info(String format, Object arg1, Object arg2) {
+		if (isInfoEnabled()) {
+			log(Level.INFO, format, new Object[]{arg1, arg2}, null);
+		}
+	}
+
+	@Override
+	public void info(String format, Object... arguments) {
+		log(Level.INFO, format, arguments, null);
+	}
+
+	@Override
+	public void info(String msg, Throwable t) {
+		log(Level.INFO, msg, null, t);
+	}
+
+	@Override
+	public boolean isWarnEnabled() {
+		return appender.isEnabled(Level.WARN);
+	}
+
+	@Override
+	public void warn(String msg) {
+		log(Level.WARN, msg, null, null);
+	}
+
+	@Override
+	public void warn(String format, Object arg) {
+		if (isWarnEnabled()) {
+			log(Level.WARN, format, new Object[]{arg}, null);
+		}
+	}
+
+	@Override
+	public void warn(String format, Object arg1, Object arg2) {
+		if (isWarnEnabled()) {
+			log(Level.WARN, format, new Object[]{arg1, arg2}, null);
+		}
+	}
+
+	@Override
+	public void warn(String format, Object... arguments) {
+		log(Level.WARN, format, arguments, null);
+	}
+
+	@Override
+	public void warn(String msg, Throwable t) {
+		log(Level.WARN, msg, null, t);
+	}
+
+	@Override
+	public boolean isErrorEnabled() {
+		return appender.isEnabled(Level.ERROR);
+	}
+
+	@Override
+	public void error(String msg) {
+		log(Level.ERROR, msg, null, null);
+	}
+
+	@Override
+	public void error(String format, Object arg) {
+		if (isErrorEnabled()) {
+			log(Level.ERROR, format, new Object[]{arg}, null);
+		}
+	}
+
+	@Override
+	public void error(String format, Object arg1, Object arg2) {
+		if (isErrorEnabled()) {
+			log(Level.ERROR, format, new Object[]{arg1, arg2}, null);
+		}
+	}
+
+	@Override
+	public void error(String format, Object... arguments) {
+		log(Level.ERROR, format, arguments, null);
+	}
+
+	@Override
+	public void error(String msg, Throwable t) {
+		log(Level.ERROR, msg, null, t);
+	}
+}
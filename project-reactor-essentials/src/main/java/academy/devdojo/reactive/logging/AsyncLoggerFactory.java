@@ -0,0 +1,49 @@
+package academy.devdojo.reactive.logging;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+
+/**
+ * Loggers assincronos por nome, todos sobre o mesmo appender padrao. Quem loga de threads de
+ * scheduler usa {@code AsyncLoggerFactory.getLogger(Classe.class)} no lugar do
+ * {@code LoggerFactory} do slf4j.
+ * <p>
+ * O appender padrao usa o nivel de {@code org.slf4j.simpleLogger.defaultLogLevel}, lido como no
+ * slf4j-simple (veja {@link AsyncLogConfig#parseLevel}), e escreve no System.err. Um shutdown
+ * hook esvazia a fila no fim da JVM.
+ */
+public final class AsyncLoggerFactory {
+
+	private static final ConcurrentMap<String, Logger> LOGGERS = new ConcurrentHashMap<>();
+
+	private AsyncLoggerFactory() {
+	}
+
+	public static Logger getLogger(Class<?> type) {
+		return getLogger(type.getName());
+	}
+
+	public static Logger getLogger(String name) {
+		return LOGGERS.computeIfAbsent(name, n -> new AsyncLogger(n, DefaultAppender.INSTANCE));
+	}
+
+	public static AsyncLogAppender defaultAppender() {
+		return DefaultAppender.INSTANCE;
+	}
+
+	private static final class DefaultAppender {
+
+		static final AsyncLogAppender INSTANCE = create();
+
+		private static AsyncLogAppender create() {
+			String level = System.getProperty("org.slf4j.simpleLogger.defaultLogLevel", "info");
+			AsyncLogAppender appender = AsyncLogAppender.start(AsyncLogConfig.builder()
+					.level(AsyncLogConfig.parseLevel(level))
+					.build());
+			Runtime.getRuntime().addShutdownHook(new Thread(appender::close, "async-log-shutdown"));
+			return appender;
+		}
+	}
+}
@@ -0,0 +1,16 @@
+package academy.devdojo.reactive.logging;
+
+/**
+ * O que fazer quando a fila do {@link AsyncLogAppender} esta cheia.
+ */
+public enum OverflowPolicy {
+	/**
+	 * Descarta a mensagem e incrementa o contador de descartes.
+	 */
+	DROP,
+	/**
+	 * Espera ter espaco. Em threads non-blocking do Reactor a espera eh um spin (nunca park),
+	 * para o BlockHound continuar quieto.
+	 */
+	BLOCK
+}
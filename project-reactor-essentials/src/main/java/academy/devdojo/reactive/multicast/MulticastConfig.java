@@ -0,0 +1,29 @@
+package academy.devdojo.reactive.multicast;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Configuracao do {@link RingMulticast}. {@code bufferSize} eh o tamanho do ring (potencia de 2),
+ * alocado uma vez; {@code slowConsumer} eh a politica dos subscribers que nao escolhem outra.
+ */
+@Value
+@Builder
+public class MulticastConfig {
+
+	@Builder.Default
+	int bufferSize = 1024;
+
+	@Builder.Default
+	SlowConsumer slowConsumer = SlowConsumer.BLOCK;
+
+	public static MulticastConfig defaults() {
+		return builder().build();
+	}
+
+	void validate() {
+		if (bufferSize < 4 || Integer.bitCount(bufferSize) != 1) {
+			throw new IllegalArgumentException("bufferSize must be a power of two >= 4, got " + bufferSize);
+		}
+	}
+}
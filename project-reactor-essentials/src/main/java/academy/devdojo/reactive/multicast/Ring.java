@@ -0,0 +1,328 @@
+package academy.devdojo.reactive.multicast;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.reactivestreams.Subscription;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
+import reactor.core.Fuseable;
+import reactor.core.Scannable;
+import reactor.core.publisher.Operators;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Lado do produtor do {@link RingMulticast}: um unico ring preenchido uma vez, uma sequencia
+ * publicada ({@code cursor}) e uma sequencia reservada ({@code claimed}), escrita antes do slot,
+ * que deixa os subscribers sem backpressure detectarem que o slot que leram foi sobrescrito.
+ * <p>
+ * onNext e a leitura dos subscribers nao usam lock. O monitor so guarda a lista de subscribers e o
+ * calculo do request ao upstream, feito a cada quarto de volta: o upstream pode ir ate uma volta
+ * a frente do subscriber BLOCK mais atrasado (ou do proprio cursor, se nao houver nenhum).
+ * <p>
+ * As sequencias e os slots sao escritos com lazySet (release): a ordem claimed, slot, cursor eh o
+ * que importa, e sem o fence de uma escrita volatile. Com fonte SYNC (range, fromIterable) o ring
+ * puxa pelo poll em lotes de ate uma volta e avisa os subscribers uma vez por lote, o mesmo efeito
+ * de lote do Disruptor.
+ */
+final class Ring<T> implements CoreSubscriber<T>, Scannable {
+
+	@SuppressWarnings("rawtypes")
+	private static final RingSubscription[] EMPTY = new RingSubscription[0];
+
+	private static final AtomicLongFieldUpdater<Ring> CURSOR =
+			AtomicLongFieldUpdater.newUpdater(Ring.class, "cursor");
+
+	private static final AtomicLongFieldUpdater<Ring> CLAIMED =
+			AtomicLongFieldUpdater.newUpdater(Ring.class, "claimed");
+
+	private static final AtomicIntegerFieldUpdater<Ring> PUMP_WIP =
+			AtomicIntegerFieldUpdater.newUpdater(Ring.class, "pumpWip");
+
+	final AtomicReferenceArray<T> slots;
+	final int capacity;
+	final int mask;
+	private final int limit;
+
+	volatile long cursor = -1L;
+	volatile long claimed = -1L;
+	volatile boolean done;
+	Throwable error;
+
+	@SuppressWarnings("unchecked")
+	private volatile RingSubscription<T>[] subscribers = EMPTY;
+
+	private Subscription upstream;
+	private Fuseable.QueueSubscription<T> fused;
+	private volatile boolean cancelled;
+	private volatile int pumpWip;
+	// escrito sob o monitor, lido sem lock pelo produtor
+	private volatile long requestedUpTo = -1L;
+	private int producedSinceReplenish;
+
+	final LongAdder dropped = new LongAdder();
+	final LongAdder disconnected = new LongAdder();
+
+	Ring(int capacity) {
+		this.slots = new AtomicReferenceArray<>(capacity);
+		this.capacity = capacity;
+		this.mask = capacity - 1;
+		this.limit = capacity >> 2;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void onSubscribe(Subscription s) {
+		synchronized (this) {
+			if (!Operators.validate(upstream, s)) {
+				return;
+			}
+			if (s instanceof Fuseable.QueueSubscription) {
+				Fuseable.QueueSubscription<T> qs = (Fuseable.QueueSubscription<T>) s;
+				if (qs.requestFusion(Fuseable.SYNC) == Fuseable.SYNC) {
+					fused = qs;
+				}
+			}
+			upstream = s;
+		}
+		replenish();
+	}
+
+	@Override
+	public void onNext(T t) {
+		if (done) {
+			Operators.onNextDropped(t, currentContext());
+			return;
+		}
+		long s = cursor + 1;
+		if (s > requestedUpTo) {
+			upstream.cancel();
+			onError(Exceptions.failWithOverflow(Exceptions.BACKPRESSURE_ERROR_QUEUE_FULL));
+			return;
+		}
+		publish(s, t);
+		signalAll();
+		if (++producedSinceReplenish == limit) {
+			producedSinceReplenish = 0;
+			replenish();
+		}
+	}
+
+	@Override
+	public void onError(Throwable t) {
+		if (done) {
+			Operators.onErrorDropped(t, currentContext());
+			return;
+		}
+		error = t;
+		done = true;
+		signalAll();
+	}
+
+	@Override
+	public void onComplete() {
+		if (done) {
+			return;
+		}
+		done = true;
+		signalAll();
+	}
+
+	private void publish(long s, T t) {
+		CLAIMED.lazySet(this, s);
+		slots.lazySet((int) s & mask, t);
+		CURSOR.lazySet(this, s);
+	}
+
+	/**
+	 * Modo SYNC: puxa da fila da fonte ate o limite de request e avisa os subscribers por lote. A
+	 * cada quarto de volta estende o limite pelo {@link #replenish()}, como o onNext.
+	 */
+	private void pump() {
+		if (PUMP_WIP.getAndIncrement(this) != 0) {
+			return;
+		}
+		Fuseable.QueueSubscription<T> qs = fused;
+		int missed = 1;
+		for (;;) {
+			long s = cursor;
+			long upTo = requestedUpTo;
+			long start = s;
+			while (s < upTo) {
+				if (cancelled) {
+					return;
+				}
+				T t;
+				try {
+					t = qs.poll();
+				} catch (Throwable ex) {
+					onError(Operators.onOperatorError(qs, ex, currentContext()));
+					return;
+				}
+				if (t == null) {
+					if (s != start) {
+						signalAll();
+					}
+					onComplete();
+					return;
+				}
+				publish(++s, t);
+				// como no onNext: sem subscriber BLOCK ninguem mais chama o replenish; o pump
+				// reentrante so incrementa o wip e esta volta rele o requestedUpTo
+				if (++producedSinceReplenish == limit) {
+					producedSinceReplenish = 0;
+					replenish();
+				}
+			}
+			if (s != start) {
+				signalAll();
+			}
+			missed = PUMP_WIP.addAndGet(this, -missed);
+			if (missed == 0) {
+				return;
+			}
+		}
+	}
+
+	private void signalAll() {
+		for (RingSubscription<T> subscriber : subscribers) {
+			subscriber.signal();
+		}
+	}
+
+	/**
+	 * Pede ao upstream o que cabe no ring sem ultrapassar os subscribers BLOCK; no modo SYNC
+	 * puxa direto da fonte.
+	 */
+	void replenish() {
+		if (held(requestedUpTo - capacity)) {
+			return;
+		}
+		long toRequest;
+		Subscription s;
+		synchronized (this) {
+			s = upstream;
+			if (s == null || done) {
+				return;
+			}
+			long min = cursor;
+			for (RingSubscription<T> subscriber : subscribers) {
+				if (subscriber.gating) {
+					min = Math.min(min, subscriber.sequence);
+				}
+			}
+			long upTo = min + capacity;
+			toRequest = upTo - requestedUpTo;
+			if (toRequest <= 0) {
+				return;
+			}
+			requestedUpTo = upTo;
+		}
+		if (fused != null) {
+			pump();
+		} else {
+			s.request(toRequest);
+		}
+	}
+
+	/**
+	 * Algum subscriber BLOCK ainda esta no piso do ultimo request, entao nao ha o que pedir. A
+	 * busca eh de tras para frente porque os subscribers sao avisados na ordem do array e os do fim
+	 * costumam estar mais atrasados; sem isso cada subscriber faria uma varredura completa a cada
+	 * quarto de volta.
+	 */
+	private boolean held(long floor) {
+		RingSubscription<T>[] current = subscribers;
+		for (int i = current.length - 1; i >= 0; i--) {
+			RingSubscription<T> subscriber = current[i];
+			if (subscriber.gating && subscriber.sequence <= floor) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * O produtor esta parado esperando request; usado pelos subscribers BLOCK que alcancaram o
+	 * cursor para nao depender do contador de replenish.
+	 */
+	boolean stalled() {
+		return cursor == requestedUpTo;
+	}
+
+	@SuppressWarnings("unchecked")
+	void add(RingSubscription<T> subscriber) {
+		synchronized (this) {
+			// a sequencia inicial eh lida sob o monitor, entao nenhum request ja feito passa dela
+			subscriber.sequence = cursor;
+			RingSubscription<T>[] current = subscribers;
+			RingSubscription<T>[] next = new RingSubscription[current.length + 1];
+			System.arraycopy(current, 0, next, 0, current.length);
+			next[current.length] = subscriber;
+			subscribers = next;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	void remove(RingSubscription<T> subscriber) {
+		synchronized (this) {
+			RingSubscription<T>[] current = subscribers;
+			int index = -1;
+			for (int i = 0; i < current.length; i++) {
+				if (current[i] == subscriber) {
+					index = i;
+					break;
+				}
+			}
+			if (index < 0) {
+				return;
+			}
+			RingSubscription<T>[] next = current.length == 1 ? EMPTY : new RingSubscription[current.length - 1];
+			System.arraycopy(current, 0, next, 0, index);
+			System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+			subscribers = next;
+		}
+		if (subscriber.gating) {
+			replenish();
+		}
+	}
+
+	int subscriberCount() {
+		return subscribers.length;
+	}
+
+	void cancel() {
+		cancelled = true;
+		Subscription s;
+		synchronized (this) {
+			s = upstream;
+		}
+		if (s != null) {
+			s.cancel();
+		}
+	}
+
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.PARENT) {
+			return upstream;
+		}
+		if (key == Attr.CAPACITY) {
+			return capacity;
+		}
+		if (key == Attr.TERMINATED) {
+			return done;
+		}
+		if (key == Attr.ERROR) {
+			return error;
+		}
+		if (key == Attr.BUFFERED) {
+			return (int) Math.min(capacity, cursor + 1);
+		}
+		return null;
+	}
+}
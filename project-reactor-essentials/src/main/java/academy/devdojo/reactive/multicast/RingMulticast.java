@@ -0,0 +1,113 @@
+package academy.devdojo.reactive.multicast;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.reactivestreams.Publisher;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+
+/**
+ * Multicast no estilo Disruptor: um ring alocado uma vez e uma sequencia por subscriber, no lugar
+ * da fila compartilhada do {@code publish()}. Cada subscriber le no proprio ritmo e escolhe o que
+ * acontece quando fica para tras ({@link SlowConsumer}); so os BLOCK seguram o produtor, entao um
+ * consumidor lento com DROP_OLDEST ou DISCONNECT nao atrasa os outros.
+ * <p>
+ * Assim como o publish, eh quente: quem entra depois do connect recebe so o que vier a partir
+ * dai. {@code RingMulticast.create(flux, config).autoConnect(2)} substitui
+ * {@code flux.publish().autoConnect(2)}.
+ */
+public final class RingMulticast<T> {
+
+	private final Publisher<? extends T> source;
+	private final MulticastConfig config;
+	private final Ring<T> ring;
+	private final AtomicBoolean connected = new AtomicBoolean();
+
+	private RingMulticast(Publisher<? extends T> source, MulticastConfig config) {
+		this.source = source;
+		this.config = config;
+		this.ring = new Ring<>(config.getBufferSize());
+	}
+
+	public static <T> RingMulticast<T> create(Publisher<? extends T> source, MulticastConfig config) {
+		config.validate();
+		return new RingMulticast<>(Objects.requireNonNull(source, "source"), config);
+	}
+
+	public static <T> RingMulticast<T> create(Publisher<? extends T> source) {
+		return create(source, MulticastConfig.defaults());
+	}
+
+	/**
+	 * Visao do ring com a politica padrao da configuracao.
+	 */
+	public Flux<T> flux() {
+		return flux(config.getSlowConsumer());
+	}
+
+	public Flux<T> flux(SlowConsumer policy) {
+		Objects.requireNonNull(policy, "policy");
+		return Flux.from(actual -> subscribe(Operators.toCoreSubscriber(actual), policy));
+	}
+
+	/**
+	 * Conecta ao upstream quando {@code subscribers} assinaturas tiverem chegado.
+	 */
+	public Flux<T> autoConnect(int subscribers) {
+		return autoConnect(subscribers, config.getSlowConsumer());
+	}
+
+	public Flux<T> autoConnect(int subscribers, SlowConsumer policy) {
+		if (subscribers < 1) {
+			throw new IllegalArgumentException("subscribers must be positive, got " + subscribers);
+		}
+		Objects.requireNonNull(policy, "policy");
+		AtomicInteger arrived = new AtomicInteger();
+		return Flux.from(actual -> {
+			subscribe(Operators.toCoreSubscriber(actual), policy);
+			if (arrived.incrementAndGet() == subscribers) {
+				connect();
+			}
+		});
+	}
+
+	/**
+	 * Assina o upstream uma unica vez; o Disposable cancela o upstream.
+	 */
+	public Disposable connect() {
+		if (connected.compareAndSet(false, true)) {
+			source.subscribe(ring);
+		}
+		return ring::cancel;
+	}
+
+	public int subscriberCount() {
+		return ring.subscriberCount();
+	}
+
+	/**
+	 * Elementos pulados pelos subscribers DROP_OLDEST, somados.
+	 */
+	public long dropped() {
+		return ring.dropped.sum();
+	}
+
+	/**
+	 * Subscribers DISCONNECT que foram desligados por ficarem uma volta atras.
+	 */
+	public long disconnected() {
+		return ring.disconnected.sum();
+	}
+
+	private void subscribe(CoreSubscriber<? super T> actual, SlowConsumer policy) {
+		RingSubscription<T> subscription = new RingSubscription<>(actual, ring, policy);
+		actual.onSubscribe(subscription);
+		ring.add(subscription);
+		subscription.start();
+	}
+}
@@ -0,0 +1,219 @@
+package academy.devdojo.reactive.multicast;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import org.reactivestreams.Subscription;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
+import reactor.core.Scannable;
+import reactor.core.publisher.Operators;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Um subscriber do {@link RingMulticast}: le o ring a partir da propria sequencia, no ritmo da
+ * propria demanda. {@code sequence} eh o ultimo elemento entregue e so eh escrita por quem esta
+ * no drain; o produtor a le para calcular o request ao upstream.
+ */
+final class RingSubscription<T> implements Subscription, Scannable {
+
+	private static final AtomicIntegerFieldUpdater<RingSubscription> WIP =
+			AtomicIntegerFieldUpdater.newUpdater(RingSubscription.class, "wip");
+
+	private static final AtomicLongFieldUpdater<RingSubscription> SEQUENCE =
+			AtomicLongFieldUpdater.newUpdater(RingSubscription.class, "sequence");
+
+	private static final AtomicLongFieldUpdater<RingSubscription> REQUESTED =
+			AtomicLongFieldUpdater.newUpdater(RingSubscription.class, "requested");
+
+	private final CoreSubscriber<? super T> actual;
+	private final Ring<T> ring;
+	private final SlowConsumer policy;
+	private final int limit;
+
+	final boolean gating;
+
+	volatile long sequence;
+
+	private int consumedSinceReplenish;
+
+	private volatile boolean cancelled;
+	// comeca em 1: o drain so roda depois do start, quando a sequencia inicial ja foi definida
+	private volatile int wip = 1;
+	private volatile long requested;
+
+	RingSubscription(CoreSubscriber<? super T> actual, Ring<T> ring, SlowConsumer policy) {
+		this.actual = actual;
+		this.ring = ring;
+		this.policy = policy;
+		this.gating = policy == SlowConsumer.BLOCK;
+		this.limit = Math.max(1, ring.capacity >> 2);
+	}
+
+	@Override
+	public void request(long n) {
+		if (Operators.validate(n)) {
+			Operators.addCap(REQUESTED, this, n);
+			drain();
+		}
+	}
+
+	@Override
+	public void cancel() {
+		if (!cancelled) {
+			cancelled = true;
+			ring.remove(this);
+		}
+	}
+
+	/**
+	 * Chamado pelo produtor a cada elemento: sem demanda o drain fica para o proximo request.
+	 */
+	void signal() {
+		if (requested != 0L || ring.done) {
+			drain();
+		}
+	}
+
+	/**
+	 * Libera o drain depois que o subscriber entrou no ring.
+	 */
+	void start() {
+		if (cancelled) {
+			ring.remove(this);
+		}
+		drainLoop();
+	}
+
+	private void drain() {
+		if (WIP.getAndIncrement(this) != 0) {
+			return;
+		}
+		drainLoop();
+	}
+
+	private void drainLoop() {
+		CoreSubscriber<? super T> a = actual;
+		Ring<T> r = ring;
+		int missed = 1;
+
+		for (;;) {
+			long req = requested;
+			long e = 0L;
+			long seq = sequence;
+			long c = r.cursor;
+
+			while (e != req) {
+				if (seq == c) {
+					c = r.cursor;
+					if (seq == c) {
+						break;
+					}
+				}
+				if (cancelled) {
+					return;
+				}
+				long next = seq + 1;
+				T v;
+				if (gating) {
+					// o cursor lido (volatile) ja publica o slot, e um BLOCK nunca eh ultrapassado
+					v = r.slots.getPlain((int) next & r.mask);
+				} else {
+					long floor = r.claimed - r.capacity;
+					if (next <= floor) {
+						if (lapped(a, floor - seq)) {
+							return;
+						}
+						seq = floor;
+						continue;
+					}
+					v = r.slots.get((int) next & r.mask);
+					if (next <= r.claimed - r.capacity) {
+						// o produtor sobrescreveu o slot durante a leitura
+						continue;
+					}
+				}
+				seq = next;
+				a.onNext(v);
+				e++;
+				if (gating && ++consumedSinceReplenish == limit) {
+					consumedSinceReplenish = 0;
+					SEQUENCE.lazySet(this, seq);
+					r.replenish();
+				}
+			}
+			SEQUENCE.lazySet(this, seq);
+
+			if (cancelled) {
+				return;
+			}
+			if (r.done && seq == r.cursor) {
+				terminate(a);
+				return;
+			}
+			if (gating && seq == r.cursor && r.stalled()) {
+				r.replenish();
+			}
+
+			if (e != 0L && req != Long.MAX_VALUE) {
+				REQUESTED.addAndGet(this, -e);
+			}
+
+			missed = WIP.addAndGet(this, -missed);
+			if (missed == 0) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * @return true se o subscriber saiu do ring
+	 */
+	private boolean lapped(CoreSubscriber<? super T> a, long lost) {
+		if (policy == SlowConsumer.DISCONNECT) {
+			cancelled = true;
+			ring.remove(this);
+			ring.disconnected.increment();
+			a.onError(Exceptions.failWithOverflow("subscriber fell a full ring (" + ring.capacity + ") behind"));
+			return true;
+		}
+		ring.dropped.add(lost);
+		return false;
+	}
+
+	private void terminate(CoreSubscriber<? super T> a) {
+		cancelled = true;
+		ring.remove(this);
+		Throwable t = ring.error;
+		if (t != null) {
+			a.onError(t);
+		} else {
+			a.onComplete();
+		}
+	}
+
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.PARENT) {
+			return ring;
+		}
+		if (key == Attr.ACTUAL) {
+			return actual;
+		}
+		if (key == Attr.CANCELLED) {
+			return cancelled;
+		}
+		if (key == Attr.REQUESTED_FROM_DOWNSTREAM) {
+			return requested;
+		}
+		if (key == Attr.BUFFERED) {
+			return (int) Math.min(ring.capacity, ring.cursor - sequence);
+		}
+		if (key == Attr.PREFETCH) {
+			return ring.capacity;
+		}
+		return null;
+	}
+}
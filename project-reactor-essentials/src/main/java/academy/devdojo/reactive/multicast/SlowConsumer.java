@@ -0,0 +1,26 @@
+package academy.devdojo.reactive.multicast;
+
+/**
+ * O que acontece com um subscriber do {@link RingMulticast} que fica uma volta inteira do ring
+ * atras do produtor.
+ */
+public enum SlowConsumer {
+
+	/**
+	 * Segura o produtor: o upstream so recebe request ate uma volta a frente do subscriber mais
+	 * lento com essa politica. Nenhuma thread bloqueia, eh backpressure como no publish.
+	 */
+	BLOCK,
+
+	/**
+	 * Nao segura o produtor; quando o subscriber eh ultrapassado ele pula para o elemento mais
+	 * antigo ainda no ring e os perdidos entram na contagem de descartes.
+	 */
+	DROP_OLDEST,
+
+	/**
+	 * Nao segura o produtor; quando o subscriber eh ultrapassado ele recebe um erro de overflow e
+	 * sai do ring.
+	 */
+	DISCONNECT
+}
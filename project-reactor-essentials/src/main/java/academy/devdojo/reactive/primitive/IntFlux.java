@@ -0,0 +1,605 @@
+package academy.devdojo.reactive.primitive;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Consumer;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
+import reactor.util.context.Context;
+
+/**
+ * Publisher de int sem boxing, para streams numericos como {@code Flux.range(1, 10).map(...)}.
+ * <p>
+ * Os operadores (map, filter, reduce, buffer/window) passam int de um estagio para o outro; so
+ * ha alocacao nas bordas: {@link #boxed()}, {@link #mapToObj(IntFunction)}, o resultado do
+ * {@link #reduce(int, IntBinaryOperator)} e os arrays do {@link #buffer(int)}. A demanda segue o
+ * Reactive Streams normalmente.
+ */
+public abstract class IntFlux {
+
+	public abstract void subscribe(IntSubscriber subscriber);
+
+	public static IntFlux range(int start, int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("count >= 0 required but it was " + count);
+		}
+		long end = (long) start + count;
+		if (end - 1 > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("start + count can not exceed Integer.MAX_VALUE");
+		}
+		return new IntFlux() {
+			@Override
+			public void subscribe(IntSubscriber subscriber) {
+				subscriber.onSubscribe(new RangeSubscription(subscriber, start, end));
+			}
+		};
+	}
+
+	public static IntFlux fromArray(int... values) {
+		return range(0, values.length).map(i -> values[i]);
+	}
+
+	/**
+	 * Entrada a partir de um Flux&lt;Integer&gt;: o unboxing acontece uma vez, aqui.
+	 */
+	public static IntFlux from(Publisher<Integer> source) {
+		return new IntFlux() {
+			@Override
+			public void subscribe(IntSubscriber subscriber) {
+				source.subscribe(new UnboxingSubscriber(subscriber));
+			}
+		};
+	}
+
+	public final IntFlux map(IntUnaryOperator mapper) {
+		IntFlux source = this;
+		return new IntFlux() {
+			@Override
+			public void subscribe(IntSubscriber subscriber) {
+				source.subscribe(new MapSubscriber(subscriber, mapper));
+			}
+		};
+	}
+
+	public final IntFlux filter(IntPredicate predicate) {
+		IntFlux source = this;
+		return new IntFlux() {
+			@Override
+			public void subscribe(IntSubscriber subscriber) {
+				source.subscribe(new FilterSubscriber(subscriber, predicate));
+			}
+		};
+	}
+
+	public final LongFlux mapToLong(IntToLongFunction mapper) {
+		IntFlux source = this;
+		return new LongFlux() {
+			@Override
+			public void subscribe(LongSubscriber subscriber) {
+				source.subscribe(new ToLongSubscriber(subscriber, mapper));
+			}
+		};
+	}
+
+	public final <R> Flux<R> mapToObj(IntFunction<? extends R> mapper) {
+		return Flux.from(subscriber -> subscribe(new ToObjSubscriber<R>(subscriber, mapper)));
+	}
+
+	public final Flux<Integer> boxed() {
+		return mapToObj(Integer::valueOf);
+	}
+
+	public final Mono<Integer> reduce(int identity, IntBinaryOperator accumulator) {
+		return Mono.fromDirect(subscriber ->
+				subscribe(new ReduceSubscriber(Operators.toCoreSubscriber(subscriber), identity, accumulator)));
+	}
+
+	public final Mono<Integer> sum() {
+		return reduce(0, Integer::sum);
+	}
+
+	/**
+	 * Agrupa {@code size} valores por array; o ultimo pode ser menor.
+	 */
+	public final Flux<int[]> buffer(int size) {
+		if (size < 1) {
+			throw new IllegalArgumentException("size must be positive, got " + size);
+		}
+		return Flux.from(subscriber -> subscribe(new BufferSubscriber(subscriber, size)));
+	}
+
+	/**
+	 * Janelas de {@code size} valores. Cada janela eh um IntFlux sobre o array do buffer, entao ela
+	 * so eh emitida quando estiver completa.
+	 */
+	public final Flux<IntFlux> window(int size) {
+		return buffer(size).map(IntFlux::fromArray);
+	}
+
+	public final Disposable subscribe(IntConsumer consumer) {
+		return subscribe(consumer, null);
+	}
+
+	public final Disposable subscribe(IntConsumer consumer, Consumer<? super Throwable> errorConsumer) {
+		LambdaSubscriber subscriber = new LambdaSubscriber(consumer, errorConsumer);
+		subscribe(subscriber);
+		return subscriber;
+	}
+
+	static final class RangeSubscription implements Subscription {
+
+		private static final AtomicLongFieldUpdater<RangeSubscription> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(RangeSubscription.class, "requested");
+
+		private final IntSubscriber actual;
+		private final long end;
+
+		private long index;
+		private volatile boolean cancelled;
+		private volatile long requested;
+
+		RangeSubscription(IntSubscriber actual, long start, long end) {
+			this.actual = actual;
+			this.index = start;
+			this.end = end;
+		}
+
+		@Override
+		public void request(long n) {
+			if (Operators.validate(n) && Operators.addCap(REQUESTED, this, n) == 0) {
+				if (n == Long.MAX_VALUE) {
+					fastPath();
+				} else {
+					slowPath(n);
+				}
+			}
+		}
+
+		private void fastPath() {
+			long e = end;
+			IntSubscriber a = actual;
+			for (long i = index; i != e; i++) {
+				if (cancelled) {
+					return;
+				}
+				a.onNext((int) i);
+			}
+			if (!cancelled) {
+				a.onComplete();
+			}
+		}
+
+		private void slowPath(long n) {
+			IntSubscriber a = actual;
+			long e = end;
+			long emitted = 0;
+			long i = index;
+			for (;;) {
+				if (cancelled) {
+					return;
+				}
+				while (emitted != n && i != e) {
+					a.onNext((int) i);
+					if (cancelled) {
+						return;
+					}
+					emitted++;
+					i++;
+				}
+				if (cancelled) {
+					return;
+				}
+				if (i == e) {
+					a.onComplete();
+					return;
+				}
+				n = requested;
+				if (n == emitted) {
+					index = i;
+					n = REQUESTED.addAndGet(this, -emitted);
+					if (n == 0) {
+						return;
+					}
+					emitted = 0;
+				}
+			}
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+		}
+	}
+
+	static final class UnboxingSubscriber implements CoreSubscriber<Integer> {
+
+		private final IntSubscriber actual;
+
+		UnboxingSubscriber(IntSubscriber actual) {
+			this.actual = actual;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			actual.onSubscribe(s);
+		}
+
+		@Override
+		public void onNext(Integer value) {
+			actual.onNext(value);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			actual.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			actual.onComplete();
+		}
+	}
+
+	abstract static class IntPassThroughSubscriber extends PassThroughSubscriber implements IntSubscriber {
+
+		final IntSubscriber actual;
+
+		IntPassThroughSubscriber(IntSubscriber actual) {
+			this.actual = actual;
+		}
+
+		@Override
+		void downstreamOnSubscribe(Subscription s) {
+			actual.onSubscribe(s);
+		}
+
+		@Override
+		void downstreamOnError(Throwable t) {
+			actual.onError(t);
+		}
+
+		@Override
+		void downstreamOnComplete() {
+			actual.onComplete();
+		}
+	}
+
+	static final class MapSubscriber extends IntPassThroughSubscriber {
+
+		private final IntUnaryOperator mapper;
+
+		MapSubscriber(IntSubscriber actual, IntUnaryOperator mapper) {
+			super(actual);
+			this.mapper = mapper;
+		}
+
+		@Override
+		public void onNext(int value) {
+			if (done) {
+				return;
+			}
+			int mapped;
+			try {
+				mapped = mapper.applyAsInt(value);
+			} catch (Throwable t) {
+				fail(t);
+				return;
+			}
+			actual.onNext(mapped);
+		}
+	}
+
+	static final class FilterSubscriber extends IntPassThroughSubscriber {
+
+		private final IntPredicate predicate;
+
+		FilterSubscriber(IntSubscriber actual, IntPredicate predicate) {
+			super(actual);
+			this.predicate = predicate;
+		}
+
+		@Override
+		public void onNext(int value) {
+			if (done) {
+				return;
+			}
+			boolean pass;
+			try {
+				pass = predicate.test(value);
+			} catch (Throwable t) {
+				fail(t);
+				return;
+			}
+			if (pass) {
+				actual.onNext(value);
+			} else {
+				upstream.request(1);
+			}
+		}
+	}
+
+	static final class ToLongSubscriber extends PassThroughSubscriber implements IntSubscriber {
+
+		private final LongSubscriber actual;
+		private final IntToLongFunction mapper;
+
+		ToLongSubscriber(LongSubscriber actual, IntToLongFunction mapper) {
+			this.actual = actual;
+			this.mapper = mapper;
+		}
+
+		@Override
+		void downstreamOnSubscribe(Subscription s) {
+			actual.onSubscribe(s);
+		}
+
+		@Override
+		void downstreamOnError(Throwable t) {
+			actual.onError(t);
+		}
+
+		@Override
+		void downstreamOnComplete() {
+			actual.onComplete();
+		}
+
+		@Override
+		public void onNext(int value) {
+			if (done) {
+				return;
+			}
+			long mapped;
+			try {
+				mapped = mapper.applyAsLong(value);
+			} catch (Throwable t) {
+				fail(t);
+				return;
+			}
+			actual.onNext(mapped);
+		}
+	}
+
+	static final class ToObjSubscriber<R> extends PassThroughSubscriber implements IntSubscriber {
+
+		private final Subscriber<? super R> actual;
+		private final IntFunction<? extends R> mapper;
+
+		ToObjSubscriber(Subscriber<? super R> actual, IntFunction<? extends R> mapper) {
+			this.actual = actual;
+			this.mapper = mapper;
+		}
+
+		@Override
+		void downstreamOnSubscribe(Subscription s) {
+			actual.onSubscribe(s);
+		}
+
+		@Override
+		void downstreamOnError(Throwable t) {
+			actual.onError(t);
+		}
+
+		@Override
+		void downstreamOnComplete() {
+			actual.onComplete();
+		}
+
+		@Override
+		public void onNext(int value) {
+			if (done) {
+				return;
+			}
+			R mapped;
+			try {
+				mapped = Objects.requireNonNull(mapper.apply(value), "The mapper returned a null value.");
+			} catch (Throwable t) {
+				fail(t);
+				return;
+			}
+			actual.onNext(mapped);
+		}
+	}
+
+	static final class BufferSubscriber extends PassThroughSubscriber implements IntSubscriber {
+
+		private final Subscriber<? super int[]> actual;
+		private final int size;
+
+		private int[] buffer;
+		private int count;
+
+		BufferSubscriber(Subscriber<? super int[]> actual, int size) {
+			this.actual = actual;
+			this.size = size;
+		}
+
+		@Override
+		void downstreamOnSubscribe(Subscription s) {
+			actual.onSubscribe(s);
+		}
+
+		@Override
+		void downstreamOnError(Throwable t) {
+			buffer = null;
+			actual.onError(t);
+		}
+
+		@Override
+		void downstreamOnComplete() {
+			int[] b = buffer;
+			buffer = null;
+			if (b != null && count > 0) {
+				actual.onNext(Arrays.copyOf(b, count));
+			}
+			actual.onComplete();
+		}
+
+		@Override
+		public void onNext(int value) {
+			if (done) {
+				return;
+			}
+			int[] b = buffer;
+			if (b == null) {
+				b = new int[size];
+				buffer = b;
+			}
+			b[count++] = value;
+			if (count == size) {
+				buffer = null;
+				count = 0;
+				actual.onNext(b);
+			}
+		}
+
+		@Override
+		public void request(long n) {
+			if (Operators.validate(n)) {
+				upstream.request(Operators.multiplyCap(n, size));
+			}
+		}
+	}
+
+	static final class ReduceSubscriber extends Operators.MonoSubscriber<Integer, Integer> implements IntSubscriber {
+
+		private final IntBinaryOperator accumulator;
+
+		private Subscription upstream;
+		private int result;
+		private boolean done;
+
+		ReduceSubscriber(CoreSubscriber<? super Integer> actual, int identity, IntBinaryOperator accumulator) {
+			super(actual);
+			this.result = identity;
+			this.accumulator = accumulator;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (Operators.validate(upstream, s)) {
+				upstream = s;
+				actual.onSubscribe(this);
+				s.request(Long.MAX_VALUE);
+			}
+		}
+
+		@Override
+		public void onNext(int value) {
+			if (done) {
+				return;
+			}
+			try {
+				result = accumulator.applyAsInt(result, value);
+			} catch (Throwable t) {
+				Exceptions.throwIfFatal(t);
+				upstream.cancel();
+				onError(t);
+			}
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Operators.onErrorDropped(t, actual.currentContext());
+				return;
+			}
+			done = true;
+			actual.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+			complete(result);
+		}
+
+		@Override
+		public void cancel() {
+			super.cancel();
+			upstream.cancel();
+		}
+	}
+
+	static final class LambdaSubscriber implements IntSubscriber, Disposable {
+
+		private final IntConsumer consumer;
+		private final Consumer<? super Throwable> errorConsumer;
+
+		private volatile Subscription upstream;
+		private volatile boolean disposed;
+
+		LambdaSubscriber(IntConsumer consumer, Consumer<? super Throwable> errorConsumer) {
+			this.consumer = consumer;
+			this.errorConsumer = errorConsumer;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			upstream = s;
+			if (disposed) {
+				s.cancel();
+				return;
+			}
+			s.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(int value) {
+			try {
+				consumer.accept(value);
+			} catch (Throwable t) {
+				Exceptions.throwIfFatal(t);
+				dispose();
+				onError(t);
+			}
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			disposed = true;
+			if (errorConsumer != null) {
+				errorConsumer.accept(t);
+			} else {
+				Operators.onErrorDropped(Exceptions.errorCallbackNotImplemented(t), Context.empty());
+			}
+		}
+
+		@Override
+		public void onComplete() {
+			disposed = true;
+		}
+
+		@Override
+		public void dispose() {
+			disposed = true;
+			Subscription s = upstream;
+			if (s != null) {
+				s.cancel();
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return disposed;
+		}
+	}
+}
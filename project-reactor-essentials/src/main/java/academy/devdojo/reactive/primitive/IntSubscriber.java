@@ -0,0 +1,17 @@
+package academy.devdojo.reactive.primitive;
+
+import org.reactivestreams.Subscription;
+
+/**
+ * Subscriber do {@link IntFlux}: mesmo contrato do Reactive Streams, mas o onNext recebe int.
+ */
+public interface IntSubscriber {
+
+	void onSubscribe(Subscription s);
+
+	void onNext(int value);
+
+	void onError(Throwable t);
+
+	void onComplete();
+}
@@ -0,0 +1,639 @@
+package academy.devdojo.reactive.primitive;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Consumer;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+
+/**
+ * Publisher de long sem boxing, para pipelines como {@code Flux.interval(...)} e telemetria.
+ * Mesmos operadores e as mesmas regras de alocacao do {@link IntFlux}: so {@link #boxed()},
+ * {@link #mapToObj(LongFunction)}, o resultado do {@link #reduce(long, LongBinaryOperator)} e os
+ * arrays do {@link #buffer(int)} alocam.
+ */
+public abstract class LongFlux {
+
+	public abstract void subscribe(LongSubscriber subscriber);
+
+	public static LongFlux range(long start, long count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("count >= 0 required but it was " + count);
+		}
+		if (count > 0 && start > Long.MAX_VALUE - count + 1) {
+			throw new IllegalArgumentException("start + count can not exceed Long.MAX_VALUE");
+		}
+		long end = start + count;
+		return new LongFlux() {
+			@Override
+			public void subscribe(LongSubscriber subscriber) {
+				subscriber.onSubscribe(new RangeSubscription(subscriber, start, end));
+			}
+		};
+	}
+
+	/**
+	 * Como o Flux.interval: 0, 1, 2... a cada {@code period}, com erro de overflow se o subscriber
+	 * nao tiver demanda quando o tick acontecer.
+	 */
+	public static LongFlux interval(Duration period) {
+		return interval(period, period, Schedulers.parallel());
+	}
+
+	public static LongFlux interval(Duration delay, Duration period, Scheduler scheduler) {
+		return new LongFlux() {
+			@Override
+			public void subscribe(LongSubscriber subscriber) {
+				IntervalSubscription subscription = new IntervalSubscription(subscriber);
+				subscriber.onSubscribe(subscription);
+				try {
+					subscription.setTask(scheduler.schedulePeriodically(subscription,
+							delay.toNanos(), period.toNanos(), TimeUnit.NANOSECONDS));
+				} catch (RejectedExecutionException e) {
+					if (!subscription.cancelled) {
+						subscriber.onError(Operators.onRejectedExecution(e, Context.empty()));
+					}
+				}
+			}
+		};
+	}
+
+	public static LongFlux fromArray(long... values) {
+		return range(0, values.length).map(i -> values[(int) i]);
+	}
+
+	/**
+	 * Entrada a partir de um Flux&lt;Long&gt;: o unboxing acontece uma vez, aqui.
+	 */
+	public static LongFlux from(Publisher<Long> source) {
+		return new LongFlux() {
+			@Override
+			public void subscribe(LongSubscriber subscriber) {
+				source.subscribe(new UnboxingSubscriber(subscriber));
+			}
+		};
+	}
+
+	public final LongFlux map(LongUnaryOperator mapper) {
+		LongFlux source = this;
+		return new LongFlux() {
+			@Override
+			public void subscribe(LongSubscriber subscriber) {
+				source.subscribe(new MapSubscriber(subscriber, mapper));
+			}
+		};
+	}
+
+	public final LongFlux filter(LongPredicate predicate) {
+		LongFlux source = this;
+		return new LongFlux() {
+			@Override
+			public void subscribe(LongSubscriber subscriber) {
+				source.subscribe(new FilterSubscriber(subscriber, predicate));
+			}
+		};
+	}
+
+	public final <R> Flux<R> mapToObj(LongFunction<? extends R> mapper) {
+		return Flux.from(subscriber -> subscribe(new ToObjSubscriber<R>(subscriber, mapper)));
+	}
+
+	public final Flux<Long> boxed() {
+		return mapToObj(Long::valueOf);
+	}
+
+	public final Mono<Long> reduce(long identity, LongBinaryOperator accumulator) {
+		return Mono.fromDirect(subscriber ->
+				subscribe(new ReduceSubscriber(Operators.toCoreSubscriber(subscriber), identity, accumulator)));
+	}
+
+	public final Mono<Long> sum() {
+		return reduce(0, Long::sum);
+	}
+
+	/**
+	 * Agrupa {@code size} valores por array; o ultimo pode ser menor.
+	 */
+	public final Flux<long[]> buffer(int size) {
+		if (size < 1) {
+			throw new IllegalArgumentException("size must be positive, got " + size);
+		}
+		return Flux.from(subscriber -> subscribe(new BufferSubscriber(subscriber, size)));
+	}
+
+	/**
+	 * Janelas de {@code size} valores. Cada janela eh um LongFlux sobre o array do buffer, entao ela
+	 * so eh emitida quando estiver completa.
+	 */
+	public final Flux<LongFlux> window(int size) {
+		return buffer(size).map(LongFlux::fromArray);
+	}
+
+	public final Disposable subscribe(LongConsumer consumer) {
+		return subscribe(consumer, null);
+	}
+
+	public final Disposable subscribe(LongConsumer consumer, Consumer<? super Throwable> errorConsumer) {
+		LambdaSubscriber subscriber = new LambdaSubscriber(consumer, errorConsumer);
+		subscribe(subscriber);
+		return subscriber;
+	}
+
+	static final class RangeSubscription implements Subscription {
+
+		private static final AtomicLongFieldUpdater<RangeSubscription> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(RangeSubscription.class, "requested");
+
+		private final LongSubscriber actual;
+		private final long end;
+
+		private long index;
+		private volatile boolean cancelled;
+		private volatile long requested;
+
+		RangeSubscription(LongSubscriber actual, long start, long end) {
+			this.actual = actual;
+			this.index = start;
+			this.end = end;
+		}
+
+		@Override
+		public void request(long n) {
+			if (Operators.validate(n) && Operators.addCap(REQUESTED, this, n) == 0) {
+				if (n == Long.MAX_VALUE) {
+					fastPath();
+				} else {
+					slowPath(n);
+				}
+			}
+		}
+
+		private void fastPath() {
+			long e = end;
+			LongSubscriber a = actual;
+			for (long i = index; i != e; i++) {
+				if (cancelled) {
+					return;
+				}
+				a.onNext(i);
+			}
+			if (!cancelled) {
+				a.onComplete();
+			}
+		}
+
+		private void slowPath(long n) {
+			LongSubscriber a = actual;
+			long e = end;
+			long emitted = 0;
+			long i = index;
+			for (;;) {
+				if (cancelled) {
+					return;
+				}
+				while (emitted != n && i != e) {
+					a.onNext(i);
+					if (cancelled) {
+						return;
+					}
+					emitted++;
+					i++;
+				}
+				if (cancelled) {
+					return;
+				}
+				if (i == e) {
+					a.onComplete();
+					return;
+				}
+				n = requested;
+				if (n == emitted) {
+					index = i;
+					n = REQUESTED.addAndGet(this, -emitted);
+					if (n == 0) {
+						return;
+					}
+					emitted = 0;
+				}
+			}
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+		}
+	}
+
+	static final class IntervalSubscription implements Subscription, Runnable {
+
+		private static final AtomicLongFieldUpdater<IntervalSubscription> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(IntervalSubscription.class, "requested");
+
+		private final LongSubscriber actual;
+
+		private long count;
+		private volatile Disposable task;
+		volatile boolean cancelled;
+		private volatile long requested;
+
+		IntervalSubscription(LongSubscriber actual) {
+			this.actual = actual;
+		}
+
+		void setTask(Disposable task) {
+			this.task = task;
+			if (cancelled) {
+				task.dispose();
+			}
+		}
+
+		@Override
+		public void run() {
+			if (cancelled) {
+				return;
+			}
+			if (requested != 0L) {
+				actual.onNext(count++);
+				if (requested != Long.MAX_VALUE) {
+					REQUESTED.decrementAndGet(this);
+				}
+			} else {
+				cancel();
+				actual.onError(Exceptions.failWithOverflow("Could not emit tick " + count + " due to lack of requests"
+						+ " (interval doesn't support small downstream requests that replenish slower than the ticks)"));
+			}
+		}
+
+		@Override
+		public void request(long n) {
+			if (Operators.validate(n)) {
+				Operators.addCap(REQUESTED, this, n);
+			}
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			Disposable t = task;
+			if (t != null) {
+				t.dispose();
+			}
+		}
+	}
+
+	static final class UnboxingSubscriber implements CoreSubscriber<Long> {
+
+		private final LongSubscriber actual;
+
+		UnboxingSubscriber(LongSubscriber actual) {
+			this.actual = actual;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			actual.onSubscribe(s);
+		}
+
+		@Override
+		public void onNext(Long value) {
+			actual.onNext(value);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			actual.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			actual.onComplete();
+		}
+	}
+
+	abstract static class LongPassThroughSubscriber extends PassThroughSubscriber implements LongSubscriber {
+
+		final LongSubscriber actual;
+
+		LongPassThroughSubscriber(LongSubscriber actual) {
+			this.actual = actual;
+		}
+
+		@Override
+		void downstreamOnSubscribe(Subscription s) {
+			actual.onSubscribe(s);
+		}
+
+		@Override
+		void downstreamOnError(Throwable t) {
+			actual.onError(t);
+		}
+
+		@Override
+		void downstreamOnComplete() {
+			actual.onComplete();
+		}
+	}
+
+	static final class MapSubscriber extends LongPassThroughSubscriber {
+
+		private final LongUnaryOperator mapper;
+
+		MapSubscriber(LongSubscriber actual, LongUnaryOperator mapper) {
+			super(actual);
+			this.mapper = mapper;
+		}
+
+		@Override
+		public void onNext(long value) {
+			if (done) {
+				return;
+			}
+			long mapped;
+			try {
+				mapped = mapper.applyAsLong(value);
+			} catch (Throwable t) {
+				fail(t);
+				return;
+			}
+			actual.onNext(mapped);
+		}
+	}
+
+	static final class FilterSubscriber extends LongPassThroughSubscriber {
+
+		private final LongPredicate predicate;
+
+		FilterSubscriber(LongSubscriber actual, LongPredicate predicate) {
+			super(actual);
+			this.predicate = predicate;
+		}
+
+		@Override
+		public void onNext(long value) {
+			if (done) {
+				return;
+			}
+			boolean pass;
+			try {
+				pass = predicate.test(value);
+			} catch (Throwable t) {
+				fail(t);
+				return;
+			}
+			if (pass) {
+				actual.onNext(value);
+			} else {
+				upstream.request(1);
+			}
+		}
+	}
+
+	static final class ToObjSubscriber<R> extends PassThroughSubscriber implements LongSubscriber {
+
+		private final Subscriber<? super R> actual;
+		private final LongFunction<? extends R> mapper;
+
+		ToObjSubscriber(Subscriber<? super R> actual, LongFunction<? extends R> mapper) {
+			this.actual = actual;
+			this.mapper = mapper;
+		}
+
+		@Override
+		void downstreamOnSubscribe(Subscription s) {
+			actual.onSubscribe(s);
+		}
+
+		@Override
+		void downstreamOnError(Throwable t) {
+			actual.onError(t);
+		}
+
+		@Override
+		void downstreamOnComplete() {
+			actual.onComplete();
+		}
+
+		@Override
+		public void onNext(long value) {
+			if (done) {
+				return;
+			}
+			R mapped;
+			try {
+				mapped = Objects.requireNonNull(mapper.apply(value), "The mapper returned a null value.");
+			} catch (Throwable t) {
+				fail(t);
+				return;
+			}
+			actual.onNext(mapped);
+		}
+	}
+
+	static final class BufferSubscriber extends PassThroughSubscriber implements LongSubscriber {
+
+		private final Subscriber<? super long[]> actual;
+		private final int size;
+
+		private long[] buffer;
+		private int count;
+
+		BufferSubscriber(Subscriber<? super long[]> actual, int size) {
+			this.actual = actual;
+			this.size = size;
+		}
+
+		@Override
+		void downstreamOnSubscribe(Subscription s) {
+			actual.onSubscribe(s);
+		}
+
+		@Override
+		void downstreamOnError(Throwable t) {
+			buffer = null;
+			actual.onError(t);
+		}
+
+		@Override
+		void downstreamOnComplete() {
+			long[] b = buffer;
+			buffer = null;
+			if (b != null && count > 0) {
+				actual.onNext(Arrays.copyOf(b, count));
+			}
+			actual.onComplete();
+		}
+
+		@Override
+		public void onNext(long value) {
+			if (done) {
+				return;
+			}
+			long[] b = buffer;
+			if (b == null) {
+				b = new long[size];
+				buffer = b;
+			}
+			b[count++] = value;
+			if (count == size) {
+				buffer = null;
+				count = 0;
+				actual.onNext(b);
+			}
+		}
+
+		@Override
+		public void request(long n) {
+			if (Operators.validate(n)) {
+				upstream.request(Operators.multiplyCap(n, size));
+			}
+		}
+	}
+
+	static final class ReduceSubscriber extends Operators.MonoSubscriber<Long, Long> implements LongSubscriber {
+
+		private final LongBinaryOperator accumulator;
+
+		private Subscription upstream;
+		private long result;
+		private boolean done;
+
+		ReduceSubscriber(CoreSubscriber<? super Long> actual, long identity, LongBinaryOperator accumulator) {
+			super(actual);
+			this.result = identity;
+			this.accumulator = accumulator;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (Operators.validate(upstream, s)) {
+				upstream = s;
+				actual.onSubscribe(this);
+				s.request(Long.MAX_VALUE);
+			}
+		}
+
+		@Override
+		public void onNext(long value) {
+			if (done) {
+				return;
+			}
+			try {
+				result = accumulator.applyAsLong(result, value);
+			} catch (Throwable t) {
+				Exceptions.throwIfFatal(t);
+				upstream.cancel();
+				onError(t);
+			}
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Operators.onErrorDropped(t, actual.currentContext());
+				return;
+			}
+			done = true;
+			actual.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+			complete(result);
+		}
+
+		@Override
+		public void cancel() {
+			super.cancel();
+			upstream.cancel();
+		}
+	}
+
+	static final class LambdaSubscriber implements LongSubscriber, Disposable {
+
+		private final LongConsumer consumer;
+		private final Consumer<? super Throwable> errorConsumer;
+
+		private volatile Subscription upstream;
+		private volatile boolean disposed;
+
+		LambdaSubscriber(LongConsumer consumer, Consumer<? super Throwable> errorConsumer) {
+			this.consumer = consumer;
+			this.errorConsumer = errorConsumer;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			upstream = s;
+			if (disposed) {
+				s.cancel();
+				return;
+			}
+			s.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(long value) {
+			try {
+				consumer.accept(value);
+			} catch (Throwable t) {
+				Exceptions.throwIfFatal(t);
+				dispose();
+				onError(t);
+			}
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			disposed = true;
+			if (errorConsumer != null) {
+				errorConsumer.accept(t);
+			} else {
+				Operators.onErrorDropped(Exceptions.errorCallbackNotImplemented(t), Context.empty());
+			}
+		}
+
+		@Override
+		public void onComplete() {
+			disposed = true;
+		}
+
+		@Override
+		public void dispose() {
+			disposed = true;
+			Subscription s = upstream;
+			if (s != null) {
+				s.cancel();
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return disposed;
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package academy.devdojo.reactive.primitive;
+
+import org.reactivestreams.Subscription;
+
+/**
+ * Subscriber do {@link LongFlux}: mesmo contrato do Reactive Streams, mas o onNext recebe long.
+ */
+public interface LongSubscriber {
+
+	void onSubscribe(Subscription s);
+
+	void onNext(long value);
+
+	void onError(Throwable t);
+
+	void onComplete();
+}
@@ -0,0 +1,63 @@
+package academy.devdojo.reactive.primitive;
+
+import org.reactivestreams.Subscription;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Operators;
+import reactor.util.context.Context;
+
+/**
+ * Base dos operadores de um para um do IntFlux e do LongFlux: repassa request/cancel e guarda o
+ * estado de termino. As subclasses implementam IntSubscriber ou LongSubscriber.
+ */
+abstract class PassThroughSubscriber implements Subscription {
+
+	Subscription upstream;
+	boolean done;
+
+	public void onSubscribe(Subscription s) {
+		if (Operators.validate(upstream, s)) {
+			upstream = s;
+			downstreamOnSubscribe(this);
+		}
+	}
+
+	abstract void downstreamOnSubscribe(Subscription s);
+
+	abstract void downstreamOnError(Throwable t);
+
+	abstract void downstreamOnComplete();
+
+	public void onError(Throwable t) {
+		if (done) {
+			Operators.onErrorDropped(t, Context.empty());
+			return;
+		}
+		done = true;
+		downstreamOnError(t);
+	}
+
+	public void onComplete() {
+		if (done) {
+			return;
+		}
+		done = true;
+		downstreamOnComplete();
+	}
+
+	void fail(Throwable t) {
+		Exceptions.throwIfFatal(t);
+		upstream.cancel();
+		onError(t);
+	}
+
+	@Override
+	public void request(long n) {
+		upstream.request(n);
+	}
+
+	@Override
+	public void cancel() {
+		upstream.cancel();
+	}
+}
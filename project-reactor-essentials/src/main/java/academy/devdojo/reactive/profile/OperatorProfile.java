@@ -0,0 +1,22 @@
+package academy.devdojo.reactive.profile;
+
+import java.time.Duration;
+
+import lombok.Value;
+
+/**
+ * Tempo proprio de um operador no onNext, somado em todos os caminhos e threads. {@code samples}
+ * sao as entregas medidas; {@code estimatedSelfTime} escala o tempo medido pelo {@code sampleEvery}.
+ */
+@Value
+public class OperatorProfile {
+
+	String operator;
+	long samples;
+	Duration selfTime;
+	Duration estimatedSelfTime;
+
+	public long meanSelfNanos() {
+		return samples == 0 ? 0 : selfTime.toNanos() / samples;
+	}
+}
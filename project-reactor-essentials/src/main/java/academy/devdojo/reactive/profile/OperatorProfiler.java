@@ -0,0 +1,131 @@
+package academy.devdojo.reactive.profile;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import academy.devdojo.reactive.lift.Lifts;
+import academy.devdojo.reactive.scheduler.SchedulerThreads;
+import reactor.core.CoreSubscriber;
+import reactor.core.Fuseable;
+import reactor.core.Scannable;
+import reactor.core.publisher.Hooks;
+
+/**
+ * Profiler de onNext por operador, opcional, instalado pelo {@link Hooks#onEachOperator}: cada
+ * operador montado depois do {@link #install} ganha um subscriber que mede o onNext do operador
+ * de baixo. A medida eh amostrada (uma entrega a cada {@code sampleEvery} por thread) e acumulada
+ * numa arvore de chamadas por thread, sem lock nem alocacao no caminho medido.
+ * <p>
+ * Sem o install nao ha hook nem subscriber a mais: o custo desligado eh zero. Pipelines montados
+ * antes do install nao sao medidos e os montados durante continuam medidos depois do
+ * {@link #uninstall()}, que so tira o hook. O subscriber do profiler entra pelo {@link Lifts#hook},
+ * que esconde a fonte Fuseable antes do lift, entao o operador medido perde a fusao; ParallelFlux,
+ * ConnectableFlux e GroupedFlux Fuseable ficam sem medida. Fontes escalares (just, empty) ficam de
+ * fora para o flatMap e o concatMap nao perderem o atalho escalar, e o onNext delas cai no
+ * operador de cima.
+ * <p>
+ * O tempo de um operador eh o tempo proprio: o onNext dele menos o onNext dos de baixo chamados
+ * na mesma thread. Uma troca de thread (publishOn, flatMap com inners assincronos) comeca outra
+ * pilha na thread de destino.
+ */
+public final class OperatorProfiler {
+
+	public static final String HOOK_KEY = "academy.devdojo.reactive.operator-profiler";
+
+	private static final Map<Class<?>, String> NAMES = new ConcurrentHashMap<>();
+
+	private static volatile OperatorProfiler installed;
+
+	private final ProfilerConfig config;
+	private final Queue<ProfilerThread> threads = new ConcurrentLinkedQueue<>();
+	private final ThreadLocal<ProfilerThread> current;
+
+	private OperatorProfiler(ProfilerConfig config) {
+		this.config = config;
+		this.current = ThreadLocal.withInitial(() -> {
+			ProfilerThread thread = new ProfilerThread(Thread.currentThread().getName(), config.getSampleEvery(),
+					config.getMaxDepth());
+			threads.add(thread);
+			return thread;
+		});
+	}
+
+	public static synchronized OperatorProfiler install(ProfilerConfig config) {
+		config.validate();
+		if (installed != null) {
+			throw new IllegalStateException("an OperatorProfiler is already installed");
+		}
+		OperatorProfiler profiler = new OperatorProfiler(config);
+		Hooks.onEachOperator(HOOK_KEY, Lifts.<Object>hook(
+				scannable -> !(scannable instanceof Fuseable.ScalarCallable),
+				(scannable, actual) -> new ProfilingSubscriber<>(actual, profiler, name(actual))));
+		installed = profiler;
+		return profiler;
+	}
+
+	public static synchronized void uninstall() {
+		if (installed != null) {
+			Hooks.resetOnEachOperator(HOOK_KEY);
+			installed = null;
+		}
+	}
+
+	ProfilerThread thread() {
+		return current.get();
+	}
+
+	/**
+	 * Acumulado desde o install, somando as threads do mesmo pool.
+	 */
+	public ProfileReport report() {
+		Map<String, long[]> operators = new LinkedHashMap<>();
+		Map<String, Long> stacks = new LinkedHashMap<>();
+		for (ProfilerThread thread : threads) {
+			collect(thread.root, SchedulerThreads.pool(thread.threadName), operators, stacks);
+		}
+		long scale = config.getSampleEvery();
+		List<OperatorProfile> profiles = new ArrayList<>();
+		operators.forEach((name, totals) -> profiles.add(new OperatorProfile(name, totals[0],
+				Duration.ofNanos(totals[1]), Duration.ofNanos(totals[1] * scale))));
+		profiles.sort(Comparator.comparing(OperatorProfile::getSelfTime).reversed());
+		List<String> collapsed = new ArrayList<>();
+		stacks.forEach((path, nanos) -> {
+			long micros = nanos * scale / 1000;
+			if (micros > 0) {
+				collapsed.add(path + " " + micros);
+			}
+		});
+		return new ProfileReport(profiles, collapsed);
+	}
+
+	private static void collect(ProfileNode node, String path, Map<String, long[]> operators, Map<String, Long> stacks) {
+		for (ProfileNode child : node.children.values()) {
+			long samples = child.samples;
+			long self = child.selfNanos;
+			String childPath = path + ";" + child.name;
+			if (samples > 0) {
+				long[] totals = operators.computeIfAbsent(child.name, name -> new long[2]);
+				totals[0] += samples;
+				totals[1] += self;
+				stacks.merge(childPath, self, Long::sum);
+			}
+			collect(child, childPath, operators, stacks);
+		}
+	}
+
+	/**
+	 * Nome do operador que recebe o onNext, como no stepName ("FluxMap$MapSubscriber" vira "map",
+	 * "FluxFlatMap$FlatMapMain" vira "flatMapMain"), guardado por classe para nao repetir a conta a
+	 * cada assinatura.
+	 */
+	private static String name(CoreSubscriber<?> actual) {
+		return NAMES.computeIfAbsent(actual.getClass(), type -> Scannable.from(actual).stepName().trim());
+	}
+}
@@ -0,0 +1,36 @@
+package academy.devdojo.reactive.profile;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * No da arvore de chamadas de uma thread: um operador num caminho de onNext. So a thread dona
+ * escreve; o relatorio le de outra thread, por isso os contadores sao volatile.
+ */
+final class ProfileNode {
+
+	final String name;
+	final Map<String, ProfileNode> children = new ConcurrentHashMap<>();
+
+	volatile long samples;
+	volatile long selfNanos;
+
+	ProfileNode(String name) {
+		this.name = name;
+	}
+
+	ProfileNode child(String childName) {
+		ProfileNode child = children.get(childName);
+		if (child == null) {
+			child = new ProfileNode(childName);
+			children.put(childName, child);
+		}
+		return child;
+	}
+
+	void record(long self) {
+		// um escritor so: a dona da thread
+		samples = samples + 1;
+		selfNanos = selfNanos + self;
+	}
+}
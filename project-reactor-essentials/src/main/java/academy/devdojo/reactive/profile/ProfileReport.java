@@ -0,0 +1,31 @@
+package academy.devdojo.reactive.profile;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * Resultado do {@link OperatorProfiler}: os operadores ordenados pelo tempo proprio e as pilhas
+ * no formato "collapsed" ({@code thread;op1;op2 valor}, valor em microssegundos estimados) que o
+ * flamegraph.pl e o speedscope leem.
+ */
+@Value
+public class ProfileReport {
+
+	List<OperatorProfile> operators;
+	List<String> collapsedStacks;
+
+	public String format() {
+		StringBuilder text = new StringBuilder();
+		text.append(String.format("%-32s %10s %14s %12s%n", "operator", "samples", "est. self ms", "mean ns"));
+		for (OperatorProfile profile : operators) {
+			text.append(String.format("%-32s %10d %14.3f %12d%n", profile.getOperator(), profile.getSamples(),
+					profile.getEstimatedSelfTime().toNanos() / 1_000_000.0, profile.meanSelfNanos()));
+		}
+		return text.toString();
+	}
+
+	public String collapsed() {
+		return String.join("\n", collapsedStacks) + "\n";
+	}
+}
@@ -0,0 +1,33 @@
+package academy.devdojo.reactive.profile;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Configuracao do {@link OperatorProfiler}. Em cada thread so uma de cada {@code sampleEvery}
+ * entregas de onNext que comecam fora de outro onNext eh medida, junto com tudo que ela chama;
+ * as demais so passam adiante. {@code maxDepth} limita a profundidade da pilha de operadores.
+ */
+@Value
+@Builder
+public class ProfilerConfig {
+
+	@Builder.Default
+	int sampleEvery = 64;
+
+	@Builder.Default
+	int maxDepth = 64;
+
+	public static ProfilerConfig defaults() {
+		return builder().build();
+	}
+
+	void validate() {
+		if (sampleEvery < 1) {
+			throw new IllegalArgumentException("sampleEvery must be positive, got " + sampleEvery);
+		}
+		if (maxDepth < 1) {
+			throw new IllegalArgumentException("maxDepth must be positive, got " + maxDepth);
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package academy.devdojo.reactive.profile;
+
+/**
+ * Estado do profiler em uma thread: a pilha de operadores do onNext em andamento e a arvore de
+ * chamadas acumulada. Os arrays da pilha sao alocados uma vez, entao medir nao aloca.
+ */
+final class ProfilerThread {
+
+	final ProfileNode root = new ProfileNode("");
+	final String threadName;
+
+	private final int sampleEvery;
+	private final ProfileNode[] nodes;
+	private final long[] childNanos;
+
+	private long deliveries;
+	private int depth;
+	private boolean sampling;
+
+	ProfilerThread(String threadName, int sampleEvery, int maxDepth) {
+		this.threadName = threadName;
+		this.sampleEvery = sampleEvery;
+		this.nodes = new ProfileNode[maxDepth + 1];
+		this.childNanos = new long[maxDepth + 1];
+		this.nodes[0] = root;
+	}
+
+	/**
+	 * Entrada num onNext. A decisao de amostrar eh tomada na entrega mais externa e vale para tudo
+	 * que ela chamar.
+	 *
+	 * @return true se esta entrega deve ser medida
+	 */
+	boolean enter(String name) {
+		if (depth == 0) {
+			sampling = ++deliveries % sampleEvery == 0;
+		}
+		depth++;
+		if (!sampling || depth >= nodes.length) {
+			return false;
+		}
+		nodes[depth] = nodes[depth - 1].child(name);
+		childNanos[depth] = 0;
+		return true;
+	}
+
+	void exit() {
+		depth--;
+	}
+
+	/**
+	 * Saida de um onNext medido: o tempo proprio eh o total menos o que foi gasto nos onNext de baixo.
+	 */
+	void exit(long elapsed) {
+		nodes[depth].record(elapsed - childNanos[depth]);
+		depth--;
+		childNanos[depth] += elapsed;
+	}
+}
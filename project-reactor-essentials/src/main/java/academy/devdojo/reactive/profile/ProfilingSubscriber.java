@@ -0,0 +1,90 @@
+package academy.devdojo.reactive.profile;
+
+import org.reactivestreams.Subscription;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Scannable;
+import reactor.util.annotation.Nullable;
+import reactor.util.context.Context;
+
+/**
+ * Colocado pelo hook entre cada operador e o de baixo. Mede o onNext do de baixo ({@code name}),
+ * inclusive o que ele chama; o {@link ProfilerThread} desconta o que foi medido nos de baixo.
+ * Nao faz fusao: o {@link academy.devdojo.reactive.lift.Lifts#hook} esconde a fonte Fuseable.
+ */
+final class ProfilingSubscriber<T> implements CoreSubscriber<T>, Subscription, Scannable {
+
+	private final CoreSubscriber<? super T> actual;
+	private final OperatorProfiler profiler;
+	private final String name;
+
+	private Subscription s;
+
+	ProfilingSubscriber(CoreSubscriber<? super T> actual, OperatorProfiler profiler, String name) {
+		this.actual = actual;
+		this.profiler = profiler;
+		this.name = name;
+	}
+
+	@Override
+	public void onSubscribe(Subscription s) {
+		this.s = s;
+		actual.onSubscribe(this);
+	}
+
+	@Override
+	public void onNext(T t) {
+		ProfilerThread thread = profiler.thread();
+		if (!thread.enter(name)) {
+			try {
+				actual.onNext(t);
+			} finally {
+				thread.exit();
+			}
+			return;
+		}
+		long start = System.nanoTime();
+		try {
+			actual.onNext(t);
+		} finally {
+			thread.exit(System.nanoTime() - start);
+		}
+	}
+
+	@Override
+	public void onError(Throwable t) {
+		actual.onError(t);
+	}
+
+	@Override
+	public void onComplete() {
+		actual.onComplete();
+	}
+
+	@Override
+	public Context currentContext() {
+		return actual.currentContext();
+	}
+
+	@Override
+	public void request(long n) {
+		s.request(n);
+	}
+
+	@Override
+	public void cancel() {
+		s.cancel();
+	}
+
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.PARENT) {
+			return s;
+		}
+		if (key == Attr.ACTUAL) {
+			return actual;
+		}
+		return null;
+	}
+}
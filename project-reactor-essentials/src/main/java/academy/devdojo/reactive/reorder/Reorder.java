@@ -0,0 +1,41 @@
+package academy.devdojo.reactive.reorder;
+
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+
+import academy.devdojo.reactive.lift.Lifts;
+import reactor.core.publisher.Flux;
+
+/**
+ * flatMapSequential e mergeSequential com buffer de reordenacao limitado e metricas.
+ * <p>
+ * No flatMapSequential do Reactor cada fonte pode acumular prefetch elementos enquanto espera a
+ * da frente, e ninguem ve quanto esta acumulado. Aqui o total tem um limite (em elementos ou
+ * no peso do weigher), o overflow segue a {@link ReorderPolicy} e a ocupacao e o tempo de
+ * head-of-line ficam no {@link ReorderMetrics}.
+ * <p>
+ * {@code flux.transform(Reorder.flatMapSequential(this::findByName, policy, metrics))}.
+ */
+public final class Reorder {
+
+	private Reorder() {
+	}
+
+	public static <T, R> Function<Flux<T>, Flux<R>> flatMapSequential(
+			Function<? super T, ? extends Publisher<? extends R>> mapper, ReorderPolicy<R> policy, ReorderMetrics metrics) {
+		policy.validate();
+		return Lifts.<T, R>flux((scannable, actual) -> new ReorderSubscriber<>(actual, mapper, policy, metrics));
+	}
+
+	public static <T, R> Function<Flux<T>, Flux<R>> flatMapSequential(
+			Function<? super T, ? extends Publisher<? extends R>> mapper, ReorderPolicy<R> policy) {
+		return flatMapSequential(mapper, policy, new ReorderMetrics());
+	}
+
+	@SafeVarargs
+	public static <R> Flux<R> mergeSequential(ReorderPolicy<R> policy, ReorderMetrics metrics,
+			Publisher<? extends R>... sources) {
+		return Flux.fromArray(sources).transform(flatMapSequential(Function.identity(), policy, metrics));
+	}
+}
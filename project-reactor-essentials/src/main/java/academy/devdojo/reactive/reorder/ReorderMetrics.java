@@ -0,0 +1,72 @@
+package academy.devdojo.reactive.reorder;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Metricas de um ou mais flatMapSequential limitados. Pode ser compartilhada entre assinaturas:
+ * ocupacao e spill sao somados, o pico eh o do total.
+ */
+public final class ReorderMetrics {
+
+	private static final int SIGNIFICANT_DIGITS = 2;
+
+	private final AtomicLong bufferedElements = new AtomicLong();
+	private final AtomicLong bufferedWeight = new AtomicLong();
+	private final AtomicLong peakWeight = new AtomicLong();
+	private final AtomicLong spilled = new AtomicLong();
+	private final LongAdder totalSpilled = new LongAdder();
+	private final LongAdder overflows = new LongAdder();
+
+	private final Recorder headOfLineRecorder = new Recorder(SIGNIFICANT_DIGITS);
+	private Histogram headOfLineTotal = new Histogram(SIGNIFICANT_DIGITS);
+
+	void onBuffered(long weight) {
+		bufferedElements.incrementAndGet();
+		long total = bufferedWeight.addAndGet(weight);
+		if (total > peakWeight.get()) {
+			peakWeight.accumulateAndGet(total, Math::max);
+		}
+	}
+
+	void onDrained(long weight) {
+		bufferedElements.decrementAndGet();
+		bufferedWeight.addAndGet(-weight);
+	}
+
+	void onSpilled() {
+		spilled.incrementAndGet();
+		totalSpilled.increment();
+	}
+
+	void onUnspilled(long count) {
+		spilled.addAndGet(-count);
+	}
+
+	void onOverflow() {
+		overflows.increment();
+	}
+
+	void onHeadOfLine(long nanos) {
+		headOfLineRecorder.recordValue(Math.max(0, nanos));
+	}
+
+	public long bufferedElements() {
+		return bufferedElements.get();
+	}
+
+	public long bufferedWeight() {
+		return bufferedWeight.get();
+	}
+
+	public synchronized ReorderSnapshot snapshot() {
+		headOfLineTotal.add(headOfLineRecorder.getIntervalHistogram());
+		return new ReorderSnapshot(bufferedElements.get(), bufferedWeight.get(), peakWeight.get(), spilled.get(),
+				totalSpilled.sum(), overflows.sum(), headOfLineTotal.getTotalCount(),
+				headOfLineTotal.getValueAtPercentile(50), headOfLineTotal.getValueAtPercentile(99),
+				headOfLineTotal.getMaxValue());
+	}
+}
@@ -0,0 +1,20 @@
+package academy.devdojo.reactive.reorder;
+
+/**
+ * O que fazer quando o buffer de reordenacao passa de {@code maxBufferedWeight}.
+ */
+public enum ReorderOverflow {
+	/**
+	 * Para de pedir elementos das fontes que nao estao na frente e de abrir fontes novas ate o
+	 * buffer baixar. Limite suave: o que ja foi pedido ainda chega (ate innerPrefetch por fonte).
+	 */
+	BACKPRESSURE,
+	/**
+	 * Os proximos elementos de cada fonte vao para a fila de spill da policy, fora da conta do buffer.
+	 */
+	SPILL,
+	/**
+	 * Termina com erro de overflow.
+	 */
+	FAIL
+}
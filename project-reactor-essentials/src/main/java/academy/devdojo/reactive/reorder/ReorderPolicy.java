@@ -0,0 +1,56 @@
+package academy.devdojo.reactive.reorder;
+
+import java.util.Queue;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Limites do flatMapSequential com buffer limitado. O peso de cada elemento vem do
+ * {@code weigher}: o padrao conta elementos, um weigher por tamanho em bytes limita memoria.
+ * <p>
+ * {@code spillQueue} cria a fila de spill de cada fonte quando o overflow eh SPILL; se a fila
+ * for AutoCloseable ela eh fechada quando a fonte termina ou eh cancelada. A fila recebe os
+ * elementos na thread da fonte e eh lida no drain, entao precisa ser thread-safe, como o
+ * DiskSpillQueue ou a ConcurrentLinkedQueue.
+ */
+@Value
+@Builder
+public class ReorderPolicy<R> {
+
+	@Builder.Default
+	int maxConcurrency = 32;
+
+	@Builder.Default
+	int innerPrefetch = 32;
+
+	@Builder.Default
+	long maxBufferedWeight = 1024;
+
+	@Builder.Default
+	ToLongFunction<? super R> weigher = element -> 1L;
+
+	@Builder.Default
+	ReorderOverflow overflow = ReorderOverflow.BACKPRESSURE;
+
+	Supplier<? extends Queue<R>> spillQueue;
+
+	public static <R> ReorderPolicy<R> defaults() {
+		return ReorderPolicy.<R>builder().build();
+	}
+
+	void validate() {
+		if (maxConcurrency < 1 || innerPrefetch < 1) {
+			throw new IllegalArgumentException("maxConcurrency and innerPrefetch must be positive, got "
+					+ maxConcurrency + " and " + innerPrefetch);
+		}
+		if (maxBufferedWeight < 1) {
+			throw new IllegalArgumentException("maxBufferedWeight must be positive, got " + maxBufferedWeight);
+		}
+		if (overflow == ReorderOverflow.SPILL && spillQueue == null) {
+			throw new IllegalArgumentException("overflow SPILL requires a spillQueue");
+		}
+	}
+}
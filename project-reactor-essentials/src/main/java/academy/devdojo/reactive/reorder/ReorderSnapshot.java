@@ -0,0 +1,35 @@
+package academy.devdojo.reactive.reorder;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.Value;
+
+/**
+ * Estado do buffer de reordenacao. Head-of-line eh o tempo em que havia elementos prontos de
+ * fontes de tras, com demanda do downstream, esperando a fonte da frente produzir.
+ */
+@Value
+public class ReorderSnapshot {
+	long bufferedElements;
+	long bufferedWeight;
+	long peakBufferedWeight;
+	long spilledElements;
+	long totalSpilled;
+	long overflows;
+	long headOfLineBlocks;
+	long headOfLineP50Nanos;
+	long headOfLineP99Nanos;
+	long headOfLineMaxNanos;
+
+	@Override
+	public String toString() {
+		return String.format("buffered=%d weight=%d (peak %d) spilled=%d (total %d) overflows=%d"
+						+ " head-of-line blocks=%d p50=%dus p99=%dus max=%dus",
+				bufferedElements, bufferedWeight, peakBufferedWeight, spilledElements, totalSpilled, overflows,
+				headOfLineBlocks, micros(headOfLineP50Nanos), micros(headOfLineP99Nanos), micros(headOfLineMaxNanos));
+	}
+
+	private static long micros(long nanos) {
+		return TimeUnit.NANOSECONDS.toMicros(nanos);
+	}
+}
@@ -0,0 +1,579 @@
+package academy.devdojo.reactive.reorder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
+import reactor.core.Scannable;
+import reactor.core.publisher.Operators;
+import reactor.util.annotation.Nullable;
+import reactor.util.context.Context;
+
+/**
+ * flatMapSequential com um orcamento unico para tudo o que esta bufferizado. Os elementos de
+ * cada fonte ficam na fila dela ate ela chegar na frente; o peso total (weigher) eh conferido a
+ * cada elemento recebido e decide o overflow.
+ * <p>
+ * Todo o estado fica sob o monitor do subscriber. A emissao e os requests (para o upstream e
+ * para as fontes) acontecem fora dele, no loop de drain, para que uma fonte sincrona possa
+ * reentrar sem alterar a fila de fontes durante a iteracao.
+ */
+final class ReorderSubscriber<T, R> implements CoreSubscriber<T>, Subscription, Scannable {
+
+	private static final AtomicIntegerFieldUpdater<ReorderSubscriber> WIP =
+			AtomicIntegerFieldUpdater.newUpdater(ReorderSubscriber.class, "wip");
+
+	private final CoreSubscriber<? super R> actual;
+	private final Function<? super T, ? extends Publisher<? extends R>> mapper;
+	private final ReorderPolicy<R> policy;
+	private final ReorderMetrics metrics;
+	private final ToLongFunction<? super R> weigher;
+	private final long maxWeight;
+	private final int innerPrefetch;
+	private final int replenishAt;
+
+	private final ArrayDeque<Inner> inners = new ArrayDeque<>();
+	private final List<Inner> toRequest = new ArrayList<>();
+
+	private Subscription upstream;
+	private long requested;
+	private long upstreamPending;
+	private long bufferedElements;
+	private long bufferedWeight;
+	private long spilledElements;
+	private long blockedSince;
+	private boolean done;
+	private Throwable error;
+
+	private volatile boolean cancelled;
+	private volatile int wip;
+
+	ReorderSubscriber(CoreSubscriber<? super R> actual, Function<? super T, ? extends Publisher<? extends R>> mapper,
+			ReorderPolicy<R> policy, ReorderMetrics metrics) {
+		this.actual = actual;
+		this.mapper = mapper;
+		this.policy = policy;
+		this.metrics = metrics;
+		this.weigher = policy.getWeigher();
+		this.maxWeight = policy.getMaxBufferedWeight();
+		this.innerPrefetch = policy.getInnerPrefetch();
+		this.replenishAt = Math.max(1, innerPrefetch >> 2);
+	}
+
+	@Override
+	public Context currentContext() {
+		return actual.currentContext();
+	}
+
+	@Override
+	public void onSubscribe(Subscription s) {
+		if (Operators.validate(upstream, s)) {
+			synchronized (this) {
+				upstream = s;
+			}
+			actual.onSubscribe(this);
+			drain();
+		}
+	}
+
+	@Override
+	public void onNext(T t) {
+		Publisher<? extends R> source;
+		try {
+			source = Objects.requireNonNull(mapper.apply(t), "The mapper returned a null Publisher");
+		} catch (Throwable e) {
+			onError(Operators.onOperatorError(upstream, e, t, currentContext()));
+			return;
+		}
+		Inner inner = new Inner();
+		synchronized (this) {
+			if (done) {
+				Operators.onNextDropped(t, currentContext());
+				return;
+			}
+			upstreamPending--;
+			inners.addLast(inner);
+		}
+		source.subscribe(inner);
+		drain();
+	}
+
+	@Override
+	public void onError(Throwable t) {
+		synchronized (this) {
+			if (done) {
+				Operators.onErrorDropped(t, currentContext());
+				return;
+			}
+			done = true;
+			if (error == null) {
+				error = t;
+			}
+		}
+		drain();
+	}
+
+	@Override
+	public void onComplete() {
+		synchronized (this) {
+			if (done) {
+				return;
+			}
+			done = true;
+		}
+		drain();
+	}
+
+	@Override
+	public void request(long n) {
+		if (Operators.validate(n)) {
+			synchronized (this) {
+				requested = Operators.addCap(requested, n);
+			}
+			drain();
+		}
+	}
+
+	@Override
+	public void cancel() {
+		if (cancelled) {
+			return;
+		}
+		cancelled = true;
+		upstream.cancel();
+		cancelInners();
+		if (WIP.getAndIncrement(this) == 0) {
+			clear();
+		}
+	}
+
+	private void innerNext(Inner inner, R value) {
+		long weight;
+		try {
+			weight = weigher.applyAsLong(value);
+		} catch (Throwable e) {
+			innerError(Operators.onOperatorError(inner.s, e, value, currentContext()));
+			return;
+		}
+		Queue<R> spill = null;
+		boolean spilling = false;
+		synchronized (this) {
+			if (cancelled || error != null) {
+				Operators.onDiscard(value, currentContext());
+				return;
+			}
+			inner.outstanding--;
+			boolean over = bufferedWeight + weight > maxWeight;
+			if (over && policy.getOverflow() == ReorderOverflow.FAIL) {
+				metrics.onOverflow();
+				error = Exceptions.failWithOverflow("Reorder buffer exceeded maxBufferedWeight=" + maxWeight);
+				Operators.onDiscard(value, currentContext());
+			} else if (inner.spilled() || over && policy.getOverflow() == ReorderOverflow.SPILL) {
+				spilling = true;
+				spill = inner.spill;
+				// contado antes do offer: o drain nao pode ver o inner vazio enquanto o elemento nao chegou
+				spilledElements++;
+				metrics.onSpilled();
+			} else {
+				if (over) {
+					metrics.onOverflow();
+				}
+				inner.buffer.offer(value);
+				inner.weights.offer(weight);
+				bufferedElements++;
+				bufferedWeight += weight;
+				metrics.onBuffered(weight);
+			}
+		}
+		if (spilling && !offerToSpill(inner, spill, value)) {
+			return;
+		}
+		drain();
+	}
+
+	/**
+	 * Fora do monitor: a fila de spill pode criar e mapear segmentos, inclusive a propria fila no
+	 * primeiro elemento. Os elementos de um inner chegam em serie, entao o proximo so decide
+	 * depois que este offer terminou e ja ve a fila publicada.
+	 */
+	private boolean offerToSpill(Inner inner, @Nullable Queue<R> spill, R value) {
+		Throwable failure;
+		try {
+			if (spill == null) {
+				spill = Objects.requireNonNull(policy.getSpillQueue().get(), "The spill queue supplier returned null");
+				boolean published;
+				synchronized (this) {
+					// depois do cancel o clear ja fechou as filas dos inners; esta nao seria fechada
+					published = !cancelled;
+					if (published) {
+						inner.spill = spill;
+					}
+				}
+				if (!published) {
+					closeQueue(spill, currentContext());
+					Operators.onDiscard(value, currentContext());
+					return false;
+				}
+			}
+			if (spill.offer(value)) {
+				return true;
+			}
+			failure = Exceptions.failWithOverflow("Reorder spill queue refused an element");
+		} catch (Throwable e) {
+			failure = Operators.onOperatorError(inner.s, e, value, currentContext());
+		}
+		boolean wasCancelled;
+		synchronized (this) {
+			wasCancelled = cancelled;
+			// depois do cancel o clear ja zerou a contagem
+			if (!wasCancelled) {
+				spilledElements--;
+				metrics.onUnspilled(1);
+			}
+		}
+		Operators.onDiscard(value, currentContext());
+		if (!wasCancelled) {
+			innerError(failure);
+		}
+		return false;
+	}
+
+	private void innerError(Throwable t) {
+		synchronized (this) {
+			if (error != null || cancelled) {
+				Operators.onErrorDropped(t, currentContext());
+				return;
+			}
+			error = t;
+		}
+		drain();
+	}
+
+	private void innerComplete(Inner inner) {
+		synchronized (this) {
+			inner.done = true;
+		}
+		drain();
+	}
+
+	private void drain() {
+		if (WIP.getAndIncrement(this) != 0) {
+			return;
+		}
+		int missed = 1;
+		for (;;) {
+			if (cancelled) {
+				clear();
+				return;
+			}
+			R item = null;
+			Throwable failure;
+			boolean complete = false;
+			long upstreamRequest = 0;
+			Subscription up;
+
+			synchronized (this) {
+				up = upstream;
+				failure = error;
+				if (failure == null) {
+					Inner head = inners.peekFirst();
+					while (head != null && head.done && head.isEmpty()) {
+						inners.pollFirst();
+						head.closeSpill();
+						head = inners.peekFirst();
+					}
+					if (requested > 0 && head != null) {
+						item = poll(head);
+						if (item != null && requested != Long.MAX_VALUE) {
+							requested--;
+						}
+					}
+					trackHeadOfLine(item == null && requested > 0 && head != null
+							&& (bufferedElements > 0 || spilledElements > 0));
+
+					if (item == null && done && inners.isEmpty()) {
+						complete = true;
+					}
+					if (!complete) {
+						collectRequests(inners.peekFirst());
+						if (!done && up != null && mayGrow()) {
+							long active = inners.size() + upstreamPending;
+							if (active < policy.getMaxConcurrency()) {
+								upstreamRequest = policy.getMaxConcurrency() - active;
+								upstreamPending += upstreamRequest;
+							}
+						}
+					}
+				}
+			}
+
+			if (failure != null) {
+				cancelled = true;
+				if (up != null) {
+					up.cancel();
+				}
+				cancelInners();
+				clear();
+				actual.onError(failure);
+				return;
+			}
+			for (Inner inner : toRequest) {
+				inner.s.request(inner.pendingRequest);
+			}
+			toRequest.clear();
+			if (upstreamRequest > 0) {
+				up.request(upstreamRequest);
+			}
+			if (item != null) {
+				actual.onNext(item);
+				continue;
+			}
+			if (complete) {
+				actual.onComplete();
+				return;
+			}
+
+			missed = WIP.addAndGet(this, -missed);
+			if (missed == 0) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Chamado sob o monitor.
+	 */
+	@Nullable
+	private R poll(Inner head) {
+		R item = head.buffer.poll();
+		if (item != null) {
+			long weight = head.weights.poll();
+			bufferedElements--;
+			bufferedWeight -= weight;
+			metrics.onDrained(weight);
+			return item;
+		}
+		if (head.spill != null) {
+			item = head.spill.poll();
+			if (item != null) {
+				spilledElements--;
+				metrics.onUnspilled(1);
+			}
+		}
+		return item;
+	}
+
+	/**
+	 * Chamado sob o monitor. Cada fonte mantem ate innerPrefetch elementos pedidos ou no buffer; a
+	 * da frente sempre pode pedir, senao o buffer nunca esvazia.
+	 */
+	private void collectRequests(@Nullable Inner head) {
+		boolean mayGrow = mayGrow();
+		for (Inner inner : inners) {
+			if (inner.s == null || inner.done) {
+				continue;
+			}
+			long want = innerPrefetch - inner.outstanding - inner.buffer.size();
+			if (want >= replenishAt && (inner == head || mayGrow)) {
+				inner.outstanding += want;
+				inner.pendingRequest = want;
+				toRequest.add(inner);
+			}
+		}
+	}
+
+	private boolean mayGrow() {
+		return policy.getOverflow() != ReorderOverflow.BACKPRESSURE || bufferedWeight < maxWeight;
+	}
+
+	private void trackHeadOfLine(boolean blocked) {
+		if (blocked) {
+			if (blockedSince == 0) {
+				blockedSince = System.nanoTime();
+			}
+		} else if (blockedSince != 0) {
+			metrics.onHeadOfLine(System.nanoTime() - blockedSince);
+			blockedSince = 0;
+		}
+	}
+
+	private void cancelInners() {
+		List<Inner> snapshot;
+		synchronized (this) {
+			snapshot = new ArrayList<>(inners);
+		}
+		for (Inner inner : snapshot) {
+			inner.cancel();
+		}
+	}
+
+	private synchronized void clear() {
+		for (Inner inner : inners) {
+			R item;
+			while ((item = inner.buffer.poll()) != null) {
+				metrics.onDrained(inner.weights.poll());
+				Operators.onDiscard(item, currentContext());
+			}
+			inner.closeSpill();
+		}
+		inners.clear();
+		metrics.onUnspilled(spilledElements);
+		spilledElements = 0;
+		bufferedElements = 0;
+		bufferedWeight = 0;
+		blockedSince = 0;
+	}
+
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.PARENT) {
+			return upstream;
+		}
+		if (key == Attr.ACTUAL) {
+			return actual;
+		}
+		if (key == Attr.PREFETCH) {
+			return innerPrefetch;
+		}
+		if (key == Attr.CANCELLED) {
+			return cancelled;
+		}
+		synchronized (this) {
+			if (key == Attr.BUFFERED) {
+				return (int) Math.min(Integer.MAX_VALUE, bufferedElements + spilledElements);
+			}
+			if (key == Attr.TERMINATED) {
+				return done && inners.isEmpty();
+			}
+			if (key == Attr.ERROR) {
+				return error;
+			}
+			if (key == Attr.REQUESTED_FROM_DOWNSTREAM) {
+				return requested;
+			}
+		}
+		return null;
+	}
+
+	final class Inner implements CoreSubscriber<R> {
+
+		final ArrayDeque<R> buffer = new ArrayDeque<>();
+		final Weights weights = new Weights();
+		Queue<R> spill;
+		long outstanding;
+		long pendingRequest;
+		boolean done;
+
+		volatile Subscription s;
+		private volatile boolean innerCancelled;
+
+		@Override
+		public Context currentContext() {
+			return actual.currentContext();
+		}
+
+		@Override
+		public void onSubscribe(Subscription subscription) {
+			if (Operators.validate(s, subscription)) {
+				s = subscription;
+				if (innerCancelled) {
+					subscription.cancel();
+					return;
+				}
+				drain();
+			}
+		}
+
+		@Override
+		public void onNext(R value) {
+			innerNext(this, value);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			innerError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			innerComplete(this);
+		}
+
+		boolean spilled() {
+			return spill != null && !spill.isEmpty();
+		}
+
+		boolean isEmpty() {
+			return buffer.isEmpty() && !spilled();
+		}
+
+		void cancel() {
+			innerCancelled = true;
+			Subscription subscription = s;
+			if (subscription != null) {
+				subscription.cancel();
+			}
+		}
+
+		void closeSpill() {
+			Queue<R> q = spill;
+			spill = null;
+			if (q != null) {
+				closeQueue(q, currentContext());
+			}
+		}
+	}
+
+	private static void closeQueue(Queue<?> q, Context context) {
+		q.clear();
+		if (q instanceof AutoCloseable) {
+			try {
+				((AutoCloseable) q).close();
+			} catch (Exception e) {
+				Operators.onErrorDropped(e, context);
+			}
+		}
+	}
+
+	/**
+	 * Pesos dos elementos do buffer de uma fonte, na mesma ordem, guardados na entrada para que o
+	 * poll e a limpeza descontem exatamente o que foi somado mesmo com um weigher nao puro.
+	 */
+	static final class Weights {
+
+		private long[] array = new long[8];
+		private int head;
+		private int size;
+
+		void offer(long weight) {
+			if (size == array.length) {
+				long[] bigger = new long[array.length << 1];
+				for (int i = 0; i < size; i++) {
+					bigger[i] = array[(head + i) & (array.length - 1)];
+				}
+				array = bigger;
+				head = 0;
+			}
+			array[(head + size) & (array.length - 1)] = weight;
+			size++;
+		}
+
+		long poll() {
+			long weight = array[head];
+			head = (head + 1) & (array.length - 1);
+			size--;
+			return weight;
+		}
+	}
+}
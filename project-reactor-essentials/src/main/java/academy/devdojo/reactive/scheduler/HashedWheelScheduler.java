@@ -0,0 +1,389 @@
+package academy.devdojo.reactive.scheduler;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.Exceptions;
+import reactor.core.Scannable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Scheduler para milhoes de timers curtos (delayElements, interval, timeout por request). Os
+ * agendamentos com delay vao para uma {@link TimerWheel} hierarquica em vez de uma task por delay
+ * no ScheduledExecutorService do parallel(): inserir e cancelar eh O(1) e uma unica thread avanca
+ * a roda a cada {@link TimerWheelConfig#getTickDuration() tick}. Os timers que vencem no mesmo tick
+ * vao em lotes para o scheduler de execucao ({@code parallel()} por padrao), que eh onde as tasks
+ * rodam; tasks sem delay vao direto para ele.
+ * <p>
+ * Um timer nunca vence antes do prazo e vence ate um tick depois dele. Quem agenda e quem cancela
+ * so escrevem em filas MPSC; a roda so eh tocada pela propria thread. No {@link #dispose()} essa
+ * thread para e descarta os timers que ainda nao venceram, inclusive os periodicos.
+ * <p>
+ * {@code Flux.interval(period, HashedWheelScheduler.create("timers"))},
+ * {@code flux.delayElements(delay, wheel)}.
+ */
+public final class HashedWheelScheduler implements Scheduler, Scannable {
+
+	private final String name;
+	private final Scheduler workers;
+	private final int batchSize;
+	private final long tickNanos;
+	private final long startNanos;
+	private final TimerWheel wheel;
+	private final Queue<WheelTimer> pending = Queues.<WheelTimer>unboundedMultiproducer().get();
+	private final Queue<WheelTimer> cancelled = Queues.<WheelTimer>unboundedMultiproducer().get();
+	private final Consumer<WheelTimer> expire = this::expire;
+	private final Thread thread;
+
+	// lote atual de timers vencidos, so da thread da roda
+	private WheelTimer[] batch;
+	private int batchCount;
+
+	private volatile boolean disposed;
+	private volatile int timerCount;
+
+	private HashedWheelScheduler(String name, Scheduler workers, TimerWheelConfig config) {
+		this.name = name;
+		this.workers = workers;
+		this.batchSize = config.getBatchSize();
+		this.tickNanos = config.getTickDuration().toNanos();
+		this.wheel = new TimerWheel(config.getWheelSize(), config.getLevels());
+		this.batch = new WheelTimer[batchSize];
+		this.startNanos = System.nanoTime();
+		this.thread = new Thread(this::runWheel, name + "-wheel");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	public static HashedWheelScheduler create(String name) {
+		return create(name, Schedulers.parallel(), TimerWheelConfig.defaults());
+	}
+
+	/**
+	 * @param workers onde as tasks rodam; nao eh descartado junto com este scheduler
+	 */
+	public static HashedWheelScheduler create(String name, Scheduler workers, TimerWheelConfig config) {
+		config.validate();
+		return new HashedWheelScheduler(Objects.requireNonNull(name, "name"),
+				Objects.requireNonNull(workers, "workers"), config);
+	}
+
+	@Override
+	public Disposable schedule(Runnable task) {
+		if (disposed) {
+			throw Exceptions.failWithRejected();
+		}
+		return workers.schedule(task);
+	}
+
+	@Override
+	public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+		if (delay <= 0) {
+			return schedule(task);
+		}
+		return insert(new WheelTimer(this, null, task, deadlineTick(unit.toNanos(delay)), 0));
+	}
+
+	@Override
+	public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+		return insert(new WheelTimer(this, null, task, deadlineTick(unit.toNanos(initialDelay)), periodTicks(period, unit)));
+	}
+
+	@Override
+	public Worker createWorker() {
+		return new WheelWorker();
+	}
+
+	/**
+	 * Timers na roda; os que acabaram de ser agendados ou cancelados entram na conta no proximo tick.
+	 */
+	public int timerCount() {
+		return timerCount;
+	}
+
+	@Override
+	public void dispose() {
+		disposed = true;
+		LockSupport.unpark(thread);
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return disposed;
+	}
+
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.NAME) {
+			return toString();
+		}
+		if (key == Attr.TERMINATED || key == Attr.CANCELLED) {
+			return disposed;
+		}
+		if (key == Attr.BUFFERED) {
+			return timerCount;
+		}
+		if (key == Attr.PARENT) {
+			return workers;
+		}
+		return null;
+	}
+
+	@Override
+	public String toString() {
+		return "hashedWheel(\"" + name + "\")";
+	}
+
+	private long deadlineTick(long delayNanos) {
+		long elapsed = System.nanoTime() - startNanos + Math.max(0, delayNanos);
+		// arredonda para cima: o tick k so eh processado depois de start + k * tickNanos
+		return (elapsed + tickNanos - 1) / tickNanos;
+	}
+
+	private long periodTicks(long period, TimeUnit unit) {
+		return Math.max(1, (unit.toNanos(period) + tickNanos - 1) / tickNanos);
+	}
+
+	private WheelTimer insert(WheelTimer timer) {
+		if (disposed) {
+			throw Exceptions.failWithRejected();
+		}
+		pending.offer(timer);
+		if (disposed) {
+			// a roda pode ter esvaziado os pendentes antes deste offer
+			timer.dispose();
+			throw Exceptions.failWithRejected();
+		}
+		return timer;
+	}
+
+	void reschedule(WheelTimer timer) {
+		if (!disposed) {
+			pending.offer(timer);
+		}
+		if (disposed) {
+			// periodico que rodou durante o dispose: nao volta para a roda
+			timer.dispose();
+		}
+	}
+
+	void cancelled(WheelTimer timer) {
+		if (!disposed) {
+			cancelled.offer(timer);
+		}
+		if (timer.owner != null) {
+			timer.owner.tasks.remove(timer);
+		}
+	}
+
+	private void runWheel() {
+		try {
+			tickUntilDisposed();
+		} finally {
+			shutdown();
+		}
+	}
+
+	private void tickUntilDisposed() {
+		while (!disposed) {
+			long deadline = startNanos + (wheel.tick() + 1) * tickNanos;
+			long now = System.nanoTime();
+			while (now < deadline) {
+				LockSupport.parkNanos(this, deadline - now);
+				if (disposed) {
+					return;
+				}
+				now = System.nanoTime();
+			}
+			try {
+				WheelTimer timer;
+				while ((timer = cancelled.poll()) != null) {
+					wheel.remove(timer);
+				}
+				while ((timer = pending.poll()) != null) {
+					if (!timer.isCancelled() && !wheel.insert(timer)) {
+						expire(timer);
+					}
+				}
+				wheel.advance((now - startNanos) / tickNanos, expire);
+				flush();
+			} catch (Throwable error) {
+				handleError(error);
+			}
+			timerCount = wheel.size();
+		}
+	}
+
+	/**
+	 * Descarta o que nao venceu: quem guardou o Disposable ve {@code isDisposed()} e os workers
+	 * soltam as tasks. O que ja foi entregue ao scheduler de execucao ainda roda.
+	 */
+	private void shutdown() {
+		WheelTimer timer;
+		while ((timer = pending.poll()) != null) {
+			timer.dispose();
+		}
+		wheel.clear(WheelTimer::dispose);
+		cancelled.clear();
+		timerCount = 0;
+	}
+
+	private void expire(WheelTimer timer) {
+		if (timer.owner != null) {
+			// o worker ja drena em serie: varios timers vencidos viram uma so drenagem
+			try {
+				timer.owner.enqueue(timer);
+			} catch (RejectedExecutionException e) {
+				handleError(e);
+			}
+			return;
+		}
+		batch[batchCount++] = timer;
+		if (batchCount == batchSize) {
+			flush();
+		}
+	}
+
+	private void flush() {
+		if (batchCount == 0) {
+			return;
+		}
+		ExpiredBatch expired = new ExpiredBatch(batch, batchCount);
+		batch = new WheelTimer[batchSize];
+		batchCount = 0;
+		try {
+			workers.schedule(expired);
+		} catch (RejectedExecutionException e) {
+			handleError(e);
+		}
+	}
+
+	static void handleError(Throwable error) {
+		Exceptions.throwIfJvmFatal(error);
+		Thread current = Thread.currentThread();
+		current.getUncaughtExceptionHandler().uncaughtException(current, error);
+	}
+
+	private static final class ExpiredBatch implements Runnable {
+
+		private final WheelTimer[] timers;
+		private final int count;
+
+		ExpiredBatch(WheelTimer[] timers, int count) {
+			this.timers = timers;
+			this.count = count;
+		}
+
+		@Override
+		public void run() {
+			for (int i = 0; i < count; i++) {
+				// o WheelTimer ja trata o erro de cada task
+				timers[i].run();
+			}
+		}
+	}
+
+	/**
+	 * Worker serial: as tasks e os timers vencidos vao para uma fila MPSC drenada por uma task de
+	 * cada vez no scheduler de execucao, mantendo a ordem que o contrato do Worker exige.
+	 */
+	final class WheelWorker implements Worker, Runnable {
+
+		private final Queue<WheelTimer> queue = Queues.<WheelTimer>unboundedMultiproducer().get();
+		private final AtomicInteger wip = new AtomicInteger();
+		final Disposable.Composite tasks = Disposables.composite();
+
+		private volatile boolean disposed;
+
+		@Override
+		public Disposable schedule(Runnable task) {
+			WheelTimer timer = track(new WheelTimer(HashedWheelScheduler.this, this, task, 0, 0));
+			enqueue(timer);
+			return timer;
+		}
+
+		@Override
+		public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+			if (delay <= 0) {
+				return schedule(task);
+			}
+			return insert(track(new WheelTimer(HashedWheelScheduler.this, this, task,
+					deadlineTick(unit.toNanos(delay)), 0)));
+		}
+
+		@Override
+		public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+			return insert(track(new WheelTimer(HashedWheelScheduler.this, this, task,
+					deadlineTick(unit.toNanos(initialDelay)), periodTicks(period, unit))));
+		}
+
+		private WheelTimer track(WheelTimer timer) {
+			if (disposed || HashedWheelScheduler.this.disposed || !tasks.add(timer)) {
+				throw Exceptions.failWithRejected();
+			}
+			return timer;
+		}
+
+		/**
+		 * @throws RejectedExecutionException se o scheduler de execucao recusou a drenagem; o worker
+		 * eh descartado, porque com o {@code wip} preso nenhuma task nova seria drenada
+		 */
+		void enqueue(WheelTimer timer) {
+			queue.offer(timer);
+			if (wip.getAndIncrement() == 0) {
+				try {
+					workers.schedule(this);
+				} catch (RejectedExecutionException e) {
+					dispose();
+					wip.set(0);
+					throw e;
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			int missed = 1;
+			for (;;) {
+				WheelTimer timer;
+				while ((timer = queue.poll()) != null) {
+					if (disposed) {
+						queue.clear();
+						return;
+					}
+					timer.run();
+					if (timer.isDisposed()) {
+						tasks.remove(timer);
+					}
+				}
+				missed = wip.addAndGet(-missed);
+				if (missed == 0) {
+					return;
+				}
+			}
+		}
+
+		@Override
+		public void dispose() {
+			disposed = true;
+			tasks.dispose();
+			queue.clear();
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return disposed;
+		}
+	}
+}
@@ -0,0 +1,331 @@
+package academy.devdojo.reactive.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Consumer;
+
+import reactor.core.Exceptions;
+
+/**
+ * Envolve cada task enviada ao executor para medir espera na fila e tempo de execucao.
+ */
+final class InstrumentedScheduledExecutorService implements ScheduledExecutorService {
+
+	private final ScheduledExecutorService delegate;
+	private final WorkerMetrics metrics;
+	private final Consumer<WorkerMetrics> onShutdown;
+
+	InstrumentedScheduledExecutorService(ScheduledExecutorService delegate, WorkerMetrics metrics,
+			Consumer<WorkerMetrics> onShutdown) {
+		this.delegate = delegate;
+		this.metrics = metrics;
+		this.onShutdown = onShutdown;
+	}
+
+	/**
+	 * O enqueue so eh contado depois que o delegate aceitou a task: uma task rejeitada nao entra no
+	 * pending, e a cancelada sai dele pelo {@link TrackedFuture}.
+	 */
+	private <V> ScheduledFuture<V> accepted(Task<?> task, Future<V> future) {
+		task.onAccepted();
+		return new TrackedFuture<>(future, task);
+	}
+
+	private <V> Task<V> task(Callable<V> callable, long delayNanos) {
+		return new Task<>(metrics, callable, delayNanos, 0, false);
+	}
+
+	private Task<Object> task(Runnable runnable, long delayNanos) {
+		return task(Executors.callable(runnable), delayNanos);
+	}
+
+	private <V> List<Task<V>> tasks(Collection<? extends Callable<V>> callables) {
+		List<Task<V>> wrapped = new ArrayList<>(callables.size());
+		for (Callable<V> callable : callables) {
+			Task<V> task = task(callable, 0);
+			task.onAccepted();
+			wrapped.add(task);
+		}
+		return wrapped;
+	}
+
+	/**
+	 * Depois que o invokeAll/invokeAny retorna nenhuma das tasks roda mais: as que ficaram na fila
+	 * (canceladas pelo invokeAny ou pelo timeout) saem do pending.
+	 */
+	private static void release(List<? extends Task<?>> tasks) {
+		for (Task<?> task : tasks) {
+			task.onCancelled();
+		}
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+		Task<?> task = task(command, unit.toNanos(delay));
+		return accepted(task, delegate.schedule((Runnable) task, delay, unit));
+	}
+
+	@Override
+	public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+		Task<V> task = task(callable, unit.toNanos(delay));
+		return accepted(task, delegate.schedule((Callable<V>) task, delay, unit));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+		Task<?> task = new Task<>(metrics, Executors.callable(command), unit.toNanos(initialDelay), unit.toNanos(period),
+				true);
+		return accepted(task, delegate.scheduleAtFixedRate(task, initialDelay, period, unit));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+		Task<?> task = new Task<>(metrics, Executors.callable(command), unit.toNanos(initialDelay), unit.toNanos(delay),
+				false);
+		return accepted(task, delegate.scheduleWithFixedDelay(task, initialDelay, delay, unit));
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		Task<?> task = task(command, 0);
+		delegate.execute(task);
+		task.onAccepted();
+	}
+
+	@Override
+	public Future<?> submit(Runnable command) {
+		Task<?> task = task(command, 0);
+		return accepted(task, delegate.submit((Runnable) task));
+	}
+
+	@Override
+	public <T> Future<T> submit(Runnable command, T result) {
+		Task<?> task = task(command, 0);
+		return accepted(task, delegate.submit(task, result));
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> callable) {
+		Task<T> task = task(callable, 0);
+		return accepted(task, delegate.submit((Callable<T>) task));
+	}
+
+	@Override
+	public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+		List<Task<T>> wrapped = tasks(tasks);
+		try {
+			return delegate.invokeAll(wrapped);
+		} finally {
+			release(wrapped);
+		}
+	}
+
+	@Override
+	public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+			throws InterruptedException {
+		List<Task<T>> wrapped = tasks(tasks);
+		try {
+			return delegate.invokeAll(wrapped, timeout, unit);
+		} finally {
+			release(wrapped);
+		}
+	}
+
+	@Override
+	public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+		List<Task<T>> wrapped = tasks(tasks);
+		try {
+			return delegate.invokeAny(wrapped);
+		} finally {
+			release(wrapped);
+		}
+	}
+
+	@Override
+	public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+			throws InterruptedException, ExecutionException, TimeoutException {
+		List<Task<T>> wrapped = tasks(tasks);
+		try {
+			return delegate.invokeAny(wrapped, timeout, unit);
+		} finally {
+			release(wrapped);
+		}
+	}
+
+	@Override
+	public void shutdown() {
+		onShutdown.accept(metrics);
+		delegate.shutdown();
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		onShutdown.accept(metrics);
+		return delegate.shutdownNow();
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return delegate.isShutdown();
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return delegate.isTerminated();
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return delegate.awaitTermination(timeout, unit);
+	}
+
+	/**
+	 * Task medida. Fica no pending de quando o executor a aceita ate comecar a rodar ou ser
+	 * cancelada; quem tira do estado QUEUED desconta, entao uma task que roda antes do aceite ser
+	 * contado nao deixa o pending negativo nem crescendo. Tasks periodicas voltam para QUEUED ao
+	 * fim de cada execucao, e a espera de cada uma eh medida contra o horario previsto dela.
+	 */
+	static final class Task<V> implements Runnable, Callable<V> {
+
+		private static final int NEW = 0;
+		private static final int QUEUED = 1;
+		private static final int RUNNING = 2;
+		private static final int DONE = 3;
+
+		@SuppressWarnings("rawtypes")
+		private static final AtomicIntegerFieldUpdater<Task> STATE =
+				AtomicIntegerFieldUpdater.newUpdater(Task.class, "state");
+
+		private final WorkerMetrics metrics;
+		private final Callable<V> callable;
+		private final long periodNanos;
+		private final boolean fixedRate;
+		private long due;
+
+		private volatile int state;
+
+		Task(WorkerMetrics metrics, Callable<V> callable, long delayNanos, long periodNanos, boolean fixedRate) {
+			this.metrics = metrics;
+			this.callable = callable;
+			this.periodNanos = periodNanos;
+			this.fixedRate = fixedRate;
+			this.due = System.nanoTime() + delayNanos;
+		}
+
+		void onAccepted() {
+			if (STATE.compareAndSet(this, NEW, QUEUED)) {
+				metrics.onEnqueue();
+			}
+		}
+
+		void onCancelled() {
+			if (STATE.getAndSet(this, DONE) == QUEUED) {
+				metrics.onDequeue();
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				call();
+			} catch (Exception e) {
+				throw Exceptions.propagate(e);
+			}
+		}
+
+		@Override
+		public V call() throws Exception {
+			long start = System.nanoTime();
+			int previous;
+			do {
+				previous = state;
+			} while (previous != DONE && !STATE.compareAndSet(this, previous, RUNNING));
+			if (previous == QUEUED) {
+				metrics.onDequeue();
+			}
+			metrics.onStart(start - due);
+			boolean completed = false;
+			try {
+				V result = callable.call();
+				completed = true;
+				return result;
+			} finally {
+				long end = System.nanoTime();
+				metrics.onRun(end - start);
+				// periodica que falhou nao eh reagendada pelo executor
+				if (periodNanos != 0 && completed) {
+					due = fixedRate ? due + periodNanos : end + periodNanos;
+					if (STATE.compareAndSet(this, RUNNING, QUEUED)) {
+						metrics.onEnqueue();
+					}
+				} else {
+					state = DONE;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Future do delegate que tira a task do pending quando o cancelamento da certo.
+	 */
+	static final class TrackedFuture<V> implements ScheduledFuture<V> {
+
+		private final Future<V> delegate;
+		private final Task<?> task;
+
+		TrackedFuture(Future<V> delegate, Task<?> task) {
+			this.delegate = delegate;
+			this.task = task;
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			boolean cancelled = delegate.cancel(mayInterruptIfRunning);
+			if (cancelled) {
+				task.onCancelled();
+			}
+			return cancelled;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return delegate.isCancelled();
+		}
+
+		@Override
+		public boolean isDone() {
+			return delegate.isDone();
+		}
+
+		@Override
+		public V get() throws InterruptedException, ExecutionException {
+			return delegate.get();
+		}
+
+		@Override
+		public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+			return delegate.get(timeout, unit);
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return delegate instanceof Delayed ? ((Delayed) delegate).getDelay(unit) : 0;
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package academy.devdojo.reactive.scheduler;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Scannable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Instrumenta os executors dos schedulers do Reactor via
+ * {@link Schedulers#addExecutorServiceDecorator}: por worker, profundidade da fila, espera
+ * entre enqueue e inicio e tempo de execucao, em histogramas HdrHistogram.
+ * <p>
+ * O decorator so vale para schedulers iniciados depois do {@link #install()}; os schedulers
+ * padrao ja usados (Schedulers.parallel() etc.) precisam de Schedulers.shutdownNow() antes.
+ * Os snapshots ficam disponiveis por {@link #snapshot()} e pelo MBean
+ * {@code academy.devdojo.reactive:type=SchedulerMetrics}.
+ */
+@Slf4j
+public final class SchedulerMetrics implements SchedulerMetricsMXBean {
+
+	public static final String DECORATOR_KEY = "academy.devdojo.reactive.scheduler-metrics";
+	public static final String OBJECT_NAME = "academy.devdojo.reactive:type=SchedulerMetrics";
+
+	private static volatile SchedulerMetrics installed;
+
+	private final Map<WorkerMetrics, Boolean> workers = new ConcurrentHashMap<>();
+	private final Map<String, AtomicInteger> workerIndexes = new ConcurrentHashMap<>();
+
+	private SchedulerMetrics() {
+	}
+
+	public static synchronized SchedulerMetrics install() {
+		if (installed == null) {
+			SchedulerMetrics metrics = new SchedulerMetrics();
+			Schedulers.addExecutorServiceDecorator(DECORATOR_KEY, metrics::decorate);
+			metrics.registerMBean();
+			installed = metrics;
+		}
+		return installed;
+	}
+
+	public static synchronized void uninstall() {
+		if (installed != null) {
+			Schedulers.removeExecutorServiceDecorator(DECORATOR_KEY);
+			installed.unregisterMBean();
+			installed = null;
+		}
+	}
+
+	private ScheduledExecutorService decorate(Scheduler scheduler, ScheduledExecutorService executor) {
+		String schedulerName = Scannable.from(scheduler).scanOrDefault(Scannable.Attr.NAME, scheduler.toString());
+		int index = workerIndexes.computeIfAbsent(schedulerName, name -> new AtomicInteger()).incrementAndGet();
+		WorkerMetrics metrics = new WorkerMetrics(schedulerName + "-" + index, executor);
+		workers.put(metrics, Boolean.TRUE);
+		return new InstrumentedScheduledExecutorService(executor, metrics, workers::remove);
+	}
+
+	@Override
+	public List<WorkerSnapshot> getWorkers() {
+		return snapshot();
+	}
+
+	/**
+	 * Um snapshot por worker ativo, ordenado pelo nome.
+	 */
+	public List<WorkerSnapshot> snapshot() {
+		List<WorkerSnapshot> snapshots = new ArrayList<>();
+		for (WorkerMetrics worker : workers.keySet()) {
+			snapshots.add(worker.snapshot());
+		}
+		snapshots.sort((a, b) -> a.getWorker().compareTo(b.getWorker()));
+		return snapshots;
+	}
+
+	@Override
+	public String getReport() {
+		return snapshot().stream()
+				.map(WorkerSnapshot::toString)
+				.collect(Collectors.joining(System.lineSeparator()));
+	}
+
+	@Override
+	public void reset() {
+		workers.keySet().forEach(WorkerMetrics::reset);
+	}
+
+	private void registerMBean() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (!server.isRegistered(name)) {
+				server.registerMBean(this, name);
+			}
+		} catch (JMException e) {
+			log.warn("Could not register {}", OBJECT_NAME, e);
+		}
+	}
+
+	private void unregisterMBean() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+		} catch (JMException e) {
+			log.warn("Could not unregister {}", OBJECT_NAME, e);
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package academy.devdojo.reactive.scheduler;
+
+import java.util.List;
+
+public interface SchedulerMetricsMXBean {
+
+	List<WorkerSnapshot> getWorkers();
+
+	String getReport();
+
+	void reset();
+}
@@ -0,0 +1,26 @@
+package academy.devdojo.reactive.scheduler;
+
+/**
+ * Nomes das threads dos schedulers, usados para agrupar medidas por pool no
+ * {@link academy.devdojo.reactive.blocking.BlockingSampler} e no
+ * {@link academy.devdojo.reactive.profile.OperatorProfiler}.
+ */
+public final class SchedulerThreads {
+
+	private SchedulerThreads() {
+	}
+
+	/**
+	 * "parallel-3" vira "parallel": as threads de um scheduler do Reactor terminam com o indice.
+	 */
+	public static String pool(String threadName) {
+		int end = threadName.length();
+		while (end > 0 && Character.isDigit(threadName.charAt(end - 1))) {
+			end--;
+		}
+		if (end < threadName.length() && end > 0 && threadName.charAt(end - 1) == '-') {
+			return threadName.substring(0, end - 1);
+		}
+		return threadName;
+	}
+}
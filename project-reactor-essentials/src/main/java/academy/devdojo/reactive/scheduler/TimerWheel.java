@@ -0,0 +1,182 @@
+package academy.devdojo.reactive.scheduler;
+
+import java.util.function.Consumer;
+
+/**
+ * Roda de timers hierarquica. O nivel {@code k} tem slots de {@code wheelSize^k} ticks; um timer
+ * entra no nivel mais baixo que alcanca o prazo dele e desce de nivel (cascata) quando o tick
+ * chega no inicio do slot. Insercao e remocao sao O(1): cada slot eh uma lista duplamente ligada.
+ * <p>
+ * Nao eh thread-safe: so a thread da roda mexe aqui.
+ */
+final class TimerWheel {
+
+	private final int bits;
+	private final int mask;
+	private final int levels;
+	private final Bucket[][] buckets;
+
+	private long tick;
+	private int size;
+
+	TimerWheel(int wheelSize, int levels) {
+		this.bits = Integer.numberOfTrailingZeros(wheelSize);
+		this.mask = wheelSize - 1;
+		this.levels = levels;
+		this.buckets = new Bucket[levels][wheelSize];
+		for (Bucket[] level : buckets) {
+			for (int i = 0; i < level.length; i++) {
+				level[i] = new Bucket();
+			}
+		}
+	}
+
+	/**
+	 * Ultimo tick processado.
+	 */
+	long tick() {
+		return tick;
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @return false se o prazo ja chegou: o timer nao entra na roda e deve vencer agora
+	 */
+	boolean insert(WheelTimer timer) {
+		long deadline = timer.deadlineTick;
+		if (deadline <= tick) {
+			return false;
+		}
+		int level = 0;
+		int shift = 0;
+		while (level < levels - 1 && (deadline >>> shift) - (tick >>> shift) > mask) {
+			level++;
+			shift += bits;
+		}
+		long slot = deadline >>> shift;
+		long current = tick >>> shift;
+		if (slot - current > mask) {
+			// alem do alcance do ultimo nivel: fica no slot mais distante e eh recalculado na cascata
+			slot = current + mask;
+		}
+		buckets[level][(int) slot & mask].add(timer);
+		size++;
+		return true;
+	}
+
+	void remove(WheelTimer timer) {
+		Bucket bucket = timer.bucket;
+		if (bucket != null) {
+			bucket.remove(timer);
+			size--;
+		}
+	}
+
+	/**
+	 * Avanca ate {@code target}, descendo os niveis de cima e entregando os timers vencidos em ordem
+	 * de tick. Timers cancelados que ainda estao na roda sao descartados.
+	 */
+	void advance(long target, Consumer<WheelTimer> expired) {
+		while (tick < target) {
+			long t = ++tick;
+			int top = 0;
+			while (top < levels - 1 && (t & ((1L << (bits * (top + 1))) - 1)) == 0) {
+				top++;
+			}
+			for (int level = top; level >= 1; level--) {
+				WheelTimer timer = buckets[level][(int) (t >>> (bits * level)) & mask].detach();
+				while (timer != null) {
+					WheelTimer next = timer.next;
+					timer.next = null;
+					size--;
+					if (!timer.isCancelled() && !insert(timer)) {
+						expired.accept(timer);
+					}
+					timer = next;
+				}
+			}
+			WheelTimer timer = buckets[0][(int) t & mask].detach();
+			while (timer != null) {
+				WheelTimer next = timer.next;
+				timer.next = null;
+				size--;
+				if (!timer.isCancelled()) {
+					expired.accept(timer);
+				}
+				timer = next;
+			}
+		}
+	}
+
+	/**
+	 * Esvazia a roda entregando todos os timers que ainda estao nela, usado no dispose do scheduler.
+	 */
+	void clear(Consumer<WheelTimer> removed) {
+		for (Bucket[] level : buckets) {
+			for (Bucket bucket : level) {
+				WheelTimer timer = bucket.detach();
+				while (timer != null) {
+					WheelTimer next = timer.next;
+					timer.next = null;
+					removed.accept(timer);
+					timer = next;
+				}
+			}
+		}
+		size = 0;
+	}
+
+	/**
+	 * Fila FIFO: timers do mesmo tick vencem na ordem em que foram agendados.
+	 */
+	static final class Bucket {
+
+		private WheelTimer head;
+		private WheelTimer tail;
+
+		void add(WheelTimer timer) {
+			timer.bucket = this;
+			timer.next = null;
+			timer.prev = tail;
+			if (tail != null) {
+				tail.next = timer;
+			} else {
+				head = timer;
+			}
+			tail = timer;
+		}
+
+		void remove(WheelTimer timer) {
+			if (timer.prev != null) {
+				timer.prev.next = timer.next;
+			} else {
+				head = timer.next;
+			}
+			if (timer.next != null) {
+				timer.next.prev = timer.prev;
+			} else {
+				tail = timer.prev;
+			}
+			timer.prev = null;
+			timer.next = null;
+			timer.bucket = null;
+		}
+
+		/**
+		 * Esvazia o slot e devolve a lista, ligada pelo {@code next}, ja fora de qualquer bucket.
+		 */
+		WheelTimer detach() {
+			WheelTimer first = head;
+			head = null;
+			tail = null;
+			for (WheelTimer timer = first; timer != null; timer = timer.next) {
+				timer.bucket = null;
+				timer.prev = null;
+			}
+			return first;
+		}
+	}
+}
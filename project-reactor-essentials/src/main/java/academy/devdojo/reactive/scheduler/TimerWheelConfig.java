@@ -0,0 +1,49 @@
+package academy.devdojo.reactive.scheduler;
+
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Configuracao do {@link HashedWheelScheduler}. {@code tickDuration} eh a resolucao dos timers: um
+ * delay eh arredondado para cima ate o proximo tick. Cada nivel tem {@code wheelSize} slots
+ * (potencia de 2) e cobre {@code wheelSize} vezes o nivel de baixo, entao o alcance sem recalculo
+ * eh {@code tickDuration * wheelSize^levels}. {@code batchSize} eh quantos timers vencidos vao
+ * juntos para uma thread do scheduler de execucao.
+ */
+@Value
+@Builder
+public class TimerWheelConfig {
+
+	@Builder.Default
+	Duration tickDuration = Duration.ofMillis(1);
+
+	@Builder.Default
+	int wheelSize = 256;
+
+	@Builder.Default
+	int levels = 4;
+
+	@Builder.Default
+	int batchSize = 256;
+
+	public static TimerWheelConfig defaults() {
+		return builder().build();
+	}
+
+	void validate() {
+		if (tickDuration == null || tickDuration.toNanos() < 1000) {
+			throw new IllegalArgumentException("tickDuration must be at least 1 microsecond, got " + tickDuration);
+		}
+		if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+			throw new IllegalArgumentException("wheelSize must be a power of two >= 2, got " + wheelSize);
+		}
+		if (levels < 1 || Integer.numberOfTrailingZeros(wheelSize) * (levels - 1) > 62) {
+			throw new IllegalArgumentException("levels must be >= 1 and fit in 62 bits of ticks, got " + levels);
+		}
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("batchSize must be positive, got " + batchSize);
+		}
+	}
+}
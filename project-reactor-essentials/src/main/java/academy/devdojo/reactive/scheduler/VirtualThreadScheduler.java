@@ -0,0 +1,422 @@
+package academy.devdojo.reactive.scheduler;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.Exceptions;
+import reactor.core.Scannable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Scheduler que roda cada task em uma virtual thread, para chamadas bloqueantes como o
+ * Files.readAllLines do OperatorsTest.subscribeOnIO. Diferente do boundedElastic nao ha teto de
+ * threads nem fila: uma task bloqueada so ocupa a virtual thread, nao a thread do carrier.
+ * <p>
+ * As virtual threads nao sao NonBlocking, entao o BlockHound permite bloquear nelas e continua
+ * acusando bloqueios no parallel() e no single().
+ */
+public final class VirtualThreadScheduler implements Scheduler, Scannable {
+
+	@Nullable
+	private static final MethodHandle REACTOR_HANDLE_ERROR = findReactorHandleError();
+
+	private final String name;
+	private final ThreadFactory threadFactory;
+	private final Set<Thread> active = ConcurrentHashMap.newKeySet();
+
+	private volatile boolean disposed;
+
+	private VirtualThreadScheduler(String name) {
+		this.name = name;
+		this.threadFactory = Thread.ofVirtual().name(name + "-", 1).factory();
+	}
+
+	public static VirtualThreadScheduler create(String name) {
+		return new VirtualThreadScheduler(name);
+	}
+
+	@Override
+	public Disposable schedule(Runnable task) {
+		return start(task, 0, -1);
+	}
+
+	@Override
+	public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+		return start(task, unit.toNanos(delay), -1);
+	}
+
+	@Override
+	public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+		return start(task, unit.toNanos(initialDelay), unit.toNanos(period));
+	}
+
+	private VirtualTask start(Runnable task, long delayNanos, long periodNanos) {
+		if (disposed) {
+			throw Exceptions.failWithRejected();
+		}
+		VirtualTask virtualTask = new VirtualTask(task, delayNanos, periodNanos);
+		Thread thread = threadFactory.newThread(virtualTask);
+		virtualTask.thread = thread;
+		// registrada antes do start: o activeCount e o dispose ja enxergam a task agendada
+		active.add(thread);
+		if (disposed) {
+			active.remove(thread);
+			throw Exceptions.failWithRejected();
+		}
+		try {
+			thread.start();
+		} catch (RuntimeException | Error e) {
+			active.remove(thread);
+			throw e;
+		}
+		return virtualTask;
+	}
+
+	@Override
+	public Worker createWorker() {
+		return new VirtualWorker();
+	}
+
+	/**
+	 * Threads com task em andamento (inclusive as que estao esperando um delay).
+	 */
+	public int activeCount() {
+		return active.size();
+	}
+
+	@Override
+	public void dispose() {
+		disposed = true;
+		active.forEach(Thread::interrupt);
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return disposed;
+	}
+
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.NAME) {
+			return toString();
+		}
+		if (key == Attr.TERMINATED || key == Attr.CANCELLED) {
+			return disposed;
+		}
+		return null;
+	}
+
+	@Override
+	public String toString() {
+		return "virtualThread(\"" + name + "\")";
+	}
+
+	/**
+	 * Mesmo caminho dos schedulers do Reactor: o Schedulers.handleError chama o
+	 * UncaughtExceptionHandler da thread (ou loga) e depois o hook do
+	 * {@link Schedulers#onHandleError}. No Reactor 3.3 ele eh package-private, entao eh achado uma
+	 * vez por reflexao; se nao der (reactor-core no module path) so o UncaughtExceptionHandler eh
+	 * chamado.
+	 */
+	private static void handleError(Throwable error) {
+		Exceptions.throwIfJvmFatal(error);
+		MethodHandle handle = REACTOR_HANDLE_ERROR;
+		if (handle != null) {
+			try {
+				handle.invokeExact(error);
+			} catch (Throwable e) {
+				throw Exceptions.propagate(e);
+			}
+			return;
+		}
+		Thread current = Thread.currentThread();
+		current.getUncaughtExceptionHandler().uncaughtException(current, Exceptions.unwrap(error));
+	}
+
+	@Nullable
+	private static MethodHandle findReactorHandleError() {
+		try {
+			Method method = Schedulers.class.getDeclaredMethod("handleError", Throwable.class);
+			method.setAccessible(true);
+			return MethodHandles.lookup().unreflect(method);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	private final class VirtualTask implements Runnable, Disposable {
+
+		private final Runnable task;
+		private final long delayNanos;
+		private final long periodNanos;
+
+		private volatile Thread thread;
+		private volatile boolean cancelled;
+		private volatile boolean done;
+
+		VirtualTask(Runnable task, long delayNanos, long periodNanos) {
+			this.task = task;
+			this.delayNanos = delayNanos;
+			this.periodNanos = periodNanos;
+		}
+
+		@Override
+		public void run() {
+			try {
+				long due = System.nanoTime() + delayNanos;
+				do {
+					long wait = due - System.nanoTime();
+					if (wait > 0) {
+						TimeUnit.NANOSECONDS.sleep(wait);
+					}
+					if (cancelled) {
+						return;
+					}
+					task.run();
+					due += periodNanos;
+				} while (periodNanos >= 0 && !cancelled);
+			} catch (InterruptedException e) {
+				// cancelado ou scheduler descartado
+			} catch (Throwable error) {
+				handleError(error);
+			} finally {
+				// uma task de uma vez termina aqui; a periodica so sai do loop cancelada ou com erro
+				done = true;
+				active.remove(Thread.currentThread());
+			}
+		}
+
+		@Override
+		public void dispose() {
+			cancelled = true;
+			Thread t = thread;
+			if (t != null && t != Thread.currentThread()) {
+				t.interrupt();
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return cancelled || done;
+		}
+	}
+
+	/**
+	 * Worker serial: as tasks vao para uma fila MPSC que eh drenada por uma virtual thread
+	 * de cada vez, mantendo a ordem que o contrato do Worker exige.
+	 */
+	private final class VirtualWorker implements Worker, Runnable {
+
+		private final Queue<WorkerTask> queue = Queues.<WorkerTask>unboundedMultiproducer().get();
+		private final AtomicInteger wip = new AtomicInteger();
+		private final Disposable.Composite delayed = Disposables.composite();
+
+		private volatile boolean disposed;
+		private volatile Thread drainer;
+
+		@Override
+		public Disposable schedule(Runnable task) {
+			if (disposed || VirtualThreadScheduler.this.disposed) {
+				throw Exceptions.failWithRejected();
+			}
+			WorkerTask workerTask = new WorkerTask(task);
+			queue.offer(workerTask);
+			if (wip.getAndIncrement() == 0) {
+				start(this, 0, -1);
+			}
+			return workerTask;
+		}
+
+		@Override
+		public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+			if (delay <= 0) {
+				return schedule(task);
+			}
+			return startDelayed(new DelayedTask(this, task, false), unit.toNanos(delay), -1);
+		}
+
+		@Override
+		public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+			return startDelayed(new DelayedTask(this, task, true), unit.toNanos(initialDelay), unit.toNanos(period));
+		}
+
+		private Disposable startDelayed(DelayedTask task, long delayNanos, long periodNanos) {
+			if (!delayed.add(task)) {
+				throw Exceptions.failWithRejected();
+			}
+			try {
+				task.setTimer(start(task, delayNanos, periodNanos));
+			} catch (RuntimeException e) {
+				delayed.remove(task);
+				throw e;
+			}
+			return task;
+		}
+
+		@Override
+		public void run() {
+			drainer = Thread.currentThread();
+			int missed = 1;
+			try {
+				for (;;) {
+					WorkerTask task;
+					while ((task = queue.poll()) != null) {
+						if (disposed) {
+							queue.clear();
+							return;
+						}
+						task.run();
+					}
+					missed = wip.addAndGet(-missed);
+					if (missed == 0) {
+						return;
+					}
+				}
+			} finally {
+				drainer = null;
+			}
+		}
+
+		@Override
+		public void dispose() {
+			disposed = true;
+			delayed.dispose();
+			queue.clear();
+			Thread t = drainer;
+			if (t != null && t != Thread.currentThread()) {
+				t.interrupt();
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return disposed;
+		}
+	}
+
+	/**
+	 * Timer de uma task atrasada do worker. Quando dispara, poe a task na fila do worker e, se nao
+	 * for periodica, sai do {@code delayed}; o dispose cancela o timer e a task que ja esta na fila.
+	 */
+	private static final class DelayedTask implements Runnable, Disposable {
+
+		private final VirtualWorker worker;
+		private final Runnable task;
+		private final boolean periodic;
+
+		private volatile Disposable timer;
+		private volatile WorkerTask queued;
+		private volatile boolean cancelled;
+
+		DelayedTask(VirtualWorker worker, Runnable task, boolean periodic) {
+			this.worker = worker;
+			this.task = task;
+			this.periodic = periodic;
+		}
+
+		void setTimer(Disposable timer) {
+			this.timer = timer;
+			if (cancelled) {
+				timer.dispose();
+			}
+		}
+
+		@Override
+		public void run() {
+			if (cancelled) {
+				return;
+			}
+			WorkerTask last = queued;
+			// uma execucao pendente por vez: se a anterior ainda esta na fila o tick eh pulado
+			if (last != null && !last.isDisposed()) {
+				return;
+			}
+			WorkerTask next;
+			try {
+				next = (WorkerTask) worker.schedule(task);
+			} catch (RejectedExecutionException e) {
+				// o worker foi descartado enquanto o timer esperava
+				dispose();
+				return;
+			}
+			queued = next;
+			if (cancelled) {
+				next.dispose();
+			} else if (!periodic) {
+				worker.delayed.remove(this);
+			}
+		}
+
+		@Override
+		public void dispose() {
+			cancelled = true;
+			worker.delayed.remove(this);
+			Disposable t = timer;
+			if (t != null) {
+				t.dispose();
+			}
+			WorkerTask q = queued;
+			if (q != null) {
+				q.dispose();
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			if (cancelled) {
+				return true;
+			}
+			WorkerTask q = queued;
+			return !periodic && q != null && q.isDisposed();
+		}
+	}
+
+	private static final class WorkerTask implements Runnable, Disposable {
+
+		private final Runnable task;
+
+		private volatile boolean cancelled;
+		private volatile boolean done;
+
+		WorkerTask(Runnable task) {
+			this.task = task;
+		}
+
+		@Override
+		public void run() {
+			try {
+				if (!cancelled) {
+					task.run();
+				}
+			} catch (Throwable error) {
+				handleError(error);
+			} finally {
+				done = true;
+			}
+		}
+
+		@Override
+		public void dispose() {
+			cancelled = true;
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return cancelled || done;
+		}
+	}
+}
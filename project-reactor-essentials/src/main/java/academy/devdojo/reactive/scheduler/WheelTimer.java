@@ -0,0 +1,85 @@
+package academy.devdojo.reactive.scheduler;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import reactor.core.Disposable;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Um timer do {@link HashedWheelScheduler}: o no da lista do slot e o Disposable devolvido para quem
+ * agendou. O cancelamento so marca o estado e avisa a roda, que tira o no do slot no proximo tick.
+ */
+final class WheelTimer implements Runnable, Disposable {
+
+	private static final int PENDING = 0;
+	private static final int CANCELLED = 1;
+	private static final int DONE = 2;
+
+	private static final AtomicIntegerFieldUpdater<WheelTimer> STATE =
+			AtomicIntegerFieldUpdater.newUpdater(WheelTimer.class, "state");
+
+	private final HashedWheelScheduler scheduler;
+	@Nullable
+	final HashedWheelScheduler.WheelWorker owner;
+	private final Runnable task;
+	private final long periodTicks;
+
+	// escrito por quem agenda antes de entrar na fila de pendentes, depois so pela roda
+	long deadlineTick;
+
+	// so a thread da roda mexe nos links
+	WheelTimer prev;
+	WheelTimer next;
+	TimerWheel.Bucket bucket;
+
+	private volatile int state;
+
+	WheelTimer(HashedWheelScheduler scheduler, @Nullable HashedWheelScheduler.WheelWorker owner, Runnable task,
+			long deadlineTick, long periodTicks) {
+		this.scheduler = scheduler;
+		this.owner = owner;
+		this.task = task;
+		this.deadlineTick = deadlineTick;
+		this.periodTicks = periodTicks;
+	}
+
+	@Override
+	public void run() {
+		if (state != PENDING) {
+			return;
+		}
+		try {
+			task.run();
+		} catch (Throwable error) {
+			// como no ScheduledExecutorService, um erro encerra as proximas execucoes
+			STATE.compareAndSet(this, PENDING, DONE);
+			HashedWheelScheduler.handleError(error);
+			return;
+		}
+		if (periodTicks > 0) {
+			if (state == PENDING) {
+				// taxa fixa: conta do prazo anterior, e se ja passou vence no proximo tick
+				deadlineTick += periodTicks;
+				scheduler.reschedule(this);
+			}
+		} else {
+			STATE.compareAndSet(this, PENDING, DONE);
+		}
+	}
+
+	boolean isCancelled() {
+		return state == CANCELLED;
+	}
+
+	@Override
+	public void dispose() {
+		if (STATE.compareAndSet(this, PENDING, CANCELLED)) {
+			scheduler.cancelled(this);
+		}
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return state != PENDING;
+	}
+}
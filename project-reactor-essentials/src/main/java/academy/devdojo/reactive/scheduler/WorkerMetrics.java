@@ -0,0 +1,82 @@
+package academy.devdojo.reactive.scheduler;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Histogramas de um worker. Gravar eh wait-free (Recorder); o snapshot junta os intervalos
+ * em histogramas acumulados.
+ */
+final class WorkerMetrics {
+
+	private static final int SIGNIFICANT_DIGITS = 2;
+
+	private final String name;
+	private final BlockingQueue<Runnable> queue;
+	private final AtomicInteger pending = new AtomicInteger();
+
+	private final Recorder waitRecorder = new Recorder(SIGNIFICANT_DIGITS);
+	private final Recorder runRecorder = new Recorder(SIGNIFICANT_DIGITS);
+	private final Recorder depthRecorder = new Recorder(SIGNIFICANT_DIGITS);
+
+	private Histogram waitTotal = new Histogram(SIGNIFICANT_DIGITS);
+	private Histogram runTotal = new Histogram(SIGNIFICANT_DIGITS);
+	private Histogram depthTotal = new Histogram(SIGNIFICANT_DIGITS);
+
+	WorkerMetrics(String name, ScheduledExecutorService executor) {
+		this.name = name;
+		this.queue = executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executor).getQueue() : null;
+	}
+
+	String name() {
+		return name;
+	}
+
+	void onEnqueue() {
+		pending.incrementAndGet();
+		depthRecorder.recordValue(queueDepth());
+	}
+
+	void onDequeue() {
+		pending.decrementAndGet();
+	}
+
+	void onStart(long waitNanos) {
+		waitRecorder.recordValue(Math.max(0, waitNanos));
+	}
+
+	void onRun(long runNanos) {
+		runRecorder.recordValue(Math.max(0, runNanos));
+	}
+
+	/**
+	 * Tasks aguardando: a fila do executor quando disponivel, senao as tasks aceitas que ainda nao
+	 * comecaram nem foram canceladas.
+	 */
+	int queueDepth() {
+		return queue != null ? queue.size() : pending.get();
+	}
+
+	synchronized WorkerSnapshot snapshot() {
+		waitTotal.add(waitRecorder.getIntervalHistogram());
+		runTotal.add(runRecorder.getIntervalHistogram());
+		depthTotal.add(depthRecorder.getIntervalHistogram());
+		return new WorkerSnapshot(name, queueDepth(), depthTotal.getMaxValue(), runTotal.getTotalCount(),
+				waitTotal.getValueAtPercentile(50), waitTotal.getValueAtPercentile(99), waitTotal.getMaxValue(),
+				runTotal.getValueAtPercentile(50), runTotal.getValueAtPercentile(99), runTotal.getMaxValue());
+	}
+
+	synchronized void reset() {
+		waitRecorder.reset();
+		runRecorder.reset();
+		depthRecorder.reset();
+		waitTotal = new Histogram(SIGNIFICANT_DIGITS);
+		runTotal = new Histogram(SIGNIFICANT_DIGITS);
+		depthTotal = new Histogram(SIGNIFICANT_DIGITS);
+	}
+}
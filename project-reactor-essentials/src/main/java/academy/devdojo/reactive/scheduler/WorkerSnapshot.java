@@ -0,0 +1,35 @@
+package academy.devdojo.reactive.scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.Value;
+
+/**
+ * Metricas acumuladas de um worker (um ScheduledExecutorService) desde o install ou o ultimo reset.
+ * Tempos em nanossegundos; wait eh do enqueue (ou do horario previsto, em tasks com delay) ate o inicio.
+ */
+@Value
+public class WorkerSnapshot {
+	String worker;
+	int queueDepth;
+	long maxQueueDepth;
+	long completed;
+	long waitP50Nanos;
+	long waitP99Nanos;
+	long waitMaxNanos;
+	long runP50Nanos;
+	long runP99Nanos;
+	long runMaxNanos;
+
+	@Override
+	public String toString() {
+		return String.format("%s queue=%d (max %d) completed=%d wait p50=%dus p99=%dus max=%dus run p50=%dus p99=%dus max=%dus",
+				worker, queueDepth, maxQueueDepth, completed,
+				micros(waitP50Nanos), micros(waitP99Nanos), micros(waitMaxNanos),
+				micros(runP50Nanos), micros(runP99Nanos), micros(runMaxNanos));
+	}
+
+	private static long micros(long nanos) {
+		return TimeUnit.NANOSECONDS.toMicros(nanos);
+	}
+}
@@ -0,0 +1,317 @@
+package academy.devdojo.reactive.spill;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+import reactor.core.Exceptions;
+
+/**
+ * Fila FIFO que guarda ate {@code memoryCapacity} elementos no heap e grava o excedente em
+ * segmentos append-only mapeados em memoria. Os elementos do heap sao sempre mais antigos que
+ * os do disco: enquanto houver algo no disco os novos tambem vao para o disco, entao a ordem se
+ * mantem sem reordenar nada na leitura.
+ * <p>
+ * Cada registro eh um int com o tamanho seguido dos bytes do {@link SpillSerializer}. Um segmento
+ * lido ate o fim eh apagado, menos o ultimo, que fica reservado para o proximo burst e evita
+ * criar arquivo a cada vez que o consumidor alcanca o produtor. O heap fica constante: o que
+ * cresce eh o page cache do sistema.
+ * <p>
+ * Apagar um segmento fecha o canal e remove o arquivo, mas o MappedByteBuffer so eh desmapeado
+ * quando o GC o coleta, e ate la o espaco em disco continua ocupado (no Linux o arquivo ja nao
+ * aparece no diretorio). Num burst longo o disco so volta depois de um GC; o segmento reservado
+ * nao tem esse custo porque eh reaproveitado sem ser apagado.
+ * <p>
+ * Os metodos sao sincronizados (um produtor e um consumidor em threads diferentes) e erros de I/O
+ * saem como excecao nao checada pelo {@link Exceptions#propagate}. {@link #iterator()} percorre
+ * uma copia. {@link #close()} apaga os arquivos; depois disso {@code offer} retorna false.
+ */
+public final class DiskSpillQueue<T> extends AbstractQueue<T> implements AutoCloseable {
+
+	private static final int HEADER = Integer.BYTES;
+
+	private final SpillSerializer<T> serializer;
+	private final SpillConfig config;
+	private final ArrayDeque<T> memory;
+	private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+
+	private Segment spare;
+	private long spilled;
+	private long totalSpilled;
+	private int segmentsCreated;
+	private boolean closed;
+
+	private DiskSpillQueue(SpillSerializer<T> serializer, SpillConfig config) {
+		this.serializer = serializer;
+		this.config = config;
+		this.memory = new ArrayDeque<>(Math.min(config.getMemoryCapacity(), 1024));
+	}
+
+	public static <T> DiskSpillQueue<T> create(SpillSerializer<T> serializer, SpillConfig config) {
+		config.validate();
+		return new DiskSpillQueue<>(Objects.requireNonNull(serializer, "serializer"), config);
+	}
+
+	public static <T> DiskSpillQueue<T> create(SpillSerializer<T> serializer) {
+		return create(serializer, SpillConfig.defaults());
+	}
+
+	@Override
+	public synchronized boolean offer(T value) {
+		Objects.requireNonNull(value, "value");
+		if (closed) {
+			return false;
+		}
+		if (segments.isEmpty() && memory.size() < config.getMemoryCapacity()) {
+			memory.offer(value);
+			return true;
+		}
+		Segment tail = segments.peekLast();
+		if (tail == null || !tail.append(value, serializer)) {
+			tail = nextSegment();
+			if (!tail.append(value, serializer)) {
+				release(segments.pollLast());
+				throw new IllegalArgumentException("element does not fit in a segment of " + config.getSegmentSize() + " bytes");
+			}
+		}
+		spilled++;
+		totalSpilled++;
+		return true;
+	}
+
+	@Override
+	public synchronized T poll() {
+		T value = memory.poll();
+		if (value != null) {
+			return value;
+		}
+		Segment head = segments.peekFirst();
+		if (head == null) {
+			return null;
+		}
+		value = head.read(serializer);
+		spilled--;
+		if (head.isDrained()) {
+			release(segments.pollFirst());
+		}
+		return value;
+	}
+
+	@Override
+	public synchronized T peek() {
+		T value = memory.peek();
+		if (value != null) {
+			return value;
+		}
+		Segment head = segments.peekFirst();
+		return head == null ? null : head.peek(serializer);
+	}
+
+	@Override
+	public synchronized int size() {
+		return (int) Math.min(Integer.MAX_VALUE, memory.size() + spilled);
+	}
+
+	@Override
+	public synchronized boolean isEmpty() {
+		return memory.isEmpty() && spilled == 0;
+	}
+
+	@Override
+	public synchronized void clear() {
+		memory.clear();
+		while (!segments.isEmpty()) {
+			release(segments.pollFirst());
+		}
+		spilled = 0;
+	}
+
+	/**
+	 * Iterador sobre uma copia do conteudo atual, heap e disco, do mais antigo para o mais novo.
+	 * Le todos os segmentos, entao serve para toString, contains e testes, nao para consumir a
+	 * fila; {@code remove} pelo iterador nao eh suportado.
+	 */
+	@Override
+	public synchronized Iterator<T> iterator() {
+		List<T> snapshot = new ArrayList<>(size());
+		snapshot.addAll(memory);
+		for (Segment segment : segments) {
+			segment.copyTo(snapshot, serializer);
+		}
+		return Collections.unmodifiableList(snapshot).iterator();
+	}
+
+	/**
+	 * Elementos que estao no disco agora.
+	 */
+	public synchronized long spilledElements() {
+		return spilled;
+	}
+
+	/**
+	 * Elementos que ja passaram pelo disco desde a criacao da fila.
+	 */
+	public synchronized long totalSpilled() {
+		return totalSpilled;
+	}
+
+	/**
+	 * Segmentos com dados, sem contar o reservado.
+	 */
+	public synchronized int segmentCount() {
+		return segments.size();
+	}
+
+	public synchronized int segmentsCreated() {
+		return segmentsCreated;
+	}
+
+	@Override
+	public synchronized void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		clear();
+		if (spare != null) {
+			spare.delete();
+			spare = null;
+		}
+	}
+
+	private Segment nextSegment() {
+		Segment segment = spare;
+		spare = null;
+		if (segment == null) {
+			try {
+				segment = Segment.create(config.getDirectory(), config.getSegmentSize());
+			} catch (IOException e) {
+				throw Exceptions.propagate(e);
+			}
+			segmentsCreated++;
+		}
+		segments.offerLast(segment);
+		return segment;
+	}
+
+	private void release(Segment segment) {
+		if (spare == null && !closed) {
+			segment.reset();
+			spare = segment;
+		} else {
+			segment.delete();
+		}
+	}
+
+	private static final class Segment {
+
+		private final Path path;
+		private final FileChannel channel;
+		private final MappedByteBuffer buffer;
+		private final ByteBuffer writeView;
+		private final ByteBuffer readView;
+		private final int capacity;
+
+		private int writePosition;
+		private int readPosition;
+
+		private Segment(Path path, FileChannel channel, MappedByteBuffer buffer, int capacity) {
+			this.path = path;
+			this.channel = channel;
+			this.buffer = buffer;
+			// visoes reaproveitadas para nao criar um slice por elemento
+			this.writeView = buffer.duplicate();
+			this.readView = buffer.duplicate();
+			this.capacity = capacity;
+		}
+
+		static Segment create(Path directory, int capacity) throws IOException {
+			Path path = Files.createTempFile(directory, "reactor-spill-", ".seg");
+			FileChannel channel = null;
+			try {
+				channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+				return new Segment(path, channel, buffer, capacity);
+			} catch (IOException | RuntimeException e) {
+				if (channel != null) {
+					channel.close();
+				}
+				Files.deleteIfExists(path);
+				throw e;
+			}
+		}
+
+		<T> boolean append(T value, SpillSerializer<T> serializer) {
+			int start = writePosition;
+			int dataStart = start + HEADER;
+			if (dataStart >= capacity) {
+				return false;
+			}
+			ByteBuffer target = writeView;
+			target.limit(capacity).position(dataStart);
+			try {
+				serializer.write(value, target);
+			} catch (BufferOverflowException e) {
+				return false;
+			}
+			int end = target.position();
+			buffer.putInt(start, end - dataStart);
+			writePosition = end;
+			return true;
+		}
+
+		<T> T read(SpillSerializer<T> serializer) {
+			T value = peek(serializer);
+			readPosition += HEADER + buffer.getInt(readPosition);
+			return value;
+		}
+
+		<T> T peek(SpillSerializer<T> serializer) {
+			return readAt(readPosition, serializer);
+		}
+
+		<T> void copyTo(List<T> target, SpillSerializer<T> serializer) {
+			for (int position = readPosition; position < writePosition; position += HEADER + buffer.getInt(position)) {
+				target.add(readAt(position, serializer));
+			}
+		}
+
+		private <T> T readAt(int position, SpillSerializer<T> serializer) {
+			int dataStart = position + HEADER;
+			ByteBuffer source = readView;
+			source.limit(dataStart + buffer.getInt(position)).position(dataStart);
+			return serializer.read(source);
+		}
+
+		boolean isDrained() {
+			return readPosition == writePosition;
+		}
+
+		void reset() {
+			readPosition = 0;
+			writePosition = 0;
+		}
+
+		void delete() {
+			// o mapeamento so eh liberado pelo GC: o arquivo some do diretorio na hora, o espaco nao
+			try {
+				channel.close();
+				Files.deleteIfExists(path);
+			} catch (IOException e) {
+				throw Exceptions.propagate(e);
+			}
+		}
+	}
+}
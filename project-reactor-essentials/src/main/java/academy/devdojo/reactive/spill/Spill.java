@@ -0,0 +1,54 @@
+package academy.devdojo.reactive.spill;
+
+import java.util.Queue;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import academy.devdojo.reactive.lift.Lifts;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Buffer de backpressure que transborda para o disco. Um produtor rapido na frente de um estagio
+ * lento fica com o heap constante: ate {@code memoryCapacity} elementos no heap, o resto em
+ * segmentos mapeados que sao lidos em ordem quando a demanda volta.
+ * <p>
+ * {@code Flux.range(1, n).transform(Spill.publishOn(Schedulers.boundedElastic(), SpillSerializer.ints(), config))}
+ * <p>
+ * A fila tambem serve de spill do flatMapSequential limitado:
+ * {@code ReorderPolicy.builder().spillQueue(() -> DiskSpillQueue.create(serializer, config))}.
+ * <p>
+ * Abrir um segmento cria e mapeia um arquivo na thread do produtor, entao com o BlockHound ligado
+ * o produtor nao pode estar numa thread non-blocking (parallel, single).
+ */
+public final class Spill {
+
+	private Spill() {
+	}
+
+	public static <T> Function<Flux<T>, Flux<T>> onBackpressureSpill(SpillSerializer<T> serializer, SpillConfig config) {
+		config.validate();
+		return onBackpressureBuffer(() -> DiskSpillQueue.create(serializer, config));
+	}
+
+	public static <T> Function<Flux<T>, Flux<T>> onBackpressureSpill(SpillSerializer<T> serializer) {
+		return onBackpressureSpill(serializer, SpillConfig.defaults());
+	}
+
+	/**
+	 * publishOn que nao segura o produtor nem acumula no heap: o publishOn pede o prefetch dele e o
+	 * excedente fica no buffer com spill.
+	 */
+	public static <T> Function<Flux<T>, Flux<T>> publishOn(Scheduler scheduler, SpillSerializer<T> serializer,
+			SpillConfig config) {
+		Function<Flux<T>, Flux<T>> spill = onBackpressureSpill(serializer, config);
+		return flux -> flux.transform(spill).publishOn(scheduler);
+	}
+
+	/**
+	 * onBackpressureBuffer com uma fila nova por assinatura vinda de {@code queueSupplier}.
+	 */
+	public static <T> Function<Flux<T>, Flux<T>> onBackpressureBuffer(Supplier<? extends Queue<T>> queueSupplier) {
+		return Lifts.<T, T>flux((scannable, actual) -> new SpillBufferSubscriber<>(actual, queueSupplier.get()));
+	}
+}
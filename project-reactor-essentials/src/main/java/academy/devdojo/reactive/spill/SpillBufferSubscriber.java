@@ -0,0 +1,236 @@
+package academy.devdojo.reactive.spill;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import org.reactivestreams.Subscription;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Scannable;
+import reactor.core.publisher.Operators;
+import reactor.util.annotation.Nullable;
+import reactor.util.context.Context;
+
+/**
+ * onBackpressureBuffer com a fila escolhida por quem chama: pede tudo ao upstream, guarda na fila
+ * e entrega conforme a demanda do downstream. Erros do upstream esperam a fila esvaziar, como no
+ * publishOn. No termino e no cancelamento o que sobrou na fila vai para o discard e a fila eh
+ * fechada (se for AutoCloseable).
+ */
+final class SpillBufferSubscriber<T> implements CoreSubscriber<T>, Subscription, Scannable {
+
+	private static final AtomicIntegerFieldUpdater<SpillBufferSubscriber> WIP =
+			AtomicIntegerFieldUpdater.newUpdater(SpillBufferSubscriber.class, "wip");
+
+	private static final AtomicLongFieldUpdater<SpillBufferSubscriber> REQUESTED =
+			AtomicLongFieldUpdater.newUpdater(SpillBufferSubscriber.class, "requested");
+
+	private final CoreSubscriber<? super T> actual;
+	private final Queue<T> queue;
+
+	private Subscription upstream;
+	private Throwable error;
+
+	private volatile boolean done;
+	private volatile boolean cancelled;
+	private volatile int wip;
+	private volatile long requested;
+
+	SpillBufferSubscriber(CoreSubscriber<? super T> actual, Queue<T> queue) {
+		this.actual = actual;
+		this.queue = queue;
+	}
+
+	@Override
+	public Context currentContext() {
+		return actual.currentContext();
+	}
+
+	@Override
+	public void onSubscribe(Subscription s) {
+		if (Operators.validate(upstream, s)) {
+			upstream = s;
+			actual.onSubscribe(this);
+			s.request(Long.MAX_VALUE);
+		}
+	}
+
+	@Override
+	public void onNext(T t) {
+		if (done) {
+			Operators.onNextDropped(t, currentContext());
+			return;
+		}
+		boolean accepted;
+		try {
+			accepted = queue.offer(t);
+		} catch (Throwable e) {
+			onError(Operators.onOperatorError(upstream, e, t, currentContext()));
+			return;
+		}
+		if (!accepted) {
+			// a fila so recusa depois de fechada, ou seja, depois do cancelamento
+			Operators.onDiscard(t, currentContext());
+			return;
+		}
+		drain();
+	}
+
+	@Override
+	public void onError(Throwable t) {
+		if (done) {
+			Operators.onErrorDropped(t, currentContext());
+			return;
+		}
+		error = t;
+		done = true;
+		drain();
+	}
+
+	@Override
+	public void onComplete() {
+		if (done) {
+			return;
+		}
+		done = true;
+		drain();
+	}
+
+	@Override
+	public void request(long n) {
+		if (Operators.validate(n)) {
+			Operators.addCap(REQUESTED, this, n);
+			drain();
+		}
+	}
+
+	@Override
+	public void cancel() {
+		if (!cancelled) {
+			cancelled = true;
+			upstream.cancel();
+			if (WIP.getAndIncrement(this) == 0) {
+				release();
+			}
+		}
+	}
+
+	private void drain() {
+		if (WIP.getAndIncrement(this) != 0) {
+			return;
+		}
+		CoreSubscriber<? super T> a = actual;
+		int missed = 1;
+
+		for (;;) {
+			long r = requested;
+			long e = 0L;
+
+			while (e != r) {
+				if (cancelled) {
+					release();
+					return;
+				}
+				boolean d = done;
+				T v;
+				try {
+					v = queue.poll();
+				} catch (Throwable ex) {
+					upstream.cancel();
+					release();
+					a.onError(Operators.onOperatorError(ex, a.currentContext()));
+					return;
+				}
+				boolean empty = v == null;
+				if (d && empty) {
+					terminate(a);
+					return;
+				}
+				if (empty) {
+					break;
+				}
+				a.onNext(v);
+				e++;
+			}
+
+			if (e == r) {
+				if (cancelled) {
+					release();
+					return;
+				}
+				if (done && queue.isEmpty()) {
+					terminate(a);
+					return;
+				}
+			}
+
+			if (e != 0L && r != Long.MAX_VALUE) {
+				REQUESTED.addAndGet(this, -e);
+			}
+
+			missed = WIP.addAndGet(this, -missed);
+			if (missed == 0) {
+				return;
+			}
+		}
+	}
+
+	private void terminate(CoreSubscriber<? super T> a) {
+		release();
+		Throwable t = error;
+		if (t != null) {
+			a.onError(t);
+		} else {
+			a.onComplete();
+		}
+	}
+
+	/**
+	 * No cancelamento (e num poll que falhou) a fila ainda pode ter elementos: passam pelo hook
+	 * de discard antes de fechar. Sem hook no Context o onDiscardQueueWithClear so limpa.
+	 */
+	private void release() {
+		Operators.onDiscardQueueWithClear(queue, currentContext(), null);
+		try {
+			if (queue instanceof AutoCloseable) {
+				((AutoCloseable) queue).close();
+			}
+		} catch (Exception e) {
+			Operators.onErrorDropped(e, currentContext());
+		}
+	}
+
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.PARENT) {
+			return upstream;
+		}
+		if (key == Attr.ACTUAL) {
+			return actual;
+		}
+		if (key == Attr.TERMINATED) {
+			return done && queue.isEmpty();
+		}
+		if (key == Attr.CANCELLED) {
+			return cancelled;
+		}
+		if (key == Attr.ERROR) {
+			return error;
+		}
+		if (key == Attr.BUFFERED) {
+			return queue.size();
+		}
+		if (key == Attr.REQUESTED_FROM_DOWNSTREAM) {
+			return requested;
+		}
+		if (key == Attr.DELAY_ERROR) {
+			return true;
+		}
+		if (key == Attr.PREFETCH) {
+			return Integer.MAX_VALUE;
+		}
+		return null;
+	}
+}
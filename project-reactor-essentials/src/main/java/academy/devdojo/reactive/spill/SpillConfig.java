@@ -0,0 +1,38 @@
+package academy.devdojo.reactive.spill;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Configuracao do {@link DiskSpillQueue}: ate {@code memoryCapacity} elementos ficam no heap, o
+ * resto vai para segmentos de {@code segmentSize} bytes mapeados em {@code directory}.
+ */
+@Value
+@Builder
+public class SpillConfig {
+
+	@Builder.Default
+	Path directory = Paths.get(System.getProperty("java.io.tmpdir"));
+
+	@Builder.Default
+	int memoryCapacity = 256;
+
+	@Builder.Default
+	int segmentSize = 64 * 1024 * 1024;
+
+	public static SpillConfig defaults() {
+		return builder().build();
+	}
+
+	void validate() {
+		if (memoryCapacity < 0) {
+			throw new IllegalArgumentException("memoryCapacity must not be negative, got " + memoryCapacity);
+		}
+		if (segmentSize < 64) {
+			throw new IllegalArgumentException("segmentSize must be at least 64 bytes, got " + segmentSize);
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package academy.devdojo.reactive.spill;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converte elementos para o formato gravado nos segmentos do {@link DiskSpillQueue}.
+ * <p>
+ * {@code write} escreve direto no segmento mapeado, a partir da posicao atual do buffer; se nao
+ * couber deve deixar o {@link java.nio.BufferOverflowException} sair, que a fila abre outro
+ * segmento e tenta de novo. {@code read} recebe o buffer posicionado no registro, com o limite no
+ * fim dele. Os dois buffers sao reaproveitados: use so leitura e escrita relativas e nao guarde
+ * referencia a eles.
+ */
+public interface SpillSerializer<T> {
+
+	void write(T value, ByteBuffer target);
+
+	T read(ByteBuffer source);
+
+	static SpillSerializer<Integer> ints() {
+		return new SpillSerializer<Integer>() {
+			@Override
+			public void write(Integer value, ByteBuffer target) {
+				target.putInt(value);
+			}
+
+			@Override
+			public Integer read(ByteBuffer source) {
+				return source.getInt();
+			}
+		};
+	}
+
+	static SpillSerializer<Long> longs() {
+		return new SpillSerializer<Long>() {
+			@Override
+			public void write(Long value, ByteBuffer target) {
+				target.putLong(value);
+			}
+
+			@Override
+			public Long read(ByteBuffer source) {
+				return source.getLong();
+			}
+		};
+	}
+
+	static SpillSerializer<String> strings() {
+		return new SpillSerializer<String>() {
+			@Override
+			public void write(String value, ByteBuffer target) {
+				target.put(value.getBytes(StandardCharsets.UTF_8));
+			}
+
+			@Override
+			public String read(ByteBuffer source) {
+				return StandardCharsets.UTF_8.decode(source).toString();
+			}
+		};
+	}
+
+	static SpillSerializer<byte[]> bytes() {
+		return new SpillSerializer<byte[]>() {
+			@Override
+			public void write(byte[] value, ByteBuffer target) {
+				target.put(value);
+			}
+
+			@Override
+			public byte[] read(ByteBuffer source) {
+				byte[] value = new byte[source.remaining()];
+				source.get(value);
+				return value;
+			}
+		};
+	}
+}
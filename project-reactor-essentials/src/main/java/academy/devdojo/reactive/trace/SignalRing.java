@@ -0,0 +1,88 @@
+package academy.devdojo.reactive.trace;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import reactor.core.publisher.SignalType;
+
+/**
+ * Ring buffer preallocado e sem lock para multiplos escritores. Cada escritor reserva uma
+ * sequencia com getAndIncrement, preenche o slot e publica a sequencia no final.
+ * <p>
+ * Quando o buffer da a volta os sinais mais antigos sao sobrescritos. A leitura confere a
+ * sequencia do slot antes e depois de copiar e descarta o que mudou no meio, entao eh
+ * best-effort: um sinal que esta sendo sobrescrito durante o snapshot simplesmente nao aparece.
+ */
+final class SignalRing {
+
+	private final int mask;
+	private final AtomicLong tail = new AtomicLong();
+	private final AtomicLongArray published;
+	private final long[] times;
+	private final String[] names;
+	private final SignalType[] types;
+	private final Thread[] threads;
+	private final Object[] values;
+
+	SignalRing(int capacity) {
+		if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("capacity must be a power of 2, got " + capacity);
+		}
+		this.mask = capacity - 1;
+		this.published = new AtomicLongArray(capacity);
+		this.times = new long[capacity];
+		this.names = new String[capacity];
+		this.types = new SignalType[capacity];
+		this.threads = new Thread[capacity];
+		this.values = new Object[capacity];
+	}
+
+	void record(String name, SignalType type, Object value) {
+		long sequence = tail.getAndIncrement();
+		int index = (int) sequence & mask;
+		// sequencia negativa marca o slot como em escrita
+		published.set(index, -(sequence + 1));
+		// as escritas do slot nao podem subir para antes da marca
+		VarHandle.storeStoreFence();
+		times[index] = System.nanoTime();
+		names[index] = name;
+		types[index] = type;
+		threads[index] = Thread.currentThread();
+		values[index] = value;
+		published.lazySet(index, sequence + 1);
+	}
+
+	List<TraceEntry> snapshot() {
+		long end = tail.get();
+		long start = Math.max(0, end - (mask + 1));
+		List<TraceEntry> entries = new ArrayList<>((int) (end - start));
+		for (long sequence = start; sequence < end; sequence++) {
+			int index = (int) sequence & mask;
+			if (published.get(index) != sequence + 1) {
+				continue;
+			}
+			long time = times[index];
+			String name = names[index];
+			SignalType type = types[index];
+			Thread thread = threads[index];
+			Object value = values[index];
+			// as leituras do slot nao podem descer para depois da nova conferencia
+			VarHandle.acquireFence();
+			if (published.get(index) == sequence + 1) {
+				entries.add(new TraceEntry(sequence, time, name, type, thread.getName(), value));
+			}
+		}
+		return entries;
+	}
+
+	long recorded() {
+		return tail.get();
+	}
+
+	int capacity() {
+		return mask + 1;
+	}
+}
@@ -0,0 +1,106 @@
+package academy.devdojo.reactive.trace;
+
+import java.util.List;
+
+import academy.devdojo.reactive.lift.Lifts;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Substituto do .log() para producao: grava os sinais em um ring buffer preallocado em vez de
+ * formatar e escrever cada um na hora. O dump eh feito em outra thread, sob demanda com
+ * {@link #dump()} ou automaticamente quando passa um onError.
+ * <p>
+ * {@code flux.transform(tracer::trace)}
+ */
+public final class SignalTracer {
+
+	private static final Scheduler DUMP_SCHEDULER =
+			Schedulers.newBoundedElastic(1, Integer.MAX_VALUE, "signal-trace-dump", 60, true);
+
+	private final String name;
+	private final TraceConfig config;
+	private final SignalRing ring;
+	private final int signalMask;
+
+	private SignalTracer(String name, TraceConfig config) {
+		if (config.getSampleEvery() < 1) {
+			throw new IllegalArgumentException("sampleEvery must be >= 1, got " + config.getSampleEvery());
+		}
+		this.name = name;
+		this.config = config;
+		this.ring = new SignalRing(config.getCapacity());
+		int mask = 0;
+		for (SignalType type : config.getSignals()) {
+			mask |= bit(type);
+		}
+		this.signalMask = mask;
+	}
+
+	public static SignalTracer create(String name) {
+		return new SignalTracer(name, TraceConfig.defaults());
+	}
+
+	public static SignalTracer create(String name, TraceConfig config) {
+		return new SignalTracer(name, config);
+	}
+
+	public <T> Flux<T> trace(Flux<T> source) {
+		return Lifts.<T, T>flux((scannable, actual) -> new TracingSubscriber<>(actual, this)).apply(source);
+	}
+
+	public <T> Mono<T> trace(Mono<T> source) {
+		return Lifts.<T, T>mono((scannable, actual) -> new TracingSubscriber<>(actual, this)).apply(source);
+	}
+
+	/**
+	 * Copia os sinais que estao no buffer, do mais antigo para o mais novo.
+	 */
+	public List<TraceEntry> snapshot() {
+		return ring.snapshot();
+	}
+
+	/**
+	 * Envia o snapshot para o sink configurado em uma thread separada.
+	 */
+	public Disposable dump() {
+		return DUMP_SCHEDULER.schedule(() -> config.getSink().accept(ring.snapshot()));
+	}
+
+	/**
+	 * Total de sinais gravados desde a criacao, inclusive os ja sobrescritos.
+	 */
+	public long recorded() {
+		return ring.recorded();
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	boolean isEnabled(SignalType type) {
+		return (signalMask & bit(type)) != 0;
+	}
+
+	int sampleEvery() {
+		return config.getSampleEvery();
+	}
+
+	void record(SignalType type, Object value) {
+		ring.record(name, type, value);
+	}
+
+	void onError() {
+		if (config.isDumpOnError()) {
+			dump();
+		}
+	}
+
+	private static int bit(SignalType type) {
+		return 1 << type.ordinal();
+	}
+}
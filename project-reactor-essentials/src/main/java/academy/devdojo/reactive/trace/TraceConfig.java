@@ -0,0 +1,52 @@
+package academy.devdojo.reactive.trace;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Configuracao do {@link SignalTracer}.
+ * <p>
+ * {@code sampleEvery} vale so para onNext (1 grava todos); os demais sinais sao sempre
+ * gravados se estiverem em {@code signals}.
+ */
+@Value
+@Builder
+public class TraceConfig {
+
+	@Builder.Default
+	int capacity = 1024;
+
+	@Builder.Default
+	int sampleEvery = 1;
+
+	@Builder.Default
+	Set<SignalType> signals = EnumSet.of(SignalType.ON_SUBSCRIBE, SignalType.REQUEST, SignalType.CANCEL,
+			SignalType.ON_NEXT, SignalType.ON_ERROR, SignalType.ON_COMPLETE);
+
+	@Builder.Default
+	boolean dumpOnError = true;
+
+	@Builder.Default
+	Consumer<List<TraceEntry>> sink = LogSink.INSTANCE;
+
+	public static TraceConfig defaults() {
+		return builder().build();
+	}
+
+	@Slf4j
+	enum LogSink implements Consumer<List<TraceEntry>> {
+		INSTANCE;
+
+		@Override
+		public void accept(List<TraceEntry> entries) {
+			entries.forEach(entry -> log.info("{}", entry));
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package academy.devdojo.reactive.trace;
+
+import lombok.Value;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Um sinal copiado do ring buffer. {@code value} eh o elemento do onNext, o n do request
+ * ou o Throwable do onError.
+ */
+@Value
+public class TraceEntry {
+	long sequence;
+	long nanoTime;
+	String name;
+	SignalType type;
+	String thread;
+	Object value;
+
+	@Override
+	public String toString() {
+		switch (type) {
+			case ON_NEXT:
+				return "[" + thread + "] " + name + " - onNext(" + value + ")";
+			case REQUEST:
+				return "[" + thread + "] " + name + " - request(" + (Long.valueOf(Long.MAX_VALUE).equals(value) ? "unbounded" : value) + ")";
+			case ON_ERROR:
+				return "[" + thread + "] " + name + " - onError(" + value + ")";
+			case ON_SUBSCRIBE:
+				return "[" + thread + "] " + name + " - onSubscribe()";
+			case ON_COMPLETE:
+				return "[" + thread + "] " + name + " - onComplete()";
+			case CANCEL:
+				return "[" + thread + "] " + name + " - cancel()";
+			default:
+				return "[" + thread + "] " + name + " - " + type;
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package academy.devdojo.reactive.trace;
+
+import org.reactivestreams.Subscription;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Scannable;
+import reactor.core.publisher.SignalType;
+import reactor.util.annotation.Nullable;
+import reactor.util.context.Context;
+
+final class TracingSubscriber<T> implements CoreSubscriber<T>, Subscription, Scannable {
+
+	private final CoreSubscriber<? super T> actual;
+	private final SignalTracer tracer;
+	private final boolean traceNext;
+	private final int sampleEvery;
+
+	private Subscription upstream;
+	private int untilSample;
+
+	TracingSubscriber(CoreSubscriber<? super T> actual, SignalTracer tracer) {
+		this.actual = actual;
+		this.tracer = tracer;
+		this.traceNext = tracer.isEnabled(SignalType.ON_NEXT);
+		this.sampleEvery = tracer.sampleEvery();
+	}
+
+	@Override
+	public Context currentContext() {
+		return actual.currentContext();
+	}
+
+	@Override
+	public void onSubscribe(Subscription s) {
+		upstream = s;
+		if (tracer.isEnabled(SignalType.ON_SUBSCRIBE)) {
+			tracer.record(SignalType.ON_SUBSCRIBE, null);
+		}
+		actual.onSubscribe(this);
+	}
+
+	@Override
+	public void onNext(T t) {
+		if (traceNext && --untilSample <= 0) {
+			untilSample = sampleEvery;
+			tracer.record(SignalType.ON_NEXT, t);
+		}
+		actual.onNext(t);
+	}
+
+	@Override
+	public void onError(Throwable t) {
+		if (tracer.isEnabled(SignalType.ON_ERROR)) {
+			tracer.record(SignalType.ON_ERROR, t);
+		}
+		tracer.onError();
+		actual.onError(t);
+	}
+
+	@Override
+	public void onComplete() {
+		if (tracer.isEnabled(SignalType.ON_COMPLETE)) {
+			tracer.record(SignalType.ON_COMPLETE, null);
+		}
+		actual.onComplete();
+	}
+
+	@Override
+	public void request(long n) {
+		if (tracer.isEnabled(SignalType.REQUEST)) {
+			tracer.record(SignalType.REQUEST, n);
+		}
+		upstream.request(n);
+	}
+
+	@Override
+	public void cancel() {
+		if (tracer.isEnabled(SignalType.CANCEL)) {
+			tracer.record(SignalType.CANCEL, null);
+		}
+		upstream.cancel();
+	}
+
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.PARENT) {
+			return upstream;
+		}
+		if (key == Attr.ACTUAL) {
+			return actual;
+		}
+		if (key == Attr.NAME) {
+			return tracer.getName();
+		}
+		return null;
+	}
+}
@@ -0,0 +1,414 @@
+package academy.devdojo.reactive.zip;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
+import reactor.core.Fuseable;
+import reactor.core.Scannable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.Queues;
+import reactor.util.context.Context;
+
+/**
+ * Zip que monta o resultado direto de uma linha reaproveitada: nao ha Tuple, nem Object[] novo
+ * por elemento (o FluxZip do Reactor clona a linha antes de chamar o combinador), nem o
+ * Flux.just + flatMap do {@code zip(...).flatMap(tuple -> Flux.just(new Serie(...)))}.
+ * <p>
+ * Do lado das fontes a fusao continua valendo como no FluxZip: fontes SYNC (just, range,
+ * fromIterable) sao lidas direto pelo poll, sem request nem fila propria, e fontes ASYNC
+ * entregam pela fila delas. Por isso o combinador nao pode guardar a linha: ela eh limpa logo
+ * depois da chamada.
+ */
+final class FluxZipRecord<R> extends Flux<R> implements Scannable {
+
+	private final Publisher<?>[] sources;
+	private final Function<Object[], ? extends R> combiner;
+	private final int prefetch;
+
+	private FluxZipRecord(Publisher<?>[] sources, Function<Object[], ? extends R> combiner, int prefetch) {
+		this.sources = sources;
+		this.combiner = combiner;
+		this.prefetch = prefetch;
+	}
+
+	static <R> Flux<R> create(Function<Object[], ? extends R> combiner, int prefetch, Publisher<?>... sources) {
+		if (prefetch < 1) {
+			throw new IllegalArgumentException("prefetch must be positive, got " + prefetch);
+		}
+		if (sources.length == 0) {
+			return empty();
+		}
+		for (Publisher<?> source : sources) {
+			Objects.requireNonNull(source, "source");
+		}
+		return onAssembly(new FluxZipRecord<>(sources.clone(), combiner, prefetch));
+	}
+
+	@Override
+	public void subscribe(CoreSubscriber<? super R> actual) {
+		Coordinator<R> coordinator = new Coordinator<>(actual, combiner, sources.length, prefetch);
+		actual.onSubscribe(coordinator);
+		coordinator.subscribe(sources);
+	}
+
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.PREFETCH) {
+			return prefetch;
+		}
+		return null;
+	}
+
+	static final class Coordinator<R> implements Subscription, Scannable {
+
+		private static final AtomicIntegerFieldUpdater<Coordinator> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(Coordinator.class, "wip");
+
+		private static final AtomicLongFieldUpdater<Coordinator> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(Coordinator.class, "requested");
+
+		private static final AtomicReferenceFieldUpdater<Coordinator, Throwable> ERROR =
+				AtomicReferenceFieldUpdater.newUpdater(Coordinator.class, Throwable.class, "error");
+
+		private final CoreSubscriber<? super R> actual;
+		private final Function<Object[], ? extends R> combiner;
+		private final Inner[] inners;
+		private final Object[] row;
+
+		private volatile int wip;
+		private volatile long requested;
+		private volatile Throwable error;
+		private volatile boolean cancelled;
+
+		Coordinator(CoreSubscriber<? super R> actual, Function<Object[], ? extends R> combiner, int n, int prefetch) {
+			this.actual = actual;
+			this.combiner = combiner;
+			this.row = new Object[n];
+			this.inners = new Inner[n];
+			for (int i = 0; i < n; i++) {
+				inners[i] = new Inner(this, prefetch);
+			}
+		}
+
+		void subscribe(Publisher<?>[] sources) {
+			for (int i = 0; i < sources.length; i++) {
+				if (cancelled || error != null) {
+					return;
+				}
+				sources[i].subscribe(inners[i]);
+			}
+		}
+
+		@Override
+		public void request(long n) {
+			if (Operators.validate(n)) {
+				Operators.addCap(REQUESTED, this, n);
+				drain();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			if (!cancelled) {
+				cancelled = true;
+				cancelAll();
+				if (WIP.getAndIncrement(this) == 0) {
+					clearAll();
+				}
+			}
+		}
+
+		void innerError(Throwable t) {
+			if (Exceptions.addThrowable(ERROR, this, t)) {
+				drain();
+			} else {
+				Operators.onErrorDropped(t, actual.currentContext());
+			}
+		}
+
+		private void cancelAll() {
+			for (Inner inner : inners) {
+				inner.cancel();
+			}
+		}
+
+		private void clearAll() {
+			for (int i = 0; i < inners.length; i++) {
+				Queue<Object> q = inners[i].queue;
+				if (q != null) {
+					q.clear();
+				}
+				row[i] = null;
+			}
+		}
+
+		void drain() {
+			if (WIP.getAndIncrement(this) != 0) {
+				return;
+			}
+			CoreSubscriber<? super R> a = actual;
+			Inner[] qs = inners;
+			Object[] values = row;
+			int n = qs.length;
+			int missed = 1;
+
+			for (;;) {
+				long r = requested;
+				long e = 0L;
+
+				while (r != e) {
+					if (checkTerminated()) {
+						return;
+					}
+					boolean empty = false;
+					for (int j = 0; j < n; j++) {
+						if (values[j] != null) {
+							continue;
+						}
+						Inner inner = qs[j];
+						boolean d = inner.done;
+						Object v;
+						try {
+							v = inner.poll();
+						} catch (Throwable ex) {
+							fail(Operators.onOperatorError(ex, a.currentContext()));
+							return;
+						}
+						if (v == null) {
+							if (d) {
+								complete();
+								return;
+							}
+							empty = true;
+						} else {
+							values[j] = v;
+						}
+					}
+					if (empty) {
+						break;
+					}
+
+					R result;
+					try {
+						result = Objects.requireNonNull(combiner.apply(values), "The combiner returned a null value");
+					} catch (Throwable ex) {
+						fail(Operators.onOperatorError(null, ex, values, a.currentContext()));
+						return;
+					}
+					for (int j = 0; j < n; j++) {
+						values[j] = null;
+						qs[j].produced();
+					}
+					a.onNext(result);
+					e++;
+				}
+
+				if (r == e) {
+					if (checkTerminated()) {
+						return;
+					}
+					for (int j = 0; j < n; j++) {
+						Inner inner = qs[j];
+						if (values[j] == null && inner.done && inner.isEmpty()) {
+							complete();
+							return;
+						}
+					}
+				}
+
+				if (e != 0L && r != Long.MAX_VALUE) {
+					REQUESTED.addAndGet(this, -e);
+				}
+
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					return;
+				}
+			}
+		}
+
+		private boolean checkTerminated() {
+			if (cancelled) {
+				clearAll();
+				return true;
+			}
+			if (error != null) {
+				cancelAll();
+				clearAll();
+				actual.onError(Exceptions.terminate(ERROR, this));
+				return true;
+			}
+			return false;
+		}
+
+		private void fail(Throwable t) {
+			Exceptions.addThrowable(ERROR, this, t);
+			cancelAll();
+			clearAll();
+			actual.onError(Exceptions.terminate(ERROR, this));
+		}
+
+		private void complete() {
+			cancelAll();
+			clearAll();
+			actual.onComplete();
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.ACTUAL) {
+				return actual;
+			}
+			if (key == Attr.CANCELLED) {
+				return cancelled;
+			}
+			if (key == Attr.ERROR) {
+				return error;
+			}
+			if (key == Attr.REQUESTED_FROM_DOWNSTREAM) {
+				return requested;
+			}
+			return null;
+		}
+	}
+
+	static final class Inner implements CoreSubscriber<Object>, Scannable {
+
+		private static final AtomicReferenceFieldUpdater<Inner, Subscription> S =
+				AtomicReferenceFieldUpdater.newUpdater(Inner.class, Subscription.class, "s");
+
+		private final Coordinator<?> parent;
+		private final int prefetch;
+		private final int limit;
+
+		private volatile Subscription s;
+		private int sourceMode;
+		private int produced;
+
+		volatile Queue<Object> queue;
+		volatile boolean done;
+
+		Inner(Coordinator<?> parent, int prefetch) {
+			this.parent = parent;
+			this.prefetch = prefetch;
+			this.limit = prefetch == Integer.MAX_VALUE ? Integer.MAX_VALUE : prefetch - (prefetch >> 2);
+		}
+
+		@Override
+		public Context currentContext() {
+			return parent.actual.currentContext();
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void onSubscribe(Subscription s) {
+			if (Operators.setOnce(S, this, s)) {
+				if (s instanceof Fuseable.QueueSubscription) {
+					Fuseable.QueueSubscription<Object> qs = (Fuseable.QueueSubscription<Object>) s;
+					int m = qs.requestFusion(Fuseable.ANY);
+					if (m == Fuseable.SYNC) {
+						sourceMode = Fuseable.SYNC;
+						queue = qs;
+						done = true;
+						parent.drain();
+						return;
+					}
+					if (m == Fuseable.ASYNC) {
+						sourceMode = Fuseable.ASYNC;
+						queue = qs;
+						s.request(prefetch == Integer.MAX_VALUE ? Long.MAX_VALUE : prefetch);
+						return;
+					}
+				}
+				queue = Queues.get(prefetch).get();
+				s.request(prefetch == Integer.MAX_VALUE ? Long.MAX_VALUE : prefetch);
+			}
+		}
+
+		@Override
+		public void onNext(Object t) {
+			if (sourceMode != Fuseable.ASYNC) {
+				if (!queue.offer(t)) {
+					onError(Operators.onOperatorError(s, Exceptions.failWithOverflow(Exceptions.BACKPRESSURE_ERROR_QUEUE_FULL),
+							t, currentContext()));
+					return;
+				}
+			}
+			parent.drain();
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			done = true;
+			parent.innerError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			done = true;
+			parent.drain();
+		}
+
+		@Nullable
+		Object poll() {
+			Queue<Object> q = queue;
+			return q == null ? null : q.poll();
+		}
+
+		boolean isEmpty() {
+			Queue<Object> q = queue;
+			return q == null || q.isEmpty();
+		}
+
+		void produced() {
+			if (sourceMode != Fuseable.SYNC) {
+				int p = produced + 1;
+				if (p == limit) {
+					produced = 0;
+					s.request(p);
+				} else {
+					produced = p;
+				}
+			}
+		}
+
+		void cancel() {
+			Operators.terminate(S, this);
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.PARENT) {
+				return s;
+			}
+			if (key == Attr.ACTUAL) {
+				return parent;
+			}
+			if (key == Attr.PREFETCH) {
+				return prefetch;
+			}
+			if (key == Attr.TERMINATED) {
+				return done && isEmpty();
+			}
+			if (key == Attr.BUFFERED) {
+				Queue<Object> q = queue;
+				return q == null ? 0 : q.size();
+			}
+			return null;
+		}
+	}
+}
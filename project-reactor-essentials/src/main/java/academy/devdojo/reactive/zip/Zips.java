@@ -0,0 +1,114 @@
+package academy.devdojo.reactive.zip;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Zip direto para um objeto, sem Tuple intermediario:
+ * {@code Zips.zip(titleFlux, episodesFlux, Serie::new)} no lugar de
+ * {@code Flux.zip(titleFlux, episodesFlux).flatMap(tuple -> Flux.just(new Serie(tuple.getT1(), tuple.getT2())))}.
+ * <p>
+ * Por elemento so eh alocado o que o combinador cria. Para 9 ou mais fontes use
+ * {@link #zip(Function, int, Publisher[])}, em que o combinador le a linha (que eh reaproveitada
+ * e nao pode ser guardada).
+ */
+public final class Zips {
+
+	private Zips() {
+	}
+
+	@FunctionalInterface
+	public interface Function3<T1, T2, T3, R> {
+		R apply(T1 t1, T2 t2, T3 t3);
+	}
+
+	@FunctionalInterface
+	public interface Function4<T1, T2, T3, T4, R> {
+		R apply(T1 t1, T2 t2, T3 t3, T4 t4);
+	}
+
+	@FunctionalInterface
+	public interface Function5<T1, T2, T3, T4, T5, R> {
+		R apply(T1 t1, T2 t2, T3 t3, T4 t4, T5 t5);
+	}
+
+	@FunctionalInterface
+	public interface Function6<T1, T2, T3, T4, T5, T6, R> {
+		R apply(T1 t1, T2 t2, T3 t3, T4 t4, T5 t5, T6 t6);
+	}
+
+	@FunctionalInterface
+	public interface Function7<T1, T2, T3, T4, T5, T6, T7, R> {
+		R apply(T1 t1, T2 t2, T3 t3, T4 t4, T5 t5, T6 t6, T7 t7);
+	}
+
+	@FunctionalInterface
+	public interface Function8<T1, T2, T3, T4, T5, T6, T7, T8, R> {
+		R apply(T1 t1, T2 t2, T3 t3, T4 t4, T5 t5, T6 t6, T7 t7, T8 t8);
+	}
+
+	public static <R> Flux<R> zip(Function<Object[], ? extends R> combiner, int prefetch, Publisher<?>... sources) {
+		return FluxZipRecord.create(combiner, prefetch, sources);
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T1, T2, R> Flux<R> zip(Publisher<? extends T1> p1, Publisher<? extends T2> p2,
+			BiFunction<? super T1, ? super T2, ? extends R> combiner) {
+		return zip(row -> combiner.apply((T1) row[0], (T2) row[1]), Queues.XS_BUFFER_SIZE, p1, p2);
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T1, T2, T3, R> Flux<R> zip(Publisher<? extends T1> p1, Publisher<? extends T2> p2,
+			Publisher<? extends T3> p3,
+			Function3<? super T1, ? super T2, ? super T3, ? extends R> combiner) {
+		return zip(row -> combiner.apply((T1) row[0], (T2) row[1], (T3) row[2]), Queues.XS_BUFFER_SIZE, p1, p2, p3);
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T1, T2, T3, T4, R> Flux<R> zip(Publisher<? extends T1> p1, Publisher<? extends T2> p2,
+			Publisher<? extends T3> p3, Publisher<? extends T4> p4,
+			Function4<? super T1, ? super T2, ? super T3, ? super T4, ? extends R> combiner) {
+		return zip(row -> combiner.apply((T1) row[0], (T2) row[1], (T3) row[2], (T4) row[3]),
+				Queues.XS_BUFFER_SIZE, p1, p2, p3, p4);
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T1, T2, T3, T4, T5, R> Flux<R> zip(Publisher<? extends T1> p1, Publisher<? extends T2> p2,
+			Publisher<? extends T3> p3, Publisher<? extends T4> p4, Publisher<? extends T5> p5,
+			Function5<? super T1, ? super T2, ? super T3, ? super T4, ? super T5, ? extends R> combiner) {
+		return zip(row -> combiner.apply((T1) row[0], (T2) row[1], (T3) row[2], (T4) row[3], (T5) row[4]),
+				Queues.XS_BUFFER_SIZE, p1, p2, p3, p4, p5);
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T1, T2, T3, T4, T5, T6, R> Flux<R> zip(Publisher<? extends T1> p1, Publisher<? extends T2> p2,
+			Publisher<? extends T3> p3, Publisher<? extends T4> p4, Publisher<? extends T5> p5,
+			Publisher<? extends T6> p6,
+			Function6<? super T1, ? super T2, ? super T3, ? super T4, ? super T5, ? super T6, ? extends R> combiner) {
+		return zip(row -> combiner.apply((T1) row[0], (T2) row[1], (T3) row[2], (T4) row[3], (T5) row[4],
+				(T6) row[5]), Queues.XS_BUFFER_SIZE, p1, p2, p3, p4, p5, p6);
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T1, T2, T3, T4, T5, T6, T7, R> Flux<R> zip(Publisher<? extends T1> p1, Publisher<? extends T2> p2,
+			Publisher<? extends T3> p3, Publisher<? extends T4> p4, Publisher<? extends T5> p5,
+			Publisher<? extends T6> p6, Publisher<? extends T7> p7,
+			Function7<? super T1, ? super T2, ? super T3, ? super T4, ? super T5, ? super T6, ? super T7, ? extends R> combiner) {
+		return zip(row -> combiner.apply((T1) row[0], (T2) row[1], (T3) row[2], (T4) row[3], (T5) row[4],
+				(T6) row[5], (T7) row[6]), Queues.XS_BUFFER_SIZE, p1, p2, p3, p4, p5, p6, p7);
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T1, T2, T3, T4, T5, T6, T7, T8, R> Flux<R> zip(Publisher<? extends T1> p1, Publisher<? extends T2> p2,
+			Publisher<? extends T3> p3, Publisher<? extends T4> p4, Publisher<? extends T5> p5,
+			Publisher<? extends T6> p6, Publisher<? extends T7> p7, Publisher<? extends T8> p8,
+			Function8<? super T1, ? super T2, ? super T3, ? super T4, ? super T5, ? super T6, ? super T7, ? super T8, ? extends R> combiner) {
+		return zip(row -> combiner.apply((T1) row[0], (T2) row[1], (T3) row[2], (T4) row[3], (T5) row[4],
+				(T6) row[5], (T7) row[6], (T8) row[7]), Queues.XS_BUFFER_SIZE, p1, p2, p3, p4, p5, p6, p7, p8);
+	}
+}
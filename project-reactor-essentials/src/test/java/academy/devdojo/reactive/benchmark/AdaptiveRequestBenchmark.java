@@ -0,0 +1,116 @@
+package academy.devdojo.reactive.benchmark;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscription;
+
+import academy.devdojo.reactive.backpressure.AdaptiveRequestPolicy;
+import academy.devdojo.reactive.backpressure.AdaptiveRequestSubscriber;
+import academy.devdojo.reactive.backpressure.AdaptiveRequests;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Janela adaptativa contra o request(2) fixo do FluxTest e contra limitRate fixos,
+ * com consumidor rapido ({@code consumerWork=0}) e lento (consumeCPU por elemento).
+ * A fonte roda em subscribeOn(parallel) para que cada request atravesse threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdaptiveRequestBenchmark {
+
+	@Param({"100000"})
+	public int elementCount;
+
+	@Param({"0", "2000"})
+	public int consumerWork;
+
+	@Param({"3", "32", "256"})
+	public int fixedRate;
+
+	private Flux<Integer> source() {
+		return Flux.range(0, elementCount).subscribeOn(Schedulers.parallel());
+	}
+
+	@Benchmark
+	public void limitRate(Blackhole bh) {
+		source()
+				.limitRate(fixedRate)
+				.doOnNext(i -> consume(bh, i))
+				.blockLast();
+	}
+
+	@Benchmark
+	public void adaptiveLimitRate(Blackhole bh) {
+		source()
+				.transform(AdaptiveRequests.limitRate())
+				.doOnNext(i -> consume(bh, i))
+				.blockLast();
+	}
+
+	@Benchmark
+	public void fixedRequestSubscriber(Blackhole bh) throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(1);
+		source().subscribe(new BaseSubscriber<Integer>() {
+			private int count = 0;
+
+			@Override
+			protected void hookOnSubscribe(Subscription subscription) {
+				request(fixedRate);
+			}
+
+			@Override
+			protected void hookOnNext(Integer value) {
+				consume(bh, value);
+				count++;
+				if (count >= fixedRate) {
+					count = 0;
+					request(fixedRate);
+				}
+			}
+
+			@Override
+			protected void hookFinally(SignalType type) {
+				latch.countDown();
+			}
+		});
+		latch.await();
+	}
+
+	@Benchmark
+	public void adaptiveRequestSubscriber(Blackhole bh) throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(1);
+		source().subscribe(new AdaptiveRequestSubscriber<Integer>(AdaptiveRequestPolicy.defaults(), i -> consume(bh, i)) {
+			@Override
+			protected void hookFinally(SignalType type) {
+				latch.countDown();
+			}
+		});
+		latch.await();
+	}
+
+	private void consume(Blackhole bh, Integer value) {
+		bh.consume(value);
+		if (consumerWork > 0) {
+			Blackhole.consumeCPU(consumerWork);
+		}
+	}
+}
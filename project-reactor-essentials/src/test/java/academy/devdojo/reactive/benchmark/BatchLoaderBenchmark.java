@@ -0,0 +1,99 @@
+package academy.devdojo.reactive.benchmark;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import academy.devdojo.reactive.batch.BatchLoader;
+import academy.devdojo.reactive.batch.BatchPolicy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code flatMap(this::findByName)} contra o BatchLoader em varios tamanhos de lote. Cada chamada
+ * ao backend custa {@code callMillis}, seja de uma chave ou de um lote, como num servico remoto
+ * em que o round trip domina. {@code concurrency} limita as chamadas simultaneas nos dois lados
+ * (4 simula um backend com poucas conexoes, 256 eh o padrao do flatMap). O score eh o tempo para
+ * resolver {@code keys} chaves.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchLoaderBenchmark {
+
+	@Param({"1000"})
+	public int keys;
+
+	@Param({"1", "16", "64", "256"})
+	public int batchSize;
+
+	@Param({"2"})
+	public int callMillis;
+
+	@Param({"4", "256"})
+	public int concurrency;
+
+	private Duration callLatency;
+
+	private BatchLoader<String, String> loader;
+
+	@Setup
+	public void setup() {
+		callLatency = Duration.ofMillis(callMillis);
+		loader = BatchLoader.of(this::findByNames, BatchPolicy.builder()
+				.maxBatchSize(batchSize)
+				.maxDelay(Duration.ofMillis(1))
+				.concurrency(concurrency)
+				.build());
+	}
+
+	@Benchmark
+	public Long perKeyFlatMap() {
+		return names().flatMap(this::findByName, concurrency).count().block();
+	}
+
+	@Benchmark
+	public Long perKeyFlatMapSequential() {
+		return names().flatMapSequential(this::findByName, concurrency).count().block();
+	}
+
+	@Benchmark
+	public Long batched() {
+		return names().transform(loader.load()).count().block();
+	}
+
+	@Benchmark
+	public Long batchedSequential() {
+		return names().transform(loader.loadSequential()).count().block();
+	}
+
+	private Flux<String> names() {
+		return Flux.range(0, keys).map(i -> "nome" + (i % 100));
+	}
+
+	private Flux<String> findByName(String name) {
+		return Flux.just(name + "1", name + "2").delaySubscription(callLatency);
+	}
+
+	private Mono<Map<String, List<String>>> findByNames(Flux<String> names) {
+		return names.collectMap(name -> name, name -> Arrays.asList(name + "1", name + "2"))
+				.delayElement(callLatency);
+	}
+}
@@ -0,0 +1,37 @@
+package academy.devdojo.reactive.benchmark;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Traduz o parametro {@code scheduler} dos benchmarks para um {@link Scheduler}.
+ * "immediate" nao adiciona nenhum subscribeOn, deixando a fonte sincrona.
+ */
+final class BenchmarkSchedulers {
+
+	private BenchmarkSchedulers() {
+	}
+
+	static Scheduler of(String name) {
+		switch (name) {
+			case "immediate":
+				return null;
+			case "single":
+				return Schedulers.single();
+			case "parallel":
+				return Schedulers.parallel();
+			case "boundedElastic":
+				return Schedulers.boundedElastic();
+			default:
+				throw new IllegalArgumentException("Unknown scheduler " + name);
+		}
+	}
+
+	static void noop() {
+	}
+
+	static <T> Flux<T> subscribeOn(Flux<T> flux, Scheduler scheduler) {
+		return scheduler == null ? flux : flux.subscribeOn(scheduler);
+	}
+}
@@ -0,0 +1,127 @@
+package academy.devdojo.reactive.benchmark;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import academy.devdojo.reactive.cache.CacheConfig;
+import academy.devdojo.reactive.cache.ReactiveCache;
+import reactor.core.publisher.Flux;
+
+/**
+ * {@code flatMap(this::findByName)} sem cache e com o ReactiveCache, com chaves seguindo uma
+ * distribuicao Zipf (poucas chaves quentes, cauda longa). O cache guarda so 10% das chaves, entao
+ * a cauda continua gerando misses e a eviction entra no resultado. {@code maintenance} compara a
+ * manutencao do Caffeine no commonPool (padrao) e na propria thread que acessa o cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheBenchmark {
+
+	private static final int KEYS = 10_000;
+
+	@Param({"1000"})
+	public int requests;
+
+	@Param({"0.8", "1.2"})
+	public double skew;
+
+	@Param({"1", "20"})
+	public int latencyMillis;
+
+	@Param({"commonPool", "caller"})
+	public String maintenance;
+
+	private String[] keys;
+
+	private ReactiveCache<String, String> cache;
+
+	private Duration latency;
+
+	private int cursor;
+
+	@Setup
+	public void setup() {
+		latency = Duration.ofMillis(latencyMillis);
+		keys = zipf(requests * 16, KEYS, skew);
+		cache = ReactiveCache.of(this::findByName, CacheConfig.builder()
+				.maximumSize(KEYS / 10)
+				.executor("caller".equals(maintenance) ? Runnable::run : ForkJoinPool.commonPool())
+				.build());
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (cache.stats().requestCount() > 0) {
+			System.out.println();
+			System.out.println(cache.stats());
+		}
+	}
+
+	@Benchmark
+	public Long uncached() {
+		return lookups().flatMap(this::findByName).count().block();
+	}
+
+	@Benchmark
+	public Long cached() {
+		return lookups().flatMap(cache::get).count().block();
+	}
+
+	/**
+	 * Cada invocacao pega a proxima janela da amostra, para nao repetir sempre as mesmas chaves.
+	 */
+	private Flux<String> lookups() {
+		int from = cursor;
+		cursor = (cursor + requests) % keys.length;
+		return Flux.range(0, requests).map(i -> keys[(from + i) % keys.length]);
+	}
+
+	private Flux<String> findByName(String name) {
+		return Flux.just(name + "1", name + "2").delaySubscription(latency);
+	}
+
+	private static String[] zipf(int samples, int n, double s) {
+		double[] cumulative = new double[n];
+		double sum = 0;
+		for (int i = 0; i < n; i++) {
+			sum += 1 / Math.pow(i + 1, s);
+			cumulative[i] = sum;
+		}
+		SplittableRandom random = new SplittableRandom(42);
+		String[] keys = new String[samples];
+		for (int i = 0; i < samples; i++) {
+			double u = random.nextDouble() * sum;
+			int lo = 0;
+			int hi = n - 1;
+			while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				if (cumulative[mid] < u) {
+					lo = mid + 1;
+				} else {
+					hi = mid;
+				}
+			}
+			keys[i] = "key-" + lo;
+		}
+		return keys;
+	}
+}
@@ -0,0 +1,89 @@
+package academy.devdojo.reactive.benchmark;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import academy.devdojo.reactive.hedge.HedgePolicy;
+import academy.devdojo.reactive.hedge.Hedging;
+import reactor.core.publisher.Flux;
+
+/**
+ * {@code flatMap(this::findByName)} contra o mesmo flatMap com hedge. Cada tentativa do findByName
+ * cai numa replica lenta com chance de {@code slowPercent}% e demora {@code slowMillis} (o ramo
+ * "A" do findByName original); nas outras responde na hora, como o ramo "B". {@code fixed} dispara
+ * a segunda tentativa depois de 2ms e {@code p95} usa o p95 da janela anterior. Os percentis
+ * p0.99 e p0.999 do SampleTime sao o que interessa, a media quase nao muda.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 4)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HedgingBenchmark {
+
+	private static final List<String> NAMES = List.of("A", "B");
+
+	@Param({"plain", "fixed", "p95"})
+	public String mode;
+
+	@Param({"2"})
+	public int slowPercent;
+
+	@Param({"20"})
+	public int slowMillis;
+
+	private Duration slowLatency;
+
+	private Hedging hedging;
+
+	@Setup
+	public void setup() {
+		slowLatency = Duration.ofMillis(slowMillis);
+		if ("fixed".equals(mode)) {
+			hedging = Hedging.of(HedgePolicy.fixed(Duration.ofMillis(2)));
+		} else if ("p95".equals(mode)) {
+			hedging = Hedging.of(HedgePolicy.builder()
+					.delay(Duration.ofMillis(2))
+					.percentile(95)
+					.build());
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (hedging != null) {
+			System.out.println(hedging.snapshot());
+		}
+	}
+
+	@Benchmark
+	public String findByName() {
+		Flux<String> names = Flux.fromIterable(NAMES);
+		Flux<String> found = hedging == null
+				? names.flatMap(this::findByName)
+				: names.flatMap(hedging.hedged(this::findByName));
+		return found.blockLast();
+	}
+
+	private Flux<String> findByName(String name) {
+		return ThreadLocalRandom.current().nextInt(100) < slowPercent
+				? Flux.just("nome" + name + "1", "nome" + name + "2").delayElements(slowLatency)
+				: Flux.just("nome" + name + "1", "nome" + name + "2");
+	}
+}
@@ -0,0 +1,100 @@
+package academy.devdojo.reactive.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import academy.devdojo.reactive.journal.Journal;
+import academy.devdojo.reactive.journal.JournalConfig;
+import academy.devdojo.reactive.journal.JournalReplay;
+import academy.devdojo.reactive.spill.SpillSerializer;
+import reactor.core.publisher.ConnectableFlux;
+import reactor.core.publisher.Flux;
+
+/**
+ * Cada operacao trata {@code elements} elementos. {@code append} grava no journal (com retencao
+ * por tamanho, entao o diretorio nao cresce); {@code journalCatchUp} eh um subscriber atrasado
+ * lendo o historico inteiro do journal; {@code heapCatchUp} eh o mesmo subscriber no replay() do
+ * Reactor, com o historico no heap.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx512m"})
+@State(Scope.Benchmark)
+public class JournalBenchmark {
+
+	@Param({"1000000"})
+	public int elements;
+
+	private Path directory;
+	private Journal<Integer> appendJournal;
+	private Journal<Integer> readJournal;
+	private JournalReplay<Integer> journalReplay;
+	private ConnectableFlux<Integer> heapReplay;
+
+	@Setup
+	public void setup() throws IOException {
+		directory = Files.createTempDirectory("journal-benchmark");
+		appendJournal = Journal.open(SpillSerializer.ints(), config("append", 256L * 1024 * 1024));
+		readJournal = Journal.open(SpillSerializer.ints(), config("read", 1024L * 1024 * 1024));
+
+		journalReplay = JournalReplay.create(Flux.range(0, elements), readJournal);
+		journalReplay.connect();
+		heapReplay = Flux.range(0, elements).replay();
+		heapReplay.connect();
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		appendJournal.close();
+		readJournal.close();
+		try (Stream<Path> files = Files.walk(directory)) {
+			files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	@Benchmark
+	public long append() {
+		long last = 0;
+		for (int i = 0; i < elements; i++) {
+			last = appendJournal.append(i);
+		}
+		return last;
+	}
+
+	@Benchmark
+	public Long journalCatchUp() {
+		return journalReplay.count().block();
+	}
+
+	@Benchmark
+	public Long heapCatchUp() {
+		return heapReplay.count().block();
+	}
+
+	private JournalConfig config(String name, long retentionBytes) {
+		return JournalConfig.builder()
+				.directory(directory.resolve(name))
+				.segmentSize(64 * 1024 * 1024)
+				.retentionBytes(retentionBytes)
+				.build();
+	}
+}
@@ -0,0 +1,74 @@
+package academy.devdojo.reactive.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import academy.devdojo.reactive.multicast.MulticastConfig;
+import academy.devdojo.reactive.multicast.RingMulticast;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Fan-out de um stream quente para {@code subscribers} subscribers: {@code publish().autoConnect(n)}
+ * contra o {@link RingMulticast}. {@code consumer} "sync" consome na thread do produtor (o caso do
+ * FluxTest.connectableFluxAutoConnect); "publishOn" poe cada subscriber no parallel, como um
+ * consumidor que faz trabalho proprio. O score eh o tempo para entregar {@code elements} elementos
+ * a todos; elementos por segundo = elements * subscribers / score.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MulticastBenchmark {
+
+	@Param({"100000"})
+	public int elements;
+
+	@Param({"1", "4", "16", "64"})
+	public int subscribers;
+
+	@Param({"sync", "publishOn"})
+	public String consumer;
+
+	@Param({"256"})
+	public int bufferSize;
+
+	@Benchmark
+	public Object publishAutoConnect() {
+		return fanOut(source().publish(bufferSize).autoConnect(subscribers));
+	}
+
+	@Benchmark
+	public Object ringAutoConnect() {
+		MulticastConfig config = MulticastConfig.builder().bufferSize(bufferSize).build();
+		return fanOut(RingMulticast.create(source(), config).autoConnect(subscribers));
+	}
+
+	private Flux<Integer> source() {
+		return Flux.range(0, elements);
+	}
+
+	private Object fanOut(Flux<Integer> shared) {
+		List<Mono<Long>> counts = new ArrayList<>(subscribers);
+		for (int i = 0; i < subscribers; i++) {
+			Flux<Integer> flux = "publishOn".equals(consumer) ? shared.publishOn(Schedulers.parallel()) : shared;
+			counts.add(flux.count());
+		}
+		return Flux.merge(counts).reduce(Long::sum).block();
+	}
+}
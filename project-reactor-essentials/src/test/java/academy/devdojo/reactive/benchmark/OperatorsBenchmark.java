@@ -0,0 +1,138 @@
+package academy.devdojo.reactive.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Mede os operadores de combinacao usados no OperatorsTest.
+ * <p>
+ * Cada invocacao consome {@code elementCount} elementos no total, divididos entre
+ * {@code sourceCount} fontes. Com {@code -prof gc}, o custo por elemento e
+ * {@code gc.alloc.rate.norm / elementCount}, sempre na base dos elementos de
+ * <em>entrada</em>. zip e zipWith emitem so {@code elementCount / sourceCount}
+ * saidas e combineLatest emite um numero que depende do entrelacamento das fontes;
+ * dividir pelas saidas inflaria o custo por elemento em {@code sourceCount} vezes
+ * e deixaria esses operadores incomparaveis com concat, merge e flatMap.
+ * <p>
+ * {@code mvn -Pjmh test -Djmh.args="OperatorsBenchmark -prof gc"}
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OperatorsBenchmark {
+
+	@Param({"1000", "100000"})
+	public int elementCount;
+
+	@Param({"2", "8"})
+	public int sourceCount;
+
+	@Param({"32", "256"})
+	public int prefetch;
+
+	@Param({"immediate", "parallel"})
+	public String scheduler;
+
+	private List<Flux<Integer>> sources;
+
+	private Flux<Integer>[] sourcesArray;
+
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setup() {
+		Scheduler s = BenchmarkSchedulers.of(scheduler);
+		int perSource = elementCount / sourceCount;
+
+		sources = new ArrayList<>(sourceCount);
+		for (int i = 0; i < sourceCount; i++) {
+			sources.add(BenchmarkSchedulers.subscribeOn(Flux.range(i * perSource, perSource), s));
+		}
+		sourcesArray = sources.toArray(new Flux[0]);
+	}
+
+	@Benchmark
+	public void concat(Blackhole bh) {
+		consume(Flux.concat(Flux.fromIterable(sources), prefetch), bh);
+	}
+
+	@Benchmark
+	public void concatDelayError(Blackhole bh) {
+		consume(Flux.concatDelayError(Flux.fromIterable(sources), true, prefetch), bh);
+	}
+
+	@Benchmark
+	public void merge(Blackhole bh) {
+		consume(Flux.merge(prefetch, sourcesArray), bh);
+	}
+
+	@Benchmark
+	public void mergeSequential(Blackhole bh) {
+		consume(Flux.mergeSequential(prefetch, sourcesArray), bh);
+	}
+
+	@Benchmark
+	public void mergeDelayError(Blackhole bh) {
+		consume(Flux.mergeDelayError(prefetch, sourcesArray), bh);
+	}
+
+	@Benchmark
+	public void flatMap(Blackhole bh) {
+		consume(Flux.range(0, sourceCount).flatMap(sources::get, sourceCount, prefetch), bh);
+	}
+
+	@Benchmark
+	public void flatMapSequential(Blackhole bh) {
+		consume(Flux.range(0, sourceCount).flatMapSequential(sources::get, sourceCount, prefetch), bh);
+	}
+
+	@Benchmark
+	public void zip(Blackhole bh) {
+		consume(Flux.zip(OperatorsBenchmark::sum, prefetch, sourcesArray), bh);
+	}
+
+	@Benchmark
+	public void zipWith(Blackhole bh) {
+		Flux<Integer> zipped = sources.get(0);
+		for (int i = 1; i < sourceCount; i++) {
+			zipped = zipped.zipWith(sources.get(i), prefetch, Integer::sum);
+		}
+		consume(zipped, bh);
+	}
+
+	@Benchmark
+	public void combineLatest(Blackhole bh) {
+		consume(Flux.combineLatest(OperatorsBenchmark::sum, prefetch, sourcesArray), bh);
+	}
+
+	private static Integer sum(Object[] values) {
+		int sum = 0;
+		for (Object value : values) {
+			sum += (Integer) value;
+		}
+		return sum;
+	}
+
+	private static void consume(Flux<?> flux, Blackhole bh) {
+		flux.doOnNext(bh::consume).blockLast();
+	}
+}
@@ -0,0 +1,91 @@
+package academy.devdojo.reactive.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import academy.devdojo.reactive.io.FileFlux;
+import academy.devdojo.reactive.io.ParallelFileFlux;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Escalabilidade do ParallelFileFlux de 1 a N rails contra a leitura sequencial do FileFlux.
+ * Cada linha passa por um parse simples para que o trabalho por linha nao seja so I/O.
+ * <p>
+ * {@code mvn -Pjmh test -Djmh.args="ParallelFileBenchmark -p rails=1,2,4,8,16,32"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelFileBenchmark {
+
+	@Param({"1000000"})
+	public int lineCount;
+
+	@Param({"1", "2", "4", "8"})
+	public int rails;
+
+	private Path file;
+
+	@Setup
+	public void setup() throws IOException {
+		file = Files.createTempFile("parallel-file-benchmark", ".csv");
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			for (int i = 0; i < lineCount; i++) {
+				writer.write(i + ";serie-" + (i % 97) + ";" + (i * 31 % 1000));
+				writer.newLine();
+			}
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Benchmark
+	public Long sequentialRead() {
+		return sumEpisodes(FileFlux.lines(file).subscribeOn(Schedulers.boundedElastic())).block();
+	}
+
+	@Benchmark
+	public Long parallelUnordered() {
+		return ParallelFileFlux.process(file, rails, ParallelFileBenchmark::sumEpisodes)
+				.reduce(0L, Long::sum)
+				.block();
+	}
+
+	@Benchmark
+	public Long parallelOrdered() {
+		return ParallelFileFlux.processSequential(file, rails, ParallelFileBenchmark::sumEpisodes)
+				.reduce(0L, Long::sum)
+				.block();
+	}
+
+	private static Mono<Long> sumEpisodes(Flux<String> lines) {
+		return lines
+				.map(line -> Long.parseLong(line.substring(line.lastIndexOf(';') + 1)))
+				.reduce(0L, Long::sum);
+	}
+}
@@ -0,0 +1,56 @@
+package academy.devdojo.reactive.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+/**
+ * Reporta o pico de heap de cada iteracao como o resultado secundario {@code heap.peak}.
+ * <p>
+ * Antes da iteracao roda um GC e zera o pico de cada {@link MemoryPoolMXBean} de heap;
+ * depois soma o pico de todos eles. A soma eh um limite superior (os pools nao
+ * atingem o pico ao mesmo tempo) e inclui lixo ainda nao coletado, mas o que
+ * continua vivo durante a iteracao, como a lista do readAllLines, aparece inteiro.
+ * <p>
+ * {@code -prof academy.devdojo.reactive.benchmark.PeakHeapProfiler}
+ */
+public class PeakHeapProfiler implements InternalProfiler {
+
+	private final List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+			.filter(pool -> pool.getType() == MemoryType.HEAP)
+			.collect(Collectors.toList());
+
+	@Override
+	public String getDescription() {
+		return "Peak heap usage per iteration, summed over the heap memory pools";
+	}
+
+	@Override
+	public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+		System.gc();
+		heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+	}
+
+	@Override
+	public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams,
+			IterationParams iterationParams, IterationResult result) {
+		long peak = 0;
+		for (MemoryPoolMXBean pool : heapPools) {
+			peak += pool.getPeakUsage().getUsed();
+		}
+		return Collections.singletonList(
+				new ScalarResult("heap.peak", peak / (1024.0 * 1024.0), "MB", AggregationPolicy.MAX));
+	}
+}
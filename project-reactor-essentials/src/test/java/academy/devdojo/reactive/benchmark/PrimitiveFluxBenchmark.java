@@ -0,0 +1,89 @@
+package academy.devdojo.reactive.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import academy.devdojo.reactive.primitive.IntFlux;
+import academy.devdojo.reactive.primitive.LongFlux;
+import reactor.core.publisher.Flux;
+
+/**
+ * Cadeia {@code range -> map -> filter -> reduce} com boxing (Flux) e sem (IntFlux/LongFlux).
+ * Rode com {@code -prof gc} para ver a alocacao por operacao (gc.alloc.rate.norm); os valores
+ * passam do cache do Integer.valueOf, entao o Flux aloca por elemento em cada estagio.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrimitiveFluxBenchmark {
+
+	@Param({"10000"})
+	public int size;
+
+	@Benchmark
+	public Integer boxedInt() {
+		return Flux.range(0, size)
+				.map(i -> i * 3)
+				.filter(i -> (i & 1) == 0)
+				.reduce(0, Integer::sum)
+				.block();
+	}
+
+	@Benchmark
+	public Integer primitiveInt() {
+		return IntFlux.range(0, size)
+				.map(i -> i * 3)
+				.filter(i -> (i & 1) == 0)
+				.sum()
+				.block();
+	}
+
+	@Benchmark
+	public Long boxedLong() {
+		return Flux.range(0, size)
+				.map(i -> i * 3L)
+				.filter(i -> (i & 1) == 0)
+				.reduce(0L, Long::sum)
+				.block();
+	}
+
+	@Benchmark
+	public Long primitiveLong() {
+		return LongFlux.range(0, size)
+				.map(i -> i * 3)
+				.filter(i -> (i & 1) == 0)
+				.sum()
+				.block();
+	}
+
+	@Benchmark
+	public Long boxedWindowSums() {
+		return Flux.range(0, size)
+				.window(100)
+				.flatMap(window -> window.reduce(0, Integer::sum))
+				.count()
+				.block();
+	}
+
+	@Benchmark
+	public Long primitiveWindowSums() {
+		return IntFlux.range(0, size)
+				.window(100)
+				.flatMap(IntFlux::sum)
+				.count()
+				.block();
+	}
+}
@@ -0,0 +1,67 @@
+package academy.devdojo.reactive.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import academy.devdojo.reactive.profile.OperatorProfiler;
+import academy.devdojo.reactive.profile.ProfilerConfig;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * O mesmo pipeline do flatMapOperator do OperatorsBenchmark sem profiler ({@code off}), com
+ * amostragem padrao ({@code sampled}, 1 em 64) e medindo toda entrega ({@code every}). O pipeline
+ * eh montado no setup, depois do install, como numa aplicacao com o profiler ligado no boot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx1g"})
+@State(Scope.Benchmark)
+public class ProfilerBenchmark {
+
+	@Param({"100000"})
+	public int size;
+
+	@Param({"off", "sampled", "every"})
+	public String profiler;
+
+	private Mono<Long> pipeline;
+
+	@Setup
+	public void setup() {
+		if ("sampled".equals(profiler)) {
+			OperatorProfiler.install(ProfilerConfig.defaults());
+		} else if ("every".equals(profiler)) {
+			OperatorProfiler.install(ProfilerConfig.builder().sampleEvery(1).build());
+		}
+		pipeline = Flux.range(0, size)
+				.map(i -> i + 1)
+				.flatMap(Mono::just)
+				.map(i -> i * 2)
+				.count();
+	}
+
+	@TearDown
+	public void tearDown() {
+		OperatorProfiler.uninstall();
+	}
+
+	@Benchmark
+	public Long flatMapOperator() {
+		return pipeline.block();
+	}
+}
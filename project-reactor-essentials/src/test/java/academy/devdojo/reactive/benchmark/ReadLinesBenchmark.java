@@ -0,0 +1,113 @@
+package academy.devdojo.reactive.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import academy.devdojo.reactive.io.FileFlux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Compara o padrao do OperatorsTest.subscribeOnIO (Files.readAllLines dentro de um
+ * Mono.fromCallable) com o FileFlux.
+ * <p>
+ * *FirstLine mede o tempo ate a primeira linha; *Count le o arquivo inteiro.
+ * Com {@code -prof gc} o gc.alloc.rate.norm mostra quanto cada abordagem aloca e o
+ * {@link PeakHeapProfiler} reporta o pico de heap de cada iteracao em {@code heap.peak}:
+ * readAllLines mantem o arquivo inteiro vivo e o FileFlux so um buffer.
+ * <p>
+ * {@code mvn -Pjmh test -Djmh.args="ReadLinesBenchmark -prof gc -prof academy.devdojo.reactive.benchmark.PeakHeapProfiler"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadLinesBenchmark {
+
+	@Param({"100000", "1000000"})
+	public int lineCount;
+
+	private Path file;
+
+	@Setup
+	public void setup() throws IOException {
+		file = Files.createTempFile("read-lines-benchmark", ".txt");
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			for (int i = 0; i < lineCount; i++) {
+				writer.write("line " + i + " of the reactive programming benchmark file");
+				writer.newLine();
+			}
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Benchmark
+	public String readAllLinesFirstLine() {
+		return Mono.fromCallable(() -> Files.readAllLines(file))
+				.subscribeOn(Schedulers.boundedElastic())
+				.map(lines -> lines.get(0))
+				.block();
+	}
+
+	@Benchmark
+	public String fileFluxFirstLine() {
+		return FileFlux.lines(file)
+				.subscribeOn(Schedulers.boundedElastic())
+				.blockFirst();
+	}
+
+	@Benchmark
+	public String mappedFileFluxFirstLine() {
+		return FileFlux.mappedLines(file, StandardCharsets.UTF_8, FileFlux.DEFAULT_BUFFER_SIZE)
+				.subscribeOn(Schedulers.boundedElastic())
+				.blockFirst();
+	}
+
+	@Benchmark
+	public Integer readAllLinesCount() {
+		return Mono.fromCallable(() -> Files.readAllLines(file))
+				.subscribeOn(Schedulers.boundedElastic())
+				.map(List::size)
+				.block();
+	}
+
+	@Benchmark
+	public Long fileFluxCount() {
+		return FileFlux.lines(file)
+				.subscribeOn(Schedulers.boundedElastic())
+				.count()
+				.block();
+	}
+
+	@Benchmark
+	public Long mappedFileFluxCount() {
+		return FileFlux.mappedLines(file, StandardCharsets.UTF_8, FileFlux.DEFAULT_BUFFER_SIZE)
+				.subscribeOn(Schedulers.boundedElastic())
+				.count()
+				.block();
+	}
+}
@@ -0,0 +1,53 @@
+package academy.devdojo.reactive.benchmark;
+
+import java.time.Duration;
+import java.util.function.LongFunction;
+
+import org.reactivestreams.Publisher;
+
+import academy.devdojo.reactive.load.LoadConfig;
+import academy.devdojo.reactive.load.LoadGenerator;
+import academy.devdojo.reactive.load.LoadReport;
+import academy.devdojo.reactive.test.Lookups;
+import reactor.core.publisher.Flux;
+
+/**
+ * Soak em malha aberta dos pipelines do OperatorsTest contra os lookups em memoria:
+ * {@code SoakRunner <flatMap|merge> <requests/s> <segundos> [warmup segundos]}, ou pelo profile
+ * {@code mvn -Psoak test -Dsoak.args="flatMap 100000 60"}. Imprime o relatorio do
+ * {@link LoadGenerator} e a distribuicao de latencia no formato do HdrHistogram plotter.
+ */
+public final class SoakRunner {
+
+	private SoakRunner() {
+	}
+
+	public static void main(String[] args) {
+		if (args.length < 3) {
+			System.err.println("usage: SoakRunner <flatMap|merge> <requests/s> <seconds> [warmup seconds]");
+			System.exit(2);
+		}
+		LoadConfig config = LoadConfig.builder()
+				.rate(Integer.parseInt(args[1]))
+				.duration(Duration.ofSeconds(Long.parseLong(args[2])))
+				.warmup(Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 5))
+				.maxInFlight(1_000_000)
+				.build();
+		LoadReport report = LoadGenerator.of(scenario(args[0]), config).run().block();
+		System.out.println(report.format());
+		report.getLatency().outputPercentileDistribution(System.out, 1e6);
+	}
+
+	private static LongFunction<Publisher<String>> scenario(String name) {
+		switch (name) {
+			case "flatMap":
+				return i -> Flux.just("a", "b")
+						.map(String::toUpperCase)
+						.flatMap(key -> Lookups.findByName(key, Duration.ofMillis(1)));
+			case "merge":
+				return i -> Flux.merge(Flux.just("a", "b").delayElements(Duration.ofMillis(2)), Flux.just("c", "d"));
+			default:
+				throw new IllegalArgumentException("Unknown scenario " + name);
+		}
+	}
+}
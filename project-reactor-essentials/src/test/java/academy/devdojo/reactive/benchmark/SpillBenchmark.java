@@ -0,0 +1,96 @@
+package academy.devdojo.reactive.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import academy.devdojo.reactive.spill.Spill;
+import academy.devdojo.reactive.spill.SpillConfig;
+import academy.devdojo.reactive.spill.SpillSerializer;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Burst de {@code elements} inteiros do Flux.range para um consumidor mais lento depois do
+ * publishOn, como no subscribeAndPublishOnSimple. {@code heapBuffer} eh o onBackpressureBuffer do
+ * Reactor, que guarda o burst inteiro no heap; {@code diskSpill} guarda {@code memoryCapacity}
+ * elementos no heap e o resto em segmentos mapeados. Rodar com {@code -prof gc} para ver a
+ * alocacao; o heap retido aparece no gc.alloc e no tempo de GC do heapBuffer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx512m"})
+@State(Scope.Benchmark)
+public class SpillBenchmark {
+
+	@Param({"1000000"})
+	public int elements;
+
+	@Param({"256"})
+	public int memoryCapacity;
+
+	@Param({"10"})
+	public int consumerTokens;
+
+	private Scheduler scheduler;
+	private Path directory;
+	private SpillConfig config;
+
+	@Setup
+	public void setup() throws IOException {
+		scheduler = Schedulers.newSingle("spill-consumer");
+		directory = Files.createTempDirectory("spill-benchmark");
+		config = SpillConfig.builder()
+				.directory(directory)
+				.memoryCapacity(memoryCapacity)
+				.segmentSize(16 * 1024 * 1024)
+				.build();
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		scheduler.dispose();
+		Files.deleteIfExists(directory);
+	}
+
+	@Benchmark
+	public Long heapBuffer() {
+		return burst()
+				.onBackpressureBuffer()
+				.publishOn(scheduler)
+				.doOnNext(i -> Blackhole.consumeCPU(consumerTokens))
+				.count()
+				.block();
+	}
+
+	@Benchmark
+	public Long diskSpill() {
+		return burst()
+				.transform(Spill.publishOn(scheduler, SpillSerializer.ints(), config))
+				.doOnNext(i -> Blackhole.consumeCPU(consumerTokens))
+				.count()
+				.block();
+	}
+
+	private Flux<Integer> burst() {
+		return Flux.range(0, elements);
+	}
+}
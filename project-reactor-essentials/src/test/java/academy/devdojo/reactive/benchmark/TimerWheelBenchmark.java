@@ -0,0 +1,83 @@
+package academy.devdojo.reactive.benchmark;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import academy.devdojo.reactive.scheduler.HashedWheelScheduler;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * {@code timers} timers curtos por operacao no parallel() padrao e no HashedWheelScheduler.
+ * {@code scheduleAndCancel} agenda timeouts de 10s e cancela todos, como timeouts de requests que
+ * responderam a tempo; {@code expire} agenda delays entre 1 e {@code maxDelayMillis} ms e espera
+ * todos vencerem, como um delayElements por elemento.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx1g"})
+@State(Scope.Benchmark)
+public class TimerWheelBenchmark {
+
+	@Param({"100000"})
+	public int timers;
+
+	@Param({"10"})
+	public int maxDelayMillis;
+
+	@Param({"parallel", "wheel"})
+	public String scheduler;
+
+	private Scheduler target;
+	private Disposable[] scheduled;
+
+	@Setup
+	public void setup() {
+		target = "wheel".equals(scheduler)
+				? HashedWheelScheduler.create("wheel-benchmark")
+				: BenchmarkSchedulers.of(scheduler);
+		scheduled = new Disposable[timers];
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (target instanceof HashedWheelScheduler) {
+			target.dispose();
+		}
+	}
+
+	@Benchmark
+	public Disposable[] scheduleAndCancel() {
+		for (int i = 0; i < timers; i++) {
+			scheduled[i] = target.schedule(BenchmarkSchedulers::noop, 10, TimeUnit.SECONDS);
+		}
+		for (Disposable disposable : scheduled) {
+			disposable.dispose();
+		}
+		return scheduled;
+	}
+
+	@Benchmark
+	public boolean expire() throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(timers);
+		for (int i = 0; i < timers; i++) {
+			target.schedule(latch::countDown, 1 + i % maxDelayMillis, TimeUnit.MILLISECONDS);
+		}
+		return latch.await(30, TimeUnit.SECONDS);
+	}
+}
@@ -0,0 +1,82 @@
+package academy.devdojo.reactive.benchmark;
+
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import academy.devdojo.reactive.trace.SignalTracer;
+import academy.devdojo.reactive.trace.TraceConfig;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+/**
+ * .log() contra o SignalTracer e contra nenhum trace, no formato dos pipelines do FluxTest.
+ * O slf4j-simple escreve em /dev/null para medir so o custo de formatar e escrever, sem o terminal.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.logFile=/dev/null")
+@State(Scope.Benchmark)
+public class TracingBenchmark {
+
+	@Param({"1000"})
+	public int elementCount;
+
+	private SignalTracer everySignal;
+
+	private SignalTracer sampled;
+
+	@Setup
+	public void setup() {
+		everySignal = SignalTracer.create("benchmark");
+		sampled = SignalTracer.create("benchmark", TraceConfig.builder()
+				.sampleEvery(64)
+				.signals(EnumSet.of(SignalType.ON_NEXT, SignalType.ON_ERROR, SignalType.ON_COMPLETE))
+				.build());
+	}
+
+	@Benchmark
+	public void noTracing(Blackhole bh) {
+		Flux.range(0, elementCount)
+				.map(i -> i * 2)
+				.subscribe(bh::consume);
+	}
+
+	@Benchmark
+	public void log(Blackhole bh) {
+		Flux.range(0, elementCount)
+				.map(i -> i * 2)
+				.log()
+				.subscribe(bh::consume);
+	}
+
+	@Benchmark
+	public void tracerEverySignal(Blackhole bh) {
+		Flux.range(0, elementCount)
+				.map(i -> i * 2)
+				.transform(everySignal::trace)
+				.subscribe(bh::consume);
+	}
+
+	@Benchmark
+	public void tracerSampled(Blackhole bh) {
+		Flux.range(0, elementCount)
+				.map(i -> i * 2)
+				.transform(sampled::trace)
+				.subscribe(bh::consume);
+	}
+}
@@ -0,0 +1,85 @@
+package academy.devdojo.reactive.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import academy.devdojo.reactive.scheduler.VirtualThreadScheduler;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Milhares de leituras bloqueantes concorrentes, no padrao do OperatorsTest.subscribeOnIO,
+ * pelo boundedElastic padrao e pelo VirtualThreadScheduler. {@code blockMillis} simula a latencia
+ * de um disco/servico lento alem da leitura do arquivo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+
+	@Param({"1000", "5000"})
+	public int concurrency;
+
+	@Param({"0", "10"})
+	public int blockMillis;
+
+	@Param({"boundedElastic", "virtual"})
+	public String scheduler;
+
+	private Path file;
+
+	private Scheduler target;
+
+	@Setup
+	public void setup() throws IOException {
+		file = Files.createTempFile("virtual-thread-benchmark", ".txt");
+		Files.write(file, "Esse\neh um\narquivo\nde testes\ndo projeto\n".getBytes(StandardCharsets.UTF_8));
+		target = "virtual".equals(scheduler)
+				? VirtualThreadScheduler.create("vt-benchmark")
+				: Schedulers.boundedElastic();
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		if (target instanceof VirtualThreadScheduler) {
+			target.dispose();
+		}
+		Files.deleteIfExists(file);
+	}
+
+	@Benchmark
+	public Long concurrentBlockingReads() {
+		return Flux.range(0, concurrency)
+				.flatMap(i -> Mono.fromCallable(this::read).subscribeOn(target), concurrency)
+				.count()
+				.block();
+	}
+
+	private int read() throws Exception {
+		if (blockMillis > 0) {
+			Thread.sleep(blockMillis);
+		}
+		return Files.readAllLines(file).size();
+	}
+}
@@ -0,0 +1,115 @@
+package academy.devdojo.reactive.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import academy.devdojo.reactive.zip.Zips;
+import reactor.core.publisher.Flux;
+import reactor.util.concurrent.Queues;
+import reactor.util.function.Tuples;
+
+/**
+ * Padrao do OperatorsTest.zipOperator ({@code zip -> Tuple -> flatMap(Flux.just(new Serie))})
+ * contra zip + map, o zip com combinador do Reactor e o Zips, de 2 a 8 fontes.
+ * Rode com {@code -prof gc} para comparar a alocacao por operacao.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ZipBenchmark {
+
+	@Param({"2", "3", "4", "5", "6", "7", "8"})
+	public int sources;
+
+	@Param({"1000"})
+	public int size;
+
+	private List<Flux<Integer>> fluxes;
+
+	private Flux<Integer>[] fluxArray;
+
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setup() {
+		fluxes = new ArrayList<>();
+		for (int i = 0; i < sources; i++) {
+			fluxes.add(Flux.range(i, size));
+		}
+		fluxArray = fluxes.toArray(new Flux[0]);
+	}
+
+	@Benchmark
+	public Long zipTupleFlatMap() {
+		return Flux.zip(fluxes, Tuples::fromArray)
+				.flatMap(tuple -> Flux.just(Row.of(tuple.toArray())))
+				.count()
+				.block();
+	}
+
+	@Benchmark
+	public Long zipTupleMap() {
+		return Flux.zip(fluxes, Tuples::fromArray)
+				.map(tuple -> Row.of(tuple.toArray()))
+				.count()
+				.block();
+	}
+
+	@Benchmark
+	public Long reactorZipCombinator() {
+		return Flux.zip(Row::of, Queues.XS_BUFFER_SIZE, fluxArray)
+				.count()
+				.block();
+	}
+
+	@Benchmark
+	public Long zips() {
+		return Zips.zip(Row::of, Queues.XS_BUFFER_SIZE, fluxArray)
+				.count()
+				.block();
+	}
+
+	static final class Row {
+
+		final Object a;
+		final Object b;
+		final Object c;
+		final Object d;
+		final Object e;
+		final Object f;
+		final Object g;
+		final Object h;
+
+		private Row(Object a, Object b, Object c, Object d, Object e, Object f, Object g, Object h) {
+			this.a = a;
+			this.b = b;
+			this.c = c;
+			this.d = d;
+			this.e = e;
+			this.f = f;
+			this.g = g;
+			this.h = h;
+		}
+
+		static Row of(Object[] v) {
+			int n = v.length;
+			return new Row(v[0], v[1], n > 2 ? v[2] : null, n > 3 ? v[3] : null, n > 4 ? v[4] : null,
+					n > 5 ? v[5] : null, n > 6 ? v[6] : null, n > 7 ? v[7] : null);
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package academy.devdojo.reactive.test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import academy.devdojo.reactive.backpressure.AdaptiveRequestPolicy;
+import academy.devdojo.reactive.backpressure.AdaptiveRequestSubscriber;
+import academy.devdojo.reactive.backpressure.AdaptiveRequests;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@Slf4j
+public class AdaptiveRequestTest {
+
+	@Test
+	public void fastConsumerGrowsWindow() {
+		List<Long> requests = new CopyOnWriteArrayList<>();
+		AdaptiveRequestSubscriber<Integer> subscriber = new AdaptiveRequestSubscriber<>(
+				AdaptiveRequestPolicy.builder().initialWindow(2).build(),
+				i -> {
+				});
+
+		Flux.range(1, 10_000)
+				.doOnRequest(requests::add)
+				.subscribe(subscriber);
+
+		log.info("window {} after {} requests", subscriber.currentWindow(), subscriber.requestCount());
+		Assertions.assertTrue(sum(requests) >= 10_000);
+		Assertions.assertTrue(subscriber.currentWindow() > 2);
+		Assertions.assertTrue(subscriber.requestCount() < 10_000 / 2);
+	}
+
+	@Test
+	public void slowConsumerShrinksWindow() {
+		AdaptiveRequestSubscriber<Integer> subscriber = new AdaptiveRequestSubscriber<>(
+				AdaptiveRequestPolicy.builder()
+						.initialWindow(64)
+						.targetBatchTime(Duration.ofMillis(1))
+						.build(),
+				i -> spin(TimeUnit.MICROSECONDS.toNanos(400)));
+
+		Flux.range(1, 200).subscribe(subscriber);
+
+		log.info("window {} average {} ns", subscriber.currentWindow(), subscriber.averageProcessingNanos());
+		Assertions.assertTrue(subscriber.currentWindow() <= 4);
+	}
+
+	@Test
+	public void limitRateNeverRequestsMoreThanDownstreamDemand() {
+		List<Long> requests = new CopyOnWriteArrayList<>();
+		Flux<Integer> flux = Flux.range(1, 100)
+				.doOnRequest(requests::add)
+				.transform(AdaptiveRequests.limitRate());
+
+		StepVerifier.create(flux, 3)
+				.expectNext(1, 2, 3)
+				.then(() -> Assertions.assertEquals(3, sum(requests)))
+				.thenRequest(5)
+				.expectNext(4, 5, 6, 7, 8)
+				.then(() -> Assertions.assertEquals(8, sum(requests)))
+				.thenCancel()
+				.verify();
+	}
+
+	@Test
+	public void limitRateBatchesUnboundedDemand() {
+		List<Long> requests = new CopyOnWriteArrayList<>();
+		Flux<Integer> flux = Flux.range(1, 1_000)
+				.doOnRequest(requests::add)
+				.transform(AdaptiveRequests.limitRate(AdaptiveRequestPolicy.builder()
+						.minWindow(4)
+						.initialWindow(8)
+						.maxWindow(64)
+						.build()));
+
+		StepVerifier.create(flux)
+				.expectNextCount(1_000)
+				.verifyComplete();
+
+		Assertions.assertTrue(requests.stream().allMatch(n -> n <= 64));
+		Assertions.assertEquals(8, requests.get(0));
+	}
+
+	@Test
+	public void limitRatePropagatesError() {
+		Flux<Integer> flux = Flux.range(1, 5)
+				.map(i -> {
+					if (i == 4) {
+						throw new IndexOutOfBoundsException("index error");
+					}
+					return i;
+				})
+				.transform(AdaptiveRequests.limitRate());
+
+		StepVerifier.create(flux)
+				.expectNext(1, 2, 3)
+				.expectError(IndexOutOfBoundsException.class)
+				.verify();
+	}
+
+	@Test
+	public void limitRateInFrontOfFuseableLog() {
+		Flux<Integer> flux = Flux.range(1, 10)
+				.transform(AdaptiveRequests.limitRate())
+				.log();
+
+		StepVerifier.create(flux)
+				.expectNext(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+				.verifyComplete();
+	}
+
+	@Test
+	public void invalidPolicyIsRejected() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> AdaptiveRequests.limitRate(
+				AdaptiveRequestPolicy.builder().minWindow(10).maxWindow(5).build()));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> AdaptiveRequests.limitRate(
+				AdaptiveRequestPolicy.builder().replenishRatio(0).build()));
+	}
+
+	private static long sum(List<Long> requests) {
+		return requests.stream().mapToLong(Long::longValue).sum();
+	}
+
+	private static void spin(long nanos) {
+		long end = System.nanoTime() + nanos;
+		while (System.nanoTime() < end) {
+			// busy spin para simular um consumidor lento sem bloquear
+		}
+	}
+}
@@ -0,0 +1,162 @@
+package academy.devdojo.reactive.test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+import academy.devdojo.reactive.allocation.AllocationBudget;
+import academy.devdojo.reactive.allocation.AllocationResult;
+import academy.devdojo.reactive.allocation.Allocations;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Hooks;
+
+/**
+ * Orcamentos de alocacao dos pipelines do FluxTest e do OperatorsTest, escalados para N elementos e
+ * sem o log(). Os assincronos (delayElements, publishOn) entram na forma sincrona: so a thread que
+ * assina eh medida. Cada orcamento fica por volta de 1.5x o medido para o proprio pipeline na
+ * execucao isolada, no Java 21 com Reactor 3.3.5 (zip 68 B, zipWith 108 B, flatMap 94 B,
+ * flatMapSequential 90 B, combineLatest 48 B, os de range 16 B).
+ * <p>
+ * Roda numa execucao propria do surefire, com JVM propria: o BlockHound e os hooks instalados por
+ * outras classes ficam na JVM e mudavam a medida com a ordem dos testes (o zip media 68 B sozinho
+ * e 108 B na suite inteira). Os hooks sao zerados antes por garantia, para quem roda pela IDE.
+ */
+@Slf4j
+public class AllocationBudgetTest {
+
+	@BeforeAll
+	public static void resetHooks() {
+		Hooks.resetOnEachOperator();
+		Hooks.resetOnLastOperator();
+		Hooks.resetOnOperatorDebug();
+	}
+
+	@Test
+	public void fluxSubscribeFromList() {
+		assertBudget(8, n -> Flux.fromIterable(names(n)));
+	}
+
+	@Test
+	public void fluxSubscribeNumbers() {
+		assertBudget(24, n -> Flux.range(1, n));
+	}
+
+	@Test
+	public void fluxSubscribeNumbersError() {
+		assertBudget(24, n -> Flux.range(1, n).map(i -> {
+			if (i > n) {
+				throw new IndexOutOfBoundsException("index error");
+			}
+			return i;
+		}));
+	}
+
+	@Test
+	public void fluxSubscribePrettyBackpressure() {
+		assertBudget(24, n -> Flux.range(1, n).limitRate(3));
+	}
+
+	@Test
+	public void switchIfEmptyOperator() {
+		assertBudget(24, n -> Flux.<Integer>empty().switchIfEmpty(Flux.range(0, n)));
+	}
+
+	@Test
+	public void deferOperator() {
+		assertBudget(24, n -> Flux.defer(() -> Flux.range(0, n)));
+	}
+
+	@Test
+	public void concatOperator() {
+		assertBudget(24, n -> Flux.concat(Flux.range(0, n / 2), Flux.range(n / 2, n - n / 2)));
+	}
+
+	@Test
+	public void concatWithOperator() {
+		assertBudget(24, n -> Flux.range(0, n / 2).concatWith(Flux.range(n / 2, n - n / 2)));
+	}
+
+	@Test
+	public void combineLastOperator() {
+		assertBudget(72, n -> Flux.combineLatest(Flux.range(0, n / 2), Flux.range(0, n - n / 2),
+				(a, b) -> a + b));
+	}
+
+	@Test
+	public void mergeOperator() {
+		assertBudget(24, n -> Flux.merge(Flux.range(0, n / 2), Flux.range(n / 2, n - n / 2)));
+	}
+
+	@Test
+	public void mergeSequentialOperator() {
+		assertBudget(24, n -> Flux.mergeSequential(Flux.range(0, n / 2), Flux.range(n / 2, n - n / 2)));
+	}
+
+	@Test
+	public void flatMapOperator() {
+		assertBudget(144, n -> Flux.fromIterable(names(n / 2))
+				.map(String::toUpperCase)
+				.flatMap(name -> Lookups.findByName(name, Duration.ZERO)));
+	}
+
+	@Test
+	public void flatMapSequentialOperator() {
+		assertBudget(136, n -> Flux.fromIterable(names(n / 2))
+				.map(String::toUpperCase)
+				.flatMapSequential(name -> Lookups.findByName(name, Duration.ZERO)));
+	}
+
+	@Test
+	public void zipOperator() {
+		assertBudget(104, n -> Flux.zip(Flux.fromIterable(names(n)), Flux.range(0, n))
+				.flatMap(tuple -> Flux.just(new Serie(tuple.getT1(), tuple.getT2()))));
+	}
+
+	@Test
+	public void zipWithOperator() {
+		assertBudget(168, n -> Flux.fromIterable(names(n)).zipWith(Flux.range(0, n))
+				.flatMap(tuple -> Flux.just(new Serie(tuple.getT1(), tuple.getT2()))));
+	}
+
+	@Test
+	public void overBudgetFails() {
+		AssertionError error = Assertions.assertThrows(AssertionError.class, () -> Allocations.assertWithin(
+				AllocationBudget.perElement(8), n -> Flux.range(0, n).map(i -> new byte[64])));
+		Assertions.assertTrue(error.getMessage().contains("allocation budget exceeded"), error.getMessage());
+	}
+
+	@Test
+	public void asyncPipelineIsRejected() {
+		Assertions.assertThrows(IllegalStateException.class, () -> Allocations.measure(
+				AllocationBudget.builder().bytesPerElement(0).elements(10).warmupRounds(0).build(),
+				n -> Flux.range(0, n).delayElements(Duration.ofMillis(1))));
+	}
+
+	private void assertBudget(double bytesPerElement, IntFunction<? extends Publisher<?>> pipeline) {
+		AllocationResult result = Allocations.assertWithin(AllocationBudget.perElement(bytesPerElement), pipeline);
+		log.info("{}", result);
+		Assertions.assertTrue(result.getReceived() > 0);
+	}
+
+	private static List<String> names(int n) {
+		List<String> names = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			names.add(i % 2 == 0 ? "a" : "b");
+		}
+		return names;
+	}
+
+	@Value
+	static class Serie {
+		String title;
+		int episodes;
+	}
+}
@@ -0,0 +1,171 @@
+package academy.devdojo.reactive.test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import academy.devdojo.reactive.logging.AsyncLogAppender;
+import academy.devdojo.reactive.logging.AsyncLogConfig;
+import academy.devdojo.reactive.logging.AsyncLoggerFactory;
+import academy.devdojo.reactive.logging.OverflowPolicy;
+import reactor.blockhound.BlockHound;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+public class AsyncLoggerTest {
+
+	@BeforeAll
+	public static void setup() {
+		BlockHound.install();
+	}
+
+	@Test
+	public void logFromParallelWorkersDoesNotBlock() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (AsyncLogAppender appender = AsyncLogAppender.start(AsyncLogConfig.builder()
+				.output(new PrintStream(out, true))
+				.build())) {
+			Logger log = logger(appender);
+
+			Flux<Integer> flux = Flux.range(1, 4)
+					.publishOn(Schedulers.parallel())
+					.map(i -> {
+						log.info("Map 1 - Number {} on Thread {}", i, Thread.currentThread().getName());
+						return i;
+					});
+
+			StepVerifier.create(flux)
+					.expectNext(1, 2, 3, 4)
+					.verifyComplete();
+		}
+
+		String output = out.toString();
+		Assertions.assertTrue(output.contains("Map 1 - Number 4 on Thread parallel-"), output);
+		Assertions.assertTrue(output.contains("] INFO academy.devdojo.reactive.test.AsyncLoggerTest - "), output);
+	}
+
+	@Test
+	public void defaultFactoryLoggerIsUsableFromParallelWorkers() {
+		Logger log = AsyncLoggerFactory.getLogger(AsyncLoggerTest.class);
+
+		StepVerifier.create(Flux.range(1, 100)
+				.parallel()
+				.runOn(Schedulers.parallel())
+				.doOnNext(i -> log.info("Number {} on Thread {}", i, Thread.currentThread().getName()))
+				.sequential())
+				.expectNextCount(100)
+				.verifyComplete();
+	}
+
+	@Test
+	public void dropPolicyCountsDroppedMessages() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		AsyncLogAppender appender = AsyncLogAppender.start(AsyncLogConfig.builder()
+				.capacity(4)
+				.batchSize(1)
+				.output(new PrintStream(slow(out), true))
+				.build());
+		Logger log = logger(appender);
+
+		for (int i = 0; i < 200; i++) {
+			log.info("message {}", i);
+		}
+		appender.close();
+
+		Assertions.assertTrue(appender.dropped() > 0);
+		Assertions.assertEquals(200, appender.dropped() + appender.written());
+		Assertions.assertTrue(out.toString().contains("log messages dropped"));
+	}
+
+	@Test
+	public void blockPolicyWaitsForSpace() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		AsyncLogAppender appender = AsyncLogAppender.start(AsyncLogConfig.builder()
+				.capacity(4)
+				.overflowPolicy(OverflowPolicy.BLOCK)
+				.output(new PrintStream(slow(out), true))
+				.build());
+		Logger log = logger(appender);
+
+		for (int i = 0; i < 50; i++) {
+			log.info("message {}", i);
+		}
+		appender.close();
+
+		Assertions.assertEquals(0, appender.dropped());
+		Assertions.assertEquals(50, appender.written());
+		Assertions.assertTrue(out.toString().contains("message 49"));
+	}
+
+	@Test
+	public void levelBelowThresholdIsIgnored() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		AsyncLogAppender appender = AsyncLogAppender.start(AsyncLogConfig.builder()
+				.level(Level.WARN)
+				.output(new PrintStream(out, true))
+				.build());
+		Logger log = logger(appender);
+
+		log.info("ignored {}", 1);
+		log.error("failed {}", 2, new IllegalStateException("boom"));
+		appender.close();
+
+		String output = out.toString();
+		Assertions.assertFalse(output.contains("ignored"));
+		Assertions.assertTrue(output.contains("ERROR academy.devdojo.reactive.test.AsyncLoggerTest - failed 2"));
+		Assertions.assertTrue(output.contains("java.lang.IllegalStateException: boom"));
+	}
+
+	@Test
+	public void levelIsParsedLikeSlf4jSimple() {
+		Assertions.assertEquals(Level.WARN, AsyncLogConfig.parseLevel("WARN"));
+		Assertions.assertEquals(Level.DEBUG, AsyncLogConfig.parseLevel(" debug "));
+		Assertions.assertEquals(Level.INFO, AsyncLogConfig.parseLevel("warning"));
+		Assertions.assertNull(AsyncLogConfig.parseLevel("off"));
+	}
+
+	@Test
+	public void offLevelWritesNothing() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		AsyncLogAppender appender = AsyncLogAppender.start(AsyncLogConfig.builder()
+				.level(AsyncLogConfig.parseLevel("off"))
+				.output(new PrintStream(out, true))
+				.build());
+		Logger log = logger(appender);
+
+		log.error("failed {}", 1);
+		appender.close();
+
+		Assertions.assertFalse(log.isErrorEnabled());
+		Assertions.assertEquals(0, appender.written());
+		Assertions.assertEquals("", out.toString());
+	}
+
+	private static Logger logger(AsyncLogAppender appender) {
+		return appender.getLogger(AsyncLoggerTest.class);
+	}
+
+	private static OutputStream slow(ByteArrayOutputStream delegate) {
+		return new OutputStream() {
+			@Override
+			public void write(int b) {
+				delegate.write(b);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+				LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+				delegate.write(b, off, len);
+			}
+		};
+	}
+}
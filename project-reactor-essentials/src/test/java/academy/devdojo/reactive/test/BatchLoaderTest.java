@@ -0,0 +1,140 @@
+package academy.devdojo.reactive.test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import academy.devdojo.reactive.batch.BatchLoader;
+import academy.devdojo.reactive.batch.BatchPolicy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+@Slf4j
+public class BatchLoaderTest {
+
+	private final List<List<String>> calls = new CopyOnWriteArrayList<>();
+
+	@Test
+	public void loadSequentialKeepsOrderAndCallsOncePerBatch() {
+		BatchLoader<String, String> loader = BatchLoader.of(this::findByNames, BatchPolicy.builder()
+				.maxBatchSize(3)
+				.build());
+
+		Flux<String> flatFlux = Flux.just("a", "b", "A", "b", "a")
+				.transform(loader.loadSequential())
+				.log();
+
+		StepVerifier.create(flatFlux)
+				.expectSubscription()
+				.expectNext("nomeA1", "nomeA2", "nomeB1", "nomeB2", "nomeA1", "nomeA2")
+				.expectNext("nomeB1", "nomeB2", "nomeA1", "nomeA2")
+				.verifyComplete();
+
+		Assertions.assertEquals(Arrays.asList(Arrays.asList("a", "b", "A"), Arrays.asList("b", "a")), calls);
+		Assertions.assertEquals(2, loader.batchCount());
+		Assertions.assertEquals(2.5, loader.averageBatchSize());
+	}
+
+	@Test
+	public void repeatedKeysInABatchAreLoadedOnce() {
+		BatchLoader<String, String> loader = BatchLoader.of(this::findByNames);
+
+		StepVerifier.create(Flux.just("a", "a", "a").transform(loader.load()))
+				.expectNextCount(6)
+				.verifyComplete();
+
+		Assertions.assertEquals(Collections.singletonList(Collections.singletonList("a")), calls);
+	}
+
+	@Test
+	public void batchesCloseBySizeOrDelay() {
+		StepVerifier.withVirtualTime(() -> Flux.range(1, 7)
+				.concatWith(Flux.just(8).delayElements(Duration.ofSeconds(1)))
+				.transform(BatchLoader.batches(BatchPolicy.builder()
+						.maxBatchSize(3)
+						.maxDelay(Duration.ofMillis(100))
+						.timer(Schedulers.parallel())
+						.build())))
+				.expectSubscription()
+				.expectNext(Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6))
+				.expectNoEvent(Duration.ofMillis(100))
+				.expectNext(Collections.singletonList(7))
+				.thenAwait(Duration.ofSeconds(1))
+				.expectNext(Collections.singletonList(8))
+				.verifyComplete();
+	}
+
+	@Test
+	public void expiredBatchWaitsForDemand() {
+		StepVerifier.withVirtualTime(() -> Flux.just(1, 2)
+				.concatWith(Flux.never())
+				.transform(BatchLoader.batches(BatchPolicy.builder()
+						.maxBatchSize(10)
+						.maxDelay(Duration.ofMillis(100))
+						.timer(Schedulers.parallel())
+						.build())), 0)
+				.expectSubscription()
+				.thenAwait(Duration.ofSeconds(1))
+				.expectNoEvent(Duration.ofMillis(10))
+				.thenRequest(1)
+				.expectNext(Arrays.asList(1, 2))
+				.thenCancel()
+				.verify();
+	}
+
+	@Test
+	public void batchesInFrontOfFuseableLog() {
+		Flux<List<Integer>> flux = Flux.range(1, 10)
+				.transform(BatchLoader.batches(BatchPolicy.builder()
+						.maxBatchSize(4)
+						.build()))
+				.log();
+
+		StepVerifier.create(flux)
+				.expectNext(Arrays.asList(1, 2, 3, 4), Arrays.asList(5, 6, 7, 8), Arrays.asList(9, 10))
+				.verifyComplete();
+	}
+
+	@Test
+	public void slowBatchesDoNotOverflow() {
+		Mono<Long> count = Flux.range(1, 2000)
+				.transform(BatchLoader.batches(BatchPolicy.builder()
+						.maxBatchSize(10)
+						.maxDelay(Duration.ofMillis(1))
+						.build()))
+				.flatMap(batch -> Mono.delay(Duration.ofMillis(5)).thenReturn(batch.size()), 2)
+				.reduce(0L, Long::sum);
+
+		StepVerifier.create(count)
+				.expectNext(2000L)
+				.verifyComplete();
+	}
+
+	@Test
+	public void batchErrorIsPropagated() {
+		BatchLoader<String, String> loader = BatchLoader.of(keys -> Mono.error(new IllegalStateException("remote down")));
+
+		StepVerifier.create(Flux.just("a", "b").transform(loader.load()))
+				.expectError(IllegalStateException.class)
+				.verify();
+	}
+
+	private Mono<Map<String, List<String>>> findByNames(Flux<String> names) {
+		return names.collectList()
+				.doOnNext(calls::add)
+				.flatMapMany(Flux::fromIterable)
+				.collectMap(name -> name, name -> name.equalsIgnoreCase("a")
+						? Arrays.asList("nomeA1", "nomeA2")
+						: Arrays.asList("nomeB1", "nomeB2"))
+				.delayElement(Duration.ofMillis(10));
+	}
+}
@@ -0,0 +1,124 @@
+package academy.devdojo.reactive.test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import academy.devdojo.reactive.blocking.BlockingReport;
+import academy.devdojo.reactive.blocking.BlockingSampler;
+import academy.devdojo.reactive.blocking.BlockingSamplerConfig;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+public class BlockingSamplerTest {
+
+	@AfterEach
+	public void tearDown() {
+		BlockingSampler.uninstall();
+	}
+
+	@Test
+	public void blockingCallsAreReportedInsteadOfThrown() {
+		BlockingSampler sampler = BlockingSampler.install(BlockingSamplerConfig.builder().sampleRate(1).build());
+
+		Flux<Integer> flux = Flux.range(1, 5)
+				.concatMap(i -> Mono.fromCallable(() -> {
+					Thread.sleep(20);
+					return i;
+				}).subscribeOn(Schedulers.parallel()));
+
+		StepVerifier.create(flux)
+				.expectNext(1, 2, 3, 4, 5)
+				.verifyComplete();
+
+		BlockingReport report = sampler.report();
+		Assertions.assertEquals(5, report.getDetections());
+		Assertions.assertEquals(1, report.getSites().size());
+
+		BlockingReport.Site top = report.getSites().get(0);
+		Assertions.assertEquals("parallel", top.getSite().getPool());
+		Assertions.assertTrue(top.getSite().getMethod().contains("sleep"), top.getSite().getMethod());
+		Assertions.assertEquals(5, top.getEstimatedCount());
+		Assertions.assertTrue(top.getEstimatedBlockedTime().compareTo(Duration.ofMillis(80)) >= 0,
+				top.getEstimatedBlockedTime()::toString);
+		Assertions.assertTrue(top.getSite().getStack().stream()
+				.anyMatch(frame -> frame.getClassName().startsWith(BlockingSamplerTest.class.getName())));
+
+		Assertions.assertEquals(0, sampler.report().getDetections());
+	}
+
+	@Test
+	public void sitesAreRankedByBlockedTime() {
+		BlockingSampler sampler = BlockingSampler.install(BlockingSamplerConfig.builder().sampleRate(1).build());
+
+		Mono.fromRunnable(() -> sleep(5)).subscribeOn(Schedulers.parallel()).repeat(3).blockLast();
+		Mono.fromRunnable(() -> sleep(50)).subscribeOn(Schedulers.single()).block();
+
+		List<BlockingReport.Site> sites = sampler.report().getSites();
+		Assertions.assertEquals(2, sites.size());
+		Assertions.assertEquals("single", sites.get(0).getSite().getPool());
+		Assertions.assertEquals(1, sites.get(0).getSamples());
+		Assertions.assertEquals("parallel", sites.get(1).getSite().getPool());
+		Assertions.assertEquals(4, sites.get(1).getSamples());
+	}
+
+	@Test
+	public void reportsAreEmittedPeriodically() throws InterruptedException {
+		List<BlockingReport> reports = new CopyOnWriteArrayList<>();
+		BlockingSampler.install(BlockingSamplerConfig.builder()
+				.sampleRate(1)
+				.reportInterval(Duration.ofMillis(100))
+				.reporter(reports::add)
+				.build());
+
+		Mono.fromRunnable(() -> sleep(1)).subscribeOn(Schedulers.parallel()).block();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+		while (reports.stream().mapToLong(BlockingReport::getDetections).sum() == 0 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+
+		Assertions.assertEquals(1, reports.stream().mapToLong(BlockingReport::getDetections).sum());
+		Assertions.assertTrue(reports.get(reports.size() - 1).format().contains("parallel"));
+	}
+
+	@Test
+	public void blockHoundThrowsAgainAfterUninstall() throws InterruptedException {
+		BlockingSampler.install(BlockingSamplerConfig.builder().sampleRate(1).build());
+		BlockingSampler.uninstall();
+
+		FutureTask<String> task = new FutureTask<>(() -> {
+			Thread.sleep(0);
+			return "";
+		});
+		Schedulers.parallel().schedule(task);
+		try {
+			task.get(10, TimeUnit.SECONDS);
+			Assertions.fail("should fail");
+		} catch (Exception e) {
+			Assertions.assertTrue(e.getCause() instanceof BlockingOperationError);
+		}
+	}
+
+	@Test
+	public void invalidConfigIsRejected() {
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> BlockingSampler.install(BlockingSamplerConfig.builder().sampleRate(0).build()));
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package academy.devdojo.reactive.test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import academy.devdojo.reactive.bulkhead.Bulkhead;
+import academy.devdojo.reactive.bulkhead.BulkheadConfig;
+import academy.devdojo.reactive.bulkhead.BulkheadSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@Slf4j
+public class BulkheadTest {
+
+	private final CountDownLatch gate = new CountDownLatch(1);
+
+	@AfterEach
+	public void tearDown() {
+		gate.countDown();
+	}
+
+	@Test
+	public void limitsConcurrentCalls() {
+		Bulkhead bulkhead = Bulkhead.of("limited", BulkheadConfig.builder().maxConcurrent(2).build());
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger peak = new AtomicInteger();
+
+		Flux<Integer> calls = Flux.range(0, 6)
+				.flatMap(i -> bulkhead.call(() -> {
+					peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+					Thread.sleep(50);
+					running.decrementAndGet();
+					return i;
+				}));
+
+		StepVerifier.create(calls)
+				.expectNextCount(6)
+				.verifyComplete();
+
+		BulkheadSnapshot snapshot = bulkhead.snapshot();
+		log.info("{}", snapshot);
+		Assertions.assertEquals(2, peak.get());
+		Assertions.assertEquals(6, snapshot.getCompleted());
+		Assertions.assertEquals(0, snapshot.getActive());
+		Assertions.assertEquals(0, snapshot.getQueued());
+		Assertions.assertTrue(snapshot.getWaitMaxNanos() >= Duration.ofMillis(40).toNanos(), snapshot::toString);
+		bulkhead.dispose();
+	}
+
+	@Test
+	public void rejectsWhenQueueIsFull() {
+		Bulkhead bulkhead = Bulkhead.of("full", BulkheadConfig.builder().maxConcurrent(1).maxQueued(1).build());
+		occupy(bulkhead);
+		occupy(bulkhead);
+
+		StepVerifier.create(bulkhead.call(() -> "nunca"))
+				.expectError(RejectedExecutionException.class)
+				.verify(Duration.ofMillis(100));
+
+		BulkheadSnapshot snapshot = bulkhead.snapshot();
+		Assertions.assertEquals(1, snapshot.getActive());
+		Assertions.assertEquals(1, snapshot.getQueued());
+		Assertions.assertEquals(1, snapshot.getRejected());
+		bulkhead.dispose();
+	}
+
+	@Test
+	public void failsAfterMaxQueueWait() {
+		Bulkhead bulkhead = Bulkhead.of("slow", BulkheadConfig.builder()
+				.maxConcurrent(1)
+				.maxQueueWait(Duration.ofMillis(100))
+				.build());
+		AtomicBoolean ran = new AtomicBoolean();
+		occupy(bulkhead);
+
+		StepVerifier.create(bulkhead.call(() -> ran.getAndSet(true)))
+				.expectError(TimeoutException.class)
+				.verify(Duration.ofSeconds(2));
+
+		gate.countDown();
+		BulkheadSnapshot snapshot = bulkhead.snapshot();
+		Assertions.assertFalse(ran.get());
+		Assertions.assertEquals(1, snapshot.getTimedOut());
+		Assertions.assertEquals(0, snapshot.getQueued());
+		bulkhead.dispose();
+	}
+
+	@Test
+	public void cancelWhileQueuedFreesTheSlot() throws Exception {
+		Bulkhead bulkhead = Bulkhead.of("cancel", BulkheadConfig.builder().maxConcurrent(1).maxQueued(1).build());
+		AtomicBoolean ran = new AtomicBoolean();
+		occupy(bulkhead);
+		Disposable queued = bulkhead.call(() -> ran.getAndSet(true)).subscribe();
+		Assertions.assertEquals(1, bulkhead.snapshot().getQueued());
+
+		queued.dispose();
+		Assertions.assertEquals(0, bulkhead.snapshot().getQueued());
+
+		Mono<String> next = bulkhead.call(() -> "depois");
+		gate.countDown();
+		StepVerifier.create(next)
+				.expectNext("depois")
+				.verifyComplete();
+		Assertions.assertFalse(ran.get());
+		bulkhead.dispose();
+	}
+
+	@Test
+	public void slowDependencyDoesNotStarveOthers() {
+		Bulkhead slow = Bulkhead.of("slow-dependency", BulkheadConfig.builder().maxConcurrent(2).maxQueued(0).build());
+		Bulkhead files = Bulkhead.of("files");
+		for (int i = 0; i < 2; i++) {
+			occupy(slow);
+		}
+
+		StepVerifier.create(slow.call(() -> "nunca"))
+				.expectError(RejectedExecutionException.class)
+				.verify(Duration.ofMillis(100));
+
+		Mono<List<String>> list = files.call(() -> Files.readAllLines(Paths.get("text-file")));
+		StepVerifier.create(list)
+				.expectNextMatches(lines -> !lines.isEmpty())
+				.expectComplete()
+				.verify(Duration.ofSeconds(1));
+
+		slow.dispose();
+		files.dispose();
+	}
+
+	@Test
+	public void runsOnBulkheadThreads() {
+		Bulkhead bulkhead = Bulkhead.of("named");
+
+		StepVerifier.create(Mono.fromCallable(() -> Thread.currentThread().getName()).transform(bulkhead::subscribeOn))
+				.expectNextMatches(name -> name.startsWith("named-"))
+				.verifyComplete();
+		bulkhead.dispose();
+	}
+
+	private void occupy(Bulkhead bulkhead) {
+		bulkhead.call(this::blocked).subscribe(value -> {
+		}, error -> log.info("{}", error.toString()));
+	}
+
+	private String blocked() throws InterruptedException {
+		gate.await();
+		return "liberado";
+	}
+}
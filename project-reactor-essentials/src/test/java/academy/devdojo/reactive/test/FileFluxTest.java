@@ -0,0 +1,114 @@
+package academy.devdojo.reactive.test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import academy.devdojo.reactive.io.FileFlux;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+@Slf4j
+public class FileFluxTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void linesMatchReadAllLines() throws Exception {
+		List<String> expected = Files.readAllLines(Paths.get("text-file"));
+
+		Flux<String> lines = FileFlux.lines(Paths.get("text-file"))
+				.subscribeOn(Schedulers.boundedElastic());
+
+		StepVerifier.create(lines)
+				.expectSubscription()
+				.expectNextSequence(expected)
+				.verifyComplete();
+	}
+
+	@Test
+	public void linesWithSmallBufferSplitMultibyteAndCrLf() throws Exception {
+		Path file = tempDir.resolve("multibyte.txt");
+		String content = "acao\r\nexecucao \u00e7\u00e3o\r\u00faltima\n\nsem quebra";
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+		List<String> expected = Files.readAllLines(file);
+
+		StepVerifier.create(FileFlux.lines(file, StandardCharsets.UTF_8, 16))
+				.expectNextSequence(expected)
+				.verifyComplete();
+
+		StepVerifier.create(FileFlux.mappedLines(file, StandardCharsets.UTF_8, 16))
+				.expectNextSequence(expected)
+				.verifyComplete();
+	}
+
+	@Test
+	public void linesOnlyReadWhatWasRequested() throws Exception {
+		Path file = tempDir.resolve("big.txt");
+		StringBuilder content = new StringBuilder();
+		for (int i = 0; i < 10_000; i++) {
+			content.append("line ").append(i).append('\n');
+		}
+		Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+
+		StepVerifier.create(FileFlux.lines(file, StandardCharsets.UTF_8, 64), 2)
+				.expectNext("line 0", "line 1")
+				.thenRequest(1)
+				.expectNext("line 2")
+				.thenCancel()
+				.verify();
+	}
+
+	@Test
+	public void emptyFileCompletes() throws Exception {
+		Path file = Files.createFile(tempDir.resolve("empty.txt"));
+
+		StepVerifier.create(FileFlux.mappedLines(file, StandardCharsets.UTF_8, 16))
+				.verifyComplete();
+	}
+
+	@Test
+	public void missingFileErrors() {
+		StepVerifier.create(FileFlux.lines(tempDir.resolve("missing.txt")))
+				.expectError(NoSuchFileException.class)
+				.verify();
+	}
+
+	@Test
+	public void chunksCoverWholeFile() throws Exception {
+		long size = Files.size(Paths.get("text-file"));
+
+		StepVerifier.create(FileFlux.chunks(Paths.get("text-file"), 16).map(ByteBuffer::remaining).reduce(0, Integer::sum))
+				.expectNext((int) size)
+				.verifyComplete();
+
+		StepVerifier.create(FileFlux.mappedChunks(Paths.get("text-file"), 16).map(ByteBuffer::remaining).reduce(0, Integer::sum))
+				.expectNext((int) size)
+				.verifyComplete();
+	}
+
+	@Test
+	public void malformedInputErrors() throws Exception {
+		Path file = tempDir.resolve("malformed.txt");
+		Files.write(file, new byte[]{'a', '\n', (byte) 0xC3, (byte) 0x28});
+
+		StepVerifier.create(FileFlux.lines(file))
+				.expectNext("a")
+				.expectError(MalformedInputException.class)
+				.verify();
+
+		Assertions.assertThrows(MalformedInputException.class, () -> Files.readAllLines(file));
+	}
+}
@@ -12,6 +12,7 @@ import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.ConnectableFlux;
 import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
 
 @Slf4j
 public class FluxTest {
@@ -175,14 +176,15 @@ public class FluxTest {
 	}
 
 	@Test
-	public void fluxSubscribeIntervalOne() throws Exception {
+	@VirtualTime
+	public void fluxSubscribeIntervalOne(VirtualTimeScheduler scheduler) {
 		Flux<Long> interval = Flux.interval(Duration.ofMillis(100))
 				.take(10)
 				.log();
 
 		interval.subscribe(i -> log.info("Number {}", i));
 
-		Thread.sleep(3000);
+		scheduler.advanceTimeBy(Duration.ofMillis(3000));
 	}
 
 	@Test
@@ -206,7 +208,8 @@ public class FluxTest {
 	}
 
 	@Test
-	public void connectableFlux() throws Exception {
+	@VirtualTime
+	public void connectableFlux(VirtualTimeScheduler scheduler) {
 		ConnectableFlux<Integer> connectableFlux = Flux.range(1, 10)
 				.log()
 				.delayElements(Duration.ofMillis(100))
@@ -226,6 +229,7 @@ public class FluxTest {
 
 		StepVerifier.create(connectableFlux)
 				.then(connectableFlux::connect)
+				.then(() -> scheduler.advanceTimeBy(Duration.ofSeconds(1)))
 				.thenConsumeWhile(i -> i <= 5)
 				.expectNext(6, 7, 8, 9, 10)
 				.expectComplete()
@@ -234,7 +238,8 @@ public class FluxTest {
 	}
 
 	@Test
-	public void connectableFluxAutoConnect() throws Exception {
+	@VirtualTime
+	public void connectableFluxAutoConnect(VirtualTimeScheduler scheduler) {
 		Flux<Integer> fluxAuto = Flux.range(1, 5)
 				.log()
 				.delayElements(Duration.ofMillis(100))
@@ -243,6 +248,7 @@ public class FluxTest {
 
 		StepVerifier.create(fluxAuto)
 				.then(fluxAuto::subscribe)
+				.then(() -> scheduler.advanceTimeBy(Duration.ofMillis(500)))
 				.expectNext(1, 2, 3, 4, 5)
 				.expectComplete()
 				.verify();
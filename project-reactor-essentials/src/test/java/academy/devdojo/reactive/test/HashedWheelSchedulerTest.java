@@ -0,0 +1,209 @@
+package academy.devdojo.reactive.test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import academy.devdojo.reactive.scheduler.HashedWheelScheduler;
+import academy.devdojo.reactive.scheduler.TimerWheelConfig;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+public class HashedWheelSchedulerTest {
+
+	private HashedWheelScheduler scheduler;
+	// uma thread so: os lotes de ticks diferentes rodam na ordem dos ticks, entao um timer marcador
+	// que vence depois prova que os anteriores ja tiveram a chance de rodar, sem esperar no relogio
+	private Scheduler serial;
+	private HashedWheelScheduler serialWheel;
+
+	@BeforeEach
+	public void setup() {
+		scheduler = HashedWheelScheduler.create("timers");
+		serial = Schedulers.newSingle("wheel-serial");
+		serialWheel = HashedWheelScheduler.create("serial", serial, TimerWheelConfig.defaults());
+	}
+
+	@AfterEach
+	public void tearDown() {
+		scheduler.dispose();
+		serialWheel.dispose();
+		serial.dispose();
+	}
+
+	@Test
+	public void delayElementsRunsOnTheWheel() {
+		Flux<String> flux = Flux.just("a", "b").delayElements(Duration.ofMillis(200), scheduler);
+
+		StepVerifier.create(flux)
+				.expectSubscription()
+				.expectNoEvent(Duration.ofMillis(150))
+				.expectNext("a", "b")
+				.verifyComplete();
+	}
+
+	@Test
+	public void intervalRunsPeriodically() {
+		StepVerifier.create(Flux.interval(Duration.ofMillis(20), scheduler).take(5))
+				.expectNext(0L, 1L, 2L, 3L, 4L)
+				.verifyComplete();
+	}
+
+	@Test
+	public void timersNeverExpireBeforeTheirDeadline() throws InterruptedException {
+		int timers = 100_000;
+		CountDownLatch latch = new CountDownLatch(timers);
+		AtomicInteger early = new AtomicInteger();
+		for (int i = 0; i < timers; i++) {
+			long delay = ThreadLocalRandom.current().nextLong(1, 200);
+			long due = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+			scheduler.schedule(() -> {
+				if (System.nanoTime() < due) {
+					early.incrementAndGet();
+				}
+				latch.countDown();
+			}, delay, TimeUnit.MILLISECONDS);
+		}
+
+		Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+		Assertions.assertEquals(0, early.get());
+	}
+
+	@Test
+	public void cancelledTimersLeaveTheWheelAndNeverRun() throws InterruptedException {
+		AtomicInteger ran = new AtomicInteger();
+		List<Disposable> timers = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++) {
+			timers.add(serialWheel.schedule(ran::incrementAndGet, 100, TimeUnit.MILLISECONDS));
+		}
+		CountDownLatch marker = new CountDownLatch(1);
+		serialWheel.schedule(marker::countDown, 200, TimeUnit.MILLISECONDS);
+		awaitTimerCount(serialWheel, 10_001);
+
+		timers.forEach(Disposable::dispose);
+		awaitTimerCount(serialWheel, 1);
+
+		Assertions.assertTrue(marker.await(5, TimeUnit.SECONDS));
+		Assertions.assertEquals(0, ran.get());
+		Assertions.assertTrue(timers.get(0).isDisposed());
+	}
+
+	@Test
+	public void delaysBeyondTheWheelRangeCascadeDownTheLevels() throws InterruptedException {
+		TimerWheelConfig config = TimerWheelConfig.builder().wheelSize(4).levels(2).build();
+		HashedWheelScheduler small = HashedWheelScheduler.create("small", serial, config);
+		try {
+			CountDownLatch latch = new CountDownLatch(3);
+			List<Long> order = new CopyOnWriteArrayList<>();
+			// agendados do mais longo para o mais curto: 100 passa do alcance dos dois niveis (16
+			// ticks) e 13 comeca no segundo nivel, entao so vencem na ordem certa se descerem
+			for (long delay : new long[]{100, 13, 3}) {
+				small.schedule(() -> {
+					order.add(delay);
+					latch.countDown();
+				}, delay, TimeUnit.MILLISECONDS);
+			}
+
+			Assertions.assertTrue(latch.await(2, TimeUnit.SECONDS));
+			Assertions.assertEquals(Arrays.asList(3L, 13L, 100L), order);
+		} finally {
+			small.dispose();
+		}
+	}
+
+	@Test
+	public void workerRunsTasksInOrderAndStopsWhenDisposed() throws InterruptedException {
+		Scheduler.Worker worker = serialWheel.createWorker();
+		List<Integer> order = new CopyOnWriteArrayList<>();
+		CountDownLatch latch = new CountDownLatch(1);
+		for (int i = 0; i < 100; i++) {
+			int value = i;
+			worker.schedule(() -> order.add(value), 10, TimeUnit.MILLISECONDS);
+		}
+		worker.schedule(latch::countDown, 20, TimeUnit.MILLISECONDS);
+		Assertions.assertTrue(latch.await(1, TimeUnit.SECONDS));
+
+		AtomicLong late = new AtomicLong();
+		Disposable periodic = worker.schedulePeriodically(late::incrementAndGet, 50, 50, TimeUnit.MILLISECONDS);
+		worker.dispose();
+		CountDownLatch marker = new CountDownLatch(1);
+		serialWheel.schedule(marker::countDown, 100, TimeUnit.MILLISECONDS);
+
+		Assertions.assertTrue(marker.await(5, TimeUnit.SECONDS));
+		Assertions.assertEquals(100, order.size());
+		for (int i = 0; i < order.size(); i++) {
+			Assertions.assertEquals(i, order.get(i));
+		}
+		Assertions.assertEquals(0, late.get());
+		Assertions.assertTrue(periodic.isDisposed());
+		Assertions.assertThrows(RejectedExecutionException.class, () -> worker.schedule(() -> {
+		}));
+	}
+
+	@Test
+	public void disposeDisposesTimersThatHaveNotExpired() throws InterruptedException {
+		AtomicInteger ran = new AtomicInteger();
+		Disposable delayed = scheduler.schedule(ran::incrementAndGet, 10, TimeUnit.SECONDS);
+		Disposable periodic = scheduler.schedulePeriodically(ran::incrementAndGet, 10, 10, TimeUnit.SECONDS);
+		Disposable workerTimer = scheduler.createWorker().schedule(ran::incrementAndGet, 10, TimeUnit.SECONDS);
+		awaitTimerCount(scheduler, 3);
+
+		scheduler.dispose();
+		// a roda descarta os timers na propria thread, logo depois de acordar
+		await(() -> delayed.isDisposed() && periodic.isDisposed() && workerTimer.isDisposed());
+		awaitTimerCount(scheduler, 0);
+
+		Assertions.assertEquals(0, ran.get());
+		Assertions.assertThrows(RejectedExecutionException.class,
+				() -> scheduler.schedule(ran::incrementAndGet, 1, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void workerIsDisposedWhenTheExecutionSchedulerRejectsIt() {
+		Scheduler rejecting = Schedulers.newSingle("rejecting");
+		rejecting.dispose();
+		HashedWheelScheduler wheel = HashedWheelScheduler.create("rejected", rejecting, TimerWheelConfig.defaults());
+		try {
+			Scheduler.Worker worker = wheel.createWorker();
+
+			Assertions.assertThrows(RejectedExecutionException.class, () -> worker.schedule(() -> {
+			}));
+			Assertions.assertTrue(worker.isDisposed());
+			Assertions.assertThrows(RejectedExecutionException.class, () -> worker.schedule(() -> {
+			}));
+		} finally {
+			wheel.dispose();
+		}
+	}
+
+	private static void awaitTimerCount(HashedWheelScheduler wheel, int expected) throws InterruptedException {
+		await(() -> wheel.timerCount() == expected);
+		Assertions.assertEquals(expected, wheel.timerCount());
+	}
+
+	// timerCount e o descarte so mudam na thread da roda, a cada tick
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+			Thread.sleep(1);
+		}
+		Assertions.assertTrue(condition.getAsBoolean());
+	}
+}
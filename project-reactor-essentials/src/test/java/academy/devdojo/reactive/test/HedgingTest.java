@@ -0,0 +1,116 @@
+package academy.devdojo.reactive.test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import academy.devdojo.reactive.hedge.HedgePolicy;
+import academy.devdojo.reactive.hedge.HedgeSnapshot;
+import academy.devdojo.reactive.hedge.Hedging;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@Slf4j
+public class HedgingTest {
+
+	@Test
+	public void fastPrimaryIsNotHedged() {
+		Hedging hedging = Hedging.of(HedgePolicy.fixed(Duration.ofMillis(200)));
+		AtomicInteger attempts = new AtomicInteger();
+
+		StepVerifier.create(hedging.mono(() -> {
+			attempts.incrementAndGet();
+			return Mono.just("B");
+		}))
+				.expectNext("B")
+				.verifyComplete();
+
+		Assertions.assertEquals(1, attempts.get());
+		HedgeSnapshot snapshot = hedging.snapshot();
+		Assertions.assertEquals(1, snapshot.getRequests());
+		Assertions.assertEquals(0, snapshot.getHedged());
+	}
+
+	@Test
+	public void slowPrimaryLosesToTheHedgeAndIsCancelled() {
+		Hedging hedging = Hedging.of(HedgePolicy.fixed(Duration.ofMillis(20)));
+		AtomicInteger attempts = new AtomicInteger();
+		AtomicBoolean primaryCancelled = new AtomicBoolean();
+
+		Flux<String> hedged = hedging.flux(() -> attempts.incrementAndGet() == 1
+				? Flux.just("A1", "A2").delayElements(Duration.ofSeconds(5)).doOnCancel(() -> primaryCancelled.set(true))
+				: Flux.just("B1", "B2"));
+
+		StepVerifier.create(hedged)
+				.expectNext("B1", "B2")
+				.expectComplete()
+				.verify(Duration.ofSeconds(2));
+
+		Assertions.assertEquals(2, attempts.get());
+		Assertions.assertTrue(primaryCancelled.get());
+		HedgeSnapshot snapshot = hedging.snapshot();
+		log.info("{}", snapshot);
+		Assertions.assertEquals(1, snapshot.getHedged());
+		Assertions.assertEquals(1, snapshot.getHedgeWins());
+	}
+
+	@Test
+	public void hedgeRateIsCapped() {
+		Hedging hedging = Hedging.of(HedgePolicy.builder()
+				.delay(Duration.ofMillis(5))
+				.maxHedgeRatio(0)
+				.hedgeBurst(2)
+				.build());
+
+		Flux.range(1, 5)
+				.flatMap(hedging.hedged(i -> Mono.just(i).delayElement(Duration.ofMillis(50))))
+				.blockLast(Duration.ofSeconds(5));
+
+		HedgeSnapshot snapshot = hedging.snapshot();
+		Assertions.assertEquals(5, snapshot.getRequests());
+		Assertions.assertEquals(2, snapshot.getHedged());
+		Assertions.assertEquals(3, snapshot.getDenied());
+	}
+
+	@Test
+	public void percentileDelayFollowsTheLastWindow() {
+		Hedging hedging = Hedging.of(HedgePolicy.builder()
+				.delay(Duration.ofSeconds(1))
+				.percentile(90)
+				.window(20)
+				.build());
+
+		Flux.range(1, 20)
+				.concatMap(hedging.hedged(i -> Mono.just(i).delayElement(Duration.ofMillis(10))))
+				.blockLast(Duration.ofSeconds(5));
+
+		long delay = hedging.snapshot().getDelayNanos();
+		Assertions.assertTrue(delay >= TimeUnit.MILLISECONDS.toNanos(10), () -> delay + "ns");
+		Assertions.assertTrue(delay < TimeUnit.MILLISECONDS.toNanos(500), () -> delay + "ns");
+	}
+
+	@Test
+	public void errorBeforeTheDelayIsPropagated() {
+		Hedging hedging = Hedging.of(HedgePolicy.fixed(Duration.ofMillis(200)));
+
+		StepVerifier.create(hedging.mono(() -> Mono.<String>error(new IllegalStateException("replica down"))))
+				.expectErrorMessage("replica down")
+				.verify();
+
+		Assertions.assertEquals(0, hedging.snapshot().getHedged());
+	}
+
+	@Test
+	public void invalidPolicyIsRejected() {
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> Hedging.of(HedgePolicy.builder().percentile(100).build()));
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> Hedging.of(HedgePolicy.builder().maxHedgeRatio(2).build()));
+	}
+}
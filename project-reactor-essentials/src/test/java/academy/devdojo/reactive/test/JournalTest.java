@@ -0,0 +1,171 @@
+package academy.devdojo.reactive.test;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import academy.devdojo.reactive.journal.Journal;
+import academy.devdojo.reactive.journal.JournalConfig;
+import academy.devdojo.reactive.journal.JournalEntry;
+import academy.devdojo.reactive.journal.JournalReplay;
+import academy.devdojo.reactive.spill.SpillSerializer;
+import reactor.core.publisher.DirectProcessor;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+public class JournalTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void lateSubscriberReplaysFromTheJournal() {
+		try (Journal<Integer> journal = Journal.open(SpillSerializer.ints(), config().build())) {
+			JournalReplay<Integer> replay = JournalReplay.create(Flux.range(1, 10), journal);
+			replay.connect();
+
+			StepVerifier.create(replay)
+					.expectNext(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+					.verifyComplete();
+
+			StepVerifier.create(replay.from(5))
+					.expectNext(6, 7, 8, 9, 10)
+					.verifyComplete();
+		}
+	}
+
+	@Test
+	public void subscriberFollowsLiveAppendsWithItsOwnDemand() {
+		try (Journal<String> journal = Journal.open(SpillSerializer.strings(), config().build())) {
+			DirectProcessor<String> source = DirectProcessor.create();
+			JournalReplay<String> replay = JournalReplay.create(source, journal);
+			replay.connect();
+			source.onNext("nomeA1");
+			source.onNext("nomeA2");
+
+			StepVerifier.create(replay, 1)
+					.expectNext("nomeA1")
+					.then(() -> source.onNext("nomeB1"))
+					.thenRequest(1)
+					.expectNext("nomeA2")
+					.thenRequest(5)
+					.expectNext("nomeB1")
+					.then(() -> source.onNext("nomeB2"))
+					.expectNext("nomeB2")
+					.then(source::onComplete)
+					.verifyComplete();
+
+			StepVerifier.create(replay.live())
+					.verifyComplete();
+		}
+	}
+
+	@Test
+	public void reopenedJournalContinuesFromLastOffset() {
+		try (Journal<String> journal = Journal.open(SpillSerializer.strings(), config().segmentSize(512).build())) {
+			IntStream.range(0, 100).forEach(i -> journal.append("nome" + i));
+			Assertions.assertTrue(journal.segmentCount() > 1);
+		}
+
+		try (Journal<String> journal = Journal.open(SpillSerializer.strings(), config().segmentSize(512).build())) {
+			Assertions.assertEquals(100, journal.endOffset());
+			Assertions.assertEquals(100, journal.append("nome100"));
+
+			JournalReplay<String> replay = JournalReplay.create(Flux.never(), journal);
+			List<JournalEntry<String>> entries = replay.entriesFrom(50).take(51).collectList().block();
+
+			Assertions.assertEquals(51, entries.size());
+			for (int i = 0; i < entries.size(); i++) {
+				Assertions.assertEquals(50 + i, entries.get(i).getOffset());
+				Assertions.assertEquals("nome" + (50 + i), entries.get(i).getValue());
+			}
+		}
+	}
+
+	@Test
+	public void sizeRetentionDropsOldSegments() {
+		JournalConfig config = config().segmentSize(256).retentionBytes(1024).build();
+		try (Journal<Integer> journal = Journal.open(SpillSerializer.ints(), config)) {
+			IntStream.range(0, 1000).forEach(journal::append);
+
+			Assertions.assertTrue(journal.sizeBytes() <= 1024 + 256, () -> "size " + journal.sizeBytes());
+			Assertions.assertTrue(journal.firstOffset() > 0);
+
+			long first = journal.firstOffset();
+			List<Integer> replayed = JournalReplay.create(Flux.<Integer>never(), journal)
+					.from(0)
+					.take(1000 - first)
+					.collectList()
+					.block();
+			Assertions.assertEquals(IntStream.range((int) first, 1000).boxed().collect(Collectors.toList()), replayed);
+		}
+	}
+
+	@Test
+	public void timeRetentionDropsExpiredSegments() {
+		MutableClock clock = new MutableClock();
+		JournalConfig config = config().segmentSize(256).retentionTime(Duration.ofHours(1)).clock(clock).build();
+		try (Journal<Integer> journal = Journal.open(SpillSerializer.ints(), config)) {
+			IntStream.range(0, 100).forEach(journal::append);
+			int segments = journal.segmentCount();
+
+			clock.advance(Duration.ofHours(2));
+			journal.enforceRetention();
+
+			Assertions.assertEquals(1, journal.segmentCount());
+			Assertions.assertTrue(segments > 1);
+			Assertions.assertEquals(100, journal.endOffset());
+		}
+	}
+
+	@Test
+	public void sourceErrorReachesSubscribersAfterHistory() {
+		try (Journal<Integer> journal = Journal.open(SpillSerializer.ints(), config().build())) {
+			Flux<Integer> source = Flux.range(1, 3).concatWith(Flux.error(new IllegalStateException("falhou")));
+			Flux<Integer> replay = JournalReplay.create(source, journal).autoConnect();
+
+			StepVerifier.create(replay)
+					.expectNext(1, 2, 3)
+					.expectErrorMessage("falhou")
+					.verify();
+		}
+	}
+
+	private JournalConfig.JournalConfigBuilder config() {
+		return JournalConfig.builder().directory(dir).segmentSize(4096).retentionBytes(1024 * 1024);
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant now = Instant.parse("2020-05-01T10:00:00Z");
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package academy.devdojo.reactive.test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import academy.devdojo.reactive.load.LoadConfig;
+import academy.devdojo.reactive.load.LoadGenerator;
+import academy.devdojo.reactive.load.LoadReport;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+public class LoadGeneratorTest {
+
+	private static final LoadConfig ONE_SECOND = LoadConfig.builder()
+			.rate(1000)
+			.warmup(Duration.ofMillis(200))
+			.duration(Duration.ofSeconds(1))
+			.build();
+
+	@Test
+	public void everyScheduledArrivalIsAccountedFor() {
+		LoadReport report = LoadGenerator.of(this::flatMapRequest, ONE_SECOND).run().block();
+		log.info("\n{}", report.format());
+
+		Assertions.assertEquals(1000, report.getScheduled());
+		Assertions.assertEquals(1000, report.getCompleted() + report.getErrors() + report.getDropped() + report.getIncomplete());
+		Assertions.assertEquals(1000, report.getCompleted());
+		Assertions.assertEquals(1000, report.getLatency().getTotalCount());
+		Assertions.assertTrue(report.getLatency().getMinValue() >= TimeUnit.MILLISECONDS.toNanos(1));
+	}
+
+	@Test
+	public void latencyIsCountedFromTheIntendedArrival() {
+		LoadReport report = LoadGenerator.of(i -> i == 500 ? stall() : Mono.just(i), ONE_SECOND).run().block();
+		log.info("\n{}", report.format());
+
+		Assertions.assertEquals(1000, report.getCompleted());
+		Assertions.assertTrue(report.getLatency().getValueAtPercentile(99) >= TimeUnit.MILLISECONDS.toNanos(150),
+				report::format);
+		Assertions.assertTrue(report.getServiceTime().getValueAtPercentile(99) < TimeUnit.MILLISECONDS.toNanos(50),
+				report::format);
+	}
+
+	@Test
+	public void arrivalsOverMaxInFlightAreDropped() {
+		LoadReport report = LoadGenerator.of(i -> Mono.never(), LoadConfig.builder()
+				.rate(1000)
+				.warmup(Duration.ZERO)
+				.duration(Duration.ofMillis(200))
+				.maxInFlight(10)
+				.drainTimeout(Duration.ofMillis(50))
+				.build()).run().block();
+
+		Assertions.assertEquals(200, report.getScheduled());
+		Assertions.assertEquals(190, report.getDropped());
+		Assertions.assertEquals(10, report.getIncomplete());
+		// nenhuma vaga abriu: as descartadas contam ate o fim da rodada, inclusive o drainTimeout
+		Assertions.assertEquals(190, report.getLatency().getTotalCount());
+		Assertions.assertTrue(report.getLatency().getMinValue() >= TimeUnit.MILLISECONDS.toNanos(50), report::format);
+	}
+
+	@Test
+	public void droppedArrivalsWaitForTheNextFreeSlot() {
+		LoadReport report = LoadGenerator.of(i -> Mono.delay(Duration.ofMillis(20)), LoadConfig.builder()
+				.rate(1000)
+				.warmup(Duration.ZERO)
+				.duration(Duration.ofMillis(500))
+				.maxInFlight(5)
+				.build()).run().block();
+		log.info("\n{}", report.format());
+
+		Assertions.assertTrue(report.getDropped() > 0, report::format);
+		Assertions.assertEquals(report.getCompleted() + report.getDropped(), report.getLatency().getTotalCount());
+		// a fila de descartadas cresce a cada 20 ms mais rapido do que as vagas abrem
+		Assertions.assertTrue(report.getLatency().getMaxValue() >= TimeUnit.MILLISECONDS.toNanos(100), report::format);
+	}
+
+	@Test
+	public void errorsAreCountedApart() {
+		LoadReport report = LoadGenerator.of(i -> i % 2 == 0 ? Mono.error(new IllegalStateException("boom")) : Mono.just(i),
+				ONE_SECOND).run().block();
+
+		Assertions.assertEquals(500, report.getErrors());
+		Assertions.assertEquals(500, report.getCompleted());
+	}
+
+	@Test
+	public void mergePipelineUnderLoad() {
+		LoadReport report = LoadGenerator.of(i -> Flux.merge(
+				Flux.just("a", "b").delayElements(Duration.ofMillis(2)),
+				Flux.just("c", "d")), ONE_SECOND).run().block();
+		log.info("\n{}", report.format());
+
+		Assertions.assertEquals(1000, report.getCompleted());
+		Assertions.assertEquals(1000, report.throughput(), 1);
+	}
+
+	private Flux<String> flatMapRequest(long i) {
+		return Flux.just("a", "b")
+				.map(String::toUpperCase)
+				.flatMap(name -> Lookups.findByName(name, Duration.ofMillis(1)));
+	}
+
+	private static Mono<Long> stall() {
+		return Mono.fromCallable(() -> {
+			Thread.sleep(200);
+			return 500L;
+		});
+	}
+}
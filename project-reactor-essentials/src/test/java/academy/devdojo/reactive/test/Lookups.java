@@ -0,0 +1,24 @@
+package academy.devdojo.reactive.test;
+
+import java.time.Duration;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Stand-in do {@code OperatorsTest.findByName} para os testes e o soak: "A" responde com atraso,
+ * as outras chaves na hora. Com {@link Duration#ZERO} tudo eh sincrono, como o AllocationBudgetTest
+ * precisa para medir na thread que assina.
+ */
+public final class Lookups {
+
+	private Lookups() {
+	}
+
+	public static Flux<String> findByName(String name, Duration delay) {
+		if (!name.equals("A")) {
+			return Flux.just("nomeB1", "nomeB2");
+		}
+		Flux<String> found = Flux.just("nomeA1", "nomeA2");
+		return delay.isZero() ? found : found.delayElements(delay);
+	}
+}
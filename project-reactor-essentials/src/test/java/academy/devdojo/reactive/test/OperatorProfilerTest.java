@@ -0,0 +1,134 @@
+package academy.devdojo.reactive.test;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import academy.devdojo.reactive.profile.OperatorProfile;
+import academy.devdojo.reactive.profile.OperatorProfiler;
+import academy.devdojo.reactive.profile.ProfileReport;
+import academy.devdojo.reactive.profile.ProfilerConfig;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+@Slf4j
+public class OperatorProfilerTest {
+
+	@AfterEach
+	public void tearDown() {
+		OperatorProfiler.uninstall();
+	}
+
+	@Test
+	public void slowStageTakesTheSelfTime() {
+		OperatorProfiler.install(ProfilerConfig.defaults());
+		StepVerifier.create(pipeline()).expectNextCount(200).verifyComplete();
+		OperatorProfiler.uninstall();
+
+		OperatorProfiler profiler = OperatorProfiler.install(ProfilerConfig.builder().sampleEvery(1).build());
+		StepVerifier.create(pipeline())
+				.expectNextCount(200)
+				.verifyComplete();
+
+		ProfileReport report = profiler.report();
+		log.info("\n{}", report.format());
+		log.info("\n{}", report.collapsed());
+
+		OperatorProfile top = report.getOperators().get(0);
+		Assertions.assertEquals("map", top.getOperator());
+		Assertions.assertEquals(200, top.getSamples());
+		Assertions.assertTrue(top.meanSelfNanos() >= TimeUnit.MICROSECONDS.toNanos(180), () -> top.meanSelfNanos() + "ns");
+		Assertions.assertTrue(report.getOperators().stream().anyMatch(profile -> profile.getOperator().equals("flatMapMain")));
+		Assertions.assertTrue(report.getCollapsedStacks().stream().anyMatch(line -> line.startsWith("main;map ")),
+				report::collapsed);
+	}
+
+	@Test
+	public void onlySampledDeliveriesAreMeasured() {
+		OperatorProfiler profiler = OperatorProfiler.install(ProfilerConfig.builder().sampleEvery(10).build());
+
+		Flux.range(1, 1000).map(i -> i * 2).filter(i -> i > 0).blockLast();
+
+		OperatorProfile map = report(profiler, "map");
+		Assertions.assertEquals(100, map.getSamples());
+		Assertions.assertEquals(map.getSelfTime().toNanos() * 10, map.getEstimatedSelfTime().toNanos());
+	}
+
+	@Test
+	public void onlyPipelinesAssembledWhileInstalledAreProfiled() {
+		Flux<Integer> before = Flux.range(1, 10).map(i -> i);
+		OperatorProfiler profiler = OperatorProfiler.install(ProfilerConfig.builder().sampleEvery(1).build());
+		before.blockLast();
+		Assertions.assertTrue(profiler.report().getOperators().isEmpty());
+
+		Flux<Integer> during = Flux.range(1, 10).map(i -> i);
+		OperatorProfiler.uninstall();
+		Flux.range(1, 10).filter(i -> true).blockLast();
+		during.blockLast();
+
+		Assertions.assertEquals(10, report(profiler, "map").getSamples());
+		Assertions.assertTrue(profiler.report().getOperators().stream().noneMatch(profile -> profile.getOperator().equals("filter")));
+	}
+
+	@Test
+	public void fusedAndAsyncPipelinesStillWork() {
+		OperatorProfiler profiler = OperatorProfiler.install(ProfilerConfig.builder().sampleEvery(1).build());
+
+		Flux<Integer> flux = Flux.range(1, 100)
+				.map(i -> i)
+				.log()
+				.publishOn(Schedulers.parallel())
+				.map(i -> i + 1);
+
+		StepVerifier.create(flux)
+				.expectNextCount(100)
+				.verifyComplete();
+
+		Assertions.assertTrue(profiler.report().getCollapsedStacks().stream().anyMatch(line -> line.startsWith("parallel;")),
+				() -> profiler.report().collapsed());
+	}
+
+	@Test
+	public void hookedOperatorsInFrontOfFuseableLog() {
+		OperatorProfiler profiler = OperatorProfiler.install(ProfilerConfig.builder().sampleEvery(1).build());
+
+		StepVerifier.create(Flux.range(1, 10).map(i -> i).log())
+				.expectNext(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+				.verifyComplete();
+
+		StepVerifier.create(Mono.fromCallable(() -> 1).map(i -> i).log())
+				.expectNext(1)
+				.verifyComplete();
+
+		Assertions.assertEquals(11, report(profiler, "map").getSamples());
+	}
+
+	private static Flux<String> pipeline() {
+		return Flux.range(1, 200)
+				.map(i -> {
+					spin(TimeUnit.MICROSECONDS.toNanos(200));
+					return i;
+				})
+				.flatMap(i -> Mono.just("nome" + i))
+				.filter(name -> !name.isEmpty());
+	}
+
+	private static OperatorProfile report(OperatorProfiler profiler, String operator) {
+		return profiler.report().getOperators().stream()
+				.filter(profile -> profile.getOperator().equals(operator))
+				.findFirst()
+				.orElseThrow(() -> new AssertionError(operator + " not profiled"));
+	}
+
+	private static void spin(long nanos) {
+		long end = System.nanoTime() + nanos;
+		while (System.nanoTime() < end) {
+			Thread.onSpinWait();
+		}
+	}
+}
@@ -20,6 +20,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
 
 @Slf4j
 public class OperatorsTest {
@@ -290,7 +291,8 @@ public class OperatorsTest {
 	}
 
 	@Test
-	public void mergeOperator() {
+	@VirtualTime
+	public void mergeOperator(VirtualTimeScheduler scheduler) {
 		Flux<String> flux1 = Flux.just("a", "b").delayElements(Duration.ofMillis(200));
 		Flux<String> flux2 = Flux.just("c", "d");
 
@@ -302,6 +304,7 @@ public class OperatorsTest {
 		StepVerifier
 				.create(merge)
 				.expectSubscription()
+				.then(() -> scheduler.advanceTimeBy(Duration.ofMillis(400)))
 				.expectNext("a", "b", "c", "d")
 				.expectComplete()
 				.verify()
@@ -309,7 +312,8 @@ public class OperatorsTest {
 	}
 
 	@Test
-	public void mergeWithOperator() {
+	@VirtualTime
+	public void mergeWithOperator(VirtualTimeScheduler scheduler) {
 		Flux<String> flux1 = Flux.just("a", "b").delayElements(Duration.ofMillis(200));
 		Flux<String> flux2 = Flux.just("c", "d");
 
@@ -321,6 +325,7 @@ public class OperatorsTest {
 		StepVerifier
 				.create(merge)
 				.expectSubscription()
+				.then(() -> scheduler.advanceTimeBy(Duration.ofMillis(400)))
 				.expectNext("a", "b", "c", "d")
 				.expectComplete()
 				.verify()
@@ -328,7 +333,8 @@ public class OperatorsTest {
 	}
 
 	@Test
-	public void mergeSequentialOperator() {
+	@VirtualTime
+	public void mergeSequentialOperator(VirtualTimeScheduler scheduler) {
 		Flux<String> flux1 = Flux.just("a", "b").delayElements(Duration.ofMillis(200));
 		Flux<String> flux2 = Flux.just("c", "d");
 
@@ -339,6 +345,8 @@ public class OperatorsTest {
 		StepVerifier
 				.create(merge)
 				.expectSubscription()
+				// ate 400 ms por flux1 mais 200 ms por elemento no delayElements final
+				.then(() -> scheduler.advanceTimeBy(Duration.ofSeconds(3)))
 				.expectNext("a", "b", "c", "d", "a", "b")
 				.expectComplete()
 				.verify()
@@ -373,7 +381,8 @@ public class OperatorsTest {
 	}
 
 	@Test
-	public void flatMapOperator() throws Exception {
+	@VirtualTime
+	public void flatMapOperator(VirtualTimeScheduler scheduler) {
 		Flux<String> flux = Flux.just("a", "b").delayElements(Duration.ofMillis(200));
 
 		Flux<String> flatFlux = flux
@@ -383,10 +392,11 @@ public class OperatorsTest {
 
 		flatFlux.subscribe(log::info);
 
-		Thread.sleep(500);
+		scheduler.advanceTimeBy(Duration.ofMillis(500));
 
 		StepVerifier.create(flatFlux)
 				.expectSubscription()
+				.then(() -> scheduler.advanceTimeBy(Duration.ofMillis(500)))
 				.expectNext("nomeB1", "nomeB2", "nomeA1", "nomeA2")
 				.verifyComplete()
 		;
@@ -399,7 +409,8 @@ public class OperatorsTest {
 	}
 
 	@Test
-	public void flatMapSequentialOperator() throws Exception {
+	@VirtualTime
+	public void flatMapSequentialOperator(VirtualTimeScheduler scheduler) {
 		Flux<String> flux = Flux.just("a", "b").delayElements(Duration.ofMillis(200));
 
 		Flux<String> flatFlux = flux
@@ -409,10 +420,11 @@ public class OperatorsTest {
 
 		flatFlux.subscribe(log::info);
 
-		Thread.sleep(500);
+		scheduler.advanceTimeBy(Duration.ofMillis(500));
 
 		StepVerifier.create(flatFlux)
 				.expectSubscription()
+				.then(() -> scheduler.advanceTimeBy(Duration.ofMillis(500)))
 				.expectNext("nomeA1", "nomeA2", "nomeB1", "nomeB2")
 				.verifyComplete()
 		;
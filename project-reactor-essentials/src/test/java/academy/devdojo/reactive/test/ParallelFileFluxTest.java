@@ -0,0 +1,136 @@
+package academy.devdojo.reactive.test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import academy.devdojo.reactive.io.FileRange;
+import academy.devdojo.reactive.io.ParallelFileFlux;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@Slf4j
+public class ParallelFileFluxTest {
+
+	@TempDir
+	Path tempDir;
+
+	private Path file;
+
+	private List<String> lines;
+
+	@BeforeEach
+	public void setup() throws Exception {
+		file = tempDir.resolve("numbers.txt");
+		StringBuilder content = new StringBuilder();
+		for (int i = 0; i < 1_000; i++) {
+			content.append("number ").append(i).append('\n');
+		}
+		content.append("no line break at the end");
+		Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+		lines = Files.readAllLines(file);
+	}
+
+	@Test
+	public void splitAlignsOnLineBoundaries() throws Exception {
+		byte[] bytes = Files.readAllBytes(file);
+		List<FileRange> ranges = ParallelFileFlux.split(file, 7);
+
+		Assertions.assertEquals(7, ranges.size());
+		Assertions.assertEquals(0, ranges.get(0).getStart());
+		Assertions.assertEquals(bytes.length, ranges.get(ranges.size() - 1).getEnd());
+		for (int i = 1; i < ranges.size(); i++) {
+			long start = ranges.get(i).getStart();
+			Assertions.assertEquals(ranges.get(i - 1).getEnd(), start);
+			Assertions.assertEquals('\n', bytes[(int) start - 1]);
+		}
+	}
+
+	@Test
+	public void splitIntoMorePartsThanLines() throws Exception {
+		Path small = tempDir.resolve("small.txt");
+		Files.write(small, "a\nb\n".getBytes(StandardCharsets.UTF_8));
+
+		List<FileRange> ranges = ParallelFileFlux.split(small, 16);
+
+		Assertions.assertEquals(2, ranges.size());
+		Assertions.assertEquals(new FileRange(0, 2), ranges.get(0));
+		Assertions.assertEquals(new FileRange(2, 4), ranges.get(1));
+	}
+
+	@Test
+	public void processSequentialKeepsOriginalOrder() {
+		Flux<String> result = ParallelFileFlux.processSequential(file, 4, railLines -> railLines);
+
+		StepVerifier.create(result)
+				.expectSubscription()
+				.expectNextSequence(lines)
+				.verifyComplete();
+	}
+
+	@Test
+	public void processEmitsEveryLine() {
+		Flux<String> result = ParallelFileFlux.process(file, 4, railLines -> railLines
+				.doOnNext(line -> log.debug("{} on Thread {}", line, Thread.currentThread().getName())));
+
+		StepVerifier.create(result.collectList())
+				.expectSubscription()
+				.assertNext(processed -> {
+					List<String> sorted = new ArrayList<>(processed);
+					List<String> expected = new ArrayList<>(lines);
+					Collections.sort(sorted);
+					Collections.sort(expected);
+					Assertions.assertEquals(expected, sorted);
+				})
+				.verifyComplete();
+	}
+
+	@Test
+	public void processReadsOffTheParallelScheduler() {
+		Flux<String> threads = ParallelFileFlux.process(file, 4, railLines -> railLines
+				.map(line -> Thread.currentThread().getName()));
+
+		StepVerifier.create(threads.distinct())
+				.thenConsumeWhile(thread -> thread.startsWith("parallel-"))
+				.verifyComplete();
+	}
+
+	@Test
+	public void processAggregatesPerRail() {
+		Flux<Long> counts = ParallelFileFlux.processSequential(file, 3, railLines -> railLines.count());
+
+		StepVerifier.create(counts.reduce(0L, Long::sum))
+				.expectNext((long) lines.size())
+				.verifyComplete();
+	}
+
+	@Test
+	public void processDecodesWithTheGivenCharset() throws Exception {
+		Path latin1 = tempDir.resolve("latin1.txt");
+		List<String> names = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			names.add("joao " + i + " sao paulo \u00e7\u00e3o");
+		}
+		Files.write(latin1, names, StandardCharsets.ISO_8859_1);
+
+		StepVerifier.create(ParallelFileFlux.processSequential(latin1, StandardCharsets.ISO_8859_1, 4,
+				railLines -> railLines))
+				.expectNextSequence(names)
+				.verifyComplete();
+	}
+
+	@Test
+	public void charsetThatDoesNotEncodeNewlineAsOneByteIsRejected() {
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> ParallelFileFlux.process(file, StandardCharsets.UTF_16, 4, railLines -> railLines));
+	}
+}
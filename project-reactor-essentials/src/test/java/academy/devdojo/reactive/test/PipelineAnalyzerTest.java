@@ -0,0 +1,112 @@
+package academy.devdojo.reactive.test;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import academy.devdojo.reactive.assembly.PipelineAnalyzer;
+import academy.devdojo.reactive.assembly.PipelineFinding;
+import academy.devdojo.reactive.assembly.PipelineReport;
+import academy.devdojo.reactive.assembly.PipelineStage;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Slf4j
+public class PipelineAnalyzerTest {
+
+	@Test
+	public void multipleSubscribeOnIsRedundant() {
+		Flux<Integer> flux = Flux.range(1, 4)
+				.subscribeOn(Schedulers.boundedElastic())
+				.map(i -> i)
+				.subscribeOn(Schedulers.single())
+				.map(i -> i);
+
+		PipelineReport report = PipelineAnalyzer.analyze(flux);
+		log.info("\n{}", report.format());
+
+		List<PipelineFinding> findings = report.findings(PipelineFinding.Kind.REDUNDANT_SUBSCRIBE_ON);
+		Assertions.assertEquals(1, findings.size());
+		Assertions.assertEquals("Schedulers.single()", findings.get(0).getStage().getScheduler());
+	}
+
+	@Test
+	public void multiplePublishOnIsRedundantWithoutWorkInBetween() {
+		Flux<Integer> stacked = Flux.range(1, 4)
+				.publishOn(Schedulers.single())
+				.publishOn(Schedulers.boundedElastic())
+				.map(i -> i);
+		Flux<Integer> withWork = Flux.range(1, 4)
+				.publishOn(Schedulers.single())
+				.map(i -> i)
+				.publishOn(Schedulers.boundedElastic());
+
+		List<PipelineFinding> findings = PipelineAnalyzer.analyze(stacked).findings(PipelineFinding.Kind.REDUNDANT_PUBLISH_ON);
+		Assertions.assertEquals(1, findings.size());
+		Assertions.assertEquals("Schedulers.single()", findings.get(0).getStage().getScheduler());
+
+		PipelineAnalyzer.analyze(withWork).assertNo(PipelineFinding.Kind.REDUNDANT_PUBLISH_ON);
+	}
+
+	@Test
+	public void publishOnToTheSchedulerSignalsAlreadyArriveOnIsRedundant() {
+		Flux<Integer> flux = Flux.range(1, 4)
+				.subscribeOn(Schedulers.parallel())
+				.map(i -> i)
+				.publishOn(Schedulers.parallel());
+
+		List<PipelineFinding> findings = PipelineAnalyzer.analyze(flux).findings(PipelineFinding.Kind.REDUNDANT_PUBLISH_ON);
+		Assertions.assertEquals(1, findings.size());
+		Assertions.assertEquals(PipelineStage.Hop.PUBLISH_ON, findings.get(0).getStage().getHop());
+	}
+
+	@Test
+	public void hideBeforeAQueueBreaksFusion() {
+		Flux<Integer> broken = Flux.range(1, 10).map(i -> i).hide().publishOn(Schedulers.parallel());
+		Flux<Integer> fused = Flux.range(1, 10).map(i -> i).publishOn(Schedulers.parallel());
+
+		PipelineReport report = PipelineAnalyzer.analyze(broken);
+		List<PipelineFinding> findings = report.findings(PipelineFinding.Kind.FUSION_BREAK);
+		Assertions.assertEquals(1, findings.size());
+		Assertions.assertEquals("hide", findings.get(0).getStage().getName());
+
+		PipelineStage publishOn = report.getSink();
+		Assertions.assertEquals(256, publishOn.getPrefetch());
+		Assertions.assertEquals("Schedulers.parallel()", publishOn.getScheduler());
+		Assertions.assertEquals(PipelineStage.Fusion.FUSEABLE, publishOn.getSources().get(0).getSources().get(0).getFusion());
+
+		PipelineAnalyzer.analyze(fused).assertNo();
+	}
+
+	@Test
+	public void logStagesAreFlagged() {
+		Mono<String> mono = Mono.just("Daniel Souza").map(String::toUpperCase).log();
+
+		PipelineReport report = PipelineAnalyzer.analyze(mono);
+
+		Assertions.assertEquals(1, report.findings(PipelineFinding.Kind.LOG_STAGE).size());
+		Assertions.assertEquals(PipelineStage.Fusion.SCALAR, report.getSink().getSources().get(0).getSources().get(0).getFusion());
+		AssertionError error = Assertions.assertThrows(AssertionError.class, report::assertNo);
+		Assertions.assertTrue(error.getMessage().contains("LOG_STAGE"), error::getMessage);
+	}
+
+	@Test
+	public void multipleSourcesAreWalked() {
+		Flux<Integer> flux = Flux.merge(
+				Flux.range(1, 2).subscribeOn(Schedulers.single()),
+				Flux.just(3))
+				.subscribeOn(Schedulers.parallel());
+
+		PipelineReport report = PipelineAnalyzer.analyze(flux);
+		log.info("\n{}", report.format());
+
+		PipelineStage merge = report.getSink().getSources().get(0);
+		Assertions.assertEquals(2, merge.getSources().size());
+		// a segunda fonte nao tem subscribeOn, entao o de baixo ainda decide onde ela roda
+		report.assertNo(PipelineFinding.Kind.REDUNDANT_SUBSCRIBE_ON);
+		Assertions.assertTrue(report.format().contains("sources=2"));
+	}
+}
@@ -0,0 +1,125 @@
+package academy.devdojo.reactive.test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import academy.devdojo.reactive.primitive.IntFlux;
+import academy.devdojo.reactive.primitive.LongFlux;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@Slf4j
+public class PrimitiveFluxTest {
+
+	@Test
+	public void intFluxMapFilterReduce() {
+		IntFlux flux = IntFlux.range(1, 10)
+				.map(i -> i * 10)
+				.filter(i -> i % 20 == 0);
+
+		StepVerifier.create(flux.boxed().log())
+				.expectSubscription()
+				.expectNext(20, 40, 60, 80, 100)
+				.verifyComplete();
+
+		StepVerifier.create(flux.sum())
+				.expectNext(300)
+				.verifyComplete();
+	}
+
+	@Test
+	public void intFluxBackpressure() {
+		StepVerifier.create(IntFlux.range(1, 9).filter(i -> i % 2 == 1).boxed(), 0)
+				.expectSubscription()
+				.thenRequest(2)
+				.expectNext(1, 3)
+				.expectNoEvent(Duration.ofMillis(10))
+				.thenRequest(3)
+				.expectNext(5, 7, 9)
+				.verifyComplete();
+	}
+
+	@Test
+	public void intFluxWindowAndBuffer() {
+		StepVerifier.create(IntFlux.range(1, 5).buffer(2).map(Arrays::toString))
+				.expectNext("[1, 2]", "[3, 4]", "[5]")
+				.verifyComplete();
+
+		StepVerifier.create(IntFlux.range(1, 6).window(3).flatMap(IntFlux::sum))
+				.expectNext(6, 15)
+				.verifyComplete();
+	}
+
+	@Test
+	public void interopWithFlux() {
+		IntFlux fromBoxed = IntFlux.from(Flux.range(1, 4));
+
+		StepVerifier.create(fromBoxed.mapToLong(i -> i * 1_000_000_000L).reduce(0, Long::sum))
+				.expectNext(10_000_000_000L)
+				.verifyComplete();
+
+		StepVerifier.create(fromBoxed.mapToObj(i -> "nome" + i))
+				.expectNext("nome1", "nome2", "nome3", "nome4")
+				.verifyComplete();
+	}
+
+	@Test
+	public void mapperErrorCancelsUpstream() {
+		StepVerifier.create(IntFlux.range(1, 10).map(i -> {
+			if (i == 3) {
+				throw new IllegalArgumentException("three");
+			}
+			return i;
+		}).boxed())
+				.expectNext(1, 2)
+				.expectError(IllegalArgumentException.class)
+				.verify();
+	}
+
+	@Test
+	public void subscribeWithConsumer() {
+		List<Integer> values = new ArrayList<>();
+		Disposable disposable = IntFlux.range(1, 3).subscribe(values::add);
+
+		Assertions.assertEquals(List.of(1, 2, 3), values);
+		Assertions.assertTrue(disposable.isDisposed());
+	}
+
+	@Test
+	public void longFluxInterval() {
+		StepVerifier.withVirtualTime(() -> LongFlux.interval(Duration.ofDays(1)).map(i -> i * 2).boxed())
+				.expectSubscription()
+				.expectNoEvent(Duration.ofHours(24))
+				.expectNext(0L)
+				.thenAwait(Duration.ofDays(2))
+				.expectNext(2L, 4L)
+				.thenCancel()
+				.verify();
+	}
+
+	@Test
+	public void longFluxIntervalWithoutDemandOverflows() {
+		StepVerifier.withVirtualTime(() -> LongFlux.interval(Duration.ofSeconds(1)).boxed(), 1)
+				.expectSubscription()
+				.thenAwait(Duration.ofSeconds(1))
+				.expectNext(0L)
+				.thenAwait(Duration.ofSeconds(1))
+				.expectErrorMatches(Exceptions::isOverflow)
+				.verify();
+	}
+
+	@Test
+	public void longFluxRangeAndWindow() {
+		StepVerifier.create(LongFlux.range(Integer.MAX_VALUE, 4).window(2).flatMap(LongFlux::sum))
+				.expectNext(2L * Integer.MAX_VALUE + 1, 2L * Integer.MAX_VALUE + 5)
+				.verifyComplete();
+	}
+}
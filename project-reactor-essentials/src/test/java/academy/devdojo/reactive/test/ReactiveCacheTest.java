@@ -0,0 +1,136 @@
+package academy.devdojo.reactive.test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import academy.devdojo.reactive.cache.CacheConfig;
+import academy.devdojo.reactive.cache.ReactiveCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@Slf4j
+public class ReactiveCacheTest {
+
+	private final AtomicInteger loads = new AtomicInteger();
+	private final AtomicLong time = new AtomicLong();
+
+	@BeforeEach
+	public void setup() {
+		loads.set(0);
+		time.set(0);
+	}
+
+	@Test
+	public void concurrentRequestsShareOneLoad() {
+		ReactiveCache<String, String> cache = ReactiveCache.of(this::findByName);
+
+		Flux<String> flatFlux = Flux.just("A", "A", "B", "A", "B", "A")
+				.flatMap(cache::get)
+				.log();
+
+		StepVerifier.create(flatFlux)
+				.expectSubscription()
+				.expectNextCount(12)
+				.verifyComplete();
+
+		Assertions.assertEquals(2, loads.get());
+		CacheStats stats = cache.stats();
+		log.info("{}", stats);
+		Assertions.assertEquals(2, stats.missCount());
+		Assertions.assertEquals(4, stats.hitCount());
+		Assertions.assertTrue(stats.totalLoadTime() > 0);
+	}
+
+	@Test
+	public void keepsOrderOfTheLoadedFlux() {
+		ReactiveCache<String, String> cache = ReactiveCache.of(this::findByName);
+
+		StepVerifier.create(Flux.just("a", "b").concatMap(cache::get))
+				.expectNext("nomeB1", "nomeB2", "nomeB1", "nomeB2")
+				.verifyComplete();
+
+		StepVerifier.create(cache.get("A"))
+				.expectNext("nomeA1", "nomeA2")
+				.verifyComplete();
+	}
+
+	@Test
+	public void expiresAfterWrite() {
+		ReactiveCache<String, String> cache = ReactiveCache.of(this::findByName, CacheConfig.builder()
+				.expireAfterWrite(Duration.ofSeconds(10))
+				.ticker(time::get)
+				.executor(Runnable::run)
+				.build());
+
+		StepVerifier.create(cache.get("B")).expectNextCount(2).verifyComplete();
+		StepVerifier.create(cache.get("B")).expectNextCount(2).verifyComplete();
+		Assertions.assertEquals(1, loads.get());
+
+		time.addAndGet(TimeUnit.SECONDS.toNanos(11));
+
+		StepVerifier.create(cache.get("B")).expectNextCount(2).verifyComplete();
+		Assertions.assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void boundedBySize() {
+		ReactiveCache<String, String> cache = ReactiveCache.of(this::findByName, CacheConfig.builder()
+				.maximumSize(10)
+				.executor(Runnable::run)
+				.build());
+
+		StepVerifier.create(Flux.range(0, 100).map(i -> "B" + i).concatMap(cache::get))
+				.expectNextCount(200)
+				.verifyComplete();
+
+		cache.cleanUp();
+		Assertions.assertTrue(cache.estimatedSize() <= 10);
+		Assertions.assertTrue(cache.stats().evictionCount() >= 90);
+	}
+
+	@Test
+	public void errorsAreNotCached() {
+		AtomicInteger attempts = new AtomicInteger();
+		ReactiveCache<String, String> cache = ReactiveCache.of(name -> attempts.incrementAndGet() == 1
+				? Flux.error(new IllegalStateException("remote down"))
+				: Flux.just(name));
+
+		StepVerifier.create(cache.get("A"))
+				.expectError(IllegalStateException.class)
+				.verify();
+
+		StepVerifier.create(cache.get("A"))
+				.expectNext("A")
+				.verifyComplete();
+
+		Assertions.assertEquals(1, cache.stats().loadFailureCount());
+	}
+
+	@Test
+	public void cancellingOneSubscriberDoesNotCancelTheSharedLoad() {
+		ReactiveCache<String, String> cache = ReactiveCache.of(this::findByName);
+
+		cache.get("A").subscribe().dispose();
+
+		StepVerifier.create(cache.get("A"))
+				.expectNext("nomeA1", "nomeA2")
+				.verifyComplete();
+
+		Assertions.assertEquals(1, loads.get());
+	}
+
+	private Flux<String> findByName(String name) {
+		loads.incrementAndGet();
+		return name.equals("A")
+				? Flux.just("nomeA1", "nomeA2").delayElements(Duration.ofMillis(100))
+				: Flux.just("nomeB1", "nomeB2");
+	}
+}
@@ -0,0 +1,330 @@
+package academy.devdojo.reactive.test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import academy.devdojo.reactive.reorder.Reorder;
+import academy.devdojo.reactive.reorder.ReorderMetrics;
+import academy.devdojo.reactive.reorder.ReorderOverflow;
+import academy.devdojo.reactive.reorder.ReorderPolicy;
+import academy.devdojo.reactive.reorder.ReorderSnapshot;
+import academy.devdojo.reactive.spill.DiskSpillQueue;
+import academy.devdojo.reactive.spill.SpillConfig;
+import academy.devdojo.reactive.spill.SpillSerializer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+@Slf4j
+public class ReorderTest {
+
+	private static final int FAST_SOURCES = 10;
+	private static final int PER_SOURCE = 100;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void keepsOrderAndMeasuresHeadOfLine() {
+		ReorderMetrics metrics = new ReorderMetrics();
+
+		StepVerifier.withVirtualTime(() -> Flux.just("A", "B", "A", "B")
+				.transform(Reorder.flatMapSequential(name -> Lookups.findByName(name, Duration.ofMillis(100)),
+						ReorderPolicy.defaults(), metrics))
+				.log())
+				.expectSubscription()
+				.expectNoEvent(Duration.ofMillis(50))
+				.thenAwait(Duration.ofSeconds(1))
+				.expectNext("nomeA1", "nomeA2", "nomeB1", "nomeB2", "nomeA1", "nomeA2", "nomeB1", "nomeB2")
+				.verifyComplete();
+
+		ReorderSnapshot snapshot = metrics.snapshot();
+		log.info("{}", snapshot);
+		Assertions.assertEquals(0, snapshot.getBufferedElements());
+		Assertions.assertTrue(snapshot.getHeadOfLineBlocks() > 0);
+	}
+
+	@Test
+	public void flatMapSequentialInFrontOfFuseableLog() {
+		Flux<Integer> flux = Flux.range(1, 10)
+				.transform(Reorder.flatMapSequential(i -> Flux.just(i, -i), ReorderPolicy.<Integer>defaults()))
+				.log();
+
+		StepVerifier.create(flux)
+				.expectNext(1, -1, 2, -2, 3, -3, 4, -4, 5, -5)
+				.expectNext(6, -6, 7, -7, 8, -8, 9, -9, 10, -10)
+				.verifyComplete();
+	}
+
+	@Test
+	public void bufferedWeightIsReleasedWithTheWeightItWasAddedWith() {
+		ReorderMetrics metrics = new ReorderMetrics();
+		AtomicLong calls = new AtomicLong();
+		// weigher nao puro: cada chamada devolve um peso diferente
+		ReorderPolicy<Integer> policy = ReorderPolicy.<Integer>builder()
+				.maxBufferedWeight(1_000_000_000)
+				.weigher(element -> calls.incrementAndGet())
+				.build();
+
+		StepVerifier.create(stalledHead(policy, metrics))
+				.expectNext(expected())
+				.verifyComplete();
+
+		ReorderSnapshot snapshot = metrics.snapshot();
+		Assertions.assertEquals(0, snapshot.getBufferedElements());
+		Assertions.assertEquals(0, snapshot.getBufferedWeight());
+	}
+
+	@Test
+	public void failOnOverflowDiscardsTheOverflowingElement() {
+		List<Object> discarded = new CopyOnWriteArrayList<>();
+		ReorderPolicy<Integer> policy = ReorderPolicy.<Integer>builder()
+				.maxBufferedWeight(5)
+				.overflow(ReorderOverflow.FAIL)
+				.build();
+
+		StepVerifier.create(Reorder.mergeSequential(policy, new ReorderMetrics(), Mono.<Integer>never(), Flux.range(0, 10))
+				.doOnDiscard(Integer.class, discarded::add))
+				.expectErrorMatches(Exceptions::isOverflow)
+				.verify();
+
+		// 0..4 estavam no buffer e o 5 passou do limite
+		Assertions.assertTrue(discarded.containsAll(Arrays.asList(0, 1, 2, 3, 4, 5)), discarded::toString);
+	}
+
+	@Test
+	public void backpressureBoundsTheBuffer() {
+		ReorderMetrics metrics = new ReorderMetrics();
+		ReorderPolicy<Integer> policy = ReorderPolicy.<Integer>builder()
+				.maxConcurrency(16)
+				.innerPrefetch(8)
+				.maxBufferedWeight(50)
+				.build();
+
+		StepVerifier.create(stalledHead(policy, metrics))
+				.expectNext(expected())
+				.verifyComplete();
+
+		ReorderSnapshot snapshot = metrics.snapshot();
+		log.info("{}", snapshot);
+		Assertions.assertTrue(snapshot.getPeakBufferedWeight() >= 50);
+		Assertions.assertTrue(snapshot.getPeakBufferedWeight() <= 50 + 16 * 8, snapshot::toString);
+		Assertions.assertEquals(0, snapshot.getBufferedWeight());
+	}
+
+	@Test
+	public void failOnOverflow() {
+		ReorderMetrics metrics = new ReorderMetrics();
+		ReorderPolicy<Integer> policy = ReorderPolicy.<Integer>builder()
+				.maxBufferedWeight(50)
+				.overflow(ReorderOverflow.FAIL)
+				.build();
+
+		StepVerifier.create(stalledHead(policy, metrics))
+				.expectErrorMatches(Exceptions::isOverflow)
+				.verify();
+
+		Assertions.assertEquals(1, metrics.snapshot().getOverflows());
+		Assertions.assertEquals(0, metrics.bufferedElements());
+	}
+
+	@Test
+	public void spillKeepsOrderAndHeapBound() {
+		ReorderMetrics metrics = new ReorderMetrics();
+		ReorderPolicy<Integer> policy = ReorderPolicy.<Integer>builder()
+				.maxBufferedWeight(50)
+				.overflow(ReorderOverflow.SPILL)
+				.spillQueue(ConcurrentLinkedQueue::new)
+				.build();
+
+		StepVerifier.create(stalledHead(policy, metrics))
+				.expectNext(expected())
+				.verifyComplete();
+
+		ReorderSnapshot snapshot = metrics.snapshot();
+		log.info("{}", snapshot);
+		Assertions.assertTrue(snapshot.getPeakBufferedWeight() <= 50);
+		Assertions.assertTrue(snapshot.getTotalSpilled() > 0, snapshot::toString);
+		Assertions.assertEquals(0, snapshot.getSpilledElements());
+	}
+
+	@Test
+	public void spillToDiskKeepsOrder() {
+		ReorderMetrics metrics = new ReorderMetrics();
+		SpillConfig config = SpillConfig.builder()
+				.directory(dir)
+				.memoryCapacity(4)
+				.segmentSize(256)
+				.build();
+		ReorderPolicy<Integer> policy = ReorderPolicy.<Integer>builder()
+				.maxBufferedWeight(50)
+				.overflow(ReorderOverflow.SPILL)
+				.spillQueue(() -> DiskSpillQueue.create(SpillSerializer.ints(), config))
+				.build();
+
+		// a fonte lenta termina no boundedElastic: os segmentos sao criados na thread que pede
+		Flux<Integer> flux = Flux.range(-1, FAST_SOURCES + 1)
+				.transform(Reorder.flatMapSequential(i -> i < 0
+						? Mono.delay(Duration.ofMillis(100), Schedulers.boundedElastic()).thenReturn(-1)
+						: Flux.range(i * PER_SOURCE, PER_SOURCE), policy, metrics));
+
+		StepVerifier.create(flux)
+				.expectNext(expected())
+				.verifyComplete();
+
+		ReorderSnapshot snapshot = metrics.snapshot();
+		log.info("{}", snapshot);
+		Assertions.assertTrue(snapshot.getTotalSpilled() > 0, snapshot::toString);
+		Assertions.assertEquals(0, snapshot.getSpilledElements());
+		Assertions.assertEquals(0, files().size());
+	}
+
+	@Test
+	public void spillFailureIsAnInnerErrorAndDiscardsTheElement() {
+		List<Object> discarded = new CopyOnWriteArrayList<>();
+		SpillConfig config = SpillConfig.builder()
+				.directory(dir)
+				.memoryCapacity(0)
+				.segmentSize(64)
+				.build();
+		ReorderPolicy<String> policy = ReorderPolicy.<String>builder()
+				.maxBufferedWeight(1)
+				.overflow(ReorderOverflow.SPILL)
+				.spillQueue(() -> DiskSpillQueue.create(SpillSerializer.strings(), config))
+				.build();
+		String tooLarge = "x".repeat(200);
+
+		StepVerifier.create(Reorder.mergeSequential(policy, new ReorderMetrics(), Mono.<String>never(),
+				Flux.just("a", tooLarge))
+				.doOnDiscard(String.class, discarded::add))
+				.expectError(IllegalArgumentException.class)
+				.verify();
+
+		Assertions.assertTrue(discarded.contains(tooLarge));
+		Assertions.assertEquals(0, files().size());
+	}
+
+	@Test
+	public void spillQueueCreationFailureIsAnInnerError() {
+		List<Object> discarded = new CopyOnWriteArrayList<>();
+		ReorderPolicy<Integer> policy = ReorderPolicy.<Integer>builder()
+				.maxBufferedWeight(1)
+				.overflow(ReorderOverflow.SPILL)
+				.spillQueue(() -> {
+					throw new IllegalStateException("no spill directory");
+				})
+				.build();
+
+		StepVerifier.create(Reorder.mergeSequential(policy, new ReorderMetrics(), Mono.<Integer>never(),
+				Flux.just(1, 2))
+				.doOnDiscard(Integer.class, discarded::add))
+				.expectErrorMessage("no spill directory")
+				.verify();
+
+		Assertions.assertTrue(discarded.containsAll(Arrays.asList(1, 2)), discarded::toString);
+	}
+
+	@Test
+	public void refusedSpillElementIsDiscarded() {
+		List<Object> discarded = new CopyOnWriteArrayList<>();
+		ReorderPolicy<Integer> policy = ReorderPolicy.<Integer>builder()
+				.maxBufferedWeight(1)
+				.overflow(ReorderOverflow.SPILL)
+				.spillQueue(() -> new ArrayBlockingQueue<>(1))
+				.build();
+
+		StepVerifier.create(Reorder.mergeSequential(policy, new ReorderMetrics(), Mono.<Integer>never(),
+				Flux.just(1, 2, 3))
+				.doOnDiscard(Integer.class, discarded::add))
+				.expectErrorMatches(Exceptions::isOverflow)
+				.verify();
+
+		// o 1 estava no buffer e o 3 foi recusado pela fila de spill cheia
+		Assertions.assertTrue(discarded.containsAll(Arrays.asList(1, 3)), discarded::toString);
+	}
+
+	@Test
+	public void weigherBoundsByBytes() {
+		ReorderMetrics metrics = new ReorderMetrics();
+		ReorderPolicy<String> policy = ReorderPolicy.<String>builder()
+				.maxBufferedWeight(16)
+				.weigher(String::length)
+				.overflow(ReorderOverflow.FAIL)
+				.build();
+
+		Flux<String> flux = Reorder.mergeSequential(policy, metrics,
+				Mono.delay(Duration.ofMillis(50)).thenReturn("head"),
+				Flux.just("0123456789", "0123456789"));
+
+		StepVerifier.create(flux)
+				.expectErrorMatches(Exceptions::isOverflow)
+				.verify();
+	}
+
+	@Test
+	public void innerErrorCancelsEverything() {
+		StepVerifier.create(Flux.just(1, 2, 3)
+				.transform(Reorder.flatMapSequential(i -> i == 2 ? Flux.error(new IllegalStateException("boom"))
+						: Flux.just(i).delayElements(Duration.ofMillis(10)), ReorderPolicy.<Integer>defaults())))
+				.expectError(IllegalStateException.class)
+				.verify();
+	}
+
+	@Test
+	public void respectsDownstreamDemand() {
+		StepVerifier.create(Flux.range(0, 3)
+				.transform(Reorder.flatMapSequential(i -> Flux.range(i * 10, 3), ReorderPolicy.<Integer>defaults())), 0)
+				.expectSubscription()
+				.thenRequest(4)
+				.expectNext(0, 1, 2, 10)
+				.expectNoEvent(Duration.ofMillis(10))
+				.thenRequest(Long.MAX_VALUE)
+				.expectNext(11, 12, 20, 21, 22)
+				.verifyComplete();
+	}
+
+	/**
+	 * Uma fonte lenta na frente e {@code FAST_SOURCES} rapidas atras dela.
+	 */
+	private Flux<Integer> stalledHead(ReorderPolicy<Integer> policy, ReorderMetrics metrics) {
+		return Flux.range(-1, FAST_SOURCES + 1)
+				.transform(Reorder.flatMapSequential(i -> i < 0
+						? Mono.delay(Duration.ofMillis(100)).thenReturn(-1)
+						: Flux.range(i * PER_SOURCE, PER_SOURCE), policy, metrics));
+	}
+
+	private Integer[] expected() {
+		List<Integer> values = new ArrayList<>();
+		values.add(-1);
+		for (int i = 0; i < FAST_SOURCES * PER_SOURCE; i++) {
+			values.add(i);
+		}
+		return values.toArray(new Integer[0]);
+	}
+
+	private List<Path> files() {
+		try (Stream<Path> files = Files.list(dir)) {
+			return files.collect(Collectors.toList());
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -0,0 +1,200 @@
+package academy.devdojo.reactive.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+
+import academy.devdojo.reactive.multicast.MulticastConfig;
+import academy.devdojo.reactive.multicast.RingMulticast;
+import academy.devdojo.reactive.multicast.SlowConsumer;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.DirectProcessor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+public class RingMulticastTest {
+
+	private static final MulticastConfig SMALL_RING = MulticastConfig.builder().bufferSize(16).build();
+
+	@Test
+	public void autoConnectDeliversEverythingInOrder() {
+		Flux<Integer> shared = RingMulticast.create(Flux.range(0, 10_000), SMALL_RING).autoConnect(2);
+
+		List<List<Integer>> received = Mono.zip(shared.collectList(), shared.publishOn(Schedulers.parallel()).collectList(),
+				(first, second) -> List.of(first, second))
+				.block();
+
+		List<Integer> expected = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+		Assertions.assertEquals(expected, received.get(0));
+		Assertions.assertEquals(expected, received.get(1));
+	}
+
+	@Test
+	public void blockSubscriberHoldsTheProducer() {
+		RingMulticast<Integer> ring = RingMulticast.create(Flux.range(0, 1000), SMALL_RING);
+		Collector slow = subscribe(ring.flux(SlowConsumer.BLOCK), 5);
+		Collector fast = subscribe(ring.flux(SlowConsumer.BLOCK), Long.MAX_VALUE);
+
+		ring.connect();
+
+		Assertions.assertEquals(5, slow.values.size());
+		Assertions.assertEquals(5 + 16, fast.values.size());
+
+		slow.request(Long.MAX_VALUE);
+
+		Assertions.assertEquals(1000, slow.values.size());
+		Assertions.assertEquals(1000, fast.values.size());
+		Assertions.assertTrue(slow.completed && fast.completed);
+	}
+
+	@Test
+	public void dropOldestDoesNotHoldOthers() {
+		RingMulticast<Integer> ring = RingMulticast.create(Flux.range(0, 1000), SMALL_RING);
+		Collector slow = subscribe(ring.flux(SlowConsumer.DROP_OLDEST), 1);
+		Collector fast = subscribe(ring.flux(SlowConsumer.BLOCK), Long.MAX_VALUE);
+
+		ring.connect();
+		Assertions.assertEquals(1000, fast.values.size());
+		Assertions.assertTrue(fast.completed);
+
+		slow.request(Long.MAX_VALUE);
+
+		List<Integer> expected = new ArrayList<>();
+		expected.add(0);
+		IntStream.range(1000 - 16, 1000).forEach(expected::add);
+		Assertions.assertEquals(expected, slow.values);
+		Assertions.assertTrue(slow.completed);
+		Assertions.assertEquals(1000 - 1 - 16, ring.dropped());
+	}
+
+	@Test
+	public void syncSourceWithoutBlockSubscriberRunsToTheEnd() {
+		RingMulticast<Integer> ring = RingMulticast.create(Flux.range(0, 1000), SMALL_RING);
+		Collector unbounded = subscribe(ring.flux(SlowConsumer.DROP_OLDEST), Long.MAX_VALUE);
+		Collector slow = subscribe(ring.flux(SlowConsumer.DISCONNECT), 0);
+
+		// nenhum subscriber BLOCK: com a fonte SYNC o pump tem que continuar sozinho depois da
+		// primeira volta
+		ring.connect();
+		slow.request(1);
+
+		Assertions.assertEquals(IntStream.range(0, 1000).boxed().collect(Collectors.toList()), unbounded.values);
+		Assertions.assertTrue(unbounded.completed);
+		Assertions.assertTrue(slow.values.isEmpty());
+		Assertions.assertTrue(Exceptions.isOverflow(slow.error));
+	}
+
+	@Test
+	public void disconnectErrorsTheLappedSubscriber() {
+		RingMulticast<Integer> ring = RingMulticast.create(Flux.range(0, 1000), SMALL_RING);
+		Collector slow = subscribe(ring.flux(SlowConsumer.DISCONNECT), 0);
+		Collector fast = subscribe(ring.flux(), Long.MAX_VALUE);
+
+		ring.connect();
+		slow.request(1);
+
+		Assertions.assertEquals(1000, fast.values.size());
+		Assertions.assertTrue(slow.values.isEmpty());
+		Assertions.assertTrue(Exceptions.isOverflow(slow.error));
+		Assertions.assertEquals(1, ring.disconnected());
+		Assertions.assertEquals(0, ring.subscriberCount());
+	}
+
+	@Test
+	public void cancelledBlockSubscriberReleasesTheProducer() {
+		RingMulticast<Integer> ring = RingMulticast.create(Flux.range(0, 1000), SMALL_RING);
+		Collector slow = subscribe(ring.flux(SlowConsumer.BLOCK), 0);
+		Collector fast = subscribe(ring.flux(SlowConsumer.BLOCK), Long.MAX_VALUE);
+
+		ring.connect();
+		Assertions.assertEquals(16, fast.values.size());
+
+		slow.cancel();
+
+		Assertions.assertEquals(1000, fast.values.size());
+		Assertions.assertTrue(fast.completed);
+	}
+
+	@Test
+	public void lateSubscriberOnlySeesNewElements() {
+		DirectProcessor<Integer> source = DirectProcessor.create();
+		RingMulticast<Integer> ring = RingMulticast.create(source, SMALL_RING);
+		Collector early = subscribe(ring.flux(), Long.MAX_VALUE);
+		ring.connect();
+
+		source.onNext(1);
+		source.onNext(2);
+		Collector late = subscribe(ring.flux(), Long.MAX_VALUE);
+		source.onNext(3);
+		source.onComplete();
+
+		Assertions.assertEquals(List.of(1, 2, 3), early.values);
+		Assertions.assertEquals(List.of(3), late.values);
+		Assertions.assertTrue(early.completed && late.completed);
+
+		StepVerifier.create(ring.flux())
+				.verifyComplete();
+	}
+
+	@Test
+	public void errorReachesEverySubscriber() {
+		Flux<Integer> shared = RingMulticast.create(Flux.range(0, 3).concatWith(Flux.error(new IllegalStateException("falhou"))),
+				SMALL_RING).autoConnect(2);
+
+		Collector first = subscribe(shared, Long.MAX_VALUE);
+		Collector second = subscribe(shared, Long.MAX_VALUE);
+
+		Assertions.assertEquals(List.of(0, 1, 2), first.values);
+		Assertions.assertEquals(List.of(0, 1, 2), second.values);
+		Assertions.assertEquals("falhou", first.error.getMessage());
+		Assertions.assertEquals("falhou", second.error.getMessage());
+	}
+
+	private Collector subscribe(Flux<Integer> flux, long initialRequest) {
+		Collector collector = new Collector(initialRequest);
+		flux.subscribe(collector);
+		return collector;
+	}
+
+	private static final class Collector extends BaseSubscriber<Integer> {
+
+		private final long initialRequest;
+		private final List<Integer> values = new ArrayList<>();
+		private Throwable error;
+		private boolean completed;
+
+		private Collector(long initialRequest) {
+			this.initialRequest = initialRequest;
+		}
+
+		@Override
+		protected void hookOnSubscribe(Subscription subscription) {
+			if (initialRequest > 0) {
+				request(initialRequest);
+			}
+		}
+
+		@Override
+		protected void hookOnNext(Integer value) {
+			values.add(value);
+		}
+
+		@Override
+		protected void hookOnError(Throwable throwable) {
+			error = throwable;
+		}
+
+		@Override
+		protected void hookOnComplete() {
+			completed = true;
+		}
+	}
+}
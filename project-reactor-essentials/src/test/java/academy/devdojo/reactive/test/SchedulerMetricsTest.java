@@ -0,0 +1,150 @@
+package academy.devdojo.reactive.test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import academy.devdojo.reactive.scheduler.SchedulerMetrics;
+import academy.devdojo.reactive.scheduler.WorkerSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+@Slf4j
+public class SchedulerMetricsTest {
+
+	private SchedulerMetrics metrics;
+
+	@BeforeEach
+	public void setup() {
+		metrics = SchedulerMetrics.install();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		SchedulerMetrics.uninstall();
+	}
+
+	@Test
+	public void recordsWaitAndRunTimePerWorker() throws Exception {
+		Scheduler single = Schedulers.newSingle("metrics-single");
+		try {
+			CountDownLatch done = new CountDownLatch(3);
+			for (int i = 0; i < 3; i++) {
+				single.schedule(() -> {
+					spin(TimeUnit.MILLISECONDS.toNanos(30));
+					done.countDown();
+				});
+			}
+			Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+
+			WorkerSnapshot worker = awaitCompleted("metrics-single", 3);
+			log.info("{}", worker);
+			Assertions.assertEquals(3, worker.getCompleted());
+			Assertions.assertTrue(worker.getRunMaxNanos() >= TimeUnit.MILLISECONDS.toNanos(25));
+			// a terceira task espera as duas primeiras
+			Assertions.assertTrue(worker.getWaitMaxNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+			Assertions.assertTrue(worker.getMaxQueueDepth() >= 1);
+		} finally {
+			single.dispose();
+		}
+	}
+
+	@Test
+	public void exposesQueueDepthWhileWorkerIsBusy() throws Exception {
+		Scheduler single = Schedulers.newSingle("metrics-busy");
+		try {
+			CountDownLatch started = new CountDownLatch(1);
+			CountDownLatch release = new CountDownLatch(1);
+			single.schedule(() -> {
+				started.countDown();
+				while (release.getCount() > 0) {
+					// espera ativa para nao disparar o BlockHound
+				}
+			});
+			for (int i = 0; i < 4; i++) {
+				single.schedule(() -> {
+				});
+			}
+			Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+			Assertions.assertEquals(4, find("metrics-busy").getQueueDepth());
+			release.countDown();
+		} finally {
+			single.dispose();
+		}
+	}
+
+	@Test
+	public void tracksEveryHopOfMultiplePublishOn() {
+		Scheduler single = Schedulers.newSingle("metrics-hop-single");
+		Scheduler elastic = Schedulers.newBoundedElastic(2, 100, "metrics-hop-elastic");
+		try {
+			Flux<Integer> flux = Flux.range(1, 4)
+					.publishOn(single)
+					.map(i -> i)
+					.publishOn(elastic)
+					.map(i -> i);
+
+			StepVerifier.create(flux)
+					.expectNext(1, 2, 3, 4)
+					.verifyComplete();
+
+			log.info("\n{}", metrics.getReport());
+			Assertions.assertTrue(find("metrics-hop-single").getCompleted() > 0);
+			Assertions.assertTrue(find("metrics-hop-elastic").getCompleted() > 0);
+		} finally {
+			single.dispose();
+			elastic.dispose();
+		}
+	}
+
+	@Test
+	public void registersMBean() throws Exception {
+		ObjectName name = new ObjectName(SchedulerMetrics.OBJECT_NAME);
+
+		Assertions.assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+		Object report = ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Report");
+		Assertions.assertTrue(report instanceof String);
+		Object workers = ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Workers");
+		Assertions.assertNotNull(workers);
+	}
+
+	private WorkerSnapshot find(String schedulerName) {
+		List<WorkerSnapshot> snapshots = metrics.snapshot();
+		return snapshots.stream()
+				.filter(s -> s.getWorker().contains(schedulerName))
+				.findFirst()
+				.orElseThrow(() -> new AssertionError("no worker for " + schedulerName + " in " + snapshots));
+	}
+
+	/**
+	 * O tempo de execucao eh gravado depois que a task retorna, ou seja, depois do countDown dela.
+	 */
+	private WorkerSnapshot awaitCompleted(String schedulerName, long completed) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		WorkerSnapshot worker = find(schedulerName);
+		while (worker.getCompleted() < completed && System.nanoTime() < deadline) {
+			Thread.sleep(1);
+			worker = find(schedulerName);
+		}
+		return worker;
+	}
+
+	private static void spin(long nanos) {
+		long end = System.nanoTime() + nanos;
+		while (System.nanoTime() < end) {
+			// busy spin
+		}
+	}
+}
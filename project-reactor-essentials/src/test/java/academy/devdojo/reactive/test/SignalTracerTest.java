@@ -0,0 +1,146 @@
+package academy.devdojo.reactive.test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import academy.devdojo.reactive.trace.SignalTracer;
+import academy.devdojo.reactive.trace.TraceConfig;
+import academy.devdojo.reactive.trace.TraceEntry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+@Slf4j
+public class SignalTracerTest {
+
+	@Test
+	public void recordsSignalsLikeLog() {
+		SignalTracer tracer = SignalTracer.create("concat");
+
+		Flux<String> flux = Flux.concat(Flux.just("a", "b"), Flux.just("c", "d"))
+				.transform(tracer::trace);
+
+		StepVerifier.create(flux)
+				.expectNext("a", "b", "c", "d")
+				.verifyComplete();
+
+		List<String> signals = tracer.snapshot().stream()
+				.map(TraceEntry::toString)
+				.map(s -> s.substring(s.indexOf(']') + 2))
+				.collect(Collectors.toList());
+		log.info("{}", signals);
+		Assertions.assertEquals("concat - onSubscribe()", signals.get(0));
+		Assertions.assertEquals("concat - request(unbounded)", signals.get(1));
+		Assertions.assertEquals("concat - onNext(a)", signals.get(2));
+		Assertions.assertEquals("concat - onComplete()", signals.get(signals.size() - 1));
+		Assertions.assertEquals(7, signals.size());
+	}
+
+	@Test
+	public void traceInFrontOfFuseableLog() {
+		SignalTracer tracer = SignalTracer.create("range");
+
+		StepVerifier.create(Flux.range(1, 10).transform(tracer::trace).log())
+				.expectNext(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+				.verifyComplete();
+
+		StepVerifier.create(Mono.just(1).transform(tracer::trace).log())
+				.expectNext(1)
+				.verifyComplete();
+	}
+
+	@Test
+	public void samplesOnNextAndFiltersSignals() {
+		SignalTracer tracer = SignalTracer.create("range", TraceConfig.builder()
+				.sampleEvery(10)
+				.signals(EnumSet.of(SignalType.ON_NEXT))
+				.build());
+
+		StepVerifier.create(Flux.range(1, 100).transform(tracer::trace))
+				.expectNextCount(100)
+				.verifyComplete();
+
+		List<Object> values = tracer.snapshot().stream()
+				.map(TraceEntry::getValue)
+				.collect(Collectors.toList());
+		Assertions.assertEquals(10, values.size());
+		Assertions.assertEquals(1, values.get(0));
+		Assertions.assertEquals(11, values.get(1));
+	}
+
+	@Test
+	public void ringKeepsOnlyLatestSignals() {
+		SignalTracer tracer = SignalTracer.create("range", TraceConfig.builder()
+				.capacity(16)
+				.signals(EnumSet.of(SignalType.ON_NEXT))
+				.build());
+
+		Flux.range(1, 100).transform(tracer::trace).blockLast();
+
+		List<TraceEntry> entries = tracer.snapshot();
+		Assertions.assertEquals(100, tracer.recorded());
+		Assertions.assertEquals(16, entries.size());
+		Assertions.assertEquals(85, entries.get(0).getValue());
+		Assertions.assertEquals(100, entries.get(15).getValue());
+	}
+
+	@Test
+	public void concurrentWritersKeepSequenceOrder() {
+		SignalTracer tracer = SignalTracer.create("parallel", TraceConfig.builder()
+				.capacity(256)
+				.signals(EnumSet.of(SignalType.ON_NEXT))
+				.build());
+
+		Flux.range(0, 8)
+				.flatMap(i -> Flux.range(0, 1_000).transform(tracer::trace).subscribeOn(Schedulers.parallel()))
+				.blockLast();
+
+		List<TraceEntry> entries = tracer.snapshot();
+		Assertions.assertEquals(8_000, tracer.recorded());
+		Assertions.assertTrue(entries.size() <= 256);
+		for (int i = 1; i < entries.size(); i++) {
+			Assertions.assertTrue(entries.get(i).getSequence() > entries.get(i - 1).getSequence());
+		}
+	}
+
+	@Test
+	public void dumpsAsynchronouslyOnError() throws Exception {
+		CountDownLatch dumped = new CountDownLatch(1);
+		AtomicReference<List<TraceEntry>> dump = new AtomicReference<>();
+		AtomicReference<String> dumpThread = new AtomicReference<>();
+		SignalTracer tracer = SignalTracer.create("mono", TraceConfig.builder()
+				.sink(entries -> {
+					dump.set(entries);
+					dumpThread.set(Thread.currentThread().getName());
+					dumped.countDown();
+				})
+				.build());
+
+		Mono<String> mono = Mono.<String>error(new IllegalArgumentException("boom"))
+				.transform(tracer::trace);
+
+		StepVerifier.create(mono)
+				.expectError(IllegalArgumentException.class)
+				.verify();
+
+		Assertions.assertTrue(dumped.await(5, TimeUnit.SECONDS));
+		Assertions.assertTrue(dumpThread.get().startsWith("signal-trace-dump"));
+		Assertions.assertEquals(SignalType.ON_ERROR, dump.get().get(dump.get().size() - 1).getType());
+	}
+
+	@Test
+	public void invalidCapacityIsRejected() {
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> SignalTracer.create("x", TraceConfig.builder().capacity(100).build()));
+	}
+}
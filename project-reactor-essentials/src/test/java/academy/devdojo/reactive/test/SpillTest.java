@@ -0,0 +1,218 @@
+package academy.devdojo.reactive.test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.reactivestreams.Subscription;
+
+import academy.devdojo.reactive.spill.DiskSpillQueue;
+import academy.devdojo.reactive.spill.Spill;
+import academy.devdojo.reactive.spill.SpillConfig;
+import academy.devdojo.reactive.spill.SpillSerializer;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+public class SpillTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void queueKeepsOrderAcrossMemoryAndSegments() {
+		try (DiskSpillQueue<Integer> queue = DiskSpillQueue.create(SpillSerializer.ints(), config(4, 64))) {
+			int next = 0;
+			for (int i = 0; i < 100; i++) {
+				queue.offer(i);
+				if (i % 3 == 0) {
+					Assertions.assertEquals(next++, queue.poll());
+				}
+			}
+			Assertions.assertTrue(queue.spilledElements() > 0);
+			Assertions.assertTrue(queue.segmentsCreated() > 1);
+			Assertions.assertEquals(100 - next, queue.size());
+
+			Integer value;
+			while ((value = queue.poll()) != null) {
+				Assertions.assertEquals(next++, value);
+			}
+			Assertions.assertEquals(100, next);
+			Assertions.assertEquals(0, queue.segmentCount());
+		}
+	}
+
+	@Test
+	public void reusesSegmentWhenConsumerCatchesUp() {
+		try (DiskSpillQueue<String> queue = DiskSpillQueue.create(SpillSerializer.strings(), config(2, 4096))) {
+			for (int round = 0; round < 5; round++) {
+				for (int i = 0; i < 10; i++) {
+					queue.offer("nome" + round + i);
+				}
+				for (int i = 0; i < 10; i++) {
+					Assertions.assertEquals("nome" + round + i, queue.poll());
+				}
+				Assertions.assertNull(queue.poll());
+			}
+			Assertions.assertEquals(5 * 8, queue.totalSpilled());
+			Assertions.assertEquals(1, queue.segmentsCreated());
+		}
+	}
+
+	@Test
+	public void closeDeletesSegments() {
+		DiskSpillQueue<Integer> queue = DiskSpillQueue.create(SpillSerializer.ints(), config(0, 64));
+		IntStream.range(0, 50).forEach(queue::offer);
+		Assertions.assertFalse(files().isEmpty());
+
+		queue.close();
+
+		Assertions.assertTrue(files().isEmpty());
+		Assertions.assertFalse(queue.offer(1));
+	}
+
+	@Test
+	public void iteratesOverMemoryAndSegments() {
+		try (DiskSpillQueue<Integer> queue = DiskSpillQueue.create(SpillSerializer.ints(), config(2, 64))) {
+			IntStream.range(0, 20).forEach(queue::offer);
+			queue.poll();
+
+			Assertions.assertTrue(queue.spilledElements() > 0);
+			Assertions.assertTrue(queue.contains(19));
+			Assertions.assertFalse(queue.contains(0));
+			Assertions.assertArrayEquals(IntStream.range(1, 20).boxed().toArray(), queue.toArray());
+			Assertions.assertEquals(IntStream.range(1, 20).boxed().collect(Collectors.toList()).toString(), queue.toString());
+			Assertions.assertEquals(19, queue.size());
+		}
+	}
+
+	@Test
+	public void spillInFrontOfFuseableLog() {
+		Flux<Integer> flux = Flux.range(1, 10)
+				.transform(Spill.onBackpressureSpill(SpillSerializer.ints(), config(2, 64)))
+				.log();
+
+		StepVerifier.create(flux)
+				.expectNext(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+				.verifyComplete();
+	}
+
+	@Test
+	public void slowDownstreamGetsEverythingInOrder() {
+		Flux<Integer> flux = Flux.range(0, 10_000)
+				.transform(Spill.onBackpressureSpill(SpillSerializer.ints(), config(16, 4096)));
+
+		StepVerifier.create(flux, 0)
+				.thenRequest(10)
+				.expectNext(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)
+				.then(() -> Assertions.assertFalse(files().isEmpty()))
+				.thenRequest(Long.MAX_VALUE)
+				.expectNextSequence(IntStream.range(10, 10_000).boxed().collect(Collectors.toList()))
+				.verifyComplete();
+
+		Assertions.assertTrue(files().isEmpty());
+	}
+
+	@Test
+	public void publishOnAbsorbsBurst() {
+		List<Integer> received = Flux.range(0, 20_000)
+				.transform(Spill.publishOn(Schedulers.boundedElastic(), SpillSerializer.ints(), config(64, 16 * 1024)))
+				.collectList()
+				.block();
+
+		Assertions.assertEquals(IntStream.range(0, 20_000).boxed().collect(Collectors.toList()), received);
+		Assertions.assertTrue(files().isEmpty());
+	}
+
+	@Test
+	public void errorWaitsForBufferedElements() {
+		Flux<Integer> flux = Flux.range(0, 100)
+				.concatWith(Flux.error(new IllegalStateException("falhou")))
+				.transform(Spill.onBackpressureSpill(SpillSerializer.ints(), config(8, 128)));
+
+		StepVerifier.create(flux, 0)
+				.thenRequest(100)
+				.expectNextCount(100)
+				.expectErrorMessage("falhou")
+				.verify();
+	}
+
+	@Test
+	public void elementLargerThanSegmentFails() {
+		Flux<String> flux = Flux.just("a", "x".repeat(200))
+				.transform(Spill.onBackpressureSpill(SpillSerializer.strings(), config(0, 64)));
+
+		StepVerifier.create(flux)
+				.expectNext("a")
+				.expectError(IllegalArgumentException.class)
+				.verify();
+
+		Assertions.assertTrue(files().isEmpty());
+	}
+
+	@Test
+	public void cancelDeletesSegments() {
+		Flux<Integer> flux = Flux.range(0, 1000)
+				.transform(Spill.onBackpressureSpill(SpillSerializer.ints(), config(0, 256)));
+
+		StepVerifier.create(flux, 1)
+				.expectNext(0)
+				.thenCancel()
+				.verify();
+
+		Assertions.assertTrue(files().isEmpty());
+	}
+
+	@Test
+	public void cancelDiscardsBufferedElements() {
+		List<Integer> discarded = new ArrayList<>();
+		Flux<Integer> flux = Flux.range(0, 1000)
+				.transform(Spill.onBackpressureSpill(SpillSerializer.ints(), config(8, 256)))
+				.doOnDiscard(Integer.class, discarded::add);
+
+		// o range termina de emitir na assinatura; so depois o downstream pede e cancela
+		List<Integer> received = new ArrayList<>();
+		BaseSubscriber<Integer> subscriber = new BaseSubscriber<Integer>() {
+			@Override
+			protected void hookOnSubscribe(Subscription subscription) {
+			}
+
+			@Override
+			protected void hookOnNext(Integer value) {
+				received.add(value);
+			}
+		};
+		flux.subscribe(subscriber);
+		subscriber.request(1);
+		subscriber.cancel();
+
+		Assertions.assertEquals(List.of(0), received);
+		Assertions.assertEquals(IntStream.range(1, 1000).boxed().collect(Collectors.toList()), discarded);
+		Assertions.assertTrue(files().isEmpty());
+	}
+
+	private SpillConfig config(int memoryCapacity, int segmentSize) {
+		return SpillConfig.builder()
+				.directory(dir)
+				.memoryCapacity(memoryCapacity)
+				.segmentSize(segmentSize)
+				.build();
+	}
+
+	private List<Path> files() {
+		try (Stream<Path> files = Files.list(dir)) {
+			return files.collect(Collectors.toList());
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -0,0 +1,202 @@
+package academy.devdojo.reactive.test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import academy.devdojo.reactive.scheduler.VirtualThreadScheduler;
+import lombok.extern.slf4j.Slf4j;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+@Slf4j
+public class VirtualThreadSchedulerTest {
+
+	private VirtualThreadScheduler scheduler;
+
+	@BeforeAll
+	public static void setupBlockHound() {
+		BlockHound.install();
+	}
+
+	@BeforeEach
+	public void setup() {
+		scheduler = VirtualThreadScheduler.create("vt-io");
+	}
+
+	@AfterEach
+	public void tearDown() {
+		scheduler.dispose();
+	}
+
+	@Test
+	public void subscribeOnIO() {
+		Mono<List<String>> list = Mono.fromCallable(() -> {
+			Assertions.assertTrue(Thread.currentThread().isVirtual());
+			Assertions.assertTrue(Thread.currentThread().getName().startsWith("vt-io-"));
+			return Files.readAllLines(Paths.get("text-file"));
+		})
+				.subscribeOn(scheduler);
+
+		StepVerifier.create(list)
+				.expectSubscription()
+				.assertNext(l -> Assertions.assertFalse(l.isEmpty()))
+				.verifyComplete();
+	}
+
+	@Test
+	public void blockingIsAllowedOnVirtualThreadsButNotOnParallel() {
+		StepVerifier.create(sleepy().subscribeOn(scheduler))
+				.expectNext("slept")
+				.verifyComplete();
+
+		StepVerifier.create(sleepy().subscribeOn(Schedulers.parallel()))
+				.expectError(BlockingOperationError.class)
+				.verify();
+	}
+
+	@Test
+	public void workerKeepsOrderAcrossPublishOnAndDelays() {
+		Flux<Integer> flux = Flux.range(1, 100)
+				.publishOn(scheduler)
+				.map(i -> {
+					Assertions.assertTrue(Thread.currentThread().isVirtual());
+					return i;
+				})
+				.filter(i -> i % 25 == 0)
+				.delayElements(Duration.ofMillis(10), scheduler);
+
+		StepVerifier.create(flux)
+				.expectNext(25, 50, 75, 100)
+				.verifyComplete();
+	}
+
+	@Test
+	public void thousandsOfConcurrentBlockingCalls() {
+		int calls = 2_000;
+		// cada chamada bloqueia ate todas terem comecado: no boundedElastic padrao (10 threads por
+		// core) as primeiras nunca saem do await
+		CountDownLatch started = new CountDownLatch(calls);
+		Mono<Long> completed = Flux.range(0, calls)
+				.flatMap(i -> Mono.fromCallable(() -> {
+					started.countDown();
+					return started.await(30, TimeUnit.SECONDS);
+				}).subscribeOn(scheduler), calls)
+				.filter(allStarted -> allStarted)
+				.count();
+
+		StepVerifier.create(completed)
+				.expectNext((long) calls)
+				.verifyComplete();
+	}
+
+	@Test
+	public void delayedWorkerTaskIsDoneOnceItRuns() throws Exception {
+		Scheduler.Worker worker = scheduler.createWorker();
+		try {
+			CountDownLatch ran = new CountDownLatch(3);
+			List<Disposable> tasks = new ArrayList<>();
+			for (int i = 0; i < 3; i++) {
+				tasks.add(worker.schedule(ran::countDown, 10, TimeUnit.MILLISECONDS));
+			}
+			Disposable cancelled = worker.schedule(ran::countDown, 10, TimeUnit.SECONDS);
+			cancelled.dispose();
+
+			Assertions.assertTrue(ran.await(5, TimeUnit.SECONDS));
+			// a ultima task da fila so roda depois das atrasadas que ja estavam nela
+			CountDownLatch drained = new CountDownLatch(1);
+			worker.schedule(drained::countDown);
+			Assertions.assertTrue(drained.await(5, TimeUnit.SECONDS));
+			Assertions.assertTrue(tasks.stream().allMatch(Disposable::isDisposed));
+			Assertions.assertTrue(cancelled.isDisposed());
+		} finally {
+			worker.dispose();
+		}
+	}
+
+	@Test
+	public void periodicTaskRunsUntilDisposed() throws Exception {
+		CountDownLatch ticks = new CountDownLatch(3);
+		Disposable periodic = scheduler.schedulePeriodically(ticks::countDown, 0, 10, TimeUnit.MILLISECONDS);
+
+		Assertions.assertTrue(ticks.await(5, TimeUnit.SECONDS));
+		periodic.dispose();
+		Assertions.assertTrue(periodic.isDisposed());
+	}
+
+	@Test
+	public void oneShotTaskIsDisposedOnceItRuns() throws Exception {
+		CountDownLatch ran = new CountDownLatch(1);
+		Disposable task = scheduler.schedule(ran::countDown);
+
+		Assertions.assertTrue(ran.await(5, TimeUnit.SECONDS));
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!task.isDisposed() && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		Assertions.assertTrue(task.isDisposed());
+	}
+
+	@Test
+	public void taskErrorsGoThroughSchedulersOnHandleError() throws Exception {
+		CountDownLatch handled = new CountDownLatch(1);
+		List<Throwable> errors = new ArrayList<>();
+		Schedulers.onHandleError((thread, error) -> {
+			errors.add(error);
+			handled.countDown();
+		});
+		try {
+			scheduler.schedule(() -> {
+				throw new IllegalStateException("boom");
+			});
+
+			Assertions.assertTrue(handled.await(5, TimeUnit.SECONDS));
+			Assertions.assertEquals("boom", errors.get(0).getMessage());
+		} finally {
+			Schedulers.resetOnHandleError();
+		}
+	}
+
+	@Test
+	public void disposeInterruptsPendingTasksAndRejectsNewOnes() throws Exception {
+		AtomicBoolean ran = new AtomicBoolean();
+		scheduler.schedule(() -> ran.set(true), 10, TimeUnit.SECONDS);
+		Assertions.assertEquals(1, scheduler.activeCount());
+
+		scheduler.dispose();
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (scheduler.activeCount() > 0 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		Assertions.assertEquals(0, scheduler.activeCount());
+		Assertions.assertFalse(ran.get());
+		Assertions.assertThrows(RejectedExecutionException.class, () -> scheduler.schedule(() -> {
+		}));
+	}
+
+	private static Mono<String> sleepy() {
+		return Mono.fromCallable(() -> {
+			Thread.sleep(50);
+			return "slept";
+		});
+	}
+}
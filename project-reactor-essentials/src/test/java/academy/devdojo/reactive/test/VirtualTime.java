@@ -0,0 +1,20 @@
+package academy.devdojo.reactive.test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Roda o teste (ou todos os da classe) com um VirtualTimeScheduler no lugar de todos os schedulers,
+ * pelo {@link VirtualTimeExtension}: delayElements, interval e timeout montados no teste andam em
+ * tempo virtual. O tempo nao anda sozinho: um parametro VirtualTimeScheduler recebe o scheduler para
+ * o teste avancar o tempo no lugar de um Thread.sleep.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(VirtualTimeExtension.class)
+public @interface VirtualTime {
+}
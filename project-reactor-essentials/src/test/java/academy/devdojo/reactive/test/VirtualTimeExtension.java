@@ -0,0 +1,45 @@
+package academy.devdojo.reactive.test;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+/**
+ * Instala um VirtualTimeScheduler antes de cada teste e o remove depois. O relogio so anda quando
+ * o teste manda: {@code scheduler.advanceTimeBy(...)} no lugar de cada Thread.sleep e
+ * {@code .then(() -> scheduler.advanceTimeBy(...))} no StepVerifier antes de esperar os elementos.
+ * As tarefas rodam na thread do teste, dentro do advanceTimeBy.
+ * <p>
+ * Nao use StepVerifier.withVirtualTime dentro do teste: ele descarta o scheduler no fim do verify.
+ */
+public class VirtualTimeExtension implements BeforeEachCallback, AfterEachCallback, ParameterResolver {
+
+	private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(VirtualTimeExtension.class);
+
+	@Override
+	public void beforeEach(ExtensionContext context) {
+		VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+		VirtualTimeScheduler.set(scheduler);
+		context.getStore(NAMESPACE).put(VirtualTimeScheduler.class, scheduler);
+	}
+
+	@Override
+	public void afterEach(ExtensionContext context) {
+		context.getStore(NAMESPACE).remove(VirtualTimeScheduler.class);
+		VirtualTimeScheduler.reset();
+	}
+
+	@Override
+	public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+		return parameterContext.getParameter().getType() == VirtualTimeScheduler.class;
+	}
+
+	@Override
+	public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+		return extensionContext.getStore(NAMESPACE).get(VirtualTimeScheduler.class, VirtualTimeScheduler.class);
+	}
+}
@@ -0,0 +1,109 @@
+package academy.devdojo.reactive.test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import academy.devdojo.reactive.zip.Zips;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+@Slf4j
+public class ZipsTest {
+
+	@Test
+	public void zipIntoSerie() {
+		Flux<String> titleFlux = Flux.just("La Casa de Papel", "Chicago PD");
+		Flux<Integer> episodesFlux = Flux.just(40, 300);
+
+		Flux<Serie> serieFlux = Zips.zip(titleFlux, episodesFlux, Serie::new).log();
+
+		StepVerifier
+				.create(serieFlux)
+				.expectSubscription()
+				.expectNext(new Serie("La Casa de Papel", 40), new Serie("Chicago PD", 300))
+				.verifyComplete();
+	}
+
+	@Test
+	public void completesWithTheShortestSource() {
+		Flux<String> flux = Zips.zip(Flux.just("a", "b", "c"), Flux.just(1, 2), Flux.range(10, 100),
+				(s, i, j) -> s + i + j);
+
+		StepVerifier.create(flux)
+				.expectNext("a110", "b211")
+				.verifyComplete();
+	}
+
+	@Test
+	public void asyncSourcesKeepOrder() {
+		Flux<Integer> slow = Flux.range(0, 5).delayElements(Duration.ofMillis(10));
+		Flux<Integer> fused = Flux.range(0, 1000).publishOn(Schedulers.single());
+
+		StepVerifier.create(Zips.zip(slow, fused, Integer::sum))
+				.expectNext(0, 2, 4, 6, 8)
+				.verifyComplete();
+	}
+
+	@Test
+	public void respectsDownstreamDemand() {
+		StepVerifier.create(Zips.zip(Flux.range(0, 10), Flux.range(0, 10).hide(), Integer::sum), 0)
+				.expectSubscription()
+				.expectNoEvent(Duration.ofMillis(10))
+				.thenRequest(2)
+				.expectNext(0, 2)
+				.thenRequest(Long.MAX_VALUE)
+				.expectNextCount(8)
+				.verifyComplete();
+	}
+
+	@Test
+	public void replenishesSourcesBeyondPrefetch() {
+		Flux<Integer> zipped = Zips.zip(row -> (Integer) row[0] - (Integer) row[1], 8,
+				Flux.range(0, 10_000).hide(), Flux.range(0, 10_000).publishOn(Schedulers.parallel(), 4));
+
+		StepVerifier.create(zipped.filter(i -> i != 0).count())
+				.expectNext(0L)
+				.verifyComplete();
+	}
+
+	@Test
+	public void eightSources() {
+		Flux<Integer> one = Flux.just(1, 1);
+
+		StepVerifier.create(Zips.zip(one, one, one, one, one, one, one, one,
+				(a, b, c, d, e, f, g, h) -> a + b + c + d + e + f + g + h))
+				.expectNext(8, 8)
+				.verifyComplete();
+	}
+
+	@Test
+	public void errorCancelsTheOtherSources() {
+		AtomicBoolean cancelled = new AtomicBoolean();
+		Flux<Integer> infinite = Flux.<Integer>never().doOnCancel(() -> cancelled.set(true));
+
+		StepVerifier.create(Zips.zip(infinite, Flux.error(new IllegalStateException("boom")), (a, b) -> a))
+				.expectError(IllegalStateException.class)
+				.verify();
+
+		Assertions.assertTrue(cancelled.get());
+	}
+
+	@Test
+	public void nullFromCombinerIsAnError() {
+		StepVerifier.create(Zips.zip(Flux.just(1), Flux.just(2), (a, b) -> (Integer) null))
+				.expectError(NullPointerException.class)
+				.verify();
+	}
+
+	@Value
+	static class Serie {
+		String title;
+		int episodes;
+	}
+}